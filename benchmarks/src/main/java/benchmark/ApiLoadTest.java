@@ -0,0 +1,191 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import generator.DatasetGenerator;
+import io.FileIO;
+import server.ApiServer;
+import server.BtoApi;
+import users.Applicant;
+
+/**
+ * Load test for the HTTP API. A synthetic dataset is generated into a temporary directory,
+ * the server is started on it in this JVM, and a number of client threads then send
+ * requests over keep-alive connections for a fixed time, each logged in as a different
+ * applicant. The request mix is mostly reads of the applicant's own applications and
+ * enquiries and of their profile, with one in ten requests submitting an enquiry, which
+ * is journaled and made durable before it is answered.
+ *
+ * Reports the throughput and the latency percentiles over all requests.
+ *
+ * Usage: java -cp benchmarks/build/libs/benchmarks.jar benchmark.ApiLoadTest [scale] [clients] [seconds]
+ * where scale is the number of applicants and applications (default 100000).
+ */
+public class ApiLoadTest {
+    /**
+     * Runs the load test.
+     *
+     * @param args Optional dataset scale, number of client threads and duration in seconds
+     * @throws Exception if the dataset cannot be generated or the server cannot start
+     */
+    public static void main(String[] args) throws Exception {
+        String scale = args.length > 0 ? args[0] : "100000";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        // Must be set before FileUtils is first used, since it fixes the dataset directory
+        Path datasetDir = Files.createTempDirectory("bto-api");
+        System.setProperty("bto.datasets", datasetDir.toString());
+        // Keep one idle connection per client instead of the default five in total
+        System.setProperty("http.maxConnections", String.valueOf(clients));
+        DatasetGenerator.main(new String[] {"--out", datasetDir.toString(), "--scale", scale, "--seed", "42"});
+
+        ApiServer server = BtoApi.launch(0);
+        String base = "http://localhost:" + server.getPort() + ApiServer.API_PREFIX;
+        List<Applicant> applicants = FileIO.loadApplicants();
+        String projectName = FileIO.loadProjects().get(0).getProjectName();
+
+        // Warm up with the same mix, then measure
+        runClients(base, applicants, projectName, clients, Math.max(1, seconds / 3));
+        long[] latencies = runClients(base, applicants, projectName, clients, seconds);
+
+        Arrays.sort(latencies);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "Clients", "Requests", "req/s", "p50 ms", "p99 ms", "max ms");
+        System.out.printf("%-8d %10d %10.0f %10.2f %10.2f %10.2f%n", clients, latencies.length,
+                latencies.length / (double) seconds, percentile(latencies, 0.50) / 1e6,
+                percentile(latencies, 0.99) / 1e6, latencies[latencies.length - 1] / 1e6);
+        server.stop(0);
+        System.exit(0);
+    }
+
+    /**
+     * Runs the client threads for a fixed time.
+     *
+     * @param base The base URL of the API
+     * @param applicants The applicants the clients log in as
+     * @param projectName The project enquiries are submitted about
+     * @param clients The number of client threads
+     * @param seconds How long to send requests for
+     * @return The latency of every successful request, in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    private static long[] runClients(String base, List<Applicant> applicants, String projectName,
+                                     int clients, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<long[]> results = new ArrayList<>();
+        int[] counts = new int[clients];
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            long[] latencies = new long[1 << 20];
+            results.add(latencies);
+            Applicant applicant = applicants.get(c * (applicants.size() / clients));
+            String auth = "Basic " + Base64.getEncoder().encodeToString(
+                    (applicant.getNric() + ":" + applicant.getPassword()).getBytes(StandardCharsets.UTF_8));
+            Thread thread = new Thread(() -> {
+                Random random = new Random(client);
+                try {
+                    while (System.nanoTime() < deadline && counts[client] < latencies.length) {
+                        int pick = random.nextInt(10);
+                        long start = System.nanoTime();
+                        int status;
+                        if (pick < 5) {
+                            status = send(base + "/applications", "GET", auth, null);
+                        } else if (pick < 7) {
+                            status = send(base + "/enquiries", "GET", auth, null);
+                        } else if (pick < 9) {
+                            status = send(base + "/me", "GET", auth, null);
+                        } else {
+                            status = send(base + "/enquiries", "POST", auth,
+                                    "{\"projectName\":\"" + projectName + "\",\"message\":\"Load test enquiry\"}");
+                        }
+                        if (status / 100 == 2) {
+                            latencies[counts[client]++] = System.nanoTime() - start;
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (IOException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            }, "client-" + c);
+            thread.start();
+        }
+        done.await();
+        if (failures.get() > 0) {
+            System.out.println("Failed requests: " + failures.get());
+        }
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(results.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        return all;
+    }
+
+    /**
+     * Sends one request and reads the whole response, so the connection can be reused.
+     *
+     * @param url The URL
+     * @param method The HTTP method
+     * @param auth The Authorization header
+     * @param body The JSON body, or null for none
+     * @return The response status
+     * @throws IOException if the request fails
+     */
+    private static int send(String url, String method, String auth, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Authorization", auth);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (in != null) {
+            try (InputStream response = in) {
+                byte[] buffer = new byte[8192];
+                while (response.read(buffer) != -1) {
+                    // Discard the body
+                }
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Gets a percentile of sorted values.
+     *
+     * @param sorted The values, in ascending order
+     * @param fraction The percentile as a fraction, e.g. 0.99
+     * @return The value at the percentile
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+}
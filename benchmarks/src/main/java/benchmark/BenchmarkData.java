@@ -0,0 +1,207 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import io.ApplicationSerializer;
+import models.Application;
+import models.Project;
+import models.enums.ApplicationStatus;
+import users.Applicant;
+import users.User;
+import users.enums.MaritalStatus;
+import utils.Constants;
+
+/**
+ * Synthetic projects, applicants and applications for the benchmarks, generated from a
+ * seed, and the temporary dataset directory the benchmarks write their files to.
+ */
+public class BenchmarkData {
+    /** Neighborhoods the synthetic projects are spread over */
+    private static final String[] NEIGHBORHOODS = {"Punggol", "Tampines", "Bedok", "Jurong", "Woodlands", "Yishun"};
+
+    /** Statuses of synthetic applications that survive a save and reload */
+    private static final ApplicationStatus[] STATUSES = {
+        ApplicationStatus.PENDING, ApplicationStatus.SUCCESSFUL, ApplicationStatus.UNSUCCESSFUL, ApplicationStatus.BOOKED
+    };
+
+    /** Header row of the application file */
+    private static final String APPLICATION_HEADER =
+            "Application ID,Applicant NRIC,Project Name,Unit Type,Status,Assigned Unit,Assigned Officer,Application Date,Last Updated,Remarks";
+
+    /** Size of the buffer the application file is written through, in characters */
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    /** Temporary dataset directory, created on first use */
+    private static Path datasetDir;
+
+    /**
+     * Private constructor, since all members are static.
+     */
+    private BenchmarkData() {
+    }
+
+    /**
+     * Gets the temporary dataset directory the application reads and writes during the
+     * benchmarks, so the files in Datasets/ are never touched. Must be called before
+     * FileUtils is first used, since it fixes the dataset directory when it is loaded.
+     *
+     * @return The dataset directory, the same for the life of the JVM
+     * @throws IOException if the directory cannot be created
+     */
+    public static synchronized Path datasetDir() throws IOException {
+        if (datasetDir == null) {
+            datasetDir = Files.createTempDirectory("bto-bench");
+            System.setProperty("bto.datasets", datasetDir.toString());
+        }
+        return datasetDir;
+    }
+
+    /**
+     * Creates projects with both flat types, all open for application today.
+     *
+     * @param count The number of projects
+     * @param random The source of randomness
+     * @return The projects
+     */
+    public static List<Project> createProjects(int count, Random random) {
+        LocalDate today = LocalDate.now();
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Project project = new Project("Project " + i, NEIGHBORHOODS[random.nextInt(NEIGHBORHOODS.length)],
+                    today.minusDays(random.nextInt(60)), today.plusDays(1 + random.nextInt(60)), "S9999999Z", 5);
+            project.addUnitType("2-Room", 100 + random.nextInt(400), 300000);
+            project.addUnitType("3-Room", 100 + random.nextInt(400), 450000);
+            project.setVisible(random.nextInt(4) != 0);
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    /**
+     * Creates applicants with distinct NRICs.
+     *
+     * @param count The number of applicants
+     * @param random The source of randomness
+     * @return The applicants
+     */
+    public static List<User> createApplicants(int count, Random random) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MaritalStatus maritalStatus = random.nextBoolean() ? MaritalStatus.MARRIED : MaritalStatus.SINGLE;
+            users.add(new Applicant("Applicant" + i, nric(i), 21 + random.nextInt(50), maritalStatus, Constants.DEFAULT_PASSWORD));
+        }
+        return users;
+    }
+
+    /**
+     * Creates applications spread over the given projects and applicants.
+     *
+     * @param count The number of applications
+     * @param projects The projects applied for
+     * @param users The applicants
+     * @param random The source of randomness
+     * @return The applications
+     */
+    public static List<Application> createApplications(int count, List<Project> projects, List<User> users, Random random) {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        List<Application> applications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            applications.add(createApplication(i, base, projects, users.size(), random));
+        }
+        return applications;
+    }
+
+    /**
+     * Writes an application file, with its header row, to the dataset directory.
+     *
+     * @param datasetDir The dataset directory
+     * @param lines The serialized applications
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeApplicationFile(Path datasetDir, List<String> lines) throws IOException {
+        List<String> content = new ArrayList<>(lines.size() + 1);
+        content.add(APPLICATION_HEADER);
+        content.addAll(lines);
+        Files.write(datasetDir.resolve(Constants.APPLICATION_FILE), content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes an application file of any size to the dataset directory, generating each
+     * application as it is written so that the applications are never all in memory.
+     *
+     * @param datasetDir The dataset directory
+     * @param count The number of applications
+     * @param random The source of randomness
+     * @return The size of the file in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public static long writeApplicationFile(Path datasetDir, int count, Random random) throws IOException {
+        List<Project> projects = createProjects(Math.max(10, count / 10000), random);
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        Path file = datasetDir.resolve(Constants.APPLICATION_FILE);
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            out.write(APPLICATION_HEADER);
+            out.write('\n');
+            for (int i = 0; i < count; i++) {
+                out.write(ApplicationSerializer.serialize(createApplication(i, base, projects, count / 2 + 1, random)));
+                out.write('\n');
+            }
+        }
+        return Files.size(file);
+    }
+
+    /**
+     * Builds a valid-looking NRIC from a sequence number.
+     *
+     * @param i The sequence number
+     * @return The NRIC
+     */
+    public static String nric(int i) {
+        return String.format("S%07dA", i);
+    }
+
+    /**
+     * Creates one application.
+     *
+     * @param i The sequence number of the application
+     * @param base The time the application dates count back from
+     * @param projects The projects applied for
+     * @param applicants The number of applicants, whose NRICs are numbered from 0
+     * @param random The source of randomness
+     * @return The application
+     */
+    private static Application createApplication(int i, LocalDateTime base, List<Project> projects, int applicants, Random random) {
+        Project project = projects.get(random.nextInt(projects.size()));
+        ApplicationStatus status = STATUSES[random.nextInt(STATUSES.length)];
+        LocalDateTime applied = base.minusMinutes(random.nextInt(100000));
+        return new Application("APP-" + i, nric(random.nextInt(applicants)),
+                project.getProjectName(), random.nextBoolean() ? "2-Room" : "3-Room", status,
+                null, null, applied, applied, status == ApplicationStatus.PENDING ? null : "Processed, see file");
+    }
+
+    /**
+     * Writer that discards everything written to it.
+     */
+    public static class NullWriter extends Writer {
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
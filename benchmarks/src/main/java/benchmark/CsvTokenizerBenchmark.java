@@ -0,0 +1,156 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.Constants;
+import utils.CsvReader;
+import utils.CsvSource;
+import utils.MappedCsvReader;
+
+/**
+ * Measures the throughput of the CSV tokenizers on a generated application file of
+ * several million rows: the memory-mapped reader used for files that fit in one mapping,
+ * and the streaming char reader used for larger ones.
+ *
+ * Each operation reads the whole file. The tokenize benchmarks only find the field
+ * boundaries of every record, which is what the loads pay for fields they skip; the
+ * fields benchmarks also decode every field into a String, as a full parse does.
+ * Rows per second is the row count divided by the time per operation.
+ *
+ * Usage: gradle :benchmarks:jmh -Pjmh='CsvTokenizerBenchmark -p rows=5000000'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class CsvTokenizerBenchmark {
+    /** Number of applications in the generated file */
+    @Param({"2000000"})
+    private int rows;
+
+    /** The generated application file */
+    private Path file;
+
+    /**
+     * Generates the application file. The applications are written as they are generated,
+     * so the heap only needs to hold what the readers use.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path datasetDir = BenchmarkData.datasetDir();
+        long bytes = BenchmarkData.writeApplicationFile(datasetDir, rows, new Random(42));
+        file = datasetDir.resolve(Constants.APPLICATION_FILE);
+        System.out.printf("%nGenerated %d rows, %d MB%n", rows, bytes >> 20);
+    }
+
+    /**
+     * Deletes the application file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long tokenizeMapped(Blackhole blackhole) throws IOException {
+        try (CsvSource reader = MappedCsvReader.open(file)) {
+            return tokenize(reader, blackhole);
+        }
+    }
+
+    @Benchmark
+    public long tokenizeStreaming(Blackhole blackhole) throws IOException {
+        try (CsvSource reader = openStreaming()) {
+            return tokenize(reader, blackhole);
+        }
+    }
+
+    @Benchmark
+    public long fieldsMapped(Blackhole blackhole) throws IOException {
+        try (CsvSource reader = MappedCsvReader.open(file)) {
+            return fields(reader, blackhole);
+        }
+    }
+
+    @Benchmark
+    public long fieldsStreaming(Blackhole blackhole) throws IOException {
+        try (CsvSource reader = openStreaming()) {
+            return fields(reader, blackhole);
+        }
+    }
+
+    /**
+     * Opens the streaming reader the loads fall back to for files too large to map.
+     *
+     * @return A reader positioned before the first record
+     * @throws IOException if the file cannot be opened
+     */
+    private CsvSource openStreaming() throws IOException {
+        return new CsvReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads every record, checking each field for emptiness without decoding it.
+     *
+     * @param reader The reader
+     * @param blackhole Consumes the results
+     * @return The number of records read
+     * @throws IOException if the file cannot be read
+     */
+    private static long tokenize(CsvSource reader, Blackhole blackhole) throws IOException {
+        long records = 0;
+        while (reader.next()) {
+            int count = reader.fieldCount();
+            for (int i = 0; i < count; i++) {
+                blackhole.consume(reader.isEmpty(i));
+            }
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Reads every record, decoding each field.
+     *
+     * @param reader The reader
+     * @param blackhole Consumes the fields
+     * @return The number of records read
+     * @throws IOException if the file cannot be read
+     */
+    private static long fields(CsvSource reader, Blackhole blackhole) throws IOException {
+        long records = 0;
+        while (reader.next()) {
+            int count = reader.fieldCount();
+            for (int i = 0; i < count; i++) {
+                blackhole.consume(reader.field(i));
+            }
+            records++;
+        }
+        return records;
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import generator.DatasetGenerator;
+import io.DataLoader;
+import utils.StringPool;
+
+/**
+ * Measures how much heap the loaded data retains, with and without the shared
+ * {@link StringPool}. A synthetic dataset is generated into a temporary directory and
+ * loaded through the same DataLoader the application uses at startup, once with pooling
+ * disabled and once with it enabled. After each load the heap is collected and the
+ * growth in used heap is reported as the size of the loaded data.
+ *
+ * Usage: java -cp benchmarks/build/libs/benchmarks.jar benchmark.HeapFootprint [scale]
+ * where scale is the number of applicants and applications (default 100000).
+ * Give the JVM enough heap for the unpooled load, e.g. -Xmx4g for a scale of 1000000.
+ */
+public class HeapFootprint {
+    /**
+     * Runs the measurement.
+     *
+     * @param args Optional dataset scale
+     * @throws Exception if the dataset cannot be generated or loaded
+     */
+    public static void main(String[] args) throws Exception {
+        String scale = args.length > 0 ? args[0] : "100000";
+        // Must be set before FileUtils is first used, since it fixes the dataset directory
+        Path datasetDir = Files.createTempDirectory("bto-heap");
+        System.setProperty("bto.datasets", datasetDir.toString());
+        DatasetGenerator.main(new String[] {"--out", datasetDir.toString(), "--scale", scale, "--seed", "42"});
+
+        long unpooled = retainedBytes(false);
+        long pooled = retainedBytes(true);
+        long applications = Long.parseLong(scale);
+        System.out.printf("%-12s %14s %14s%n", "String pool", "Retained (MB)", "Bytes/app");
+        System.out.printf("%-12s %14.1f %14.0f%n", "disabled", unpooled / 1e6, (double) unpooled / applications);
+        System.out.printf("%-12s %14.1f %14.0f%n", "enabled", pooled / 1e6, (double) pooled / applications);
+        System.out.printf("Saving: %.1f MB (%.1f%%)%n", (unpooled - pooled) / 1e6, 100.0 * (unpooled - pooled) / unpooled);
+    }
+
+    /**
+     * Loads all data and measures the heap it retains.
+     *
+     * @param pooling Whether the string pool is enabled during the load
+     * @return The growth in used heap after a full collection, in bytes
+     */
+    private static long retainedBytes(boolean pooling) {
+        StringPool.setEnabled(pooling);
+        long before = usedHeapAfterGc();
+        DataLoader loader = DataLoader.loadAll();
+        long after = usedHeapAfterGc();
+        // Keep the loaded data reachable until it has been measured
+        if (loader.getApplications().isEmpty()) {
+            System.out.println("No applications were loaded");
+        }
+        return after - before;
+    }
+
+    /**
+     * Collects garbage until the used heap settles and returns it.
+     *
+     * @return The used heap in bytes
+     */
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            long now = memory.getHeapMemoryUsage().getUsed();
+            if (now >= used) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+}
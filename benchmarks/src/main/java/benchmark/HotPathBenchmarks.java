@@ -0,0 +1,195 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import access.application.Ballot;
+import access.project.ProjectHandler;
+import io.ApplicationFactory;
+import io.ApplicationSerializer;
+import io.FileIO;
+import models.Application;
+import models.ApplicationDecision;
+import models.Project;
+import report.ReportEngine;
+import report.ReportWriter;
+import users.User;
+import utils.DateUtils;
+import utils.FileUtils;
+
+/**
+ * Benchmarks the hot paths of the BTO Management System at several dataset sizes:
+ * CSV line parsing, application parsing, loading and saving the application file, listing the
+ * projects visible to an applicant, drawing a ballot and generating an applicant report.
+ *
+ * The data is synthetic and generated from a fixed seed. Data files are written to a
+ * temporary directory, which the application reads through the bto.datasets property,
+ * so the files in Datasets/ are never touched.
+ *
+ * Usage: gradle :benchmarks:jmh -Pjmh='HotPathBenchmarks -p size=1000,10000,100000'
+ * which runs with the gc profiler to report the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmarks {
+    /** Number of applications in the dataset */
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    /** The synthetic projects */
+    private List<Project> projects;
+
+    /** The synthetic applicants */
+    private List<User> users;
+
+    /** The synthetic applications */
+    private List<Application> applications;
+
+    /** The applications as lines of the application file */
+    private List<String> lines;
+
+    /** The applications as parsed CSV rows */
+    private List<String[]> rows;
+
+    /** Handler over the synthetic projects */
+    private ProjectHandler projectHandler;
+
+    /** Projects the browsing applicant has applied to */
+    private List<String> applied;
+
+    /** Ballot with a fixed seed */
+    private Ballot ballot;
+
+    /** Index of the next line, row or application used by the per-record benchmarks */
+    private int cursor;
+
+    /**
+     * Generates the dataset and writes the application file.
+     *
+     * @throws IOException if the application file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Must come before FileUtils is first used
+        Path datasetDir = BenchmarkData.datasetDir();
+
+        Random random = new Random(42);
+        projects = BenchmarkData.createProjects(Math.max(10, size / 100), random);
+        users = BenchmarkData.createApplicants(Math.max(1, size / 2), random);
+        applications = BenchmarkData.createApplications(size, projects, users, random);
+
+        lines = new ArrayList<>(size);
+        for (Application app : applications) {
+            lines.add(ApplicationSerializer.serialize(app));
+        }
+        rows = new ArrayList<>(size);
+        for (String line : lines) {
+            rows.add(FileUtils.parseCsvLine(line));
+        }
+        BenchmarkData.writeApplicationFile(datasetDir, lines);
+
+        projectHandler = new ProjectHandler(projects);
+        applied = Collections.singletonList(projects.get(0).getProjectName());
+        ballot = new Ballot(42);
+    }
+
+    @Benchmark
+    public String[] parseCsvLine() {
+        return FileUtils.parseCsvLine(lines.get(next()));
+    }
+
+    @Benchmark
+    public Application createApplication() {
+        return ApplicationFactory.createApplication(rows.get(next()));
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        return DateUtils.parseDateTime(rows.get(next())[7]);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return ApplicationSerializer.serialize(applications.get(next()));
+    }
+
+    @Benchmark
+    public List<Application> loadApplications() {
+        return FileIO.loadApplications();
+    }
+
+    /**
+     * Rewrites the same file the load reads, with the same content.
+     */
+    @Benchmark
+    public void saveApplications() {
+        FileIO.saveApplications(applications);
+    }
+
+    @Benchmark
+    public List<Project> getVisibleProjects() {
+        return projectHandler.getVisibleProjects("S0000000A", applied);
+    }
+
+    /**
+     * What the applicant menu does on every browse: the date sweep, then the visible projects.
+     *
+     * @return The visible projects
+     */
+    @Benchmark
+    public List<Project> browse() {
+        projectHandler.updateVisibilityBasedOnDate();
+        return projectHandler.getVisibleProjects("S0000000A", applied);
+    }
+
+    /**
+     * Draws every pending 3-Room application in the dataset as if for one project.
+     *
+     * @return The decisions
+     */
+    @Benchmark
+    public List<ApplicationDecision> ballotDraw() {
+        return ballot.draw(projects.get(0), "3-Room", applications);
+    }
+
+    @Benchmark
+    public void applicantsReport() throws IOException {
+        ReportEngine engine = new ReportEngine(users);
+        try (ReportWriter out = new ReportWriter(new BufferedWriter(new BenchmarkData.NullWriter(), 64 * 1024))) {
+            engine.writeApplicantsReport(engine.join(applications), null, out);
+        }
+    }
+
+    /**
+     * Advances the cursor that cycles through the dataset.
+     *
+     * @return The index to use for this operation
+     */
+    private int next() {
+        int index = cursor;
+        cursor = index + 1 == size ? 0 : index + 1;
+        return index;
+    }
+}
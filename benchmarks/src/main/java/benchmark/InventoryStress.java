@@ -0,0 +1,139 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import models.UnitInfo;
+
+/**
+ * Stresses the lock-free unit inventory with many threads booking the same unit type.
+ *
+ * For the first half of the given time every thread reserves a unit and releases it
+ * again, so the available and reserved units must always add up to exactly the total.
+ * For the second half the threads commit some reservations and now and then return a
+ * unit they booked earlier, as a withdrawal does, and the two counts must stay between
+ * zero and the total. A checker thread reads the counts throughout, as a save does.
+ * Then every thread books until no unit is left, and the run fails unless the bookings
+ * held add up to exactly the total units, with none left available or reserved.
+ *
+ * Usage: java -cp benchmarks/build/libs/benchmarks.jar benchmark.InventoryStress [threads] [units] [seconds]
+ * (default 16 threads, 1000 units, 5 seconds). Exits with status 1 if a check fails.
+ */
+public class InventoryStress {
+    /**
+     * Runs the stress test.
+     *
+     * @param args Optional thread count, unit count and duration in seconds
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int total = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        UnitInfo units = new UnitInfo(total, total, 300000);
+        long start = System.nanoTime();
+        long bookingStart = start + seconds * 500_000_000L;
+        long deadline = start + seconds * 1_000_000_000L;
+        AtomicBoolean booking = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong operations = new AtomicLong();
+        List<String> failures = new ArrayList<>();
+
+        // Reads both counts at once, as a save does, and checks them against the total
+        Thread checker = new Thread(() -> {
+            long checks = 0;
+            while (running.get()) {
+                int unbooked = units.getUnbookedUnits();
+                // Read the phase after the counts, so no unit can have been booked before them
+                boolean anyBooked = booking.get();
+                if (anyBooked ? unbooked < 0 || unbooked > total : unbooked != total) {
+                    record(failures, "Unbooked units out of range: " + unbooked + " of " + total);
+                    return;
+                }
+                checks++;
+            }
+            System.out.printf("Checked the counts %d times%n", checks);
+        }, "checker");
+        checker.start();
+
+        int[] booked = new int[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            new Thread(() -> {
+                Random random = new Random(thread);
+                long count = 0;
+                try {
+                    while (System.nanoTime() < bookingStart) {
+                        if (units.tryReserve(1)) {
+                            units.releaseReservation(1);
+                        }
+                        count++;
+                    }
+                    booking.set(true);
+                    while (System.nanoTime() < deadline) {
+                        if (booked[thread] > 0 && random.nextInt(10) == 0) {
+                            if (!units.tryReturn(1)) {
+                                record(failures, "Return of a booked unit refused");
+                                return;
+                            }
+                            booked[thread]--;
+                        } else if (units.tryReserve(1)) {
+                            if (random.nextBoolean()) {
+                                units.commitReservation(1);
+                                booked[thread]++;
+                            } else {
+                                units.releaseReservation(1);
+                            }
+                        }
+                        count++;
+                    }
+                    // Book whatever is left
+                    while (units.tryReserve(1)) {
+                        units.commitReservation(1);
+                        booked[thread]++;
+                        count++;
+                    }
+                } catch (IllegalStateException e) {
+                    record(failures, e.getMessage());
+                } finally {
+                    operations.addAndGet(count);
+                    done.countDown();
+                }
+            }, "booker-" + t).start();
+        }
+        done.await();
+        running.set(false);
+        checker.join();
+
+        int bookings = 0;
+        for (int count : booked) {
+            bookings += count;
+        }
+        System.out.printf("%d threads, %d operations, %d bookings of %d units, %d available, %d reserved%n",
+                threads, operations.get(), bookings, total, units.getAvailableUnits(), units.getReservedUnits());
+        if (bookings != total || units.getAvailableUnits() != 0 || units.getReservedUnits() != 0) {
+            record(failures, "Bookings do not add up to the total units");
+        }
+        for (String failure : failures) {
+            System.out.println("FAILED: " + failure);
+        }
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Records a failed check.
+     *
+     * @param failures The failures so far
+     * @param message What failed
+     */
+    private static void record(List<String> failures, String message) {
+        synchronized (failures) {
+            failures.add(message);
+        }
+    }
+}
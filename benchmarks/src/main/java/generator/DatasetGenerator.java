@@ -0,0 +1,574 @@
+package generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import utils.Constants;
+import utils.FileUtils;
+
+/**
+ * Generates a synthetic dataset of any size in the CSV formats read by the io factories.
+ * Writes the applicant, officer, manager, project, application, enquiry, withdrawal
+ * request and officer registration files, with realistic mixes of marital status, ages,
+ * flat types and statuses, and references that stay consistent across files.
+ *
+ * Every value of a row is derived from the seed and the row number alone, so the output
+ * is reproducible, each file can be written on its own thread, and rows in one file can
+ * refer to rows in another without keeping them in memory.
+ *
+ * Usage: java -cp benchmarks/build/libs/benchmarks.jar generator.DatasetGenerator [options]
+ *   --out DIR             output directory (default: generated)
+ *   --seed N              random seed (default: 42)
+ *   --scale N             number of applicants and applications; other counts scale from it (default: 10000)
+ *   --applicants N, --applications N, --projects N, --enquiries N,
+ *   --withdrawals N, --registrations N, --officers N, --managers N
+ *                         override individual counts
+ */
+public class DatasetGenerator {
+    /** Size of the output buffer of each file in characters */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** Largest number of applicants with distinct NRICs */
+    private static final long MAX_APPLICANTS = 20_000_000L;
+
+    /** Number of seconds in a day */
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private static final String[] FIRST_NAMES = {
+        "John", "Sarah", "Grace", "James", "Rachel", "Wei Ling", "Ahmad", "Priya", "Daniel", "Emily",
+        "Michael", "Jessica", "David", "Nur Aisyah", "Kumar", "Mei Xin", "Ryan", "Siti", "Jun Jie", "Hui Min"
+    };
+
+    private static final String[] NEIGHBORHOODS = {
+        "Punggol", "Tampines", "Bedok", "Jurong West", "Woodlands", "Yishun", "Sengkang", "Queenstown",
+        "Toa Payoh", "Bukit Batok", "Choa Chu Kang", "Hougang", "Ang Mo Kio", "Bishan", "Clementi", "Kallang"
+    };
+
+    private static final String[] PROJECT_NAMES = {
+        "Gardens", "Vista", "Residences", "Heights", "Grove", "Breeze", "Meadows", "Crest", "Court", "View"
+    };
+
+    private static final String[] ENQUIRIES = {
+        "What is the expected completion date?",
+        "Is there a shopping mall nearby?",
+        "Can I choose the floor level of my unit?",
+        "How far is the nearest MRT station, and is there a bus interchange?",
+        "Are there any grants available for first-time buyers?",
+        "Will there be a childcare centre within the estate?"
+    };
+
+    private static final String[] REPLIES = {
+        "Completion is expected in the fourth quarter of 2028.",
+        "Yes, a neighbourhood centre is planned within 500m.",
+        "Floor levels are allocated during unit selection, subject to availability.",
+        "The MRT station is a 6-minute walk, and an interchange is under construction."
+    };
+
+    /** Output directory */
+    private Path out = Paths.get("generated");
+
+    /** Random seed */
+    private long seed = 42;
+
+    private long applicants = 10_000;
+    private long applications = -1;
+    private long projects = -1;
+    private long enquiries = -1;
+    private long withdrawals = -1;
+    private long registrations = -1;
+    private long officers = -1;
+    private long managers = -1;
+
+    /** Midnight of the day the dataset is generated, in epoch seconds */
+    private final long today = LocalDate.now().toEpochDay() * SECONDS_PER_DAY;
+
+    /**
+     * Generates a dataset as configured by the command line.
+     *
+     * @param args The command line options
+     * @throws Exception if an option is invalid or a file cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        DatasetGenerator generator = new DatasetGenerator();
+        generator.configure(args);
+        long start = System.nanoTime();
+        long rows = generator.generate();
+        System.out.printf("Wrote %,d rows to %s in %.2f s%n", rows, generator.out.toAbsolutePath(),
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Reads the command line options and derives the counts that were not given.
+     *
+     * @param args The command line options
+     * @throws IllegalArgumentException if an option is unknown or has no value
+     */
+    private void configure(String[] args) {
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--out": out = Paths.get(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--scale":
+                case "--applicants": applicants = Long.parseLong(value); break;
+                case "--applications": applications = Long.parseLong(value); break;
+                case "--projects": projects = Long.parseLong(value); break;
+                case "--enquiries": enquiries = Long.parseLong(value); break;
+                case "--withdrawals": withdrawals = Long.parseLong(value); break;
+                case "--registrations": registrations = Long.parseLong(value); break;
+                case "--officers": officers = Long.parseLong(value); break;
+                case "--managers": managers = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (applicants < 1 || applicants > MAX_APPLICANTS) {
+            throw new IllegalArgumentException("Applicant count must be between 1 and " + MAX_APPLICANTS);
+        }
+        if (applications < 0) applications = applicants;
+        if (projects < 0) projects = Math.max(10, applicants / 1000);
+        if (enquiries < 0) enquiries = applications / 5;
+        if (withdrawals < 0) withdrawals = applications / 20;
+        if (officers < 0) officers = Math.max(5, projects * 2);
+        if (managers < 0) managers = Math.max(2, projects / 5);
+        if (registrations < 0) registrations = officers;
+        if (projects < 1 || officers < 1 || managers < 1) {
+            throw new IllegalArgumentException("At least one project, officer and manager is required");
+        }
+    }
+
+    /**
+     * Writes every file of the dataset, each on its own thread.
+     *
+     * @return The number of data rows written, excluding headers
+     * @throws Exception if a file cannot be written
+     */
+    private long generate() throws Exception {
+        Files.createDirectories(out);
+        List<FileTask> tasks = new ArrayList<>();
+        tasks.add(new FileTask(Constants.APPLICANT_FILE, "Name,NRIC,Age,Marital Status,Password", applicants, this::applicantRow));
+        tasks.add(new FileTask(Constants.OFFICER_FILE, "Name,NRIC,Age,Marital Status,Password", officers, this::officerRow));
+        tasks.add(new FileTask(Constants.MANAGER_FILE, "Name,NRIC,Age,Marital Status,Password", managers, this::managerRow));
+        tasks.add(new FileTask(Constants.PROJECT_FILE, "Project Name,Neighborhood,Type 1,Total Units for Type 1,"
+                + "Available Units for Type 1,Selling price for Type 1,Type 2,Total Units for Type 2,"
+                + "Available Units for Type 2,Selling price for Type 2,Application opening date,"
+                + "Application closing date,Manager,Officer Slot,Officer(s),Visibility", projects, this::projectRow));
+        tasks.add(new FileTask(Constants.APPLICATION_FILE, "Application ID,Applicant NRIC,Project Name,Unit Type,Status,"
+                + "Assigned Unit,Assigned Officer,Application Date,Last Updated,Remarks", applications, this::applicationRow));
+        tasks.add(new FileTask(Constants.ENQUIRY_FILE, "Enquiry ID,NRIC,Project Name,Enquiry,Response,Timestamp,"
+                + "Respondent NRIC,Response Date", enquiries, this::enquiryRow));
+        tasks.add(new FileTask(Constants.WITHDRAWAL_FILE, "Request ID,Application ID,Applicant NRIC,Project Name,Status,"
+                + "Request Date,Process Date,Remarks", withdrawals, this::withdrawalRow));
+        tasks.add(new FileTask(Constants.OFFICER_REGISTRATION_FILE, "Registration ID,Officer NRIC,Project Name,Status,"
+                + "Registration Date", registrations, this::registrationRow));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (FileTask task : tasks) {
+                results.add(executor.submit(task::write));
+            }
+            long rows = 0;
+            for (Future<Long> result : results) {
+                try {
+                    rows += result.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            return rows;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ------------------ Row generators --------------------
+
+    /** Builds an applicant row: name, NRIC, age, marital status and password. */
+    private void applicantRow(long i, Rng r, StringBuilder sb) {
+        r.reset(seed, 1, i);
+        boolean married = isMarried(i);
+        sb.append(FIRST_NAMES[r.nextInt(FIRST_NAMES.length)]).append(',')
+          .append(applicantNric(i)).append(',')
+          .append(applicantAge(i)).append(',')
+          .append(married ? "MARRIED" : "SINGLE").append(',')
+          .append(Constants.DEFAULT_PASSWORD);
+    }
+
+    /** Builds an officer row. Officer NRICs use the G prefix. */
+    private void officerRow(long i, Rng r, StringBuilder sb) {
+        staffRow(i, r, sb, 'G', 2);
+    }
+
+    /** Builds a manager row. Manager NRICs use the F prefix. */
+    private void managerRow(long i, Rng r, StringBuilder sb) {
+        staffRow(i, r, sb, 'F', 3);
+    }
+
+    /** Builds a row of the officer or manager file. */
+    private void staffRow(long i, Rng r, StringBuilder sb, char prefix, int stream) {
+        r.reset(seed, stream, i);
+        sb.append(FIRST_NAMES[r.nextInt(FIRST_NAMES.length)]).append(',');
+        appendNric(sb, prefix, i);
+        sb.append(',').append(25 + r.nextInt(35)).append(',')
+          .append(r.nextInt(100) < 60 ? "MARRIED" : "SINGLE").append(',')
+          .append(Constants.DEFAULT_PASSWORD);
+    }
+
+    /** Builds a project row with both flat types and its first assigned officers. */
+    private void projectRow(long p, Rng r, StringBuilder sb) {
+        r.reset(seed, 4, p);
+        int twoRoom = 50 + r.nextInt(450);
+        int threeRoom = 50 + r.nextInt(650);
+        long opening = today + (r.nextInt(120) - 90) * SECONDS_PER_DAY;
+        long closing = opening + (30 + r.nextInt(90)) * SECONDS_PER_DAY;
+        int officerSlot = 3 + r.nextInt(8);
+        sb.append(FileUtils.escapeCsvField(projectName(p))).append(',')
+          .append(NEIGHBORHOODS[(int) (p % NEIGHBORHOODS.length)]).append(',')
+          .append("2-Room,").append(twoRoom).append(',').append(twoRoom - r.nextInt(twoRoom / 2 + 1)).append(',')
+          .append(250_000 + 10_000 * r.nextInt(15)).append(".0,")
+          .append("3-Room,").append(threeRoom).append(',').append(threeRoom - r.nextInt(threeRoom / 2 + 1)).append(',')
+          .append(380_000 + 10_000 * r.nextInt(20)).append(".0,");
+        appendDate(sb, opening);
+        sb.append(',');
+        appendDate(sb, closing);
+        sb.append(',');
+        appendNric(sb, 'F', p % managers);
+        sb.append(',').append(officerSlot).append(',');
+        // The first officers assigned to a project are the ones it hands out bookings through
+        int assigned = 1 + r.nextInt(Math.min(officerSlot, 2));
+        for (int k = 0; k < assigned; k++) {
+            if (k > 0) {
+                sb.append(';');
+            }
+            appendNric(sb, 'G', projectOfficer(p, k));
+        }
+        sb.append(',').append(r.nextInt(100) < 80);
+    }
+
+    /** Builds an application row. Single applicants only apply for 2-Room flats. */
+    private void applicationRow(long i, Rng r, StringBuilder sb) {
+        r.reset(seed, 5, i);
+        long applicant = i % applicants;
+        long project = projectOf(i);
+        boolean threeRoom = isMarried(applicant) && r.nextInt(100) < 60;
+        int roll = r.nextInt(100);
+        String status = roll < 40 ? "Pending" : roll < 55 ? "Successful" : roll < 80 ? "Unsuccessful" : "Booked";
+        long applied = today - (1 + r.nextInt(180)) * SECONDS_PER_DAY + r.nextInt((int) SECONDS_PER_DAY);
+        long updated = status.equals("Pending") ? applied : applied + r.nextInt(30 * (int) SECONDS_PER_DAY);
+
+        sb.append("APP-").append(i).append(',')
+          .append(applicantNric(applicant)).append(',')
+          .append(FileUtils.escapeCsvField(projectName(project))).append(',')
+          .append(threeRoom ? "3-Room" : "2-Room").append(',')
+          .append(status).append(',');
+        if (status.equals("Booked")) {
+            // Application numbers are unique, so the unit numbers derived from them are too
+            sb.append(projectName(project), 0, 3).append(threeRoom ? "-3R-" : "-2R-").append(100 + i).append(',');
+            appendNric(sb, 'G', projectOfficer(project, 0));
+        } else {
+            sb.append(',');
+        }
+        sb.append(',');
+        appendDateTime(sb, applied);
+        sb.append(',');
+        appendDateTime(sb, updated);
+        sb.append(',');
+        if (status.equals("Booked")) {
+            sb.append("BOOKED: Unit assigned by officer");
+        } else if (status.equals("Unsuccessful")) {
+            sb.append(FileUtils.escapeCsvField("Not selected in ballot, please apply again"));
+        }
+    }
+
+    /** Builds an enquiry row, about half of which have been replied to by a project officer. */
+    private void enquiryRow(long i, Rng r, StringBuilder sb) {
+        r.reset(seed, 6, i);
+        long applicant = r.nextLong(applicants);
+        long submitted = today - (1 + r.nextInt(90)) * SECONDS_PER_DAY + r.nextInt((int) SECONDS_PER_DAY);
+        boolean answered = r.nextInt(100) < 55;
+        long project = r.nextLong(projects);
+        sb.append("ENQ-").append(i).append(',')
+          .append(applicantNric(applicant)).append(',')
+          .append(FileUtils.escapeCsvField(projectName(project))).append(',')
+          .append(FileUtils.escapeCsvField(ENQUIRIES[r.nextInt(ENQUIRIES.length)])).append(',');
+        if (answered) {
+            sb.append(FileUtils.escapeCsvField(REPLIES[r.nextInt(REPLIES.length)]));
+        }
+        sb.append(',');
+        appendDateTime(sb, submitted);
+        sb.append(',');
+        if (answered) {
+            appendNric(sb, 'G', projectOfficer(project, 0));
+            sb.append(',');
+            appendDateTime(sb, submitted + r.nextInt(3 * (int) SECONDS_PER_DAY));
+        } else {
+            sb.append(',');
+        }
+    }
+
+    /** Builds a withdrawal request row for an existing application. */
+    private void withdrawalRow(long i, Rng r, StringBuilder sb) {
+        r.reset(seed, 7, i);
+        long application = r.nextLong(applications);
+        long requested = today - (1 + r.nextInt(60)) * SECONDS_PER_DAY + r.nextInt((int) SECONDS_PER_DAY);
+        int roll = r.nextInt(100);
+        String status = roll < 50 ? "Pending" : roll < 85 ? "Approved" : "Rejected";
+        sb.append("WDR-").append(i).append(',')
+          .append("APP-").append(application).append(',')
+          .append(applicantNric(application % applicants)).append(',')
+          .append(FileUtils.escapeCsvField(projectName(projectOf(application)))).append(',')
+          .append(status).append(',');
+        appendDateTime(sb, requested);
+        sb.append(',');
+        if (!status.equals("Pending")) {
+            appendDateTime(sb, requested + r.nextInt(7 * (int) SECONDS_PER_DAY));
+            sb.append(',').append(status.equals("Approved") ? "Withdrawal approved" : "Withdrawal rejected");
+        } else {
+            sb.append(',');
+        }
+    }
+
+    /** Builds an officer registration row. Assigned officers have an approved registration. */
+    private void registrationRow(long i, Rng r, StringBuilder sb) {
+        r.reset(seed, 8, i);
+        long officer = i % officers;
+        // Officers are registered for the project they were assigned to, if any
+        long project = officer / 2 < projects ? officer / 2 : r.nextLong(projects);
+        int roll = r.nextInt(100);
+        String status = officer / 2 < projects ? "Approved" : roll < 60 ? "Pending" : "Rejected";
+        sb.append("OFR-").append(i).append(',');
+        appendNric(sb, 'G', officer);
+        sb.append(',').append(FileUtils.escapeCsvField(projectName(project))).append(',')
+          .append(status).append(',');
+        appendDateTime(sb, today - (1 + r.nextInt(120)) * SECONDS_PER_DAY + r.nextInt((int) SECONDS_PER_DAY));
+    }
+
+    // ------------------ Shared row attributes --------------------
+
+    /**
+     * Decides whether an applicant is married, about 55% of applicants.
+     *
+     * @param applicant The applicant number
+     * @return true if the applicant is married
+     */
+    private boolean isMarried(long applicant) {
+        return Rng.mix(seed ^ 0x5DEECE66DL, applicant) % 100 < 55;
+    }
+
+    /**
+     * Picks the age of an applicant. Married applicants are at least 21 and single
+     * applicants at least 35, so every applicant is eligible for some flat type.
+     *
+     * @param applicant The applicant number
+     * @return The age
+     */
+    private int applicantAge(long applicant) {
+        long h = Rng.mix(seed ^ 0xA9E5L, applicant);
+        // Sum of two uniform values skews ages towards the middle of the range
+        int spread = (int) (h % 20) + (int) ((h >>> 20) % 20);
+        return isMarried(applicant) ? 21 + spread : 35 + spread;
+    }
+
+    /**
+     * Picks the project of an application. Lower-numbered projects are more popular.
+     *
+     * @param application The application number
+     * @return The project number
+     */
+    private long projectOf(long application) {
+        long h = Rng.mix(seed ^ 0x1F3DL, application);
+        double u = (h % 1_000_000) / 1_000_000.0;
+        return Math.min(projects - 1, (long) (projects * u * u));
+    }
+
+    /**
+     * Gets the officer assigned in a given position of a project.
+     *
+     * @param project The project number
+     * @param position The position in the project's officer list
+     * @return The officer number
+     */
+    private long projectOfficer(long project, int position) {
+        return (project * 2 + position) % officers;
+    }
+
+    /**
+     * Builds the unique name of a project.
+     *
+     * @param project The project number
+     * @return The project name
+     */
+    private static String projectName(long project) {
+        return NEIGHBORHOODS[(int) (project % NEIGHBORHOODS.length)] + " "
+                + PROJECT_NAMES[(int) ((project / NEIGHBORHOODS.length) % PROJECT_NAMES.length)] + " " + (project + 1);
+    }
+
+    /**
+     * Builds the NRIC of an applicant. The first ten million applicants use the S prefix
+     * and the next ten million the T prefix.
+     *
+     * @param applicant The applicant number
+     * @return The NRIC
+     */
+    private static String applicantNric(long applicant) {
+        StringBuilder sb = new StringBuilder(9);
+        appendNric(sb, applicant < 10_000_000L ? 'S' : 'T', applicant % 10_000_000L);
+        return sb.toString();
+    }
+
+    /**
+     * Appends an NRIC made of a prefix letter, seven digits and a check letter.
+     *
+     * @param sb The row being built
+     * @param prefix The prefix letter
+     * @param number The number encoded in the digits, below ten million
+     */
+    private static void appendNric(StringBuilder sb, char prefix, long number) {
+        sb.append(prefix);
+        appendPadded(sb, number % 10_000_000L, 7);
+        sb.append((char) ('A' + number % 26));
+    }
+
+    /**
+     * Appends a date in the M/d/yyyy format of the project file.
+     *
+     * @param sb The row being built
+     * @param epochSecond The instant to format, in UTC epoch seconds
+     */
+    private static void appendDate(StringBuilder sb, long epochSecond) {
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+        sb.append(date.getMonthValue()).append('/').append(date.getDayOfMonth()).append('/').append(date.getYear());
+    }
+
+    /**
+     * Appends a timestamp in the M/d/yyyy HH:mm:ss format of Constants.DATE_TIME_FORMAT.
+     *
+     * @param sb The row being built
+     * @param epochSecond The instant to format, in UTC epoch seconds
+     */
+    private static void appendDateTime(StringBuilder sb, long epochSecond) {
+        appendDate(sb, epochSecond);
+        long secondOfDay = Math.floorMod(epochSecond, SECONDS_PER_DAY);
+        sb.append(' ');
+        appendPadded(sb, secondOfDay / 3600, 2);
+        sb.append(':');
+        appendPadded(sb, secondOfDay / 60 % 60, 2);
+        sb.append(':');
+        appendPadded(sb, secondOfDay % 60, 2);
+    }
+
+    /**
+     * Appends a non-negative number padded with leading zeros.
+     *
+     * @param sb The row being built
+     * @param value The number
+     * @param width The minimum number of digits
+     */
+    private static void appendPadded(StringBuilder sb, long value, int width) {
+        int start = sb.length();
+        sb.append(value);
+        for (int digits = sb.length() - start; digits < width; digits++) {
+            sb.insert(start, '0');
+        }
+    }
+
+    /**
+     * Builds one row of a file into a reusable buffer.
+     */
+    private interface RowWriter {
+        void write(long index, Rng random, StringBuilder row);
+    }
+
+    /**
+     * One data file to generate.
+     */
+    private class FileTask {
+        private final String fileName;
+        private final String header;
+        private final long rows;
+        private final RowWriter rowWriter;
+
+        FileTask(String fileName, String header, long rows, RowWriter rowWriter) {
+            this.fileName = fileName;
+            this.header = header;
+            this.rows = rows;
+            this.rowWriter = rowWriter;
+        }
+
+        /**
+         * Writes the header and all rows of the file.
+         *
+         * @return The number of rows written
+         * @throws IOException if the file cannot be written
+         */
+        long write() throws IOException {
+            Rng random = new Rng();
+            StringBuilder row = new StringBuilder(256);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    Files.newOutputStream(out.resolve(fileName)), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                writer.write(header);
+                writer.write('\n');
+                for (long i = 0; i < rows; i++) {
+                    row.setLength(0);
+                    rowWriter.write(i, random, row);
+                    row.append('\n');
+                    writer.append(row);
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * SplitMix64 generator that is re-seeded for every row, so each row's values depend
+     * only on the seed, the file and the row number.
+     */
+    private static final class Rng {
+        private long state;
+
+        void reset(long seed, int stream, long index) {
+            state = mix(seed + stream * 0x632BE59BD9B4E019L, index);
+        }
+
+        int nextInt(int bound) {
+            return (int) Long.remainderUnsigned(nextLong(), bound);
+        }
+
+        long nextLong(long bound) {
+            return Long.remainderUnsigned(nextLong(), bound);
+        }
+
+        long nextLong() {
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        /**
+         * Hashes a seed and an index into a well-mixed non-negative value.
+         */
+        static long mix(long seed, long index) {
+            long z = seed + index * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return (z ^ (z >>> 31)) >>> 1;
+        }
+    }
+}
@@ -1,17 +1,51 @@
 /**
  * Main entry point for the BTO Management System application.
- * This class initializes the application and displays the main menu.
+ * This class initializes the application and displays the main menu, or with
+ * --server [port] starts the headless HTTP API instead. With --decide it applies a batch
+ * of application decisions, and with --ballot it draws a ballot for a project, then exits.
  */
+import java.io.IOException;
+import batch.BallotCommand;
+import batch.DecisionCommand;
 import menu.MainMenu;
+import metrics.Metrics;
+import server.ApiServer;
+import server.BtoApi;
 
 public class Main {
+    /** Port the HTTP API listens on when none is given */
+    private static final int DEFAULT_PORT = 8080;
+
     /**
      * The main method that starts the BTO Management System.
-     * Creates a MainMenu object and displays it.
+     * Creates a MainMenu object and displays it, unless the server mode is requested.
      *
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments: --server [port] starts the HTTP API, and
+     *             --decide followed by the options of {@link DecisionCommand} decides applications,
+     *             and --ballot followed by the options of {@link BallotCommand} draws a ballot
+     * @throws IOException if the server port cannot be bound or the decisions file cannot be read
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        Metrics.dumpOnExit();
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            ApiServer server = BtoApi.launch(port);
+            System.out.println("BTO Management System API listening on port " + server.getPort());
+            return;
+        }
+        if (args.length > 0 && (args[0].equals("--decide") || args[0].equals("--ballot"))) {
+            try {
+                if (args[0].equals("--decide")) {
+                    DecisionCommand.run(args);
+                } else {
+                    BallotCommand.run(args);
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
         System.out.println("Starting BTO Management System...");
         MainMenu mainMenu = new MainMenu();
         mainMenu.displayMainMenu();
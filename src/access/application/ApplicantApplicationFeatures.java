@@ -13,6 +13,14 @@ public interface ApplicantApplicationFeatures {
      */
     void submitApplication(Application application);
     
+    /**
+     * Submits a new application unless the applicant already has one, checking and
+     * adding in one step so that concurrent submissions cannot both succeed.
+     * @param application the Application to submit.
+     * @return true if the application was submitted, false if the applicant already has one.
+     */
+    boolean submitIfNone(Application application);
+    
     /**
      * Retrieves applications submitted by the applicant.
      * @param applicantNric the applicant's NRIC.
@@ -0,0 +1,859 @@
+package access.application;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import models.Application;
+import models.ApplicationSummary;
+import models.enums.ApplicationStatus;
+
+/**
+ * Column-oriented store of applications.
+ * Each attribute of an application is kept in its own primitive array instead of in a
+ * separate Application object per row: repeating strings such as project names, unit
+ * types, officer NRICs and remarks become int codes into small dictionaries, the status
+ * is a byte, timestamps are longs and applicant NRICs of the usual letter, seven digits,
+ * letter form are packed into a long. Only application IDs and assigned units, which are
+ * unique per row, are kept as Strings.
+ *
+ * The store is a List of applications, so it can be handed to everything that works on
+ * applications today. Each element is a lightweight view of one row that reads and writes
+ * the columns, so changes made through the setters of a view are seen by every other view
+ * of the same row. Views are created on access and compare equal when they refer to the
+ * same row. The filters and summaries of this class read the primitive columns directly
+ * without creating a view per row: project lookups go through a list of row numbers per
+ * project and applicant lookups scan the packed NRIC column.
+ *
+ * Lookups by ID, applicant and project ignore case, like the indexes of ApplicationHandler.
+ * The store is not thread-safe.
+ */
+public class ApplicationColumns extends AbstractList<Application> implements RandomAccess {
+    /** Timestamp value standing for null */
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    /** Date value standing for null */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /** Status value standing for null */
+    private static final byte NO_STATUS = -1;
+
+    /** All statuses, indexed by the ordinal stored in the status column */
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
+    /** Flag set on every packed NRIC, so that a packed value is never 0 or negative */
+    private static final long PACKED = 1L << 40;
+
+    /** Bits that hold the case of the two letters of a packed NRIC */
+    private static final long LETTER_CASE = (0x20L << 32) | 0x20L;
+
+    /** Number of rows in the store */
+    private int size;
+
+    /** Application ID of each row */
+    private String[] ids;
+
+    /** Packed applicant NRIC of each row, see {@link #packNric(String)} */
+    private long[] applicants;
+
+    /** Project name code of each row */
+    private int[] projects;
+
+    /** Unit type code of each row */
+    private int[] unitTypes;
+
+    /** Status ordinal of each row, or {@link #NO_STATUS} */
+    private byte[] statuses;
+
+    /** Assigned unit of each row */
+    private String[] assignedUnits;
+
+    /** Assigned officer code of each row */
+    private int[] officers;
+
+    /** Submission time of each row in nanoseconds since the epoch, or {@link #NO_TIME} */
+    private long[] applicationDates;
+
+    /** Last update time of each row in nanoseconds since the epoch, or {@link #NO_TIME} */
+    private long[] lastUpdates;
+
+    /** Remarks code of each row */
+    private int[] remarks;
+
+    /** Approval date of each row as a day since the epoch, or {@link #NO_DATE} */
+    private int[] approvalDates;
+
+    /** Dictionary of project names */
+    private final Dictionary projectNames = new Dictionary();
+
+    /** Dictionary of unit types */
+    private final Dictionary unitTypeNames = new Dictionary();
+
+    /** Dictionary of officer NRICs */
+    private final Dictionary officerNrics = new Dictionary();
+
+    /** Dictionary of remarks */
+    private final Dictionary remarkTexts = new Dictionary();
+
+    /** Dictionary of applicant NRICs that cannot be packed into a long */
+    private final Dictionary irregularNrics = new Dictionary();
+
+    /** Rows of each project, indexed by project code; names equal ignoring case share one list */
+    private final List<RowList> projectRows = new ArrayList<>();
+
+    /** Rows of each project, keyed by the lower-cased project name */
+    private final Map<String, RowList> projectRowsByName = new HashMap<>();
+
+    /** Open-addressing hash table from application ID to row + 1, with 0 marking a free slot */
+    private int[] idTable;
+
+    /** Number of occupied slots in the ID table */
+    private int idCount;
+
+    /**
+     * Constructs a store holding copies of the given applications.
+     *
+     * @param applications The applications to store
+     */
+    public ApplicationColumns(List<Application> applications) {
+        allocate(Math.max(16, applications.size()));
+        idTable = new int[tableCapacity(applications.size())];
+        for (Application application : applications) {
+            add(application);
+        }
+    }
+
+    /**
+     * Returns the number of applications in the store.
+     *
+     * @return The number of rows
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of one row.
+     *
+     * @param index The row
+     * @return An application that reads and writes the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    @Override
+    public Application get(int index) {
+        checkIndex(index);
+        return new Row(index);
+    }
+
+    /**
+     * Overwrites one row with the values of an application.
+     * Views of the row see the new values; the application itself is not kept.
+     *
+     * @param index The row
+     * @param application The application to copy
+     * @return A view of the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    @Override
+    public Application set(int index, Application application) {
+        checkIndex(index);
+        String oldId = ids[index];
+        // Like a remove and re-add, the row moves to the end of its project's rows
+        rowsOfProject(projects[index]).remove(index);
+        write(index, application);
+        rowsOfProject(projects[index]).add(index);
+        if (ids[index] != null && (oldId == null || !oldId.equalsIgnoreCase(ids[index]))) {
+            indexId(index);
+        }
+        return new Row(index);
+    }
+
+    /**
+     * Appends a row holding the values of an application.
+     * Only appending is supported; the application itself is not kept.
+     *
+     * @param index The position to insert at, which must be the end of the store
+     * @param application The application to copy
+     * @throws UnsupportedOperationException if the position is not the end of the store
+     */
+    @Override
+    public void add(int index, Application application) {
+        if (index != size) {
+            throw new UnsupportedOperationException("Applications can only be appended");
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size++;
+        write(row, application);
+        rowsOfProject(projects[row]).add(row);
+        if (ids[row] != null) {
+            indexId(row);
+        }
+        modCount++;
+    }
+
+    /**
+     * Finds the row of an application by its ID, ignoring case.
+     * If several rows share the ID, the first one added is returned.
+     *
+     * @param applicationId The ID to look for
+     * @return The row, or -1 if no application has the ID
+     */
+    public int indexOfId(String applicationId) {
+        if (applicationId == null) {
+            return -1;
+        }
+        int mask = idTable.length - 1;
+        for (int slot = hashIgnoreCase(applicationId) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) {
+            int row = idTable[slot] - 1;
+            if (applicationId.equalsIgnoreCase(ids[row])) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the row a view refers to, if it is a view of this store.
+     *
+     * @param application The application to check
+     * @return The row, or -1 if the application is not a view of this store
+     */
+    public int rowOf(Application application) {
+        if (application instanceof Row && ((Row) application).store() == this) {
+            return ((Row) application).row;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the applications for a project, ignoring case.
+     *
+     * @param projectName The name of the project
+     * @return Views of the matching rows, in row order
+     */
+    public List<Application> forProject(String projectName) {
+        return select(projectName, NO_STATUS);
+    }
+
+    /**
+     * Returns the applications for a project that have a given status.
+     *
+     * @param projectName The name of the project
+     * @param status The status to keep
+     * @return Views of the matching rows, in row order
+     */
+    public List<Application> forProject(String projectName, ApplicationStatus status) {
+        return select(projectName, (byte) status.ordinal());
+    }
+
+    /**
+     * Returns the applications submitted by an applicant, ignoring case.
+     *
+     * @param applicantNric The NRIC of the applicant
+     * @return Views of the matching rows, in row order
+     */
+    public List<Application> forApplicant(String applicantNric) {
+        List<Application> result = new ArrayList<>();
+        if (applicantNric == null) {
+            return result;
+        }
+        long packed = packRegular(applicantNric);
+        if (packed != 0) {
+            long key = packed | LETTER_CASE;
+            for (int row = 0; row < size; row++) {
+                if ((applicants[row] | LETTER_CASE) == key) {
+                    result.add(new Row(row));
+                }
+            }
+        } else {
+            boolean[] matches = irregularNrics.matchIgnoringCase(applicantNric);
+            for (int row = 0; row < size; row++) {
+                long applicant = applicants[row];
+                if (applicant < 0 && matches[(int) -applicant]) {
+                    result.add(new Row(row));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the applications for a project by unit type and status.
+     * Scans only the project, unit type and status columns.
+     *
+     * @param projectName The name of the project, matched ignoring case
+     * @return The summary of the project's applications
+     */
+    public ApplicationSummary summarize(String projectName) {
+        RowList rows = findProject(projectName);
+        int twoRoomCode = unitTypeNames.find("2-Room");
+        int threeRoomCode = unitTypeNames.find("3-Room");
+        // Indexed by status ordinal, with null statuses counted in the last slot
+        int[] counts = new int[256];
+        int twoRoom = 0;
+        int threeRoom = 0;
+        for (int i = 0; i < rows.size; i++) {
+            int row = rows.rows[i];
+            int unitType = unitTypes[row];
+            if (unitType == twoRoomCode) {
+                twoRoom++;
+            } else if (unitType == threeRoomCode) {
+                threeRoom++;
+            }
+            counts[statuses[row] & 0xFF]++;
+        }
+        return new ApplicationSummary(rows.size, twoRoom, threeRoom,
+                counts[ApplicationStatus.SUCCESSFUL.ordinal()] + counts[ApplicationStatus.BOOKED.ordinal()],
+                counts[ApplicationStatus.PENDING.ordinal()],
+                counts[ApplicationStatus.UNSUCCESSFUL.ordinal()]);
+    }
+
+    /**
+     * Returns the rows of a project, optionally restricted to one status.
+     *
+     * @param projectName The name of the project, matched ignoring case
+     * @param status The status ordinal to keep, or {@link #NO_STATUS} to keep all
+     * @return Views of the matching rows, in row order
+     */
+    private List<Application> select(String projectName, byte status) {
+        RowList rows = findProject(projectName);
+        List<Application> result = new ArrayList<>(status == NO_STATUS ? rows.size : 16);
+        for (int i = 0; i < rows.size; i++) {
+            int row = rows.rows[i];
+            if (status == NO_STATUS || statuses[row] == status) {
+                result.add(new Row(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the rows of a project.
+     *
+     * @param projectName The name of the project, matched ignoring case; may be null
+     * @return The project's rows, or an empty list if it has none
+     */
+    private RowList findProject(String projectName) {
+        RowList rows = projectName != null ? projectRowsByName.get(projectName.toLowerCase(Locale.ROOT)) : null;
+        return rows != null ? rows : new RowList();
+    }
+
+    /**
+     * Returns the row list of a project code, creating it for a new code.
+     *
+     * @param code The project code
+     * @return The rows with a project name equal to the code's name ignoring case
+     */
+    private RowList rowsOfProject(int code) {
+        while (projectRows.size() <= code) {
+            String name = projectNames.value(projectRows.size());
+            // Rows without a project are tracked but can never be looked up
+            projectRows.add(name != null
+                    ? projectRowsByName.computeIfAbsent(name.toLowerCase(Locale.ROOT), k -> new RowList())
+                    : new RowList());
+        }
+        return projectRows.get(code);
+    }
+
+    /**
+     * Copies all values of an application into a row.
+     *
+     * @param row The row to write
+     * @param app The application to copy
+     */
+    private void write(int row, Application app) {
+        ids[row] = app.getApplicationId();
+        applicants[row] = packNric(app.getApplicantNric());
+        projects[row] = projectNames.code(app.getProjectName());
+        unitTypes[row] = unitTypeNames.code(app.getUnitType());
+        statuses[row] = app.getStatus() != null ? (byte) app.getStatus().ordinal() : NO_STATUS;
+        assignedUnits[row] = app.getAssignedUnit();
+        officers[row] = officerNrics.code(app.getAssignedOfficer());
+        applicationDates[row] = toNanos(app.getApplicationDate());
+        lastUpdates[row] = toNanos(app.getLastUpdated());
+        remarks[row] = remarkTexts.code(app.getRemarks());
+        approvalDates[row] = app.getApprovalDate() != null ? (int) app.getApprovalDate().toEpochDay() : NO_DATE;
+    }
+
+    /**
+     * Adds the ID of a row to the ID table, unless another row already has the ID.
+     *
+     * @param row The row whose ID to add
+     */
+    private void indexId(int row) {
+        if (indexOfId(ids[row]) >= 0) {
+            return;
+        }
+        if ((idCount + 1) * 2 > idTable.length) {
+            rehash(idTable.length * 2);
+        }
+        insertId(row);
+    }
+
+    /**
+     * Places a row in the first free slot of its ID's probe sequence.
+     *
+     * @param row The row to place
+     */
+    private void insertId(int row) {
+        int mask = idTable.length - 1;
+        int slot = hashIgnoreCase(ids[row]) & mask;
+        while (idTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        idTable[slot] = row + 1;
+        idCount++;
+    }
+
+    /**
+     * Rebuilds the ID table with a new capacity, re-adding the rows in order so the first
+     * row with a given ID stays the one that is found.
+     *
+     * @param capacity The new table capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        idTable = new int[capacity];
+        idCount = 0;
+        for (int row = 0; row < size; row++) {
+            if (ids[row] != null && indexOfId(ids[row]) < 0) {
+                insertId(row);
+            }
+        }
+    }
+
+    /**
+     * Allocates the columns.
+     *
+     * @param capacity The number of rows to make room for
+     */
+    private void allocate(int capacity) {
+        ids = new String[capacity];
+        applicants = new long[capacity];
+        projects = new int[capacity];
+        unitTypes = new int[capacity];
+        statuses = new byte[capacity];
+        assignedUnits = new String[capacity];
+        officers = new int[capacity];
+        applicationDates = new long[capacity];
+        lastUpdates = new long[capacity];
+        remarks = new int[capacity];
+        approvalDates = new int[capacity];
+    }
+
+    /**
+     * Grows every column by half its capacity.
+     */
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1) + 1;
+        ids = Arrays.copyOf(ids, capacity);
+        applicants = Arrays.copyOf(applicants, capacity);
+        projects = Arrays.copyOf(projects, capacity);
+        unitTypes = Arrays.copyOf(unitTypes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        assignedUnits = Arrays.copyOf(assignedUnits, capacity);
+        officers = Arrays.copyOf(officers, capacity);
+        applicationDates = Arrays.copyOf(applicationDates, capacity);
+        lastUpdates = Arrays.copyOf(lastUpdates, capacity);
+        remarks = Arrays.copyOf(remarks, capacity);
+        approvalDates = Arrays.copyOf(approvalDates, capacity);
+    }
+
+    /**
+     * Checks that a row exists.
+     *
+     * @param index The row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns the ID table capacity for a number of IDs, keeping the table at most half full.
+     *
+     * @param ids The number of IDs
+     * @return A power of two at least twice the number of IDs
+     */
+    private static int tableCapacity(int ids) {
+        return Integer.highestOneBit(Math.max(8, ids) * 2 - 1) << 1;
+    }
+
+    /**
+     * Hashes a string so that strings equal ignoring case hash the same.
+     *
+     * @param value The string to hash
+     * @return The hash code, spread over the low bits
+     */
+    private static int hashIgnoreCase(String value) {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Packs an NRIC into a long.
+     * NRICs of the form letter, seven digits, letter are packed into the bits of the long
+     * and always give a positive value. Any other value is stored in the irregular NRIC
+     * dictionary and gives the negated dictionary code.
+     *
+     * @param nric The NRIC to pack; may be null
+     * @return The packed value, or 0 for null
+     */
+    private long packNric(String nric) {
+        long packed = packRegular(nric);
+        return packed != 0 ? packed : -irregularNrics.code(nric);
+    }
+
+    /**
+     * Packs an NRIC of the form letter, seven digits, letter into a long.
+     * The first letter is stored in bits 32 to 39, the digits as a number in bits 8 to 31
+     * and the last letter in bits 0 to 7, with bit 40 always set.
+     *
+     * @param nric The NRIC to pack; may be null
+     * @return The packed value, or 0 if the NRIC does not have the regular form
+     */
+    private static long packRegular(String nric) {
+        if (nric == null || nric.length() != 9 || !isAsciiLetter(nric.charAt(0)) || !isAsciiLetter(nric.charAt(8))) {
+            return 0;
+        }
+        int digits = 0;
+        for (int i = 1; i < 8; i++) {
+            char c = nric.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            digits = digits * 10 + (c - '0');
+        }
+        return PACKED | ((long) nric.charAt(0) << 32) | ((long) digits << 8) | nric.charAt(8);
+    }
+
+    /**
+     * Restores an NRIC from its packed value.
+     *
+     * @param packed The value produced by {@link #packNric(String)}
+     * @return The NRIC, or null for 0
+     */
+    private String unpackNric(long packed) {
+        if (packed <= 0) {
+            return irregularNrics.value((int) -packed);
+        }
+        char[] nric = new char[9];
+        nric[0] = (char) ((packed >>> 32) & 0xFF);
+        int digits = (int) ((packed >>> 8) & 0xFFFFFF);
+        for (int i = 7; i >= 1; i--) {
+            nric[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        nric[8] = (char) (packed & 0xFF);
+        return new String(nric);
+    }
+
+    /**
+     * Checks whether a character is an ASCII letter.
+     *
+     * @param c The character to check
+     * @return true for A to Z and a to z
+     */
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    /**
+     * Converts a timestamp to nanoseconds since the epoch.
+     *
+     * @param time The timestamp; may be null
+     * @return The nanoseconds, or {@link #NO_TIME} for null
+     * @throws IllegalArgumentException if the timestamp is outside the years 1677 to 2262
+     */
+    private static long toNanos(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L), time.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Timestamp out of range: " + time);
+        }
+    }
+
+    /**
+     * Converts nanoseconds since the epoch back to a timestamp.
+     *
+     * @param nanos The nanoseconds, or {@link #NO_TIME}
+     * @return The timestamp, or null for {@link #NO_TIME}
+     */
+    private static LocalDateTime fromNanos(long nanos) {
+        if (nanos == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    /**
+     * Dictionary assigning each distinct string a small int code.
+     * Code 0 stands for null, so a freshly allocated column reads as all nulls.
+     */
+    private static final class Dictionary {
+        /** Code of each value */
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        /** Value of each code, with null at code 0 */
+        private final List<String> values = new ArrayList<>();
+
+        /**
+         * Constructs an empty dictionary.
+         */
+        Dictionary() {
+            values.add(null);
+        }
+
+        /**
+         * Returns the code of a value, adding the value if it is new.
+         *
+         * @param value The value; may be null
+         * @return The code, or 0 for null
+         */
+        int code(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * Returns the code of a value without adding it.
+         *
+         * @param value The value
+         * @return The code, or -1 if the value is not in the dictionary
+         */
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        /**
+         * Returns the value of a code.
+         *
+         * @param code The code
+         * @return The value, or null for code 0
+         */
+        String value(int code) {
+            return values.get(code);
+        }
+
+        /**
+         * Finds every code whose value equals a string ignoring case.
+         *
+         * @param value The string to match
+         * @return A flag per code, set for the matching codes
+         */
+        boolean[] matchIgnoringCase(String value) {
+            String normalized = value.toLowerCase(Locale.ROOT);
+            boolean[] matches = new boolean[values.size()];
+            for (int code = 1; code < matches.length; code++) {
+                matches[code] = values.get(code).toLowerCase(Locale.ROOT).equals(normalized);
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * Growable list of row numbers.
+     */
+    private static final class RowList {
+        /** The rows, of which the first {@link #size} are used */
+        private int[] rows = new int[8];
+
+        /** Number of rows in the list */
+        private int size;
+
+        /**
+         * Appends a row.
+         *
+         * @param row The row to append
+         */
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        /**
+         * Removes the first occurrence of a row, keeping the order of the others.
+         *
+         * @param row The row to remove
+         */
+        void remove(int row) {
+            for (int i = 0; i < size; i++) {
+                if (rows[i] == row) {
+                    System.arraycopy(rows, i + 1, rows, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * View of one row of the store as an Application.
+     * The fields inherited from Application are unused; every getter and setter goes to
+     * the columns. Like Application, each setter except the ID setter also moves the last
+     * updated time to now.
+     */
+    private final class Row extends Application {
+        /** The row this view refers to */
+        private final int row;
+
+        /**
+         * Constructs a view of a row.
+         *
+         * @param row The row
+         */
+        Row(int row) {
+            super(null, null, null, null, null, null, null, null, null, null);
+            this.row = row;
+        }
+
+        /**
+         * Returns the store this view belongs to.
+         *
+         * @return The enclosing store
+         */
+        ApplicationColumns store() {
+            return ApplicationColumns.this;
+        }
+
+        @Override
+        public String getApplicationId() {
+            return ids[row];
+        }
+
+        @Override
+        public String getApplicantNric() {
+            return unpackNric(applicants[row]);
+        }
+
+        @Override
+        public String getProjectName() {
+            return projectNames.value(projects[row]);
+        }
+
+        @Override
+        public String getUnitType() {
+            return unitTypeNames.value(unitTypes[row]);
+        }
+
+        @Override
+        public ApplicationStatus getStatus() {
+            return statuses[row] != NO_STATUS ? STATUSES[statuses[row]] : null;
+        }
+
+        @Override
+        public String getAssignedUnit() {
+            return assignedUnits[row];
+        }
+
+        @Override
+        public String getAssignedOfficer() {
+            return officerNrics.value(officers[row]);
+        }
+
+        @Override
+        public LocalDateTime getApplicationDate() {
+            return fromNanos(applicationDates[row]);
+        }
+
+        @Override
+        public LocalDateTime getLastUpdated() {
+            return fromNanos(lastUpdates[row]);
+        }
+
+        @Override
+        public String getRemarks() {
+            return remarkTexts.value(remarks[row]);
+        }
+
+        @Override
+        public LocalDate getApprovalDate() {
+            return approvalDates[row] != NO_DATE ? LocalDate.ofEpochDay(approvalDates[row]) : null;
+        }
+
+        @Override
+        public void setStatus(ApplicationStatus status) {
+            statuses[row] = status != null ? (byte) status.ordinal() : NO_STATUS;
+            touch();
+        }
+
+        @Override
+        public void setAssignedUnit(String assignedUnit) {
+            assignedUnits[row] = assignedUnit;
+            touch();
+        }
+
+        @Override
+        public void setAssignedOfficer(String assignedOfficer) {
+            officers[row] = officerNrics.code(assignedOfficer);
+            touch();
+        }
+
+        @Override
+        public void setRemarks(String remarks) {
+            ApplicationColumns.this.remarks[row] = remarkTexts.code(remarks);
+            touch();
+        }
+
+        @Override
+        public void setApplicationId(String applicationId) {
+            String oldId = ids[row];
+            ids[row] = applicationId;
+            if (applicationId != null && (oldId == null || !oldId.equalsIgnoreCase(applicationId))) {
+                indexId(row);
+            }
+        }
+
+        @Override
+        public void setApprovalDate(LocalDate approvalDate) {
+            approvalDates[row] = approvalDate != null ? (int) approvalDate.toEpochDay() : NO_DATE;
+            touch();
+        }
+
+        /**
+         * Sets the last updated time of the row to now.
+         */
+        private void touch() {
+            lastUpdates[row] = toNanos(LocalDateTime.now());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Row && ((Row) other).store() == store() && ((Row) other).row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return row;
+        }
+    }
+}
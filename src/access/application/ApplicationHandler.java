@@ -1,10 +1,20 @@
 package access.application;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import models.Application;
+import models.ApplicationDecision;
+import models.DecisionBatchResult;
 import models.enums.ApplicationStatus;
 import io.FileIO;
+import utils.Constants;
+import utils.IdGenerator;
+import metrics.Metrics;
+import metrics.SaveEvent;
 
 /**
  * Handles all application-related operations in the BTO Management System.
@@ -16,13 +26,38 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
     /** The in-memory list of all applications in the system */
     private List<Application> applications;
     
+    /** Primary index from normalized application ID to application */
+    private Map<String, Application> applicationsById;
+    
+    /** Position in the list of each application in the primary index, by normalized ID */
+    private Map<String, Integer> positionsById;
+    
+    /** Generates the IDs of new applications */
+    private final IdGenerator ids = new IdGenerator();
+    
+    /** Secondary index from normalized applicant NRIC to that applicant's applications */
+    private Map<String, List<Application>> applicationsByApplicant;
+    
+    /** Secondary index from normalized project name to that project's applications */
+    private Map<String, List<Application>> applicationsByProject;
+    
     /**
      * Constructs an ApplicationHandler with the given list of applications.
+     * Builds the ID, position, applicant and project indexes in a single pass over the list.
      *
      * @param applications The list of applications to manage
      */
     public ApplicationHandler(List<Application> applications) {
         this.applications = applications;
+        this.applicationsById = new HashMap<>(Math.max(16, applications.size() * 2));
+        this.positionsById = new HashMap<>(Math.max(16, applications.size() * 2));
+        this.applicationsByApplicant = new HashMap<>();
+        this.applicationsByProject = new HashMap<>();
+        for (int i = 0; i < applications.size(); i++) {
+            Application app = applications.get(i);
+            index(app, i);
+            ids.observe(app.getApplicationId());
+        }
     }
     
     // Manager methods...
@@ -46,12 +81,14 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public void approveApplication(String applicationId) {
-        Application app = findApplicationById(applicationId);
-        if (app == null) {
-            throw new IllegalArgumentException("Application not found: " + applicationId);
-        }
-        app.setStatus(ApplicationStatus.SUCCESSFUL);
-        saveChanges(); // Add this line to save changes to CSV
+        Metrics.run("ApplicationHandler.approveApplication", () -> {
+            Application app = findApplicationById(applicationId);
+            if (app == null) {
+                throw new IllegalArgumentException("Application not found: " + applicationId);
+            }
+            app.setStatus(ApplicationStatus.SUCCESSFUL);
+            persist(app);
+        });
     }
     
     /**
@@ -63,12 +100,78 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public void rejectApplication(String applicationId) {
-        Application app = findApplicationById(applicationId);
-        if (app == null) {
-            throw new IllegalArgumentException("Application not found: " + applicationId);
-        }
-        app.setStatus(ApplicationStatus.UNSUCCESSFUL);
-        saveChanges(); // Add this line to save changes to CSV
+        Metrics.run("ApplicationHandler.rejectApplication", () -> {
+            Application app = findApplicationById(applicationId);
+            if (app == null) {
+                throw new IllegalArgumentException("Application not found: " + applicationId);
+            }
+            app.setStatus(ApplicationStatus.UNSUCCESSFUL);
+            persist(app);
+        });
+    }
+
+    /**
+     * Marks an application as withdrawn, replacing its remarks.
+     * Available to managers when approving a withdrawal request.
+     *
+     * @param applicationId The ID of the application to withdraw
+     * @param remarks The remarks to record on the application
+     * @return The status of the application before it was withdrawn
+     * @throws IllegalArgumentException if application is not found
+     */
+    @Override
+    public ApplicationStatus withdrawApplication(String applicationId, String remarks) {
+        return Metrics.call("ApplicationHandler.withdrawApplication", () -> {
+            Application app = findApplicationById(applicationId);
+            if (app == null) {
+                throw new IllegalArgumentException("Application not found: " + applicationId);
+            }
+            ApplicationStatus previous = app.getStatus();
+            app.setStatus(ApplicationStatus.WITHDRAWN);
+            app.setRemarks(remarks);
+            persist(app);
+            return previous;
+        });
+    }
+
+    /**
+     * Applies a batch of decisions to pending applications.
+     * Each approval also records today as the approval date. All changes are made in memory
+     * first and then persisted together, as one journal append with a single fsync, or as
+     * one full save if the batch would push the journal past its compaction threshold.
+     *
+     * @param decisions The decisions, applied in order
+     * @return The counts of approved, rejected and skipped applications and the time taken
+     */
+    @Override
+    public DecisionBatchResult decideApplications(List<ApplicationDecision> decisions) {
+        return Metrics.call("ApplicationHandler.decideApplications", () -> {
+            long batchStart = System.nanoTime();
+            LocalDate today = LocalDate.now();
+            List<Application> changed = new ArrayList<>(decisions.size());
+            List<String> skipped = new ArrayList<>();
+            int approved = 0;
+            for (ApplicationDecision decision : decisions) {
+                Application app = findApplicationById(decision.getApplicationId());
+                if (app == null) {
+                    skipped.add(decision.getApplicationId() + ": not found");
+                    continue;
+                }
+                if (app.getStatus() != ApplicationStatus.PENDING) {
+                    skipped.add(decision.getApplicationId() + ": already " + app.getStatus());
+                    continue;
+                }
+                app.setStatus(decision.getStatus());
+                app.setRemarks(decision.getRemarks());
+                if (decision.isApproval()) {
+                    app.setApprovalDate(today);
+                    approved++;
+                }
+                changed.add(app);
+            }
+            persistAll(changed);
+            return new DecisionBatchResult(approved, changed.size() - approved, skipped, System.nanoTime() - batchStart);
+        });
     }
 
     /**
@@ -80,13 +183,8 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public List<Application> getApplicationsByProject(String projectName) {
-        List<Application> result = new ArrayList<>();
-        for (Application app : applications) {
-            if (app.getProjectName().equalsIgnoreCase(projectName)) {
-                result.add(app);
-            }
-        }
-        return result;
+        return Metrics.call("ApplicationHandler.getApplicationsByProject",
+                () -> new ArrayList<>(lookup(applicationsByProject, projectName)));
     }
 
     /**
@@ -98,15 +196,16 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public List<Application> getPendingApplicationsByProject(String projectName) {
-        List<Application> result = new ArrayList<>();
-        for (Application app : applications) {
-            // Compare project names (ignoring case) and check if status is pending.
-            if (app.getProjectName().equalsIgnoreCase(projectName) &&
-                app.getStatus() == ApplicationStatus.PENDING) {
-                result.add(app);
+        return Metrics.call("ApplicationHandler.getPendingApplicationsByProject", () -> {
+            List<Application> result = new ArrayList<>();
+            // Status is mutable on the model itself, so filter the project bucket rather than indexing by status.
+            for (Application app : lookup(applicationsByProject, projectName)) {
+                if (app.getStatus() == ApplicationStatus.PENDING) {
+                    result.add(app);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
     
     // Officer methods...
@@ -119,13 +218,8 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public List<Application> getApplicationsForProject(String projectName) {
-        List<Application> result = new ArrayList<>();
-        for (Application app : applications) {
-            if (app.getProjectName().equalsIgnoreCase(projectName)) {
-                result.add(app);
-            }
-        }
-        return result;
+        return Metrics.call("ApplicationHandler.getApplicationsForProject",
+                () -> new ArrayList<>(lookup(applicationsByProject, projectName)));
     }
     
     /**
@@ -137,7 +231,7 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public Application getApplication(String applicationId) {
-        return findApplicationById(applicationId);
+        return Metrics.call("ApplicationHandler.getApplication", () -> findApplicationById(applicationId));
     }
     
     /**
@@ -149,15 +243,71 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public void processApplication(String applicationId) {
-        Application app = findApplicationById(applicationId);
-        if (app == null) {
-            throw new IllegalArgumentException("Application not found: " + applicationId);
-        }
-        if (app.getStatus() != ApplicationStatus.SUCCESSFUL) {
-            throw new IllegalArgumentException("Only applications with 'Successful' status can be processed to 'Booked'.");
-        }
-        app.setStatus(ApplicationStatus.BOOKED);
-        saveChanges(); // Ensure changes are saved to CSV
+        Metrics.run("ApplicationHandler.processApplication", () -> {
+            Application app = findApplicationById(applicationId);
+            if (app == null) {
+                throw new IllegalArgumentException("Application not found: " + applicationId);
+            }
+            if (app.getStatus() != ApplicationStatus.SUCCESSFUL) {
+                throw new IllegalArgumentException("Only applications with 'Successful' status can be processed to 'Booked'.");
+            }
+            app.setStatus(ApplicationStatus.BOOKED);
+            persist(app);
+        });
+    }
+    
+    /**
+     * Books a successful application, keeping its approval date or setting it to today.
+     * Available to officers for completing the post-approval booking process.
+     *
+     * @param applicationId The ID of the application to book
+     * @param unitNumber The unit number assigned to the application
+     * @param officerNric The NRIC of the officer making the booking
+     * @param remarks The remarks to record on the application
+     * @throws IllegalArgumentException if application is not found, not in SUCCESSFUL status or already has a unit
+     */
+    @Override
+    public void bookApplication(String applicationId, String unitNumber, String officerNric, String remarks) {
+        Metrics.run("ApplicationHandler.bookApplication", () -> {
+            Application app = findApplicationById(applicationId);
+            if (app == null) {
+                throw new IllegalArgumentException("Application not found: " + applicationId);
+            }
+            if (app.getStatus() != ApplicationStatus.SUCCESSFUL) {
+                throw new IllegalArgumentException("Only applications with 'Successful' status can be booked.");
+            }
+            if (app.getAssignedUnit() != null && !app.getAssignedUnit().isEmpty()) {
+                throw new IllegalArgumentException("This application already has unit " + app.getAssignedUnit() + " assigned.");
+            }
+            if (app.getApprovalDate() == null) {
+                app.setApprovalDate(LocalDate.now());
+            }
+            app.setStatus(ApplicationStatus.BOOKED);
+            app.setAssignedUnit(unitNumber);
+            app.setAssignedOfficer(officerNric);
+            app.setRemarks(remarks);
+            persist(app);
+        });
+    }
+    
+    /**
+     * Replaces the remarks of an application.
+     * Available to officers to note progress on applications they handle.
+     *
+     * @param applicationId The ID of the application
+     * @param remarks The new remarks
+     * @throws IllegalArgumentException if application is not found
+     */
+    @Override
+    public void updateRemarks(String applicationId, String remarks) {
+        Metrics.run("ApplicationHandler.updateRemarks", () -> {
+            Application app = findApplicationById(applicationId);
+            if (app == null) {
+                throw new IllegalArgumentException("Application not found: " + applicationId);
+            }
+            app.setRemarks(remarks);
+            persist(app);
+        });
     }
     
     /**
@@ -170,14 +320,16 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public String generateReceipt(String applicationId) {
-        Application app = findApplicationById(applicationId);
-        if (app == null) {
-            throw new IllegalArgumentException("Application not found: " + applicationId);
-        }
-        if (app.getStatus() != ApplicationStatus.BOOKED) {
-            throw new IllegalArgumentException("Receipt can only be generated for applications with 'Booked' status.");
-        }
-        return app.generateReceipt();
+        return Metrics.call("ApplicationHandler.generateReceipt", () -> {
+            Application app = findApplicationById(applicationId);
+            if (app == null) {
+                throw new IllegalArgumentException("Application not found: " + applicationId);
+            }
+            if (app.getStatus() != ApplicationStatus.BOOKED) {
+                throw new IllegalArgumentException("Receipt can only be generated for applications with 'Booked' status.");
+            }
+            return app.generateReceipt();
+        });
     }
     
     // Applicant methods...
@@ -189,12 +341,25 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public void submitApplication(Application application) {
-        // Generate a unique ID if the application does not yet have one.
-        if (application.getApplicationId() == null || application.getApplicationId().isEmpty()) {
-            application.setApplicationId(generateUniqueId("APP"));
-        }
-        applications.add(application);
-        saveChanges(); // Save to CSV after adding
+        Metrics.run("ApplicationHandler.submitApplication", () -> add(application));
+    }
+    
+    /**
+     * Submits a new application unless the applicant already has one.
+     * Available to applicants, who may hold only one application at a time.
+     *
+     * @param application The application to submit
+     * @return true if the application was submitted, false if the applicant already has one
+     */
+    @Override
+    public boolean submitIfNone(Application application) {
+        return Metrics.call("ApplicationHandler.submitIfNone", () -> {
+            if (hasApplication(application.getApplicantNric())) {
+                return false;
+            }
+            add(application);
+            return true;
+        });
     }
     
     /**
@@ -206,21 +371,53 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public List<Application> getApplicationsForApplicant(String applicantNric) {
-        List<Application> result = new ArrayList<>();
-        for (Application app : applications) {
-            if (app.getApplicantNric().equalsIgnoreCase(applicantNric)) {
-                result.add(app);
-            }
-        }
-        return result;
+        return Metrics.call("ApplicationHandler.getApplicationsForApplicant",
+                () -> new ArrayList<>(lookup(applicationsByApplicant, applicantNric)));
     }
     
     /**
      * Saves current application data to persistent storage.
-     * Called after operations that modify application data.
+     * Rewrites the whole CSV file, which also compacts the application journal.
+     * Mutations made through this handler are already journaled as they happen,
+     * so this only needs to be called for compaction, e.g. on shutdown.
      */
     public void saveChanges() {
-        FileIO.saveApplications(applications);
+        SaveEvent event = SaveEvent.start("ApplicationHandler");
+        try {
+            FileIO.saveApplications(applications);
+        } finally {
+            event.finish(applications.size());
+        }
+    }
+    
+    /**
+     * Records a single added or changed application in the journal, compacting the
+     * journal into the CSV file once it grows past the configured threshold.
+     *
+     * @param application The application that was added or changed
+     */
+    protected void persist(Application application) {
+        FileIO.journalApplication(application);
+        if (FileIO.applicationJournalSize() >= Constants.JOURNAL_COMPACTION_THRESHOLD) {
+            saveChanges();
+        }
+    }
+    
+    /**
+     * Records a batch of changed applications as a single commit: one journal append made
+     * durable by one fsync, or a full save when the journal would reach the compaction threshold.
+     *
+     * @param changed The applications that were changed
+     */
+    protected void persistAll(List<Application> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (FileIO.applicationJournalSize() + changed.size() >= Constants.JOURNAL_COMPACTION_THRESHOLD) {
+            saveChanges();
+        } else {
+            FileIO.journalApplications(changed);
+        }
     }
     
     /**
@@ -232,17 +429,50 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      */
     @Override
     public void updateApplication(Application application) {
-        Application existingApp = findApplicationById(application.getApplicationId());
-        if (existingApp == null) {
-            throw new IllegalArgumentException("Application not found: " + application.getApplicationId());
-        }
+        Metrics.run("ApplicationHandler.updateApplication", () -> {
+            Application existingApp = findApplicationById(application.getApplicationId());
+            if (existingApp == null) {
+                throw new IllegalArgumentException("Application not found: " + application.getApplicationId());
+            }
         
-        // Update the application in the list
-        int index = applications.indexOf(existingApp);
-        applications.set(index, application);
+            // Update the application in the list and re-point the indexes at the new instance
+            if (existingApp != application) {
+                int position = positionsById.get(normalize(application.getApplicationId()));
+                applications.set(position, application);
+                unindex(existingApp);
+                index(application, position);
+            }
         
-        // Save changes to CSV
-        saveChanges();
+            // Record the change in the journal
+            persist(application);
+        });
+    }
+    
+    /**
+     * Adds a new application, assigning it an ID if it has none, and records it in the journal.
+     *
+     * @param application The application to add
+     */
+    protected void add(Application application) {
+        // Generate a unique ID if the application does not yet have one.
+        if (application.getApplicationId() == null || application.getApplicationId().isEmpty()) {
+            application.setApplicationId(generateUniqueId("APP"));
+        } else {
+            observeId(application.getApplicationId());
+        }
+        applications.add(application);
+        index(application, applications.size() - 1);
+        persist(application);
+    }
+    
+    /**
+     * Checks whether an applicant has submitted any application.
+     *
+     * @param applicantNric The NRIC of the applicant
+     * @return true if the applicant has at least one application
+     */
+    protected boolean hasApplication(String applicantNric) {
+        return !lookup(applicationsByApplicant, applicantNric).isEmpty();
     }
     
     /**
@@ -252,24 +482,114 @@ public class ApplicationHandler implements ManagerApplicationFeatures, OfficerAp
      * @param applicationId The ID of the application to find
      * @return The Application object with the specified ID, or null if not found
      */
-    private Application findApplicationById(String applicationId) {
-        for (Application app : applications) {
-            if (app.getApplicationId().equalsIgnoreCase(applicationId)) {
-                return app;
+    protected Application findApplicationById(String applicationId) {
+        if (applicationId == null) {
+            return null;
+        }
+        return applicationsById.get(normalize(applicationId));
+    }
+    
+    /**
+     * Adds an application to the ID, position, applicant and project indexes.
+     *
+     * @param app The application to index
+     * @param position The position of the application in the list
+     */
+    private void index(Application app, int position) {
+        if (app.getApplicationId() != null) {
+            String id = normalize(app.getApplicationId());
+            if (applicationsById.putIfAbsent(id, app) == null) {
+                positionsById.put(id, position);
+            }
+        }
+        if (app.getApplicantNric() != null) {
+            applicationsByApplicant.computeIfAbsent(normalize(app.getApplicantNric()), k -> new ArrayList<>()).add(app);
+        }
+        if (app.getProjectName() != null) {
+            applicationsByProject.computeIfAbsent(normalize(app.getProjectName()), k -> new ArrayList<>()).add(app);
+        }
+    }
+    
+    /**
+     * Removes an application from the ID, position, applicant and project indexes.
+     *
+     * @param app The application to remove
+     */
+    private void unindex(Application app) {
+        if (app.getApplicationId() != null) {
+            String id = normalize(app.getApplicationId());
+            if (applicationsById.remove(id, app)) {
+                positionsById.remove(id);
+            }
+        }
+        removeFromBucket(applicationsByApplicant, app.getApplicantNric(), app);
+        removeFromBucket(applicationsByProject, app.getProjectName(), app);
+    }
+    
+    /**
+     * Removes an application from one bucket of a secondary index, dropping the bucket once empty.
+     *
+     * @param index The secondary index to update
+     * @param key The un-normalized bucket key
+     * @param app The application to remove
+     */
+    private void removeFromBucket(Map<String, List<Application>> index, String key, Application app) {
+        if (key == null) {
+            return;
+        }
+        String normalized = normalize(key);
+        List<Application> bucket = index.get(normalized);
+        if (bucket != null) {
+            bucket.remove(app);
+            if (bucket.isEmpty()) {
+                index.remove(normalized);
             }
         }
-        return null;
+    }
+    
+    /**
+     * Looks up a bucket of a secondary index.
+     *
+     * @param index The secondary index to read
+     * @param key The un-normalized bucket key
+     * @return The matching applications, or an empty list if there are none
+     */
+    private List<Application> lookup(Map<String, List<Application>> index, String key) {
+        if (key == null) {
+            return new ArrayList<>();
+        }
+        List<Application> bucket = index.get(normalize(key));
+        return bucket != null ? bucket : new ArrayList<>();
+    }
+    
+    /**
+     * Normalizes an index key so lookups keep the case-insensitive semantics of the original scans.
+     *
+     * @param key The key to normalize
+     * @return The lower-cased key
+     */
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
     }
     
     /**
      * Generates a unique ID for a new application.
-     * Creates IDs in the format: [prefix]-[timestamp] to ensure uniqueness.
+     * Creates IDs in the format: [prefix]-[timestamp], moved past the last ID generated
+     * or in use if the clock has not advanced since.
      *
      * @param prefix The prefix to use for the ID (e.g., "APP")
      * @return A unique ID string
      */
-    private String generateUniqueId(String prefix) {
-        // Format: 3-letter prefix, a hyphen, followed by a unique numeric value.
-        return prefix + "-" + System.currentTimeMillis();
+    protected String generateUniqueId(String prefix) {
+        return ids.next(prefix);
+    }
+    
+    /**
+     * Records an application ID that is already in use, so that generated IDs never repeat it.
+     *
+     * @param applicationId The ID in use
+     */
+    protected void observeId(String applicationId) {
+        ids.observe(applicationId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package access.application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import models.Application;
+import models.ApplicationDecision;
+import models.Project;
+import models.enums.ApplicationStatus;
+import users.User;
+import users.enums.MaritalStatus;
+
+/**
+ * Seeded ballot that allocates the remaining units of one flat type in a project among
+ * its pending applications. Applications are drawn in priority tiers, lower tiers first,
+ * and in a random order within each tier. The winners are approved and the rest rejected.
+ *
+ * The random order comes from a hash of the seed and each application ID rather than from
+ * a sequential shuffle, so the same seed always draws the same winners regardless of the
+ * order the applications are held in, and the draw can be computed in parallel: every
+ * application's tier and random position are packed into one sort key, the keys are built
+ * and then sorted with parallel streams and {@link Arrays#parallelSort(long[])}, and the
+ * winners are the first keys in the sorted order.
+ */
+public class Ballot {
+    /** Highest priority tier; lower tiers are drawn first */
+    public static final int MAX_TIER = 15;
+
+    /** Bits of a sort key holding the application's index */
+    private static final int INDEX_BITS = 24;
+
+    /** Largest number of applications a ballot can hold, limited by the index bits of a key */
+    public static final int MAX_APPLICATIONS = (1 << INDEX_BITS) - 1;
+
+    /** Bits of a sort key holding the application's random position within its tier */
+    private static final int RANDOM_BITS = 35;
+
+    /** Sort key of an application that is not in the ballot, placed after every entrant */
+    private static final long NOT_ENTERED = Long.MAX_VALUE;
+
+    /** Seed of the draw */
+    private final long seed;
+
+    /** Gives the priority tier of an application, from 0 to {@link #MAX_TIER} */
+    private final ToIntFunction<Application> tier;
+
+    /**
+     * Constructs a ballot without priority tiers.
+     *
+     * @param seed Seed of the draw; the same seed always draws the same winners
+     */
+    public Ballot(long seed) {
+        this(seed, app -> 0);
+    }
+
+    /**
+     * Constructs a ballot with priority tiers.
+     *
+     * @param seed Seed of the draw; the same seed always draws the same winners
+     * @param tier Gives the priority tier of an application, from 0 to {@link #MAX_TIER}; lower tiers are drawn first
+     */
+    public Ballot(long seed, ToIntFunction<Application> tier) {
+        this.seed = seed;
+        this.tier = tier;
+    }
+
+    /**
+     * Creates the tiers that put married applicants before everyone else.
+     *
+     * @param users Finds the applicant with an NRIC, or returns null if there is none
+     * @return Tier 0 for married applicants and tier 1 otherwise
+     */
+    public static ToIntFunction<Application> marriedFirst(Function<String, User> users) {
+        return app -> {
+            User applicant = users.apply(app.getApplicantNric());
+            return applicant != null && applicant.getMaritalStatus() == MaritalStatus.MARRIED ? 0 : 1;
+        };
+    }
+
+    /**
+     * Draws the ballot for one flat type of a project.
+     * The pending applications for the type are entered; units already promised to
+     * successful applications that have not been booked yet are not available to draw.
+     *
+     * @param project The project
+     * @param unitType The flat type drawn, e.g. 2-Room
+     * @param applications All applications for the project
+     * @return One decision per entered application, winners first in the order they were drawn
+     * @throws IllegalArgumentException if there are too many applications or a tier is out of range
+     */
+    public List<ApplicationDecision> draw(Project project, String unitType, List<Application> applications) {
+        Application[] apps = applications.toArray(new Application[0]);
+        if (apps.length > MAX_APPLICATIONS) {
+            throw new IllegalArgumentException("A ballot can hold at most " + MAX_APPLICATIONS + " applications");
+        }
+
+        long[] keys = new long[apps.length];
+        IntStream.range(0, apps.length).parallel().forEach(i -> keys[i] = sortKey(apps[i], unitType, i));
+        long promised = Arrays.stream(apps).parallel()
+                .filter(app -> app.getStatus() == ApplicationStatus.SUCCESSFUL && unitType.equalsIgnoreCase(app.getUnitType()))
+                .count();
+        Arrays.parallelSort(keys);
+
+        int entrants = 0;
+        while (entrants < keys.length && keys[entrants] != NOT_ENTERED) {
+            entrants++;
+        }
+        long supply = Math.max(0, project.getAvailableUnits(unitType) - promised);
+        int winners = (int) Math.min(supply, entrants);
+        ApplicationDecision won = ApplicationDecision.approve(null);
+        ApplicationDecision lost = ApplicationDecision.reject(null, "Not selected in the " + unitType + " ballot (seed " + seed + ")");
+
+        ApplicationDecision[] decisions = new ApplicationDecision[entrants];
+        IntStream.range(0, entrants).parallel().forEach(rank -> {
+            String id = apps[(int) (keys[rank] & ((1L << INDEX_BITS) - 1))].getApplicationId();
+            decisions[rank] = (rank < winners ? won : lost).forApplication(id);
+        });
+        return new ArrayList<>(Arrays.asList(decisions));
+    }
+
+    /**
+     * Builds the sort key of an application: its tier in the top bits, then its random
+     * position, then its index, which keeps keys unique and leads back to the application.
+     *
+     * @param app The application
+     * @param unitType The flat type drawn
+     * @param index The index of the application
+     * @return The sort key, or {@link #NOT_ENTERED} if the application is not in the ballot
+     * @throws IllegalArgumentException if the application's tier is out of range
+     */
+    private long sortKey(Application app, String unitType, int index) {
+        if (app.getStatus() != ApplicationStatus.PENDING || !unitType.equalsIgnoreCase(app.getUnitType())) {
+            return NOT_ENTERED;
+        }
+        int priority = tier.applyAsInt(app);
+        if (priority < 0 || priority > MAX_TIER) {
+            throw new IllegalArgumentException("Ballot tier must be between 0 and " + MAX_TIER + ": " + priority);
+        }
+        long random = mix(seed ^ hash(app.getApplicationId())) >>> (Long.SIZE - RANDOM_BITS);
+        return ((long) priority << (INDEX_BITS + RANDOM_BITS)) | (random << INDEX_BITS) | index;
+    }
+
+    /**
+     * Hashes an application ID to 64 bits (FNV-1a), case-insensitively like the ID lookups.
+     *
+     * @param id The application ID; may be null
+     * @return The hash
+     */
+    private static long hash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        if (id != null) {
+            for (int i = 0; i < id.length(); i++) {
+                hash = (hash ^ Character.toLowerCase(id.charAt(i))) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Scrambles a value so that nearby inputs give unrelated outputs (the SplitMix64 finalizer).
+     *
+     * @param value The value
+     * @return The scrambled value
+     */
+    private static long mix(long value) {
+        long z = value * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
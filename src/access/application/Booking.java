@@ -0,0 +1,94 @@
+package access.application;
+
+import java.util.function.Predicate;
+import access.project.OfficerProjectFeatures;
+import models.Application;
+import models.enums.ApplicationStatus;
+import users.User;
+
+/**
+ * Books a unit for a successful application, as the officer menu and the API both do.
+ *
+ * A booking takes a unit of the application's flat type and a unit number, and then marks
+ * the application as booked. The unit is reserved before anything else, so two bookings can
+ * never take the last unit, and every step taken is undone if a later one fails or the
+ * booking is cancelled: the unit number is released, and the unit is released or, once
+ * committed, returned. The application is booked last, by a handler call that checks its
+ * status in the same step, so an application is never booked twice.
+ */
+public class Booking {
+    /** Features used to take units and unit numbers */
+    private final OfficerProjectFeatures projects;
+
+    /** Features used to read and book applications */
+    private final OfficerApplicationFeatures applications;
+
+    /**
+     * Constructs a booking over the given handlers.
+     *
+     * @param projects Features used to take units and unit numbers
+     * @param applications Features used to read and book applications
+     */
+    public Booking(OfficerProjectFeatures projects, OfficerApplicationFeatures applications) {
+        this.projects = projects;
+        this.applications = applications;
+    }
+
+    /**
+     * Books a unit for a successful application.
+     *
+     * @param applicationId The ID of the application
+     * @param officer The officer making the booking
+     * @param confirm Called with the unit number allocated before the booking is made;
+     *        returning false cancels the booking
+     * @return The booked application, or null if the booking was cancelled
+     * @throws IllegalArgumentException if the application is not found, not successful or
+     *         already has a unit, or no unit of its flat type is available
+     */
+    public Application book(String applicationId, User officer, Predicate<String> confirm) {
+        Application application = applications.getApplication(applicationId);
+        if (application == null) {
+            throw new IllegalArgumentException("Application not found: " + applicationId);
+        }
+        if (application.getStatus() != ApplicationStatus.SUCCESSFUL) {
+            throw new IllegalArgumentException("Only applications with 'Successful' status can be booked.");
+        }
+        if (application.getAssignedUnit() != null && !application.getAssignedUnit().isEmpty()) {
+            throw new IllegalArgumentException("This application already has unit " + application.getAssignedUnit() + " assigned.");
+        }
+        String projectName = application.getProjectName();
+        String unitType = application.getUnitType();
+
+        // Reserve a unit up front so another officer cannot book the same last unit
+        if (!projects.reserveUnits(projectName, unitType, 1)) {
+            throw new IllegalArgumentException("There are no available units of type " + unitType + " for this project.");
+        }
+        String unitNumber = null;
+        boolean committed = false;
+        boolean booked = false;
+        try {
+            unitNumber = projects.allocateUnitNumber(projectName, unitType,
+                    () -> applications.getApplicationsForProject(projectName));
+            if (!confirm.test(unitNumber)) {
+                return null;
+            }
+            projects.commitReservedUnits(projectName, unitType, 1);
+            committed = true;
+            applications.bookApplication(applicationId, unitNumber, officer.getNric(),
+                    "BOOKED: Unit assigned by " + officer.getName());
+            booked = true;
+            return applications.getApplication(applicationId);
+        } finally {
+            if (!booked) {
+                if (unitNumber != null) {
+                    projects.releaseUnitNumber(projectName, unitType, unitNumber);
+                }
+                if (committed) {
+                    projects.returnUnits(projectName, unitType, 1);
+                } else {
+                    projects.releaseReservedUnits(projectName, unitType, 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package access.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import models.Application;
+import models.ApplicationSummary;
+import models.enums.ApplicationStatus;
+import io.FileIO;
+import metrics.Metrics;
+import metrics.SaveEvent;
+
+/**
+ * Variant of the ApplicationHandler that keeps its applications in an
+ * {@link ApplicationColumns} store instead of one object per application.
+ * This takes a fraction of the memory for large numbers of applications. The applicant
+ * and project lookups scan the primitive columns instead of maintaining hash indexes,
+ * and project summaries are counted straight from the columns.
+ *
+ * The applications handed out are views of the store, so changes made through their
+ * setters are stored directly. Applications passed in are copied into the store and
+ * are not kept, so changes made to them afterwards are only picked up by
+ * {@link #updateApplication(Application)}.
+ */
+public class ColumnarApplicationHandler extends ApplicationHandler {
+
+    /** The column store holding all applications */
+    private final ApplicationColumns columns;
+
+    /**
+     * Constructs a ColumnarApplicationHandler holding copies of the given applications.
+     * The caller's list is not kept, so it can be discarded once the handler is built.
+     *
+     * @param applications The list of applications to manage
+     */
+    public ColumnarApplicationHandler(List<Application> applications) {
+        super(new ArrayList<>());
+        this.columns = new ApplicationColumns(applications);
+        for (Application application : applications) {
+            observeId(application.getApplicationId());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The list returned is the column store itself.
+     */
+    @Override
+    public List<Application> getAllApplications() {
+        return columns;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getApplicationsByProject(String projectName) {
+        return Metrics.call("ColumnarApplicationHandler.getApplicationsByProject",
+                () -> columns.forProject(projectName));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getPendingApplicationsByProject(String projectName) {
+        return Metrics.call("ColumnarApplicationHandler.getPendingApplicationsByProject",
+                () -> columns.forProject(projectName, ApplicationStatus.PENDING));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getApplicationsForProject(String projectName) {
+        return Metrics.call("ColumnarApplicationHandler.getApplicationsForProject",
+                () -> columns.forProject(projectName));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Counts over the project, unit type and status columns without creating any views.
+     */
+    @Override
+    public ApplicationSummary summarizeProject(String projectName) {
+        return Metrics.call("ColumnarApplicationHandler.summarizeProject", () -> columns.summarize(projectName));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void submitApplication(Application application) {
+        Metrics.run("ColumnarApplicationHandler.submitApplication", () -> add(application));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The application is copied into the store; its ID is assigned before the copy.
+     */
+    @Override
+    protected void add(Application application) {
+        if (application.getApplicationId() == null || application.getApplicationId().isEmpty()) {
+            application.setApplicationId(generateUniqueId("APP"));
+        }
+        columns.add(application);
+        persist(columns.get(columns.size() - 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean hasApplication(String applicantNric) {
+        return !columns.forApplicant(applicantNric).isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getApplicationsForApplicant(String applicantNric) {
+        return Metrics.call("ColumnarApplicationHandler.getApplicationsForApplicant",
+                () -> columns.forApplicant(applicantNric));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveChanges() {
+        SaveEvent event = SaveEvent.start("ColumnarApplicationHandler");
+        try {
+            FileIO.saveApplications(columns);
+        } finally {
+            event.finish(columns.size());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * A view of the application's own row is already up to date and is only journaled;
+     * any other application is copied over the row.
+     */
+    @Override
+    public void updateApplication(Application application) {
+        Metrics.run("ColumnarApplicationHandler.updateApplication", () -> {
+            int row = columns.indexOfId(application.getApplicationId());
+            if (row < 0) {
+                throw new IllegalArgumentException("Application not found: " + application.getApplicationId());
+            }
+            if (columns.rowOf(application) != row) {
+                columns.set(row, application);
+            }
+            persist(columns.get(row));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Application findApplicationById(String applicationId) {
+        int row = columns.indexOfId(applicationId);
+        return row >= 0 ? columns.get(row) : null;
+    }
+}
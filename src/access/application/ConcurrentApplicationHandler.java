@@ -0,0 +1,207 @@
+package access.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import models.Application;
+import models.ApplicationDecision;
+import models.DecisionBatchResult;
+import models.enums.ApplicationStatus;
+import utils.HandlerLock;
+
+/**
+ * Thread-safe variant of the ApplicationHandler for serving many sessions at once.
+ * Reads run in parallel, approvals and other status changes lock only the project the
+ * application belongs to, and only submissions and replacements lock the whole handler.
+ * Every application returned is a copy, and every list an immutable snapshot of copies,
+ * so later changes do not affect them and changes made to them do not affect the handler;
+ * applications are changed only through the handler's methods, such as
+ * {@link #updateRemarks(String, String)}.
+ */
+public class ConcurrentApplicationHandler extends ApplicationHandler {
+
+    /** Lock over the applications, striped by project */
+    private final HandlerLock lock = new HandlerLock(super::saveChanges);
+
+    /**
+     * Constructs a ConcurrentApplicationHandler over a private copy of the given applications.
+     * The caller's list is not modified by the handler.
+     *
+     * @param applications The list of applications to manage
+     */
+    public ConcurrentApplicationHandler(List<Application> applications) {
+        super(new ArrayList<>(applications));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getAllApplications() {
+        return lock.read(() -> HandlerLock.snapshot(super.getAllApplications(), Application::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void approveApplication(String applicationId) {
+        lock.writeProject(projectOf(applicationId), () -> super.approveApplication(applicationId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rejectApplication(String applicationId) {
+        lock.writeProject(projectOf(applicationId), () -> super.rejectApplication(applicationId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ApplicationStatus withdrawApplication(String applicationId, String remarks) {
+        ApplicationStatus[] previous = new ApplicationStatus[1];
+        lock.writeProject(projectOf(applicationId),
+                () -> previous[0] = super.withdrawApplication(applicationId, remarks));
+        return previous[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * The batch may span projects, so it excludes every other operation while it runs.
+     */
+    @Override
+    public DecisionBatchResult decideApplications(List<ApplicationDecision> decisions) {
+        DecisionBatchResult[] result = new DecisionBatchResult[1];
+        lock.write(() -> result[0] = super.decideApplications(decisions));
+        return result[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getApplicationsByProject(String projectName) {
+        return lock.readProject(projectName,
+                () -> HandlerLock.snapshot(super.getApplicationsByProject(projectName), Application::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getPendingApplicationsByProject(String projectName) {
+        return lock.readProject(projectName,
+                () -> HandlerLock.snapshot(super.getPendingApplicationsByProject(projectName), Application::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getApplicationsForProject(String projectName) {
+        return lock.readProject(projectName,
+                () -> HandlerLock.snapshot(super.getApplicationsForProject(projectName), Application::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Application getApplication(String applicationId) {
+        return lock.read(() -> {
+            Application application = super.getApplication(applicationId);
+            return application != null ? new Application(application) : null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void processApplication(String applicationId) {
+        lock.writeProject(projectOf(applicationId), () -> super.processApplication(applicationId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bookApplication(String applicationId, String unitNumber, String officerNric, String remarks) {
+        lock.writeProject(projectOf(applicationId),
+                () -> super.bookApplication(applicationId, unitNumber, officerNric, remarks));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateRemarks(String applicationId, String remarks) {
+        lock.writeProject(projectOf(applicationId), () -> super.updateRemarks(applicationId, remarks));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String generateReceipt(String applicationId) {
+        return lock.readProject(projectOf(applicationId), () -> super.generateReceipt(applicationId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void submitApplication(Application application) {
+        lock.write(() -> super.submitApplication(application));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The check and the submission run under the same lock, which excludes every other operation.
+     */
+    @Override
+    public boolean submitIfNone(Application application) {
+        boolean[] submitted = new boolean[1];
+        lock.write(() -> submitted[0] = super.submitIfNone(application));
+        return submitted[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Application> getApplicationsForApplicant(String applicantNric) {
+        return lock.read(
+                () -> HandlerLock.snapshot(super.getApplicationsForApplicant(applicantNric), Application::new));
+    }
+
+    /**
+     * Saves current application data to persistent storage while no other operation runs.
+     * A save triggered from inside a project operation runs once that operation completes.
+     */
+    @Override
+    public void saveChanges() {
+        lock.save();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateApplication(Application application) {
+        lock.write(() -> super.updateApplication(application));
+    }
+
+    /**
+     * Finds the project an application belongs to, so its stripe can be locked.
+     *
+     * @param applicationId The ID of the application
+     * @return The project name, or null if the application is not found
+     */
+    private String projectOf(String applicationId) {
+        Application app = lock.read(() -> findApplicationById(applicationId));
+        return app != null ? app.getProjectName() : null;
+    }
+}
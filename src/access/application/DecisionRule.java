@@ -0,0 +1,122 @@
+package access.application;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import models.Application;
+import models.ApplicationDecision;
+import models.Project;
+import models.enums.ApplicationStatus;
+
+/**
+ * Rules that decide every pending application of a project at once, for clearing a
+ * launch-day backlog without going through the applications one by one.
+ */
+public enum DecisionRule {
+    /** Approves every pending application */
+    APPROVE_ALL("approve-all"),
+
+    /** Rejects every pending application */
+    REJECT_ALL("reject-all"),
+
+    /**
+     * Approves pending applications in the order they were submitted while units of the
+     * type applied for remain, and rejects the rest. Units already promised to successful
+     * applications that have not been booked yet are not counted as remaining.
+     */
+    BY_SUPPLY("by-supply");
+
+    /** Name of the rule on the command line and in the API */
+    private final String ruleName;
+
+    /**
+     * Constructor for DecisionRule enum.
+     *
+     * @param ruleName Name of the rule on the command line and in the API
+     */
+    DecisionRule(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    /**
+     * Finds a rule by its name, e.g. by-supply.
+     *
+     * @param name The rule name, matched case-insensitively
+     * @return The rule
+     * @throws IllegalArgumentException if there is no rule with the name
+     */
+    public static DecisionRule fromName(String name) {
+        for (DecisionRule rule : values()) {
+            if (rule.ruleName.equalsIgnoreCase(name)) {
+                return rule;
+            }
+        }
+        throw new IllegalArgumentException("Unknown decision rule: " + name + " (expected approve-all, reject-all or by-supply)");
+    }
+
+    /**
+     * Decides the pending applications of a project.
+     *
+     * @param project The project
+     * @param applications All applications for the project
+     * @return One decision per pending application, in the order they were submitted
+     */
+    public List<ApplicationDecision> decide(Project project, List<Application> applications) {
+        List<Application> pending = new ArrayList<>();
+        Map<String, Integer> promised = new HashMap<>();
+        for (Application app : applications) {
+            if (app.getStatus() == ApplicationStatus.PENDING) {
+                pending.add(app);
+            } else if (app.getStatus() == ApplicationStatus.SUCCESSFUL) {
+                promised.merge(normalize(app.getUnitType()), 1, Integer::sum);
+            }
+        }
+        pending.sort(Comparator.comparing(Application::getApplicationDate,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<String, Integer> remaining = new HashMap<>();
+        List<ApplicationDecision> decisions = new ArrayList<>(pending.size());
+        for (Application app : pending) {
+            String id = app.getApplicationId();
+            if (this == APPROVE_ALL) {
+                decisions.add(ApplicationDecision.approve(id));
+            } else if (this == REJECT_ALL) {
+                decisions.add(ApplicationDecision.reject(id, "Rejected in batch"));
+            } else {
+                String type = normalize(app.getUnitType());
+                int left = remaining.computeIfAbsent(type, t -> project.getAvailableUnits(app.getUnitType())
+                        - promised.getOrDefault(t, 0));
+                if (left > 0) {
+                    remaining.put(type, left - 1);
+                    decisions.add(ApplicationDecision.approve(id));
+                } else {
+                    decisions.add(ApplicationDecision.reject(id, "No " + app.getUnitType() + " units remaining"));
+                }
+            }
+        }
+        return decisions;
+    }
+
+    /**
+     * Returns the name of the rule, e.g. by-supply.
+     *
+     * @return The rule name
+     */
+    @Override
+    public String toString() {
+        return ruleName;
+    }
+
+    /**
+     * Normalizes a unit type so types are counted case-insensitively.
+     *
+     * @param unitType The unit type; may be null
+     * @return The lower-cased unit type
+     */
+    private static String normalize(String unitType) {
+        return unitType == null ? "" : unitType.toLowerCase(Locale.ROOT);
+    }
+}
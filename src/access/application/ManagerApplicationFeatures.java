@@ -2,6 +2,10 @@ package access.application;
 
 import java.util.List;
 import models.Application;
+import models.ApplicationDecision;
+import models.ApplicationSummary;
+import models.DecisionBatchResult;
+import models.enums.ApplicationStatus;
 
 /**
  * Interface to define the operations on applications that a Manager can perform.
@@ -25,6 +29,23 @@ public interface ManagerApplicationFeatures {
      */
     void rejectApplication(String applicationId);
 
+    /**
+     * Marks an application as withdrawn after its withdrawal request is approved.
+     * @param applicationId the ID of the application.
+     * @param remarks the remarks to record on the application.
+     * @return the status the application had before it was withdrawn.
+     * @throws IllegalArgumentException if the application is not found.
+     */
+    ApplicationStatus withdrawApplication(String applicationId, String remarks);
+
+    /**
+     * Applies many approval and rejection decisions in one pass and persists them in a single commit.
+     * Decisions on applications that do not exist or are no longer pending are skipped.
+     * @param decisions the decisions, applied in order.
+     * @return the counts of approved, rejected and skipped applications and the time taken.
+     */
+    DecisionBatchResult decideApplications(List<ApplicationDecision> decisions);
+
     /**
      * Retrieves all applications for a specific project.
      * @param projectName the name of the project.
@@ -38,4 +59,20 @@ public interface ManagerApplicationFeatures {
      * @return a List of pending Application objects for the specified project.
      */
     List<Application> getPendingApplicationsByProject(String projectName);
+    
+    /**
+     * Retrieves a specific application by its unique ID.
+     * @param applicationId the ID of the application.
+     * @return the Application object, or null if not found.
+     */
+    Application getApplication(String applicationId);
+
+    /**
+     * Counts the applications for a specific project by unit type and status.
+     * @param projectName the name of the project.
+     * @return the summary of the project's applications.
+     */
+    default ApplicationSummary summarizeProject(String projectName) {
+        return ApplicationSummary.of(getApplicationsByProject(projectName));
+    }
 }
@@ -23,6 +23,18 @@ public interface OfficerApplicationFeatures {
      */
     void processApplication(String applicationId);
     
+    /**
+     * Books a successful application: marks it as booked with the unit assigned to it.
+     * The status is checked and changed in one step, so an application is booked at most once.
+     * 
+     * @param applicationId The ID of the application to book
+     * @param unitNumber The unit number assigned to the application
+     * @param officerNric The NRIC of the officer making the booking
+     * @param remarks The remarks to record on the application
+     * @throws IllegalArgumentException if the application is not found, not successful or already has a unit
+     */
+    void bookApplication(String applicationId, String unitNumber, String officerNric, String remarks);
+    
     /**
      * Generates a booking receipt for an approved application.
      * 
@@ -45,4 +57,13 @@ public interface OfficerApplicationFeatures {
      * @param application The application with updated information
      */
     void updateApplication(Application application);
+    
+    /**
+     * Replaces the remarks of an application.
+     * 
+     * @param applicationId The ID of the application
+     * @param remarks The new remarks
+     * @throws IllegalArgumentException if the application is not found
+     */
+    void updateRemarks(String applicationId, String remarks);
 }
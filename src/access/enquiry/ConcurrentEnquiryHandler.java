@@ -0,0 +1,135 @@
+package access.enquiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import models.Enquiry;
+import utils.HandlerLock;
+
+/**
+ * Thread-safe variant of the EnquiryHandler for serving many sessions at once.
+ * Reads run in parallel, replies and edits lock only the project the enquiry is about,
+ * and only submissions and deletions lock the whole handler.
+ * Every list returned is an immutable snapshot, but the enquiries in it are shared with
+ * the handler rather than copied, so they must only be changed through its methods.
+ */
+public class ConcurrentEnquiryHandler extends EnquiryHandler {
+
+    /** Lock over the enquiries, striped by project */
+    private final HandlerLock lock = new HandlerLock(super::saveChanges);
+
+    /**
+     * Constructs a ConcurrentEnquiryHandler over a private copy of the given enquiries.
+     * The caller's list is not modified by the handler.
+     *
+     * @param enquiries The list of enquiries to manage
+     */
+    public ConcurrentEnquiryHandler(List<Enquiry> enquiries) {
+        super(new ArrayList<>(enquiries));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Enquiry> getAllEnquiries() {
+        return lock.read(() -> HandlerLock.snapshot(super.getAllEnquiries()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void replyEnquiry(String enquiryId, String reply) {
+        lock.writeProject(projectOf(enquiryId), () -> super.replyEnquiry(enquiryId, reply));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addReply(String enquiryId, String reply, String responderNric) {
+        lock.writeProject(projectOf(enquiryId), () -> super.addReply(enquiryId, reply, responderNric));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editReply(String enquiryId, int replyIndex, String newReplyText) {
+        lock.writeProject(projectOf(enquiryId), () -> super.editReply(enquiryId, replyIndex, newReplyText));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Enquiry> getEnquiriesByProject(String projectName) {
+        return lock.readProject(projectName, () -> HandlerLock.snapshot(super.getEnquiriesByProject(projectName)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Enquiry> getEnquiriesForProject(String projectName) {
+        return lock.readProject(projectName, () -> HandlerLock.snapshot(super.getEnquiriesForProject(projectName)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void submitEnquiry(Enquiry enquiry) {
+        lock.write(() -> super.submitEnquiry(enquiry));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editEnquiry(String enquiryId, String newMessage) {
+        lock.writeProject(projectOf(enquiryId), () -> super.editEnquiry(enquiryId, newMessage));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Enquiry> getEnquiriesForApplicant(String applicantNric) {
+        return lock.read(() -> HandlerLock.snapshot(super.getEnquiriesForApplicant(applicantNric)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteEnquiry(String enquiryId) {
+        lock.write(() -> super.deleteEnquiry(enquiryId));
+    }
+
+    /**
+     * Saves current enquiry data to persistent storage while no other operation runs.
+     * A save triggered from inside a project operation runs once that operation completes.
+     */
+    @Override
+    public void saveChanges() {
+        lock.save();
+    }
+
+    /**
+     * Finds the project an enquiry is about, so its stripe can be locked.
+     *
+     * @param enquiryId The ID of the enquiry
+     * @return The project name, or null if the enquiry is not found
+     */
+    private String projectOf(String enquiryId) {
+        return lock.read(() -> {
+            for (Enquiry enquiry : super.getAllEnquiries()) {
+                if (enquiry.getEnquiryId().equalsIgnoreCase(enquiryId)) {
+                    return enquiry.getProjectName();
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -1,9 +1,16 @@
 package access.enquiry;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import models.Enquiry;
 import io.FileIO;
+import utils.Constants;
+import utils.IdGenerator;
+import metrics.Metrics;
+import metrics.SaveEvent;
 
 /**
  * Handles all enquiry-related operations in the BTO Management System.
@@ -14,14 +21,26 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
 
     /** The in-memory list of all enquiries in the system */
     private List<Enquiry> enquiries;
+    
+    /** Generates the IDs of new enquiries */
+    private final IdGenerator ids = new IdGenerator();
+
+    /** Index from normalized applicant NRIC to that applicant's enquiries */
+    private Map<String, List<Enquiry>> enquiriesByApplicant;
 
     /**
      * Constructs an EnquiryHandler with the given list of enquiries.
+     * Builds the applicant index in a single pass over the list.
      * 
      * @param enquiries The list of enquiries to manage
      */
     public EnquiryHandler(List<Enquiry> enquiries) {
         this.enquiries = enquiries;
+        this.enquiriesByApplicant = new HashMap<>();
+        for (Enquiry enquiry : enquiries) {
+            index(enquiry);
+            ids.observe(enquiry.getEnquiryId());
+        }
     }
 
     // Manager methods...
@@ -46,14 +65,16 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      */
     @Override
     public void replyEnquiry(String enquiryId, String reply) {
-        Enquiry enquiry = findEnquiryById(enquiryId);
-        if (enquiry == null) {
-            throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
-        }
-        enquiry.setReply(reply);
+        Metrics.run("EnquiryHandler.replyEnquiry", () -> {
+            Enquiry enquiry = findEnquiryById(enquiryId);
+            if (enquiry == null) {
+                throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
+            }
+            enquiry.setReply(reply);
         
-        // Save the changes to file
-        saveChanges();
+            // Record the change in the journal
+            persist(enquiry);
+        });
     }
     
     /**
@@ -66,12 +87,14 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      * @throws IllegalArgumentException if the enquiry is not found
      */
     public void addReply(String enquiryId, String reply, String responderNric) {
-        Enquiry enquiry = findEnquiryById(enquiryId);
-        if (enquiry == null) {
-            throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
-        }
-        enquiry.addReply(reply, responderNric);
-        saveChanges(); // Save changes to CSV
+        Metrics.run("EnquiryHandler.addReply", () -> {
+            Enquiry enquiry = findEnquiryById(enquiryId);
+            if (enquiry == null) {
+                throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
+            }
+            enquiry.addReply(reply, responderNric);
+            persist(enquiry);
+        });
     }
     
     /**
@@ -83,12 +106,14 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      * @throws IllegalArgumentException if the enquiry is not found
      */
     public void editReply(String enquiryId, int replyIndex, String newReplyText) {
-        Enquiry enquiry = findEnquiryById(enquiryId);
-        if (enquiry == null) {
-            throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
-        }
-        enquiry.editReply(replyIndex, newReplyText);
-        saveChanges(); // Save changes to CSV
+        Metrics.run("EnquiryHandler.editReply", () -> {
+            Enquiry enquiry = findEnquiryById(enquiryId);
+            if (enquiry == null) {
+                throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
+            }
+            enquiry.editReply(replyIndex, newReplyText);
+            persist(enquiry);
+        });
     }
 
     /**
@@ -100,13 +125,15 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      */
     @Override
     public List<Enquiry> getEnquiriesByProject(String projectName) {
-        List<Enquiry> result = new ArrayList<>();
-        for (Enquiry enquiry : enquiries) {
-            if (enquiry.getProjectName().equalsIgnoreCase(projectName)) {
-                result.add(enquiry);
+        return Metrics.call("EnquiryHandler.getEnquiriesByProject", () -> {
+            List<Enquiry> result = new ArrayList<>();
+            for (Enquiry enquiry : enquiries) {
+                if (enquiry.getProjectName().equalsIgnoreCase(projectName)) {
+                    result.add(enquiry);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
 
     // Officer methods...
@@ -119,13 +146,15 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      */
     @Override
     public List<Enquiry> getEnquiriesForProject(String projectName) {
-        List<Enquiry> result = new ArrayList<>();
-        for (Enquiry enquiry : enquiries) {
-            if (enquiry.getProjectName().equalsIgnoreCase(projectName)) {
-                result.add(enquiry);
+        return Metrics.call("EnquiryHandler.getEnquiriesForProject", () -> {
+            List<Enquiry> result = new ArrayList<>();
+            for (Enquiry enquiry : enquiries) {
+                if (enquiry.getProjectName().equalsIgnoreCase(projectName)) {
+                    result.add(enquiry);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
 
     // Applicant methods...
@@ -137,12 +166,17 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      */
     @Override
     public void submitEnquiry(Enquiry enquiry) {
-        // If the enquiry does not have an ID, generate one.
-        if (enquiry.getEnquiryId() == null || enquiry.getEnquiryId().isEmpty()) {
-            enquiry.setEnquiryId(generateUniqueId("ENQ"));
-        }
-        enquiries.add(enquiry);
-        saveChanges(); // Save changes to CSV
+        Metrics.run("EnquiryHandler.submitEnquiry", () -> {
+            // If the enquiry does not have an ID, generate one.
+            if (enquiry.getEnquiryId() == null || enquiry.getEnquiryId().isEmpty()) {
+                enquiry.setEnquiryId(generateUniqueId("ENQ"));
+            } else {
+                ids.observe(enquiry.getEnquiryId());
+            }
+            enquiries.add(enquiry);
+            index(enquiry);
+            persist(enquiry);
+        });
     }
 
     /**
@@ -155,12 +189,14 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      */
     @Override
     public void editEnquiry(String enquiryId, String newMessage) {
-        Enquiry enquiry = findEnquiryById(enquiryId);
-        if (enquiry == null) {
-            throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
-        }
-        enquiry.setMessage(newMessage);
-        saveChanges(); // Save changes to CSV
+        Metrics.run("EnquiryHandler.editEnquiry", () -> {
+            Enquiry enquiry = findEnquiryById(enquiryId);
+            if (enquiry == null) {
+                throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
+            }
+            enquiry.setMessage(newMessage);
+            persist(enquiry);
+        });
     }
 
     /**
@@ -172,13 +208,10 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      */
     @Override
     public List<Enquiry> getEnquiriesForApplicant(String applicantNric) {
-        List<Enquiry> result = new ArrayList<>();
-        for (Enquiry enquiry : enquiries) {
-            if (enquiry.getApplicantNric().equalsIgnoreCase(applicantNric)) {
-                result.add(enquiry);
-            }
-        }
-        return result;
+        return Metrics.call("EnquiryHandler.getEnquiriesForApplicant", () -> {
+            List<Enquiry> bucket = applicantNric != null ? enquiriesByApplicant.get(normalize(applicantNric)) : null;
+            return bucket != null ? new ArrayList<>(bucket) : new ArrayList<>();
+        });
     }
 
     /**
@@ -190,20 +223,50 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
      */
     @Override
     public void deleteEnquiry(String enquiryId) {
-        Enquiry enquiry = findEnquiryById(enquiryId);
-        if (enquiry == null) {
-            throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
-        }
-        enquiries.remove(enquiry);
-        saveChanges(); // Save changes to CSV
+        Metrics.run("EnquiryHandler.deleteEnquiry", () -> {
+            Enquiry enquiry = findEnquiryById(enquiryId);
+            if (enquiry == null) {
+                throw new IllegalArgumentException("Enquiry not found: " + enquiryId);
+            }
+            enquiries.remove(enquiry);
+            unindex(enquiry);
+            FileIO.journalEnquiryDeletion(enquiry.getEnquiryId());
+            compactIfNeeded();
+        });
     }
 
     /**
      * Saves current enquiry data to persistent storage.
-     * Called after operations that modify enquiry data.
+     * Rewrites the whole CSV file, which also compacts the enquiry journal.
+     * Mutations made through this handler are already journaled as they happen,
+     * so this only needs to be called for compaction, e.g. on shutdown.
      */
     public void saveChanges() {
-        FileIO.saveEnquiries(enquiries);
+        SaveEvent event = SaveEvent.start("EnquiryHandler");
+        try {
+            FileIO.saveEnquiries(enquiries);
+        } finally {
+            event.finish(enquiries.size());
+        }
+    }
+    
+    /**
+     * Records a single added or changed enquiry in the journal.
+     * 
+     * @param enquiry The enquiry that was added or changed
+     */
+    private void persist(Enquiry enquiry) {
+        FileIO.journalEnquiry(enquiry);
+        compactIfNeeded();
+    }
+    
+    /**
+     * Compacts the enquiry journal into the CSV file once it grows past the configured threshold.
+     */
+    private void compactIfNeeded() {
+        if (FileIO.enquiryJournalSize() >= Constants.JOURNAL_COMPACTION_THRESHOLD) {
+            saveChanges();
+        }
     }
 
     /**
@@ -222,14 +285,55 @@ public class EnquiryHandler implements ManagerEnquiryFeatures, OfficerEnquiryFea
         return null;
     }
     
+    /**
+     * Adds an enquiry to the applicant index.
+     *
+     * @param enquiry The enquiry to index
+     */
+    private void index(Enquiry enquiry) {
+        if (enquiry.getApplicantNric() != null) {
+            enquiriesByApplicant.computeIfAbsent(normalize(enquiry.getApplicantNric()), k -> new ArrayList<>()).add(enquiry);
+        }
+    }
+
+    /**
+     * Removes an enquiry from the applicant index, dropping the applicant's bucket once empty.
+     *
+     * @param enquiry The enquiry to remove
+     */
+    private void unindex(Enquiry enquiry) {
+        if (enquiry.getApplicantNric() == null) {
+            return;
+        }
+        String key = normalize(enquiry.getApplicantNric());
+        List<Enquiry> bucket = enquiriesByApplicant.get(key);
+        if (bucket != null) {
+            bucket.remove(enquiry);
+            if (bucket.isEmpty()) {
+                enquiriesByApplicant.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Normalizes an index key so lookups keep the case-insensitive semantics of the original scan.
+     *
+     * @param key The key to normalize
+     * @return The lower-cased key
+     */
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Generates a unique ID for a new enquiry.
-     * Creates IDs in the format: [prefix]-[timestamp] to ensure uniqueness.
+     * Creates IDs in the format: [prefix]-[timestamp], moved past the last ID generated
+     * or in use if the clock has not advanced since.
      * 
      * @param prefix The prefix to use for the ID (e.g., "ENQ")
      * @return A unique ID string
      */
     private String generateUniqueId(String prefix) {
-        return prefix + "-" + System.currentTimeMillis();
+        return ids.next(prefix);
     }
 }
@@ -0,0 +1,95 @@
+package access.officerregistration;
+
+import java.util.ArrayList;
+import java.util.List;
+import models.OfficerRegistration;
+import utils.HandlerLock;
+
+/**
+ * Thread-safe variant of the OfficerRegistrationHandler for serving many sessions at once.
+ * Reads run in parallel and approvals and rejections lock only the project registered for.
+ * New registrations lock the whole handler, because eligibility depends on the officer's
+ * registrations across all projects and must not change between the check and the add.
+ * Every list returned is an immutable snapshot, but the registrations in it are shared with
+ * the handler rather than copied, so they must only be changed through its methods.
+ */
+public class ConcurrentOfficerRegistrationHandler extends OfficerRegistrationHandler {
+
+    /** Lock over the registrations, striped by project */
+    private final HandlerLock lock = new HandlerLock(super::saveChanges);
+
+    /**
+     * Constructs a ConcurrentOfficerRegistrationHandler over a private copy of the given registrations.
+     * The caller's list is not modified by the handler.
+     *
+     * @param registrations The list of officer registrations to manage
+     */
+    public ConcurrentOfficerRegistrationHandler(List<OfficerRegistration> registrations) {
+        super(new ArrayList<>(registrations));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OfficerRegistration> getAllOfficerRegistrations() {
+        return lock.read(() -> HandlerLock.snapshot(super.getAllOfficerRegistrations()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void approveRegistration(String registrationId) {
+        lock.writeProject(projectOf(registrationId), () -> super.approveRegistration(registrationId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rejectRegistration(String registrationId) {
+        lock.writeProject(projectOf(registrationId), () -> super.rejectRegistration(registrationId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void applyForOfficerRegistration(OfficerRegistration registration) {
+        lock.write(() -> super.applyForOfficerRegistration(registration));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OfficerRegistration> getRegistrationsForOfficer(String officerNric) {
+        return lock.read(() -> HandlerLock.snapshot(super.getRegistrationsForOfficer(officerNric)));
+    }
+
+    /**
+     * Saves current registration data to persistent storage while no other operation runs.
+     */
+    @Override
+    public void saveChanges() {
+        lock.save();
+    }
+
+    /**
+     * Finds the project a registration is for, so its stripe can be locked.
+     *
+     * @param registrationId The ID of the registration
+     * @return The project name, or null if the registration is not found
+     */
+    private String projectOf(String registrationId) {
+        return lock.read(() -> {
+            for (OfficerRegistration reg : super.getAllOfficerRegistrations()) {
+                if (reg.getRegistrationId().equalsIgnoreCase(registrationId)) {
+                    return reg.getProjectName();
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -5,6 +5,9 @@ import java.util.List;
 import models.OfficerRegistration;
 import models.enums.OfficerRegistrationStatus;
 import io.FileIO;
+import metrics.Metrics;
+import metrics.SaveEvent;
+import utils.IdGenerator;
 
 /**
  * Handles all officer registration operations in the BTO Management System.
@@ -15,6 +18,9 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
     
     private List<OfficerRegistration> registrations;
     
+    /** Generates the IDs of new registrations */
+    private final IdGenerator ids = new IdGenerator();
+    
     /**
      * Constructs an OfficerRegistrationHandler with the given list of registrations.
      * 
@@ -22,6 +28,9 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
      */
     public OfficerRegistrationHandler(List<OfficerRegistration> registrations) {
         this.registrations = registrations;
+        for (OfficerRegistration registration : registrations) {
+            ids.observe(registration.getRegistrationId());
+        }
     }
     
     // ----- ManagerOfficerRegistrationFeatures Implementation -----
@@ -46,12 +55,14 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
      */
     @Override
     public void approveRegistration(String registrationId) {
-        OfficerRegistration reg = findRegistrationById(registrationId);
-        if (reg == null) {
-            throw new IllegalArgumentException("Officer Registration not found: " + registrationId);
-        }
-        // Use the enum value for approved.
-        reg.setStatus(OfficerRegistrationStatus.APPROVED);
+        Metrics.run("OfficerRegistrationHandler.approveRegistration", () -> {
+            OfficerRegistration reg = findRegistrationById(registrationId);
+            if (reg == null) {
+                throw new IllegalArgumentException("Officer Registration not found: " + registrationId);
+            }
+            // Use the enum value for approved.
+            reg.setStatus(OfficerRegistrationStatus.APPROVED);
+        });
     }
     
     /**
@@ -63,12 +74,14 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
      */
     @Override
     public void rejectRegistration(String registrationId) {
-        OfficerRegistration reg = findRegistrationById(registrationId);
-        if (reg == null) {
-            throw new IllegalArgumentException("Officer Registration not found: " + registrationId);
-        }
-        // Use the enum value for rejected.
-        reg.setStatus(OfficerRegistrationStatus.REJECTED);
+        Metrics.run("OfficerRegistrationHandler.rejectRegistration", () -> {
+            OfficerRegistration reg = findRegistrationById(registrationId);
+            if (reg == null) {
+                throw new IllegalArgumentException("Officer Registration not found: " + registrationId);
+            }
+            // Use the enum value for rejected.
+            reg.setStatus(OfficerRegistrationStatus.REJECTED);
+        });
     }
     
     // ----- Officer Registration Applicant Features Implementation -----
@@ -82,14 +95,18 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
      */
     @Override
     public void applyForOfficerRegistration(OfficerRegistration registration) {
-        if (!canApplyForProject(registration)) {
-            throw new IllegalArgumentException("Officer is not eligible to apply for project: " + registration.getProjectName());
-        }
-        // Generate a unique registration ID if not set.
-        if (registration.getRegistrationId() == null || registration.getRegistrationId().isEmpty()) {
-            registration.setRegistrationId(generateUniqueId("OFR"));
-        }
-        registrations.add(registration);
+        Metrics.run("OfficerRegistrationHandler.applyForOfficerRegistration", () -> {
+            if (!canApplyForProject(registration)) {
+                throw new IllegalArgumentException("Officer is not eligible to apply for project: " + registration.getProjectName());
+            }
+            // Generate a unique registration ID if not set.
+            if (registration.getRegistrationId() == null || registration.getRegistrationId().isEmpty()) {
+                registration.setRegistrationId(generateUniqueId("OFR"));
+            } else {
+                ids.observe(registration.getRegistrationId());
+            }
+            registrations.add(registration);
+        });
     }
     
     /**
@@ -101,13 +118,15 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
      */
     @Override
     public List<OfficerRegistration> getRegistrationsForOfficer(String officerNric) {
-        List<OfficerRegistration> result = new ArrayList<>();
-        for (OfficerRegistration reg : registrations) {
-            if (reg.getOfficerNric().equalsIgnoreCase(officerNric)) {
-                result.add(reg);
+        return Metrics.call("OfficerRegistrationHandler.getRegistrationsForOfficer", () -> {
+            List<OfficerRegistration> result = new ArrayList<>();
+            for (OfficerRegistration reg : registrations) {
+                if (reg.getOfficerNric().equalsIgnoreCase(officerNric)) {
+                    result.add(reg);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
     
     /**
@@ -115,7 +134,12 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
      * Called after operations that modify registration data.
      */
     public void saveChanges() {
-        FileIO.saveOfficerRegistrations(registrations);
+        SaveEvent event = SaveEvent.start("OfficerRegistrationHandler");
+        try {
+            FileIO.saveOfficerRegistrations(registrations);
+        } finally {
+            event.finish(registrations.size());
+        }
     }
     
     /**
@@ -161,12 +185,13 @@ public class OfficerRegistrationHandler implements ManagerOfficerRegistrationFea
     
     /**
      * Generates a unique ID for a new registration.
-     * Creates IDs in the format: [prefix]-[timestamp] to ensure uniqueness.
+     * Creates IDs in the format: [prefix]-[timestamp], moved past the last ID generated
+     * or in use if the clock has not advanced since.
      * 
      * @param prefix The prefix to use for the ID (e.g., "OFR")
      * @return A unique ID string
      */
     private String generateUniqueId(String prefix) {
-        return prefix + "-" + System.currentTimeMillis();
+        return ids.next(prefix);
     }
 }
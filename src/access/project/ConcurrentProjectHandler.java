@@ -0,0 +1,236 @@
+package access.project;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import models.Application;
+import models.Project;
+import utils.HandlerLock;
+
+/**
+ * Thread-safe variant of the ProjectHandler for serving many sessions at once.
+ * Reads run in parallel, and changes to a single project such as booking units,
+ * toggling visibility or assigning officers lock only that project. Adding, replacing
+ * and deleting projects, and the date-based visibility sweep, lock the whole handler.
+ * Every project returned is a copy, and every list an immutable snapshot of copies, so
+ * later changes do not affect them and changes made to them do not affect the handler;
+ * projects are changed only through the handler's methods. The copies share the unit info
+ * of the projects, whose counts are only changed atomically.
+ */
+public class ConcurrentProjectHandler extends ProjectHandler {
+
+    /** Lock over the projects, striped by project name */
+    private final HandlerLock lock = new HandlerLock(super::saveChanges);
+
+    /**
+     * Constructs a ConcurrentProjectHandler over a private copy of the given projects.
+     * The caller's list is not modified by the handler.
+     *
+     * @param projects the list of projects to be managed by this handler.
+     */
+    public ConcurrentProjectHandler(List<Project> projects) {
+        super(new ArrayList<>(projects));
+    }
+
+    // ---- ManagerProjectFeatures methods ----
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addProject(Project project) {
+        lock.write(() -> super.addProject(project));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Project getProject(String projectName) {
+        return lock.readProject(projectName, () -> {
+            Project project = super.getProject(projectName);
+            return project != null ? new Project(project) : null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateProject(Project updatedProject) {
+        lock.write(() -> super.updateProject(updatedProject));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateProjectDetails(String projectName, LocalDate openingDate, LocalDate closingDate,
+                                     Integer officerSlot) {
+        lock.writeProject(projectName,
+                () -> super.updateProjectDetails(projectName, openingDate, closingDate, officerSlot));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteProject(String projectName) {
+        lock.write(() -> super.deleteProject(projectName));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void toggleVisibility(String projectName, boolean visible) {
+        lock.writeProject(projectName, () -> super.toggleVisibility(projectName, visible));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Project> getProjectsByManager(String manager) {
+        return lock.read(() -> HandlerLock.snapshot(super.getProjectsByManager(manager), Project::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Project> getAllProjects() {
+        return lock.read(() -> HandlerLock.snapshot(super.getAllProjects(), Project::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void assignOfficer(String projectName, String officerNric) {
+        lock.writeProject(projectName, () -> super.assignOfficer(projectName, officerNric));
+    }
+
+    // ---- OfficerProjectFeatures methods ----
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Project> getProjectsForOfficer(String officerNric) {
+        return lock.read(() -> HandlerLock.snapshot(super.getProjectsForOfficer(officerNric), Project::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Units are taken with an atomic update rather than the project's lock, and the
+     * project file is saved once the operation completes.
+     */
+    @Override
+    public void decreaseAvailableUnits(String projectName, String unitType, int count) {
+        lock.read(() -> {
+            super.decreaseAvailableUnits(projectName, unitType, count);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean reserveUnits(String projectName, String unitType, int count) {
+        return lock.read(() -> super.reserveUnits(projectName, unitType, count));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commitReservedUnits(String projectName, String unitType, int count) {
+        lock.read(() -> {
+            super.commitReservedUnits(projectName, unitType, count);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void releaseReservedUnits(String projectName, String unitType, int count) {
+        lock.read(() -> {
+            super.releaseReservedUnits(projectName, unitType, count);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void returnUnits(String projectName, String unitType, int count) {
+        lock.read(() -> {
+            super.returnUnits(projectName, unitType, count);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String allocateUnitNumber(String projectName, String unitType, Supplier<List<Application>> projectApplications) {
+        return lock.read(() -> super.allocateUnitNumber(projectName, unitType, projectApplications));
+    }
+
+    /**
+     * Updates visibility of all projects based on application date range.
+     * Whether any project needs hiding is checked under the read lock; only then is the
+     * whole handler locked, since any project may be hidden.
+     *
+     * @see ProjectHandler#updateVisibilityBasedOnDate()
+     */
+    @Override
+    public void updateVisibilityBasedOnDate() {
+        // Most calls find nothing to hide, and only need to check that under the read lock
+        if (lock.read(super::isVisibilityUpdateDue)) {
+            lock.write(super::updateVisibilityBasedOnDate);
+        }
+    }
+
+    /**
+     * Gets all projects that have open officer slots and are available for registration
+     * @return a list of projects with available officer slots
+     */
+    @Override
+    public List<Project> getProjectsWithOpenSlots() {
+        return lock.read(() -> HandlerLock.snapshot(super.getProjectsWithOpenSlots(), Project::new));
+    }
+
+    // ---- ApplicantProjectFeatures methods ----
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Project> getVisibleProjects() {
+        return lock.read(() -> HandlerLock.snapshot(super.getVisibleProjects(), Project::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Project> getVisibleProjects(String applicantNric, List<String> appliedProjectNames) {
+        return lock.read(
+                () -> HandlerLock.snapshot(super.getVisibleProjects(applicantNric, appliedProjectNames), Project::new));
+    }
+
+    /**
+     * Saves all projects to the data file while no other operation runs.
+     * A save triggered from inside a project operation runs once that operation completes.
+     */
+    @Override
+    public void saveChanges() {
+        lock.save();
+    }
+}
@@ -1,5 +1,6 @@
 package access.project;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import models.Project;
@@ -22,6 +23,17 @@ public interface ManagerProjectFeatures {
      */
     void updateProject(Project project);
     
+    /**
+     * Changes the application dates and officer slots of a project in one step.
+     * @param projectName the name of the project.
+     * @param openingDate the new opening date, or null to keep the current one.
+     * @param closingDate the new closing date, or null to keep the current one.
+     * @param officerSlot the new number of officer slots, or null to keep the current number.
+     * @throws IllegalArgumentException if the project is not found, the closing date would be
+     *         before the opening date, or the slots would not cover the assigned officers.
+     */
+    void updateProjectDetails(String projectName, LocalDate openingDate, LocalDate closingDate, Integer officerSlot);
+    
     /**
      * Deletes a project by name.
      * @param projectName the name of the project to delete.
@@ -49,12 +61,23 @@ public interface ManagerProjectFeatures {
     List<Project> getAllProjects();
     
     /**
-     * Assigns an officer to a project.
+     * Assigns an officer to a project, checking the officer's slot in the same step.
      * @param projectName the name of the project.
      * @param officerNric the NRIC of the officer.
+     * @throws IllegalArgumentException if the project is not found, the officer is already
+     *         assigned to it, or it has no officer slots left.
      */
     void assignOfficer(String projectName, String officerNric);
 
+    /**
+     * Returns booked units to the available pool, e.g. when a booked application is withdrawn.
+     * @param projectName the name of the project.
+     * @param unitType the type of unit.
+     * @param count the number of units to return.
+     * @throws IllegalArgumentException if more units would be available than the project has.
+     */
+    void returnUnits(String projectName, String unitType, int count);
+
     /**
      * Retrieves a project by its unique project name.
      * @param projectName the name of the project.
@@ -1,6 +1,8 @@
 package access.project;
 
 import java.util.List;
+import java.util.function.Supplier;
+import models.Application;
 import models.Project;
 
 /**
@@ -25,4 +27,58 @@ public interface OfficerProjectFeatures {
      * @param count the number of units to decrease.
      */
     void decreaseAvailableUnits(String projectName, String unitType, int count);
-}
\ No newline at end of file
+    
+    /**
+     * Reserves units for a booking in progress so no other booking can take them.
+     * The reservation must later be committed or released.
+     * @param projectName the name of the project.
+     * @param unitType the type of unit (e.g., "2-Room", "3-Room").
+     * @param count the number of units to reserve.
+     * @return true if the units were reserved, false if not enough units are available.
+     */
+    boolean reserveUnits(String projectName, String unitType, int count);
+    
+    /**
+     * Commits reserved units once the booking is complete, and saves the project.
+     * @param projectName the name of the project.
+     * @param unitType the type of unit (e.g., "2-Room", "3-Room").
+     * @param count the number of reserved units to commit.
+     */
+    void commitReservedUnits(String projectName, String unitType, int count);
+    
+    /**
+     * Releases reserved units back to the available pool when a booking does not go ahead.
+     * @param projectName the name of the project.
+     * @param unitType the type of unit (e.g., "2-Room", "3-Room").
+     * @param count the number of reserved units to release.
+     */
+    void releaseReservedUnits(String projectName, String unitType, int count);
+    
+    /**
+     * Returns committed units to the available pool when a booking is undone, and saves the project.
+     * @param projectName the name of the project.
+     * @param unitType the type of unit (e.g., "2-Room", "3-Room").
+     * @param count the number of units to return.
+     * @throws IllegalArgumentException if that would make more units available than the project has.
+     */
+    void returnUnits(String projectName, String unitType, int count);
+    
+    /**
+     * Allocates a free unit number for a unit type in a project.
+     * The first allocation for a unit type seeds the free numbers from the units
+     * already assigned to the project's applications.
+     * @param projectName the name of the project.
+     * @param unitType the type of unit (e.g., "2-Room", "3-Room").
+     * @param projectApplications supplies the project's applications, only called on the first allocation.
+     * @return a unit number not assigned to any other unit of that type.
+     */
+    String allocateUnitNumber(String projectName, String unitType, Supplier<List<Application>> projectApplications);
+    
+    /**
+     * Releases a unit number allocated for a booking that did not go ahead.
+     * @param projectName the name of the project.
+     * @param unitType the type of unit (e.g., "2-Room", "3-Room").
+     * @param unitNumber the unit number to release.
+     */
+    void releaseUnitNumber(String projectName, String unitType, String unitNumber);
+}
@@ -1,12 +1,19 @@
 package access.project;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import io.FileIO;
+import models.Application;
 import models.Project;
 import models.UnitInfo;
+import metrics.Metrics;
+import metrics.SaveEvent;
 
 /**
  * Handler class that implements all project-related features for different user roles.
@@ -16,6 +23,12 @@ import models.UnitInfo;
 public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFeatures, ApplicantProjectFeatures {
     private List<Project> projects;
     
+    /** Unit number allocators keyed by normalized project name and unit type, created on first use */
+    private final Map<String, UnitNumberAllocator> unitNumberAllocators = new ConcurrentHashMap<>();
+    
+    /** Index of the projects' visibility by application period */
+    private final VisibilityIndex visibility;
+    
     /**
      * Constructs a ProjectHandler with the provided list of projects.
      * 
@@ -23,6 +36,7 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     public ProjectHandler(List<Project> projects) {
         this.projects = projects;
+        this.visibility = new VisibilityIndex(projects);
     }
     
     // ---- ManagerProjectFeatures methods ----
@@ -31,7 +45,10 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public void addProject(Project project) {
-        projects.add(project);
+        Metrics.run("ProjectHandler.addProject", () -> {
+            projects.add(project);
+            visibility.invalidate();
+        });
     }
 
     /**
@@ -39,7 +56,7 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public Project getProject(String projectName) {
-        return getProjectByName(projectName);
+        return Metrics.call("ProjectHandler.getProject", () -> getProjectByName(projectName));
     }
     
     /**
@@ -47,17 +64,47 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public void updateProject(Project updatedProject) {
-        boolean found = false;
-        for (int i = 0; i < projects.size(); i++) {
-            if (projects.get(i).getProjectName().equalsIgnoreCase(updatedProject.getProjectName())) {
-                projects.set(i, updatedProject);
-                found = true;
-                break;
+        Metrics.run("ProjectHandler.updateProject", () -> {
+            boolean found = false;
+            for (int i = 0; i < projects.size(); i++) {
+                if (projects.get(i).getProjectName().equalsIgnoreCase(updatedProject.getProjectName())) {
+                    projects.set(i, updatedProject);
+                    found = true;
+                    break;
+                }
             }
-        }
-        if (!found) {
-            throw new IllegalArgumentException("Project not found: " + updatedProject.getProjectName());
-        }
+            if (!found) {
+                throw new IllegalArgumentException("Project not found: " + updatedProject.getProjectName());
+            }
+            visibility.invalidate();
+        });
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateProjectDetails(String projectName, LocalDate openingDate, LocalDate closingDate,
+                                     Integer officerSlot) {
+        Metrics.run("ProjectHandler.updateProjectDetails", () -> {
+            Project p = getProjectByName(projectName);
+            if (p == null) {
+                throw new IllegalArgumentException("Project not found: " + projectName);
+            }
+            LocalDate opening = openingDate != null ? openingDate : p.getApplicationOpeningDate();
+            LocalDate closing = closingDate != null ? closingDate : p.getApplicationClosingDate();
+            int slots = officerSlot != null ? officerSlot : p.getOfficerSlot();
+            if (closing.isBefore(opening)) {
+                throw new IllegalArgumentException("Closing date must not be before the opening date.");
+            }
+            if (slots < p.getOfficers().size()) {
+                throw new IllegalArgumentException("Officer slots must cover the assigned officers.");
+            }
+            p.setOpeningDate(opening);
+            p.setClosingDate(closing);
+            p.setOfficerSlots(slots);
+            visibility.invalidate();
+        });
     }
     
     /**
@@ -65,7 +112,11 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public void deleteProject(String projectName) {
-        projects.removeIf(project -> project.getProjectName().equalsIgnoreCase(projectName));
+        Metrics.run("ProjectHandler.deleteProject", () -> {
+            if (projects.removeIf(project -> project.getProjectName().equalsIgnoreCase(projectName))) {
+                visibility.invalidate();
+            }
+        });
     }
     
     /**
@@ -73,12 +124,15 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public void toggleVisibility(String projectName, boolean visible) {
-        Project p = getProjectByName(projectName);
-        if (p != null) {
-            p.setVisible(visible);
-        } else {
-            throw new IllegalArgumentException("Project not found: " + projectName);
-        }
+        Metrics.run("ProjectHandler.toggleVisibility", () -> {
+            Project p = getProjectByName(projectName);
+            if (p != null) {
+                p.setVisible(visible);
+                visibility.invalidate();
+            } else {
+                throw new IllegalArgumentException("Project not found: " + projectName);
+            }
+        });
     }
     
     /**
@@ -86,13 +140,15 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public List<Project> getProjectsByManager(String manager) {
-        List<Project> result = new ArrayList<>();
-        for (Project p : projects) {
-            if (p.getManager().equalsIgnoreCase(manager)) {
-                result.add(p);
+        return Metrics.call("ProjectHandler.getProjectsByManager", () -> {
+            List<Project> result = new ArrayList<>();
+            for (Project p : projects) {
+                if (p.getManager().equalsIgnoreCase(manager)) {
+                    result.add(p);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
     
     /**
@@ -108,12 +164,21 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public void assignOfficer(String projectName, String officerNric) {
-        Project p = getProjectByName(projectName);
-        if (p != null) {
+        Metrics.run("ProjectHandler.assignOfficer", () -> {
+            Project p = getProjectByName(projectName);
+            if (p == null) {
+                throw new IllegalArgumentException("Project not found: " + projectName);
+            }
+            for (String officer : p.getOfficers()) {
+                if (officer.equalsIgnoreCase(officerNric)) {
+                    throw new IllegalArgumentException("Officer is already assigned to this project.");
+                }
+            }
+            if (!p.hasAvailableOfficerSlots()) {
+                throw new IllegalArgumentException("No officer slots left for this project.");
+            }
             p.addOfficer(officerNric);
-        } else {
-            throw new IllegalArgumentException("Project not found: " + projectName);
-        }
+        });
     }
     
     // ---- OfficerProjectFeatures methods ----
@@ -122,38 +187,104 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public List<Project> getProjectsForOfficer(String officerNric) {
-        List<Project> result = new ArrayList<>();
-        for (Project p : projects) {
-            if (p.getOfficers().contains(officerNric)) {
-                result.add(p);
+        return Metrics.call("ProjectHandler.getProjectsForOfficer", () -> {
+            List<Project> result = new ArrayList<>();
+            for (Project p : projects) {
+                if (p.getOfficers().contains(officerNric)) {
+                    result.add(p);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
     
     /**
      * {@inheritDoc}
+     * The units are taken atomically, so concurrent bookings can never oversell.
      */
     @Override
     public void decreaseAvailableUnits(String projectName, String unitType, int count) {
-        Project project = getProjectByName(projectName);
-        if (project != null) {
-            Map<String, UnitInfo> units = project.getUnits();
-            if (units.containsKey(unitType)) {
-                UnitInfo info = units.get(unitType);
-                int available = info.getAvailableUnits();
-                if (available >= count) {
-                    info.setAvailableUnits(available - count);
-                    saveChanges(); // Save changes to ProjectList.csv
-                } else {
-                    throw new IllegalArgumentException("Not enough available units for " + unitType);
+        Metrics.run("ProjectHandler.decreaseAvailableUnits", () -> {
+            if (!getUnitInfo(projectName, unitType).tryTake(count)) {
+                throw new IllegalArgumentException("Not enough available units for " + unitType);
+            }
+            saveChanges(); // Save changes to ProjectList.csv
+        });
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean reserveUnits(String projectName, String unitType, int count) {
+        return Metrics.call("ProjectHandler.reserveUnits", () -> getUnitInfo(projectName, unitType).tryReserve(count));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commitReservedUnits(String projectName, String unitType, int count) {
+        Metrics.run("ProjectHandler.commitReservedUnits", () -> {
+            getUnitInfo(projectName, unitType).commitReservation(count);
+            saveChanges(); // Save changes to ProjectList.csv
+        });
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void releaseReservedUnits(String projectName, String unitType, int count) {
+        Metrics.run("ProjectHandler.releaseReservedUnits", () -> {
+            getUnitInfo(projectName, unitType).releaseReservation(count);
+        });
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void returnUnits(String projectName, String unitType, int count) {
+        Metrics.run("ProjectHandler.returnUnits", () -> {
+            if (!getUnitInfo(projectName, unitType).tryReturn(count)) {
+                throw new IllegalArgumentException("Cannot return more " + unitType + " units than were booked");
+            }
+            saveChanges(); // Save changes to ProjectList.csv
+        });
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String allocateUnitNumber(String projectName, String unitType, Supplier<List<Application>> projectApplications) {
+        return Metrics.call("ProjectHandler.allocateUnitNumber", () -> {
+            UnitInfo info = getUnitInfo(projectName, unitType);
+            UnitNumberAllocator allocator = unitNumberAllocators.computeIfAbsent(allocatorKey(projectName, unitType), key -> {
+                List<String> assignedUnits = new ArrayList<>();
+                for (Application app : projectApplications.get()) {
+                    if (app.getAssignedUnit() != null && !app.getAssignedUnit().isEmpty()) {
+                        assignedUnits.add(app.getAssignedUnit());
+                    }
                 }
-            } else {
-                throw new IllegalArgumentException("Unit type not found in project: " + unitType);
+                return new UnitNumberAllocator(projectName, unitType, info.getTotalUnits(), assignedUnits);
+            });
+            return allocator.allocate();
+        });
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void releaseUnitNumber(String projectName, String unitType, String unitNumber) {
+        Metrics.run("ProjectHandler.releaseUnitNumber", () -> {
+            UnitNumberAllocator allocator = unitNumberAllocators.get(allocatorKey(projectName, unitType));
+            if (allocator != null) {
+                allocator.release(unitNumber);
             }
-        } else {
-            throw new IllegalArgumentException("Project not found: " + projectName);
-        }
+        });
     }
     
     /**
@@ -168,35 +299,29 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      * 
      * Only projects that are currently marked as visible will be checked and potentially updated.
      * If any project's visibility is changed, the changes will be saved to the persistent storage.
+     * The projects to hide are found through the {@link VisibilityIndex}, so a call between
+     * date boundaries, when no project needs hiding, does not scan the projects.
      * 
      * @see Project#isVisible()
      * @see Project#setVisible(boolean)
      * @see #saveChanges()
      */
     public void updateVisibilityBasedOnDate() {
-        java.time.LocalDate currentDate = java.time.LocalDate.now();
-        boolean changesNeeded = false;
-        
-        for (Project p : projects) {
-            // Only update projects that are visible
-            if (p.isVisible()) {
-                // Check if the application period has closed or not started yet
-                boolean outsideDateRange = currentDate.isBefore(p.getApplicationOpeningDate()) || 
-                                         currentDate.isAfter(p.getApplicationClosingDate());
-                
-                if (outsideDateRange) {
-                    p.setVisible(false);
-                    changesNeeded = true;
-                }
-            }
-        }
-        
         // Save changes to file if any project's visibility was updated
-        if (changesNeeded) {
+        if (!visibility.sweep(java.time.LocalDate.now()).isEmpty()) {
             saveChanges();
         }
     }
     
+    /**
+     * Checks whether {@link #updateVisibilityBasedOnDate()} would hide any project today.
+     * 
+     * @return true if a visible project's application period has not started yet or has ended
+     */
+    protected boolean isVisibilityUpdateDue() {
+        return visibility.isSweepDue(java.time.LocalDate.now());
+    }
+    
     /**
      * Gets all projects that have open officer slots and are available for registration
      * @return a list of projects with available officer slots
@@ -217,13 +342,8 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public List<Project> getVisibleProjects() {
-        List<Project> visibleProjects = new ArrayList<>();
-        for (Project p : projects) {
-            if (p.isVisible()) {
-                visibleProjects.add(p);
-            }
-        }
-        return visibleProjects;
+        return Metrics.call("ProjectHandler.getVisibleProjects",
+                () -> new ArrayList<>(visibility.getVisible(java.time.LocalDate.now())));
     }
     
     /**
@@ -231,20 +351,13 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
      */
     @Override
     public List<Project> getVisibleProjects(String applicantNric, List<String> appliedProjectNames) {
-        List<Project> visibleProjects = new ArrayList<>();
-        java.time.LocalDate currentDate = java.time.LocalDate.now();
-        
-        for (Project p : projects) {
+        return Metrics.call("ProjectHandler.getVisibleProjects", () -> {
             // Project is visible if:
             // 1. It's marked as visible AND hasn't reached closing date yet (includes upcoming projects)
             // OR
             // 2. The applicant has already applied to this project (regardless of visibility)
-            if ((p.isVisible() && !currentDate.isAfter(p.getApplicationClosingDate())) || 
-                (appliedProjectNames != null && appliedProjectNames.contains(p.getProjectName()))) {
-                visibleProjects.add(p);
-            }
-        }
-        return visibleProjects;
+            return new ArrayList<>(visibility.getBrowsable(java.time.LocalDate.now(), appliedProjectNames));
+        });
     }
     
     /**
@@ -262,10 +375,46 @@ public class ProjectHandler implements ManagerProjectFeatures, OfficerProjectFea
         return null;
     }
     
+    /**
+     * Helper method to find the unit inventory of a unit type in a project.
+     * 
+     * @param projectName the name of the project.
+     * @param unitType the type of unit.
+     * @return the UnitInfo holding the inventory of the unit type.
+     * @throws IllegalArgumentException if the project or unit type is not found.
+     */
+    private UnitInfo getUnitInfo(String projectName, String unitType) {
+        Project project = getProjectByName(projectName);
+        if (project == null) {
+            throw new IllegalArgumentException("Project not found: " + projectName);
+        }
+        UnitInfo info = project.getUnits().get(unitType);
+        if (info == null) {
+            throw new IllegalArgumentException("Unit type not found in project: " + unitType);
+        }
+        return info;
+    }
+    
+    /**
+     * Helper method to build the key of a unit number allocator.
+     * 
+     * @param projectName the name of the project, matched case-insensitively.
+     * @param unitType the type of unit.
+     * @return the allocator key.
+     */
+    private static String allocatorKey(String projectName, String unitType) {
+        return projectName.toLowerCase(Locale.ROOT) + "|" + unitType;
+    }
+    
     /**
      * Saves all changes made to the projects list to the data file.
      */
     public void saveChanges() {
-        FileIO.saveProjects(projects);
+        SaveEvent event = SaveEvent.start("ProjectHandler");
+        try {
+            FileIO.saveProjects(projects);
+        } finally {
+            event.finish(projects.size());
+        }
     }
 }
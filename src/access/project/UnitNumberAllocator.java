@@ -0,0 +1,121 @@
+package access.project;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Hands out unit numbers for one unit type of one project.
+ * Unit numbers have the form [project code]-[type prefix]-[number], with numbers counting
+ * up from 100. Taken numbers are tracked in a bitmap together with the lowest number that
+ * may still be free, so allocating and releasing a number take amortized constant time
+ * and there is no limit on the number of units. Numbers already assigned when the
+ * allocator is created are marked as taken, whatever range they fall in.
+ */
+public class UnitNumberAllocator {
+    /** The number given to the first unit */
+    private static final int FIRST_NUMBER = 100;
+
+    /** The part of every unit number before the numeric suffix, including the trailing hyphen */
+    private final String prefix;
+
+    /** Bit i is set if the unit number FIRST_NUMBER + i is taken */
+    private final BitSet taken;
+
+    /** No unit number below FIRST_NUMBER + lowestFree is free */
+    private int lowestFree;
+
+    /**
+     * Constructs an allocator seeded with the unit numbers already assigned.
+     *
+     * @param projectName The name of the project
+     * @param unitType The type of unit (e.g., "2-Room", "3-Room")
+     * @param totalUnits The total number of units of this type, used to size the bitmap
+     * @param assignedUnits Unit numbers already assigned in the project; other values are ignored
+     */
+    public UnitNumberAllocator(String projectName, String unitType, int totalUnits, Collection<String> assignedUnits) {
+        this.prefix = prefixFor(projectName, unitType);
+        this.taken = new BitSet(Math.max(totalUnits, 1));
+        for (String unitNumber : assignedUnits) {
+            int index = indexOf(unitNumber);
+            if (index >= 0) {
+                taken.set(index);
+            }
+        }
+    }
+
+    /**
+     * Allocates the lowest free unit number.
+     *
+     * @return A unit number not held by any other unit of this type
+     */
+    public synchronized String allocate() {
+        int index = taken.nextClearBit(lowestFree);
+        taken.set(index);
+        lowestFree = index + 1;
+        return prefix + (FIRST_NUMBER + index);
+    }
+
+    /**
+     * Releases a unit number so it can be allocated again.
+     *
+     * @param unitNumber The unit number to release
+     * @return true if the number was taken and is now free, false otherwise
+     */
+    public synchronized boolean release(String unitNumber) {
+        int index = indexOf(unitNumber);
+        if (index < 0 || !taken.get(index)) {
+            return false;
+        }
+        taken.clear(index);
+        lowestFree = Math.min(lowestFree, index);
+        return true;
+    }
+
+    /**
+     * Gets the number of unit numbers currently taken.
+     *
+     * @return The number of taken unit numbers
+     */
+    public synchronized int getTakenCount() {
+        return taken.cardinality();
+    }
+
+    /**
+     * Builds the prefix shared by all unit numbers of a unit type in a project.
+     *
+     * @param projectName The name of the project
+     * @param unitType The type of unit
+     * @return The project code and type prefix, each followed by a hyphen
+     */
+    static String prefixFor(String projectName, String unitType) {
+        // Generate a unique identifier based on project name
+        String projectCode = projectName.substring(0, Math.min(3, projectName.length())).toUpperCase(Locale.ROOT);
+        // Get the unit type prefix
+        String typePrefix = unitType.startsWith("2") ? "2R" : "3R";
+        return projectCode + "-" + typePrefix + "-";
+    }
+
+    /**
+     * Maps a unit number of this allocator to its bit index.
+     *
+     * @param unitNumber The unit number
+     * @return The bit index, or -1 if the unit number does not belong to this allocator
+     */
+    private int indexOf(String unitNumber) {
+        if (unitNumber == null || !unitNumber.startsWith(prefix)) {
+            return -1;
+        }
+        String digits = unitNumber.substring(prefix.length());
+        if (digits.isEmpty() || digits.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return -1;
+            }
+        }
+        int index = Integer.parseInt(digits) - FIRST_NUMBER;
+        return index >= 0 ? index : -1;
+    }
+}
@@ -0,0 +1,310 @@
+package access.project;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import models.Project;
+
+/**
+ * Index over the visibility of a list of projects, so that browsing does not scan and
+ * compare the dates of every project each time.
+ *
+ * The index keeps a view of the projects computed for one day: the visible projects, the
+ * visible projects still open for applications, and the visible projects ordered by opening
+ * date and by closing date. The view stays valid until the projects are changed, which must
+ * be followed by {@link #invalidate()}, or until the next date boundary, the day after the
+ * earliest closing date of a project in the open set. Reads in between return the
+ * precomputed lists. Each view carries the version it was built from, which changes
+ * whenever the projects are invalidated or hidden by a sweep.
+ *
+ * The date-based visibility sweep is scheduled from the ordered arrays: it is due exactly
+ * while the day is before the latest opening date or after the earliest closing date of a
+ * visible project, so checking for it is two date comparisons, and when it is due the
+ * projects to hide are found at the ends of the arrays instead of by scanning every project.
+ *
+ * Views are immutable and replaced whole, so reads from several threads are safe as long as
+ * changes to the projects are made under the caller's own locking.
+ */
+public class VisibilityIndex {
+    /** Orders projects by the first day of their application period */
+    private static final Comparator<Project> BY_OPENING = Comparator.comparing(Project::getApplicationOpeningDate);
+
+    /** Orders projects by the last day of their application period */
+    private static final Comparator<Project> BY_CLOSING = Comparator.comparing(Project::getApplicationClosingDate);
+
+    /** The projects indexed, shared with their handler */
+    private final List<Project> projects;
+
+    /** Version of the projects, advanced by every change */
+    private final AtomicLong version = new AtomicLong();
+
+    /** The latest view, or null before the first read */
+    private volatile View view;
+
+    /**
+     * Constructs an index over a list of projects.
+     *
+     * @param projects The projects to index; later changes must be followed by {@link #invalidate()}
+     */
+    public VisibilityIndex(List<Project> projects) {
+        this.projects = projects;
+    }
+
+    /**
+     * Marks the view out of date after projects were added, replaced or removed, or had
+     * their visibility or application period changed.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Gets the version of the visible projects on a day. The version changes whenever the
+     * lists returned by this index may have changed.
+     *
+     * @param today The current date
+     * @return The version
+     */
+    public long getVersion(LocalDate today) {
+        return viewFor(today).version;
+    }
+
+    /**
+     * Gets the projects marked visible, in the order of the project list.
+     *
+     * @param today The current date
+     * @return An unmodifiable list of the visible projects
+     */
+    public List<Project> getVisible(LocalDate today) {
+        return viewFor(today).visible;
+    }
+
+    /**
+     * Gets the projects an applicant may browse: those marked visible whose application
+     * period has not ended, including upcoming ones, together with the projects the
+     * applicant has applied to whatever their visibility, in the order of the project list.
+     *
+     * @param today The current date
+     * @param appliedProjectNames Names of the projects the applicant has applied to, matched exactly; may be null
+     * @return An unmodifiable list of the projects
+     */
+    public List<Project> getBrowsable(LocalDate today, Collection<String> appliedProjectNames) {
+        View current = viewFor(today);
+        if (appliedProjectNames == null || appliedProjectNames.isEmpty()) {
+            return current.open;
+        }
+        // Applied projects outside the open set are merged in at their place in the list
+        List<Project> extra = null;
+        for (String name : appliedProjectNames) {
+            Project project = current.byName.get(name);
+            if (project != null && !isOpen(project, today) && (extra == null || !extra.contains(project))) {
+                if (extra == null) {
+                    extra = new ArrayList<>();
+                }
+                extra.add(project);
+            }
+        }
+        if (extra == null) {
+            return current.open;
+        }
+        extra.sort(Comparator.comparingInt(current.positions::get));
+        List<Project> merged = new ArrayList<>(current.open.size() + extra.size());
+        int next = 0;
+        for (Project project : current.open) {
+            int position = current.positions.get(project);
+            while (next < extra.size() && current.positions.get(extra.get(next)) < position) {
+                merged.add(extra.get(next++));
+            }
+            merged.add(project);
+        }
+        merged.addAll(extra.subList(next, extra.size()));
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * Checks whether a sweep on a day would hide any project.
+     *
+     * @param today The current date
+     * @return true if a visible project's application period has not started yet or has ended
+     */
+    public boolean isSweepDue(LocalDate today) {
+        return viewFor(today).isSweepDue(today);
+    }
+
+    /**
+     * Hides the visible projects whose application period has not started yet or has
+     * ended on a day. Projects that are not visible are left as they are.
+     *
+     * @param today The current date
+     * @return The projects hidden, empty if the sweep was not due
+     */
+    public List<Project> sweep(LocalDate today) {
+        View current = viewFor(today);
+        if (!current.isSweepDue(today)) {
+            return Collections.emptyList();
+        }
+        List<Project> hidden = new ArrayList<>();
+        // Visible projects that have not opened yet are at the end of the opening order
+        for (int i = current.byOpening.length - 1;
+                i >= 0 && current.byOpening[i].getApplicationOpeningDate().isAfter(today); i--) {
+            hidden.add(current.byOpening[i]);
+        }
+        // Visible projects that have closed are at the start of the closing order
+        for (int i = 0; i < current.byClosing.length
+                && current.byClosing[i].getApplicationClosingDate().isBefore(today); i++) {
+            hidden.add(current.byClosing[i]);
+        }
+        for (Project project : hidden) {
+            project.setVisible(false);
+        }
+        if (!hidden.isEmpty()) {
+            invalidate();
+        }
+        return hidden;
+    }
+
+    /**
+     * Gets the view for a day, rebuilding it if the projects changed or a date boundary passed.
+     *
+     * @param today The current date
+     * @return The view
+     */
+    private View viewFor(LocalDate today) {
+        View current = view;
+        long expected = version.get();
+        if (current == null || current.version != expected
+                || today.isBefore(current.date) || !today.isBefore(current.validUntil)) {
+            current = build(today, expected);
+            view = current;
+        }
+        return current;
+    }
+
+    /**
+     * Builds the view of the projects for a day.
+     *
+     * @param today The current date
+     * @param version The version of the projects read before scanning them
+     * @return The view
+     */
+    private View build(LocalDate today, long version) {
+        List<Project> visible = new ArrayList<>();
+        List<Project> open = new ArrayList<>();
+        Map<String, Project> byName = new HashMap<>();
+        Map<Project, Integer> positions = new IdentityHashMap<>();
+        LocalDate validUntil = LocalDate.MAX;
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
+            positions.put(project, i);
+            byName.putIfAbsent(project.getProjectName(), project);
+            if (project.isVisible()) {
+                visible.add(project);
+                if (isOpen(project, today)) {
+                    open.add(project);
+                    LocalDate dayAfterClosing = project.getApplicationClosingDate().plusDays(1);
+                    if (dayAfterClosing.isBefore(validUntil)) {
+                        validUntil = dayAfterClosing;
+                    }
+                }
+            }
+        }
+        Project[] byOpening = visible.toArray(new Project[0]);
+        Project[] byClosing = byOpening.clone();
+        Arrays.sort(byOpening, BY_OPENING);
+        Arrays.sort(byClosing, BY_CLOSING);
+        return new View(version, today, validUntil,
+                Collections.unmodifiableList(visible), Collections.unmodifiableList(open),
+                byOpening, byClosing, byName, positions);
+    }
+
+    /**
+     * Checks whether a project is in the open set on a day: visible and not yet closed.
+     *
+     * @param project The project
+     * @param today The current date
+     * @return true if the project is visible and its application period has not ended
+     */
+    private static boolean isOpen(Project project, LocalDate today) {
+        return project.isVisible() && !today.isAfter(project.getApplicationClosingDate());
+    }
+
+    /**
+     * The projects' visibility as computed for one day.
+     */
+    private static class View {
+        /** Version of the projects the view was built from */
+        final long version;
+
+        /** The day the view was built for */
+        final LocalDate date;
+
+        /** The first day the open set may differ from this view's */
+        final LocalDate validUntil;
+
+        /** Visible projects, in list order */
+        final List<Project> visible;
+
+        /** Visible projects that have not closed, in list order */
+        final List<Project> open;
+
+        /** Visible projects, by opening date */
+        final Project[] byOpening;
+
+        /** Visible projects, by closing date */
+        final Project[] byClosing;
+
+        /** All projects by exact name */
+        final Map<String, Project> byName;
+
+        /** Position of every project in the list */
+        final Map<Project, Integer> positions;
+
+        /**
+         * Constructs a view.
+         *
+         * @param version Version of the projects the view was built from
+         * @param date The day the view was built for
+         * @param validUntil The first day the open set may differ
+         * @param visible Visible projects, in list order
+         * @param open Visible projects that have not closed, in list order
+         * @param byOpening Visible projects, by opening date
+         * @param byClosing Visible projects, by closing date
+         * @param byName All projects by exact name
+         * @param positions Position of every project in the list
+         */
+        View(long version, LocalDate date, LocalDate validUntil,
+                List<Project> visible, List<Project> open, Project[] byOpening, Project[] byClosing,
+                Map<String, Project> byName, Map<Project, Integer> positions) {
+            this.version = version;
+            this.date = date;
+            this.validUntil = validUntil;
+            this.visible = visible;
+            this.open = open;
+            this.byOpening = byOpening;
+            this.byClosing = byClosing;
+            this.byName = byName;
+            this.positions = positions;
+        }
+
+        /**
+         * Checks whether a sweep on a day would hide any project.
+         *
+         * @param today The current date, on which the view is valid
+         * @return true if a visible project has not opened yet or has closed
+         */
+        boolean isSweepDue(LocalDate today) {
+            return byOpening.length > 0
+                    && (today.isBefore(byOpening[byOpening.length - 1].getApplicationOpeningDate())
+                        || today.isAfter(byClosing[0].getApplicationClosingDate()));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package access.withdrawal;
+
+import java.util.ArrayList;
+import java.util.List;
+import models.WithdrawalRequest;
+import utils.HandlerLock;
+
+/**
+ * Thread-safe variant of the WithdrawalHandler for serving many sessions at once.
+ * Reads run in parallel, approvals and rejections lock only the project the request
+ * belongs to, and only new requests lock the whole handler.
+ * Every list returned is an immutable snapshot, but the requests in it are shared with
+ * the handler rather than copied, so they must only be changed through its methods.
+ */
+public class ConcurrentWithdrawalHandler extends WithdrawalHandler {
+
+    /** Lock over the withdrawal requests, striped by project */
+    private final HandlerLock lock = new HandlerLock(super::saveChanges);
+
+    /**
+     * Constructs a ConcurrentWithdrawalHandler over a private copy of the given requests.
+     * The caller's list is not modified by the handler.
+     *
+     * @param withdrawals The list of withdrawal requests to manage
+     */
+    public ConcurrentWithdrawalHandler(List<WithdrawalRequest> withdrawals) {
+        super(new ArrayList<>(withdrawals));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<WithdrawalRequest> getAllWithdrawalRequests() {
+        return lock.read(() -> HandlerLock.snapshot(super.getAllWithdrawalRequests()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WithdrawalRequest getWithdrawalRequest(String requestId) {
+        return lock.read(() -> super.getWithdrawalRequest(requestId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void approveWithdrawal(String requestId, String remarks) {
+        lock.writeProject(projectOf(requestId), () -> super.approveWithdrawal(requestId, remarks));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rejectWithdrawal(String requestId, String remarks) {
+        lock.writeProject(projectOf(requestId), () -> super.rejectWithdrawal(requestId, remarks));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<WithdrawalRequest> getWithdrawalRequestsByProject(String projectName) {
+        return lock.readProject(projectName, () -> HandlerLock.snapshot(super.getWithdrawalRequestsByProject(projectName)));
+    }
+
+    /**
+     * Saves current withdrawal request data to persistent storage while no other operation runs.
+     * A save triggered from inside a project operation runs once that operation completes.
+     */
+    @Override
+    public void saveChanges() {
+        lock.save();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void requestWithdrawal(WithdrawalRequest withdrawalRequest) {
+        lock.write(() -> super.requestWithdrawal(withdrawalRequest));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<WithdrawalRequest> getWithdrawalRequestsForApplicant(String applicantNric) {
+        return lock.read(() -> HandlerLock.snapshot(super.getWithdrawalRequestsForApplicant(applicantNric)));
+    }
+
+    /**
+     * Finds the project a withdrawal request belongs to, so its stripe can be locked.
+     *
+     * @param requestId The ID of the withdrawal request
+     * @return The project name, or null if the request is not found
+     */
+    private String projectOf(String requestId) {
+        WithdrawalRequest request = lock.read(() -> findWithdrawalById(requestId));
+        return request != null ? request.getProjectName() : null;
+    }
+}
@@ -15,16 +15,27 @@ public interface ManagerWithdrawalFeatures {
     List<WithdrawalRequest> getAllWithdrawalRequests();
     
     /**
-     * Approves a withdrawal request identified by its request ID.
+     * Retrieves a withdrawal request by its request ID.
      * @param requestId the unique ID of the withdrawal request.
+     * @return the WithdrawalRequest, or null if not found.
      */
-    void approveWithdrawal(String requestId);
+    WithdrawalRequest getWithdrawalRequest(String requestId);
     
     /**
-     * Rejects a withdrawal request identified by its request ID.
+     * Approves a pending withdrawal request identified by its request ID, recording when it was processed.
      * @param requestId the unique ID of the withdrawal request.
+     * @param remarks the remarks to record, or null to keep the applicant's remarks.
+     * @throws IllegalArgumentException if the request is not found or was already processed.
      */
-    void rejectWithdrawal(String requestId);
+    void approveWithdrawal(String requestId, String remarks);
+    
+    /**
+     * Rejects a pending withdrawal request identified by its request ID, recording when it was processed.
+     * @param requestId the unique ID of the withdrawal request.
+     * @param remarks the remarks to record, such as the reason, or null to keep the applicant's remarks.
+     * @throws IllegalArgumentException if the request is not found or was already processed.
+     */
+    void rejectWithdrawal(String requestId, String remarks);
 
     /**
      * Retrieves withdrawal requests for a specific project.
@@ -0,0 +1,95 @@
+package access.withdrawal;
+
+import access.application.ManagerApplicationFeatures;
+import access.project.ManagerProjectFeatures;
+import models.Application;
+import models.WithdrawalRequest;
+import models.enums.ApplicationStatus;
+import users.User;
+
+/**
+ * Approves or rejects withdrawal requests, as the manager menu and the API both do.
+ *
+ * Approving a request withdraws its application and, if a unit was booked for it, returns
+ * the unit to the project. The request is approved first, by a handler call that checks it
+ * is still pending in the same step, so a request approved twice at once fails the second
+ * time instead of returning the unit twice. Units are only taken when an application is
+ * booked, so a successful application that was never booked has no unit to return.
+ */
+public class Withdrawal {
+    /** Features used to read and process withdrawal requests */
+    private final ManagerWithdrawalFeatures withdrawals;
+
+    /** Features used to read and withdraw applications */
+    private final ManagerApplicationFeatures applications;
+
+    /** Features used to return booked units */
+    private final ManagerProjectFeatures projects;
+
+    /**
+     * Constructs a withdrawal over the given handlers.
+     *
+     * @param withdrawals Features used to read and process withdrawal requests
+     * @param applications Features used to read and withdraw applications
+     * @param projects Features used to return booked units
+     */
+    public Withdrawal(ManagerWithdrawalFeatures withdrawals, ManagerApplicationFeatures applications,
+                      ManagerProjectFeatures projects) {
+        this.withdrawals = withdrawals;
+        this.applications = applications;
+        this.projects = projects;
+    }
+
+    /**
+     * Approves a pending withdrawal request and withdraws its application.
+     *
+     * @param requestId The ID of the withdrawal request
+     * @param manager The manager approving the request
+     * @param remarks The remarks to record on the request, or null to keep the applicant's remarks
+     * @return The approved withdrawal request
+     * @throws IllegalArgumentException if the request or its application is not found,
+     *         or the request was already processed
+     */
+    public WithdrawalRequest approve(String requestId, User manager, String remarks) {
+        WithdrawalRequest request = find(requestId);
+        Application application = applications.getApplication(request.getApplicationId());
+        if (application == null) {
+            throw new IllegalArgumentException("Application not found: " + request.getApplicationId());
+        }
+        withdrawals.approveWithdrawal(requestId, remarks);
+        ApplicationStatus previous = applications.withdrawApplication(application.getApplicationId(),
+                "Application unsuccessful - Withdrawal approved by manager: " + manager.getName());
+        if (previous == ApplicationStatus.BOOKED) {
+            projects.returnUnits(application.getProjectName(), application.getUnitType(), 1);
+        }
+        return withdrawals.getWithdrawalRequest(requestId);
+    }
+
+    /**
+     * Rejects a pending withdrawal request, leaving its application unchanged.
+     *
+     * @param requestId The ID of the withdrawal request
+     * @param remarks The reason to record on the request, or null to keep the applicant's remarks
+     * @return The rejected withdrawal request
+     * @throws IllegalArgumentException if the request is not found or was already processed
+     */
+    public WithdrawalRequest reject(String requestId, String remarks) {
+        withdrawals.rejectWithdrawal(requestId, remarks);
+        return withdrawals.getWithdrawalRequest(requestId);
+    }
+
+    /**
+     * Finds a withdrawal request by ID.
+     *
+     * @param requestId The ID of the withdrawal request
+     * @return The withdrawal request
+     * @throws IllegalArgumentException if there is no such request
+     */
+    private WithdrawalRequest find(String requestId) {
+        WithdrawalRequest request = withdrawals.getWithdrawalRequest(requestId);
+        if (request == null) {
+            throw new IllegalArgumentException("Withdrawal request not found: " + requestId);
+        }
+        return request;
+    }
+}
@@ -1,10 +1,18 @@
 package access.withdrawal;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import models.WithdrawalRequest;
 import models.enums.WithdrawalStatus;
 import io.FileIO;
+import utils.Constants;
+import utils.IdGenerator;
+import metrics.Metrics;
+import metrics.SaveEvent;
 
 /**
  * Handles all withdrawal request operations in the BTO Management System.
@@ -15,6 +23,12 @@ public class WithdrawalHandler implements ManagerWithdrawalFeatures, ApplicantWi
     
     private List<WithdrawalRequest> withdrawals;
     
+    /** Withdrawal requests by lower-case request ID */
+    private final Map<String, WithdrawalRequest> withdrawalsById = new HashMap<>();
+    
+    /** Generates the IDs of new withdrawal requests */
+    private final IdGenerator ids = new IdGenerator();
+    
     /**
      * Constructs a WithdrawalHandler with the given list of withdrawal requests.
      * 
@@ -22,6 +36,10 @@ public class WithdrawalHandler implements ManagerWithdrawalFeatures, ApplicantWi
      */
     public WithdrawalHandler(List<WithdrawalRequest> withdrawals) {
         this.withdrawals = withdrawals;
+        for (WithdrawalRequest request : withdrawals) {
+            ids.observe(request.getRequestId());
+            withdrawalsById.putIfAbsent(normalize(request.getRequestId()), request);
+        }
     }
     
     // Manager methods...
@@ -37,37 +55,40 @@ public class WithdrawalHandler implements ManagerWithdrawalFeatures, ApplicantWi
     }
     
     /**
-     * Approves a withdrawal request.
+     * Approves a pending withdrawal request, recording now as its process date.
      * Available to managers to process applicant withdrawal requests.
      * 
      * @param requestId The ID of the withdrawal request to approve
-     * @throws IllegalArgumentException if the request is not found
+     * @param remarks The remarks to record, or null to keep the applicant's remarks
+     * @throws IllegalArgumentException if the request is not found or was already processed
      */
     @Override
-    public void approveWithdrawal(String requestId) {
-        WithdrawalRequest req = findWithdrawalById(requestId);
-        if (req == null) {
-            throw new IllegalArgumentException("Withdrawal request not found: " + requestId);
-        }
-        req.setStatus(WithdrawalStatus.APPROVED);
-        saveChanges(); // Add this line to save changes to CSV
+    public void approveWithdrawal(String requestId, String remarks) {
+        Metrics.run("WithdrawalHandler.approveWithdrawal", () -> process(requestId, WithdrawalStatus.APPROVED, remarks));
     }
     
     /**
-     * Rejects a withdrawal request.
+     * Rejects a pending withdrawal request, recording now as its process date.
      * Available to managers to process applicant withdrawal requests.
      * 
      * @param requestId The ID of the withdrawal request to reject
-     * @throws IllegalArgumentException if the request is not found
+     * @param remarks The remarks to record, or null to keep the applicant's remarks
+     * @throws IllegalArgumentException if the request is not found or was already processed
      */
     @Override
-    public void rejectWithdrawal(String requestId) {
-        WithdrawalRequest req = findWithdrawalById(requestId);
-        if (req == null) {
-            throw new IllegalArgumentException("Withdrawal request not found: " + requestId);
-        }
-        req.setStatus(WithdrawalStatus.REJECTED);
-        saveChanges(); // Add this line to save changes to CSV
+    public void rejectWithdrawal(String requestId, String remarks) {
+        Metrics.run("WithdrawalHandler.rejectWithdrawal", () -> process(requestId, WithdrawalStatus.REJECTED, remarks));
+    }
+
+    /**
+     * Returns a specific withdrawal request by its ID.
+     * 
+     * @param requestId The ID of the withdrawal request
+     * @return The WithdrawalRequest object with the specified ID, or null if not found
+     */
+    @Override
+    public WithdrawalRequest getWithdrawalRequest(String requestId) {
+        return Metrics.call("WithdrawalHandler.getWithdrawalRequest", () -> findWithdrawalById(requestId));
     }
 
     /**
@@ -79,21 +100,43 @@ public class WithdrawalHandler implements ManagerWithdrawalFeatures, ApplicantWi
      */
     @Override
     public List<WithdrawalRequest> getWithdrawalRequestsByProject(String projectName) {
-        List<WithdrawalRequest> result = new ArrayList<>();
-        for (WithdrawalRequest request : withdrawals) {
-            if (request.getProjectName().equalsIgnoreCase(projectName)) {
-                result.add(request);
+        return Metrics.call("WithdrawalHandler.getWithdrawalRequestsByProject", () -> {
+            List<WithdrawalRequest> result = new ArrayList<>();
+            for (WithdrawalRequest request : withdrawals) {
+                if (request.getProjectName().equalsIgnoreCase(projectName)) {
+                    result.add(request);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
     
     /**
      * Saves current withdrawal request data to persistent storage.
-     * Called after operations that modify withdrawal request data.
+     * Rewrites the whole CSV file, which also compacts the withdrawal journal.
+     * Mutations made through this handler are already journaled as they happen,
+     * so this only needs to be called for compaction, e.g. on shutdown.
      */
     public void saveChanges() {
-        FileIO.saveWithdrawals(withdrawals);
+        SaveEvent event = SaveEvent.start("WithdrawalHandler");
+        try {
+            FileIO.saveWithdrawals(withdrawals);
+        } finally {
+            event.finish(withdrawals.size());
+        }
+    }
+    
+    /**
+     * Records a single added or changed withdrawal request in the journal, compacting
+     * the journal into the CSV file once it grows past the configured threshold.
+     * 
+     * @param request The withdrawal request that was added or changed
+     */
+    private void persist(WithdrawalRequest request) {
+        FileIO.journalWithdrawal(request);
+        if (FileIO.withdrawalJournalSize() >= Constants.JOURNAL_COMPACTION_THRESHOLD) {
+            saveChanges();
+        }
     }
     
     // Applicant methods...
@@ -105,10 +148,16 @@ public class WithdrawalHandler implements ManagerWithdrawalFeatures, ApplicantWi
      */
     @Override
     public void requestWithdrawal(WithdrawalRequest withdrawalRequest) {
-        if (withdrawalRequest.getRequestId() == null || withdrawalRequest.getRequestId().isEmpty()) {
-            withdrawalRequest.setRequestId(generateUniqueId("WDR"));
-        }
-        withdrawals.add(withdrawalRequest);
+        Metrics.run("WithdrawalHandler.requestWithdrawal", () -> {
+            if (withdrawalRequest.getRequestId() == null || withdrawalRequest.getRequestId().isEmpty()) {
+                withdrawalRequest.setRequestId(generateUniqueId("WDR"));
+            } else {
+                ids.observe(withdrawalRequest.getRequestId());
+            }
+            withdrawals.add(withdrawalRequest);
+            withdrawalsById.putIfAbsent(normalize(withdrawalRequest.getRequestId()), withdrawalRequest);
+            persist(withdrawalRequest);
+        });
     }
     
     /**
@@ -120,13 +169,15 @@ public class WithdrawalHandler implements ManagerWithdrawalFeatures, ApplicantWi
      */
     @Override
     public List<WithdrawalRequest> getWithdrawalRequestsForApplicant(String applicantNric) {
-        List<WithdrawalRequest> result = new ArrayList<>();
-        for (WithdrawalRequest wr : withdrawals) {
-            if (wr.getApplicantNric().equalsIgnoreCase(applicantNric)) {
-                result.add(wr);
+        return Metrics.call("WithdrawalHandler.getWithdrawalRequestsForApplicant", () -> {
+            List<WithdrawalRequest> result = new ArrayList<>();
+            for (WithdrawalRequest wr : withdrawals) {
+                if (wr.getApplicantNric().equalsIgnoreCase(applicantNric)) {
+                    result.add(wr);
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
 
     /**
@@ -136,23 +187,56 @@ public class WithdrawalHandler implements ManagerWithdrawalFeatures, ApplicantWi
      * @param requestId The ID of the withdrawal request to find
      * @return The WithdrawalRequest object with the specified ID, or null if not found
      */
-    private WithdrawalRequest findWithdrawalById(String requestId) {
-        for (WithdrawalRequest wr : withdrawals) {
-            if (wr.getRequestId().equalsIgnoreCase(requestId)) {
-                return wr;
-            }
+    protected WithdrawalRequest findWithdrawalById(String requestId) {
+        if (requestId == null) {
+            return null;
+        }
+        return withdrawalsById.get(normalize(requestId));
+    }
+    
+    /**
+     * Approves or rejects a withdrawal request that is still pending.
+     * 
+     * @param requestId The ID of the withdrawal request
+     * @param status The status to give the request
+     * @param remarks The remarks to record, or null to keep the current remarks
+     * @throws IllegalArgumentException if the request is not found or is no longer pending
+     */
+    private void process(String requestId, WithdrawalStatus status, String remarks) {
+        WithdrawalRequest req = findWithdrawalById(requestId);
+        if (req == null) {
+            throw new IllegalArgumentException("Withdrawal request not found: " + requestId);
+        }
+        if (req.getStatus() != WithdrawalStatus.PENDING) {
+            throw new IllegalArgumentException("Withdrawal request " + req.getRequestId() + " has already been processed.");
         }
-        return null;
+        req.setStatus(status);
+        req.setProcessDate(LocalDateTime.now());
+        if (remarks != null) {
+            req.setRemarks(remarks);
+        }
+        persist(req);
+    }
+    
+    /**
+     * Normalizes a request ID for case-insensitive lookup.
+     * 
+     * @param requestId The request ID
+     * @return The lower-case request ID
+     */
+    private static String normalize(String requestId) {
+        return requestId.toLowerCase(Locale.ROOT);
     }
     
     /**
      * Generates a unique ID for a new withdrawal request.
-     * Creates IDs in the format: [prefix]-[timestamp] to ensure uniqueness.
+     * Creates IDs in the format: [prefix]-[timestamp], moved past the last ID generated
+     * or in use if the clock has not advanced since.
      * 
      * @param prefix The prefix to use for the ID (e.g., "WDR")
      * @return A unique ID string
      */
     private String generateUniqueId(String prefix) {
-        return prefix + "-" + System.currentTimeMillis();
+        return ids.next(prefix);
     }
 }
\ No newline at end of file
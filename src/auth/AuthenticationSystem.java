@@ -1,76 +1,86 @@
 package auth;
 
-import java.util.List;
 import java.util.Scanner;
+import metrics.LoginEvent;
 import users.User;
-import users.Applicant;
-import users.HDBOfficer;
-import users.ProjectManager;
-import io.FileIO;
+import users.enums.UserType;
 
 /**
  * Manages user authentication for the BTO Management System.
  * Provides functionality to authenticate users (applicants, officers, and managers)
  * by validating their credentials against stored user data.
+ * Users are looked up in a {@link UserDirectory}, so a login does not read the user files.
+ * Each login is recorded as a {@link LoginEvent} for the flight recorder.
  */
 public class AuthenticationSystem {
+    /** Cached directory of all users, keyed by NRIC */
+    private final UserDirectory userDirectory;
+
+    /**
+     * Constructs an authentication system with its own user directory.
+     */
+    public AuthenticationSystem() {
+        this(new UserDirectory());
+    }
+
+    /**
+     * Constructs an authentication system that looks users up in a shared directory.
+     *
+     * @param userDirectory The user directory to authenticate against
+     */
+    public AuthenticationSystem(UserDirectory userDirectory) {
+        this.userDirectory = userDirectory;
+    }
+
     /**
      * Logs in a user with NRIC and password, specifically targeting user type based on the provided choice.
      * Allows multiple password attempts and provides appropriate feedback based on authentication results.
      * 
-     * @param users List of all users in the system
      * @param scanner Scanner for input
      * @param userTypeChoice User type filter: 1 for Applicant, 2 for Officer, 3 for Manager
      * @return The authenticated User object if login is successful, or null if login failed
      */
-    public User login(List<User> users, Scanner scanner, int userTypeChoice) {
+    public User login(Scanner scanner, int userTypeChoice) {
         System.out.print("Enter NRIC: ");
         String nric = scanner.nextLine().trim();
 
-        // Instead of checking the combined user list, load and check the appropriate type-specific list
-        User foundUser = null;
-        
-        // Based on the user type choice, load the appropriate user list
+        // Look the NRIC up in the cached directory for the chosen user type
+        LoginEvent event = LoginEvent.start(nric, userTypeName(userTypeChoice));
+        User foundUser;
         if (userTypeChoice == 1) {
             // Applicant login
-            List<Applicant> applicants = FileIO.loadApplicants();
-            for (User user : applicants) {
-                if (user.getNric().equalsIgnoreCase(nric)) {
-                    foundUser = user;
-                    break;
-                }
-            }
+            foundUser = userDirectory.find(UserType.APPLICANT, nric);
             if (foundUser == null) {
+                event.finish("NOT_FOUND");
                 System.out.println("Applicant not found. Please register if you're a first-time user.");
                 return null;
             }
         } else if (userTypeChoice == 2) {
             // Officer login
-            List<HDBOfficer> officers = FileIO.loadOfficers();
-            for (User user : officers) {
-                if (user.getNric().equalsIgnoreCase(nric)) {
-                    foundUser = user;
-                    break;
-                }
-            }
+            foundUser = userDirectory.find(UserType.OFFICER, nric);
             if (foundUser == null) {
+                event.finish("NOT_FOUND");
                 System.out.println("Officer not found. Please contact administrator if this is an error.");
                 return null;
             }
         } else if (userTypeChoice == 3) {
             // Manager login
-            List<ProjectManager> managers = FileIO.loadManagers();
-            for (User user : managers) {
-                if (user.getNric().equalsIgnoreCase(nric)) {
-                    foundUser = user;
-                    break;
-                }
-            }
+            foundUser = userDirectory.find(UserType.MANAGER, nric);
             if (foundUser == null) {
+                event.finish("NOT_FOUND");
                 System.out.println("Manager not found. Please contact administrator if this is an error.");
                 return null;
             }
+        } else {
+            // No user type filter
+            foundUser = userDirectory.findAny(nric);
+            if (foundUser == null) {
+                event.finish("NOT_FOUND");
+                System.out.println("User not found. Please register if you're a first-time user.");
+                return null;
+            }
         }
+        event.lookedUp();
 
         // Allow up to 3 attempts for correct password.
         int attempts = 0;
@@ -81,6 +91,7 @@ public class AuthenticationSystem {
             String password = scanner.nextLine().trim();
             
             if (foundUser.getPassword().equals(password)) {
+                event.finish("SUCCESS");
                 System.out.println("Login successful!");
                 return foundUser;
             } else {
@@ -88,6 +99,7 @@ public class AuthenticationSystem {
                 if (attempts < MAX_ATTEMPTS) {
                     System.out.println("Incorrect password. You have " + (MAX_ATTEMPTS - attempts) + " attempts remaining.");
                 } else {
+                    event.finish("WRONG_PASSWORD");
                     System.out.println("Too many failed attempts. Please try again later.");
                     return null;
                 }
@@ -101,11 +113,25 @@ public class AuthenticationSystem {
      * Legacy login method that doesn't filter by user type.
      * Maintained for backward compatibility with existing code.
      * 
-     * @param users List of all users in the system
      * @param scanner Scanner for input
      * @return The authenticated User object if login is successful, or null if login failed
      */
-    public User login(List<User> users, Scanner scanner) {
-        return login(users, scanner, 0); // 0 means no user type filter
+    public User login(Scanner scanner) {
+        return login(scanner, 0); // 0 means no user type filter
+    }
+
+    /**
+     * Names the user type chosen for a login, for its flight recorder event.
+     *
+     * @param userTypeChoice User type filter: 1 for Applicant, 2 for Officer, 3 for Manager
+     * @return The user type, or ANY without a filter
+     */
+    private static String userTypeName(int userTypeChoice) {
+        switch (userTypeChoice) {
+            case 1: return UserType.APPLICANT.name();
+            case 2: return UserType.OFFICER.name();
+            case 3: return UserType.MANAGER.name();
+            default: return "ANY";
+        }
     }
 }
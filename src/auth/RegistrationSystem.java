@@ -3,8 +3,7 @@ package auth;
 import users.User;
 import users.Applicant;
 import users.enums.MaritalStatus;
-import io.FileIO;
-import java.util.List;
+import users.enums.UserType;
 import java.util.Scanner;
 
 /**
@@ -14,15 +13,33 @@ import java.util.Scanner;
  * Currently supports registration as an applicant only.
  */
 public class RegistrationSystem {
+    /** Cached directory of all users, used for duplicate checks and to record new users */
+    private final UserDirectory userDirectory;
+
+    /**
+     * Constructs a registration system with its own user directory.
+     */
+    public RegistrationSystem() {
+        this(new UserDirectory());
+    }
+
+    /**
+     * Constructs a registration system that records users in a shared directory.
+     *
+     * @param userDirectory The user directory to check and update
+     */
+    public RegistrationSystem(UserDirectory userDirectory) {
+        this.userDirectory = userDirectory;
+    }
+
     /**
      * Handles the entire user registration process by scanning inputs from the provided Scanner.
      * Prompts for all necessary registration details and then calls registerUser to process the registration.
      *
      * @param scanner  the Scanner instance for reading user input.
-     * @param userList the global in-memory list of users.
      * @return the new User object if registration is successful; null otherwise.
      */
-    public User registerUserFromInput(Scanner scanner, List<User> userList) {
+    public User registerUserFromInput(Scanner scanner) {
         // Header is handled by MainMenu, so we don't print it here
         System.out.println("Type 'quit' at any prompt to cancel registration and return to the main menu.");
 
@@ -120,7 +137,7 @@ public class RegistrationSystem {
         String userType = "APPLICANT";
 
         // Delegate to the existing registration logic.
-        User newUser = registerUser(name, nric, age, maritalStatusStr, password, userType, userList);
+        User newUser = registerUser(name, nric, age, maritalStatusStr, password, userType);
         return newUser;
     }
 
@@ -205,7 +222,7 @@ public class RegistrationSystem {
     /**
      * Attempts to register a new user as an applicant based on the input parameters.
      * Validates input, checks if the NRIC already exists, and creates the correct user object.
-     * Saves the new user to the appropriate type-specific file.
+     * Appends the new user to the applicant file.
      *
      * @param name             the user's name.
      * @param nric             the user's NRIC.
@@ -213,11 +230,10 @@ public class RegistrationSystem {
      * @param maritalStatusStr the user's marital status as a string ("Single" or "Married").
      * @param password         the user's password.
      * @param userTypeStr      the type of user as a string (always "APPLICANT").
-     * @param userList         the global in-memory list of users.
      * @return the new User object if registration is successful; null otherwise.
      */
     public User registerUser(String name, String nric, int age, String maritalStatusStr,
-                            String password, String userTypeStr, List<User> userList) {
+                            String password, String userTypeStr) {
         // Validate input fields - this is a final validation check
         if (name == null || name.trim().isEmpty() ||
             nric == null || nric.trim().isEmpty() ||
@@ -228,13 +244,10 @@ public class RegistrationSystem {
             return null;
         }
 
-        // Check for existing NRIC in the applicant list
-        List<Applicant> applicants = FileIO.loadApplicants();
-        for (Applicant applicant : applicants) {
-            if (applicant.getNric().equalsIgnoreCase(nric.trim())) {
-                System.out.println("✗ NRIC already exists. Please login instead.");
-                return null;
-            }
+        // Check for existing NRIC in the applicant directory
+        if (userDirectory.contains(UserType.APPLICANT, nric)) {
+            System.out.println("✗ NRIC already exists. Please login instead.");
+            return null;
         }
 
         // Convert marital status string to enum.
@@ -247,9 +260,11 @@ public class RegistrationSystem {
         }
 
         // Create the new applicant user
-        User newUser = new Applicant(name.trim(), nric.trim(), age, maritalStatus, password.trim());
-        applicants.add((Applicant) newUser);
-        FileIO.saveApplicants(applicants);
+        Applicant newUser = new Applicant(name.trim(), nric.trim(), age, maritalStatus, password.trim());
+        if (!userDirectory.addApplicant(newUser)) {
+            System.out.println("✗ Registration failed. Could not save user data.");
+            return null;
+        }
 
         System.out.println("✓ Registration successful! Please proceed to login in the main menu.");
         return newUser;
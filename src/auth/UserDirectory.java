@@ -0,0 +1,249 @@
+package auth;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import io.FileIO;
+import io.UserSerializer;
+import users.Applicant;
+import users.User;
+import users.enums.UserType;
+import utils.Constants;
+import utils.FileUtils;
+
+/**
+ * In-memory directory of the users stored in the applicant, officer and manager files.
+ * Each user type is kept in its own map keyed by normalized NRIC, so login and duplicate
+ * checks are a single hash lookup instead of a file read and linear scan.
+ *
+ * A user file is read the first time its user type is needed and is only read again when
+ * its modification time or size changes, for example after a password change rewrote it.
+ * Checking for a change costs one file attribute lookup and no reads.
+ */
+public class UserDirectory {
+    /** Cached users of each type */
+    private final Map<UserType, Segment> segments = new EnumMap<>(UserType.class);
+
+    /**
+     * Constructs a user directory over the standard user files.
+     * No file is read until a user of the corresponding type is looked up.
+     */
+    public UserDirectory() {
+        segments.put(UserType.APPLICANT, new Segment(Constants.APPLICANT_FILE, FileIO::loadApplicants));
+        segments.put(UserType.OFFICER, new Segment(Constants.OFFICER_FILE, FileIO::loadOfficers));
+        segments.put(UserType.MANAGER, new Segment(Constants.MANAGER_FILE, FileIO::loadManagers));
+    }
+
+    /**
+     * Finds a user of the given type by NRIC.
+     * NRIC matching ignores case and surrounding whitespace.
+     *
+     * @param userType The type of user to look up
+     * @param nric The NRIC of the user
+     * @return The matching user, or null if no user of that type has the NRIC
+     */
+    public synchronized User find(UserType userType, String nric) {
+        if (nric == null) {
+            return null;
+        }
+        return segment(userType).usersByNric.get(normalize(nric));
+    }
+
+    /**
+     * Finds a user of any type by NRIC, checking applicants, officers and managers in that order.
+     *
+     * @param nric The NRIC of the user
+     * @return The matching user, or null if no user has the NRIC
+     */
+    public synchronized User findAny(String nric) {
+        for (UserType userType : segments.keySet()) {
+            User user = find(userType, nric);
+            if (user != null) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns every user, applicants first and then officers and managers, in file order.
+     * Only the user files that changed since they were last read are read again.
+     *
+     * @return A new list of all users
+     */
+    public synchronized List<User> getAllUsers() {
+        List<User> users = new ArrayList<>();
+        for (UserType userType : segments.keySet()) {
+            users.addAll(segment(userType).usersByNric.values());
+        }
+        return users;
+    }
+
+    /**
+     * Checks whether a user of the given type with the NRIC exists.
+     *
+     * @param userType The type of user to look up
+     * @param nric The NRIC to check
+     * @return true if a user of that type has the NRIC, false otherwise
+     */
+    public synchronized boolean contains(UserType userType, String nric) {
+        return find(userType, nric) != null;
+    }
+
+    /**
+     * Adds a newly registered applicant.
+     * The applicant is appended to the applicant file as a single row instead of
+     * rewriting the whole file, and becomes visible to lookups immediately.
+     *
+     * @param applicant The applicant to add
+     * @return true if the applicant was written to the file, false otherwise
+     */
+    public synchronized boolean addApplicant(Applicant applicant) {
+        Segment segment = segment(UserType.APPLICANT);
+        segment.usersByNric.put(normalize(applicant.getNric()), applicant);
+        boolean written;
+        if (FileUtils.exists(segment.fileName)) {
+            written = FileUtils.appendLine(segment.fileName, UserSerializer.serializeApplicant(applicant));
+        } else {
+            // A new file needs its header row, which the full save writes
+            List<Applicant> applicants = new ArrayList<>();
+            for (User user : segment.usersByNric.values()) {
+                applicants.add((Applicant) user);
+            }
+            written = FileIO.saveApplicants(applicants);
+        }
+        if (!written) {
+            segment.usersByNric.remove(normalize(applicant.getNric()));
+            return false;
+        }
+        // Our own append must not make the cache look stale
+        segment.recordFileState();
+        return true;
+    }
+
+    /**
+     * Drops all cached users so every user type is read again on its next lookup.
+     */
+    public synchronized void invalidate() {
+        for (Segment segment : segments.values()) {
+            segment.usersByNric = null;
+        }
+    }
+
+    /**
+     * Returns the cache for a user type, reloading it if its file changed since it was read.
+     *
+     * @param userType The user type
+     * @return The up-to-date cache for the user type
+     * @throws IllegalArgumentException if the user type has no user file
+     */
+    private Segment segment(UserType userType) {
+        Segment segment = segments.get(userType);
+        if (segment == null) {
+            throw new IllegalArgumentException("Unknown user type: " + userType);
+        }
+        if (segment.usersByNric == null || segment.isStale()) {
+            segment.reload();
+        }
+        return segment;
+    }
+
+    /**
+     * Normalizes an NRIC for use as a lookup key.
+     *
+     * @param nric The NRIC to normalize
+     * @return The trimmed, upper-cased NRIC
+     */
+    private static String normalize(String nric) {
+        return nric.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Cached users of one type together with the state of the file they were read from.
+     */
+    private static class Segment {
+        /** Name of the user file */
+        private final String fileName;
+
+        /** Reads all users from the user file */
+        private final Supplier<List<? extends User>> loader;
+
+        /** Users keyed by normalized NRIC in file order, or null if not loaded */
+        private Map<String, User> usersByNric;
+
+        /** Modification time of the file when it was last read, or null if it did not exist */
+        private FileTime lastModified;
+
+        /** Size of the file when it was last read */
+        private long size = -1;
+
+        /**
+         * Constructs an empty cache for a user file.
+         *
+         * @param fileName Name of the user file
+         * @param loader Reads all users from the user file
+         */
+        Segment(String fileName, Supplier<List<? extends User>> loader) {
+            this.fileName = fileName;
+            this.loader = loader;
+        }
+
+        /**
+         * Reads the user file and rebuilds the NRIC map.
+         * The file state is captured before reading, so a write that races with the
+         * read is picked up by the next staleness check.
+         */
+        void reload() {
+            recordFileState();
+            Map<String, User> users = new LinkedHashMap<>();
+            for (User user : loader.get()) {
+                // The first row wins, matching the linear scan this replaces
+                users.putIfAbsent(normalize(user.getNric()), user);
+            }
+            usersByNric = users;
+        }
+
+        /**
+         * Checks whether the user file changed since it was last read.
+         *
+         * @return true if the file's modification time or size differs from the cached state
+         */
+        boolean isStale() {
+            BasicFileAttributes attributes = readAttributes();
+            if (attributes == null) {
+                return lastModified != null;
+            }
+            return !attributes.lastModifiedTime().equals(lastModified) || attributes.size() != size;
+        }
+
+        /**
+         * Records the current modification time and size of the user file.
+         */
+        void recordFileState() {
+            BasicFileAttributes attributes = readAttributes();
+            lastModified = attributes == null ? null : attributes.lastModifiedTime();
+            size = attributes == null ? -1 : attributes.size();
+        }
+
+        /**
+         * Reads the attributes of the user file.
+         *
+         * @return The file attributes, or null if the file cannot be accessed
+         */
+        private BasicFileAttributes readAttributes() {
+            try {
+                return Files.readAttributes(FileUtils.resolve(fileName), BasicFileAttributes.class);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
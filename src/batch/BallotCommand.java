@@ -0,0 +1,115 @@
+package batch;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import access.application.ApplicationHandler;
+import access.application.Ballot;
+import access.application.ColumnarApplicationHandler;
+import access.project.ProjectHandler;
+import io.DataLoader;
+import models.ApplicationDecision;
+import models.DecisionBatchResult;
+import models.Project;
+import users.User;
+
+/**
+ * Non-interactive command that runs the ballot for one flat type of an oversubscribed
+ * project, approving the winners and rejecting the other pending applications in a
+ * single commit. The seed is printed so the draw can be reproduced.
+ *
+ * Usage:
+ * <pre>
+ * --ballot --project "Project Name" --unit-type 2-Room [--seed 42] [--married-first]
+ * </pre>
+ * Without a seed the current time is used. With --married-first, married applicants are
+ * drawn before everyone else.
+ */
+public class BallotCommand {
+    /**
+     * Runs the command.
+     *
+     * @param args The command line arguments, starting with --ballot
+     * @throws IllegalArgumentException if the arguments or the project are invalid
+     */
+    public static void run(String[] args) {
+        String projectName = option(args, "--project");
+        String unitType = option(args, "--unit-type");
+        String seedText = option(args, "--seed");
+        if (projectName == null || unitType == null) {
+            throw new IllegalArgumentException("Usage: --ballot --project <name> --unit-type <type> [--seed <n>] [--married-first]");
+        }
+        long seed;
+        try {
+            seed = seedText != null ? Long.parseLong(seedText) : System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Seed must be a whole number: " + seedText);
+        }
+
+        DataLoader loader = DataLoader.loadAll();
+        Project project = new ProjectHandler(loader.getProjects()).getProject(projectName);
+        if (project == null) {
+            throw new IllegalArgumentException("Project not found: " + projectName);
+        }
+        if (!project.getUnits().containsKey(unitType)) {
+            throw new IllegalArgumentException(project.getProjectName() + " has no " + unitType + " units");
+        }
+        ApplicationHandler applications = Boolean.getBoolean("bto.columnar")
+                ? new ColumnarApplicationHandler(loader.getApplications())
+                : new ApplicationHandler(loader.getApplications());
+
+        Ballot ballot;
+        if (hasFlag(args, "--married-first")) {
+            Map<String, User> users = new HashMap<>();
+            for (User user : loader.getUsers()) {
+                users.put(user.getNric().toUpperCase(Locale.ROOT), user);
+            }
+            ballot = new Ballot(seed, Ballot.marriedFirst(nric -> nric == null ? null : users.get(nric.toUpperCase(Locale.ROOT))));
+        } else {
+            ballot = new Ballot(seed);
+        }
+
+        long start = System.nanoTime();
+        List<ApplicationDecision> decisions = ballot.draw(project, unitType,
+                applications.getApplicationsByProject(project.getProjectName()));
+        double drawMillis = (System.nanoTime() - start) / 1e6;
+        DecisionBatchResult result = applications.decideApplications(decisions);
+
+        System.out.printf("Ballot for %s %s with seed %d: %d successful and %d unsuccessful of %d applicants%n",
+                project.getProjectName(), unitType, seed, result.getApproved(), result.getRejected(), decisions.size());
+        System.out.printf("Drawn in %.1f ms, recorded in %.1f ms%n", drawMillis, result.getElapsedMillis());
+    }
+
+    /**
+     * Gets the value following an option.
+     *
+     * @param args The arguments
+     * @param name The option, e.g. --seed
+     * @return The value, or null if the option is absent
+     */
+    private static String option(String[] args, String name) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a flag is present.
+     *
+     * @param args The arguments
+     * @param name The flag, e.g. --married-first
+     * @return true if the flag is present
+     */
+    private static boolean hasFlag(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
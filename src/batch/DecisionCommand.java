@@ -0,0 +1,134 @@
+package batch;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import access.application.ApplicationHandler;
+import access.application.ColumnarApplicationHandler;
+import access.application.DecisionRule;
+import access.project.ProjectHandler;
+import io.DataLoader;
+import models.ApplicationDecision;
+import models.DecisionBatchResult;
+import models.Project;
+import utils.CsvReader;
+
+/**
+ * Non-interactive command that approves and rejects applications in bulk, for clearing
+ * the pending applications of a launch without the manager menu. The decisions come either
+ * from a CSV file or from a {@link DecisionRule} applied to one project, and are applied
+ * and persisted in a single commit.
+ *
+ * Usage:
+ * <pre>
+ * --decide --file decisions.csv
+ * --decide --rule by-supply|approve-all|reject-all --project "Project Name"
+ * </pre>
+ * Each line of a decisions file is applicationId,approve or applicationId,reject,reason.
+ * A header line starting with "Application ID" is ignored.
+ */
+public class DecisionCommand {
+    /** Number of skipped decisions listed individually in the report */
+    private static final int SKIPPED_SHOWN = 10;
+
+    /**
+     * Runs the command.
+     *
+     * @param args The command line arguments, starting with --decide
+     * @throws IllegalArgumentException if the arguments, the decisions file or the project are invalid
+     * @throws IOException if the decisions file cannot be read
+     */
+    public static void run(String[] args) throws IOException {
+        String file = option(args, "--file");
+        String rule = option(args, "--rule");
+        String projectName = option(args, "--project");
+        if ((file == null) == (rule == null) || (rule != null && projectName == null)) {
+            throw new IllegalArgumentException("Usage: --decide --file <decisions.csv> | --decide --rule <rule> --project <name>");
+        }
+
+        DataLoader loader = DataLoader.loadAll();
+        ApplicationHandler applications = Boolean.getBoolean("bto.columnar")
+                ? new ColumnarApplicationHandler(loader.getApplications())
+                : new ApplicationHandler(loader.getApplications());
+
+        List<ApplicationDecision> decisions;
+        if (file != null) {
+            decisions = readDecisions(file);
+        } else {
+            Project project = new ProjectHandler(loader.getProjects()).getProject(projectName);
+            if (project == null) {
+                throw new IllegalArgumentException("Project not found: " + projectName);
+            }
+            decisions = DecisionRule.fromName(rule).decide(project,
+                    applications.getApplicationsByProject(project.getProjectName()));
+        }
+
+        DecisionBatchResult result = applications.decideApplications(decisions);
+        System.out.printf("Approved %d, rejected %d, skipped %d of %d decisions in %.1f ms (%.0f decisions/s)%n",
+                result.getApproved(), result.getRejected(), result.getSkipped().size(), decisions.size(),
+                result.getElapsedMillis(), result.getDecisionsPerSecond());
+        List<String> skipped = result.getSkipped();
+        for (int i = 0; i < Math.min(SKIPPED_SHOWN, skipped.size()); i++) {
+            System.out.println("  Skipped " + skipped.get(i));
+        }
+        if (skipped.size() > SKIPPED_SHOWN) {
+            System.out.println("  ... and " + (skipped.size() - SKIPPED_SHOWN) + " more");
+        }
+    }
+
+    /**
+     * Reads the decisions from a CSV file, skipping an optional header row.
+     *
+     * @param file Path of the decisions file
+     * @return The decisions, in file order
+     * @throws IllegalArgumentException if a line is not a valid decision
+     * @throws IOException if the file cannot be read
+     */
+    private static List<ApplicationDecision> readDecisions(String file) throws IOException {
+        List<ApplicationDecision> decisions = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(
+                new InputStreamReader(Files.newInputStream(Paths.get(file)), StandardCharsets.UTF_8))) {
+            // Blank lines are skipped by the reader, so records are counted rather than lines
+            int recordNumber = 0;
+            while (reader.next()) {
+                recordNumber++;
+                String applicationId = reader.field(0).trim();
+                if (recordNumber == 1 && applicationId.startsWith("Application ID")) {
+                    continue;
+                }
+                String action = reader.fieldCount() > 1 ? reader.field(1).trim().toLowerCase(Locale.ROOT) : "";
+                if (action.equals("approve")) {
+                    decisions.add(ApplicationDecision.approve(applicationId));
+                } else if (action.equals("reject")) {
+                    String reason = reader.fieldCount() > 2 ? reader.field(2).trim() : "";
+                    decisions.add(ApplicationDecision.reject(applicationId, reason.isEmpty() ? "Rejected in batch" : reason));
+                } else {
+                    throw new IllegalArgumentException("Record " + recordNumber + " of " + file
+                            + ": expected applicationId,approve or applicationId,reject,reason");
+                }
+            }
+        }
+        return decisions;
+    }
+
+    /**
+     * Gets the value following an option.
+     *
+     * @param args The arguments
+     * @param name The option, e.g. --file
+     * @return The value, or null if the option is absent
+     */
+    private static String option(String[] args, String name) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+}
@@ -1,10 +1,9 @@
 package io;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import models.Application;
 import models.enums.ApplicationStatus;
-import static utils.Constants.DATE_TIME_FORMAT;
+import utils.CsvRecord;
+import utils.DateUtils;
 
 /**
  * Factory class for creating Application objects from string data.
@@ -13,9 +12,6 @@ import static utils.Constants.DATE_TIME_FORMAT;
  * for missing values.
  */
 public class ApplicationFactory {
-    /** Date formatter used for parsing and formatting dates in the standard application format */
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
-    
     /**
      * Creates an Application object from an array of string tokens.
      * Handles data validation and provides defaults for missing values.
@@ -27,43 +23,44 @@ public class ApplicationFactory {
      * @throws IllegalArgumentException if required fields are missing or invalid
      */
     public static Application createApplication(String[] tokens) {
+        return createApplication(CsvRecord.of(tokens));
+    }
+    
+    /**
+     * Creates an Application object directly from a parsed CSV record.
+     * Missing trailing fields are treated as empty.
+     * 
+     * @param record The record holding the Application fields in file column order
+     * @return A fully constructed Application object
+     * @throws IllegalArgumentException if required fields are missing or invalid
+     */
+    public static Application createApplication(CsvRecord record) {
         // Format: Application ID,Applicant NRIC,Project Name,Unit Type,Status,Assigned Unit,Assigned Officer,Application Date,Last Updated,Remarks
         // First ensure we have the minimal required fields (first 5 fields)
-        if (tokens.length < 5 || tokens[0].isEmpty() || tokens[1].isEmpty() || tokens[2].isEmpty() || tokens[3].isEmpty() || tokens[4].isEmpty()) {
+        if (record.fieldCount() < 5 || record.isEmpty(0) || record.isEmpty(1) || record.isEmpty(2) || record.isEmpty(3) || record.isEmpty(4)) {
             throw new IllegalArgumentException("Missing required fields for Application");
         }
-
-        // Create a new tokens array with correct length if the original is too short
-        String[] paddedTokens = new String[10];
-        for (int i = 0; i < paddedTokens.length; i++) {
-            if (i < tokens.length) {
-                paddedTokens[i] = tokens[i];
-            } else {
-                paddedTokens[i] = ""; // Pad with empty strings for missing fields
-            }
-        }
         
-        String id = paddedTokens[0];
-        String applicantNric = paddedTokens[1];
-        String projectName = paddedTokens[2];
-        String unitType = paddedTokens[3];
-        ApplicationStatus status = ApplicationStatus.valueOf(paddedTokens[4].toUpperCase());
-        String assignedUnit = paddedTokens[5].isEmpty() ? null : paddedTokens[5];
-        String assignedOfficer = paddedTokens[6].isEmpty() ? null : paddedTokens[6];
+        String id = record.field(0);
+        String applicantNric = record.pooledField(1);
+        String projectName = record.pooledField(2);
+        String unitType = record.pooledField(3);
+        ApplicationStatus status = ApplicationStatus.valueOf(record.field(4).toUpperCase());
+        String assignedUnit = record.isEmpty(5) ? null : record.field(5);
+        String assignedOfficer = record.isEmpty(6) ? null : record.pooledField(6);
         
         // Use a more flexible date parsing approach
-        LocalDateTime applicationDate = parseDateTime(paddedTokens[7]);
-        LocalDateTime lastUpdated = parseDateTime(paddedTokens[8]);
+        LocalDateTime applicationDate = parseDateTime(record.field(7));
+        LocalDateTime lastUpdated = parseDateTime(record.field(8));
         
-        String remarks = paddedTokens[9].isEmpty() ? null : paddedTokens[9];
+        String remarks = record.isEmpty(9) ? null : record.pooledField(9);
 
         return new Application(id, applicantNric, projectName, unitType, status,
                 assignedUnit, assignedOfficer, applicationDate, lastUpdated, remarks);
     }
     
     /**
-     * Helper method to parse date-time strings with flexible format handling.
-     * Attempts to parse using the standard format first, then tries alternative formats,
+     * Helper method to parse date-time strings in the standard format,
      * falling back to current time if parsing fails.
      * 
      * @param dateTimeStr The date-time string to parse
@@ -74,18 +71,11 @@ public class ApplicationFactory {
             return LocalDateTime.now(); // Default to current time if no date is provided
         }
         
-        // Try with the standard formatter first
-        try {
-            return LocalDateTime.parse(dateTimeStr, DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            // Try with an alternative format that matches the CSV data
-            try {
-                DateTimeFormatter altFormatter = DateTimeFormatter.ofPattern("M/d/yyyy HH:mm:ss");
-                return LocalDateTime.parse(dateTimeStr, altFormatter);
-            } catch (DateTimeParseException e2) {
-                System.err.println("Warning: Could not parse date '" + dateTimeStr + "', using current time instead.");
-                return LocalDateTime.now(); // Fallback to current time if parsing fails
-            }
+        LocalDateTime dateTime = DateUtils.parseDateTime(dateTimeStr);
+        if (dateTime == null) {
+            System.err.println("Warning: Could not parse date '" + dateTimeStr + "', using current time instead.");
+            return LocalDateTime.now(); // Fallback to current time if parsing fails
         }
+        return dateTime;
     }
 }
@@ -1,10 +1,7 @@
 package io;
 
-import java.time.format.DateTimeFormatter;
 import models.Application;
-import utils.FileUtils;
-import static utils.Constants.DATE_TIME_FORMAT;
-import static utils.Constants.DELIMITER;
+import utils.CsvWriter;
 
 /**
  * Provides serialization functionality for Application objects.
@@ -13,7 +10,6 @@ import static utils.Constants.DELIMITER;
  * and proper escaping of text fields.
  */
 public class ApplicationSerializer {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
     /**
      * Serializes an Application object into a string for file storage.
      * Format:
@@ -24,21 +20,30 @@ public class ApplicationSerializer {
      * @return A string representation of the Application.
      */
     public static String serialize(Application app) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(app.getApplicationId()).append(DELIMITER)
-          .append(app.getApplicantNric()).append(DELIMITER)
-          .append(FileUtils.escapeCsvField(app.getProjectName())).append(DELIMITER)
-          .append(app.getUnitType()).append(DELIMITER)
-          .append(app.getStatus().toString()).append(DELIMITER)
-          // Check for nulls to avoid "null" string output.
-          .append(app.getAssignedUnit() != null ? app.getAssignedUnit() : "").append(DELIMITER)
-          .append(app.getAssignedOfficer() != null ? app.getAssignedOfficer() : "").append(DELIMITER)
-          .append(DATE_FORMATTER.format(app.getApplicationDate())).append(DELIMITER)
-          .append(DATE_FORMATTER.format(app.getLastUpdated())).append(DELIMITER)
-          // Always append the remarks field, even if it's empty - this ensures consistent CSV columns
-          // Escape the remarks field to handle commas
-          .append(app.getRemarks() != null ? FileUtils.escapeCsvField(app.getRemarks()) : "");
-          
-        return sb.toString();
+        CsvWriter line = new CsvWriter();
+        write(app, line);
+        return line.toString();
+    }
+
+    /**
+     * Writes the fields of an Application as the current record of a CSV writer,
+     * in the same format as {@link #serialize(Application)}.
+     * Null values are written as empty fields.
+     *
+     * @param app The Application object to write.
+     * @param out The writer to write the fields to.
+     */
+    public static void write(Application app, CsvWriter out) {
+        out.field(app.getApplicationId())
+           .field(app.getApplicantNric())
+           .field(app.getProjectName())
+           .field(app.getUnitType())
+           .field(app.getStatus())
+           .field(app.getAssignedUnit())
+           .field(app.getAssignedOfficer())
+           .field(app.getApplicationDate())
+           .field(app.getLastUpdated())
+           // Always write the remarks field, even if it's empty - this ensures consistent CSV columns
+           .field(app.getRemarks());
     }
 }
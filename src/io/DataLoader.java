@@ -0,0 +1,270 @@
+package io;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import models.*;
+import users.*;
+import utils.Constants;
+import utils.StringPool;
+import utils.UIFormatter;
+
+/**
+ * Loads all datasets of the BTO Management System at startup.
+ * Every CSV file is read and parsed on its own worker thread, so a cold start takes
+ * about as long as the slowest file rather than the sum of all of them.
+ * If a binary snapshot left by a clean shutdown is still current, it is loaded instead
+ * and no CSV file is parsed at all.
+ * Values that repeat across records are shared through the {@link StringPool} while loading.
+ * The time spent on each file is recorded so it can be reported after loading.
+ */
+public class DataLoader {
+    /** Number of data files loaded at startup */
+    private static final int DATASET_COUNT = 8;
+
+    /** Load time of each data file in nanoseconds, in the order the files are listed */
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+
+    /** Wall-clock time of the whole load in nanoseconds */
+    private long totalNanos;
+
+    /** Loaded applications */
+    private List<Application> applications;
+
+    /** Loaded enquiries */
+    private List<Enquiry> enquiries;
+
+    /** Loaded users of all types */
+    private List<User> users;
+
+    /** Loaded projects */
+    private List<Project> projects;
+
+    /** Loaded officer registrations */
+    private List<OfficerRegistration> officerRegistrations;
+
+    /** Loaded withdrawal requests */
+    private List<WithdrawalRequest> withdrawals;
+
+    /**
+     * Loads every dataset, from the snapshot if it is current or otherwise from the CSV files
+     * concurrently, and waits until all of them are available.
+     *
+     * @return A loader holding the loaded data and the per-file timings
+     * @throws IllegalArgumentException if a data file contains an invalid record
+     */
+    public static DataLoader loadAll() {
+        DataLoader loader = new DataLoader();
+        loader.load();
+        return loader;
+    }
+
+    /**
+     * Loads the snapshot, or submits one task per data file and collects the results.
+     */
+    private void load() {
+        long start = System.nanoTime();
+        Snapshot snapshot = FileIO.loadSnapshot();
+        if (snapshot != null) {
+            applications = snapshot.getApplications();
+            enquiries = snapshot.getEnquiries();
+            users = snapshot.getUsers();
+            projects = snapshot.getProjects();
+            officerRegistrations = snapshot.getOfficerRegistrations();
+            withdrawals = snapshot.getWithdrawals();
+            totalNanos = System.nanoTime() - start;
+            timings.put(Constants.SNAPSHOT_FILE, totalNanos);
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(DATASET_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "data-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Future<Timed<List<Application>>> applicationTask = submit(executor, FileIO::loadApplications);
+            Future<Timed<List<Enquiry>>> enquiryTask = submit(executor, FileIO::loadEnquiries);
+            Future<Timed<List<Applicant>>> applicantTask = submit(executor, FileIO::loadApplicants);
+            Future<Timed<List<HDBOfficer>>> officerTask = submit(executor, FileIO::loadOfficers);
+            Future<Timed<List<ProjectManager>>> managerTask = submit(executor, FileIO::loadManagers);
+            Future<Timed<List<Project>>> projectTask = submit(executor, FileIO::loadProjects);
+            Future<Timed<List<OfficerRegistration>>> registrationTask = submit(executor, FileIO::loadOfficerRegistrations);
+            Future<Timed<List<WithdrawalRequest>>> withdrawalTask = submit(executor, FileIO::loadWithdrawals);
+
+            applications = await(applicationTask, Constants.APPLICATION_FILE);
+            enquiries = await(enquiryTask, Constants.ENQUIRY_FILE);
+            // Same order as FileIO.loadUsers: applicants, officers, then managers
+            users = new ArrayList<>();
+            users.addAll(await(applicantTask, Constants.APPLICANT_FILE));
+            users.addAll(await(officerTask, Constants.OFFICER_FILE));
+            users.addAll(await(managerTask, Constants.MANAGER_FILE));
+            projects = await(projectTask, Constants.PROJECT_FILE);
+            officerRegistrations = await(registrationTask, Constants.OFFICER_REGISTRATION_FILE);
+            withdrawals = await(withdrawalTask, Constants.WITHDRAWAL_FILE);
+        } finally {
+            executor.shutdownNow();
+            // The loaded records keep their shared values; the lookup table is no longer needed
+            StringPool.clear();
+        }
+        totalNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Submits a load task that measures its own running time.
+     *
+     * @param <T> The type of data loaded
+     * @param executor The executor to run the task on
+     * @param loader Loads the data
+     * @return A future for the loaded data and its load time
+     */
+    private static <T> Future<Timed<T>> submit(ExecutorService executor, Supplier<T> loader) {
+        return executor.submit(() -> {
+            long start = System.nanoTime();
+            T value = loader.get();
+            return new Timed<>(value, System.nanoTime() - start);
+        });
+    }
+
+    /**
+     * Waits for a load task and records its load time under the file name.
+     * Failures are rethrown unchanged so startup fails the same way a sequential load would.
+     *
+     * @param <T> The type of data loaded
+     * @param task The load task
+     * @param fileName The name of the file loaded by the task
+     * @return The loaded data
+     */
+    private <T> T await(Future<Timed<T>> task, String fileName) {
+        try {
+            Timed<T> result = task.get();
+            timings.put(fileName, result.nanos);
+            return result.value;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + fileName, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to load " + fileName, cause);
+        }
+    }
+
+    /**
+     * Prints the load time of every data file followed by the total startup load time.
+     */
+    public void printTimings() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Long> timing : timings.entrySet()) {
+            report.append(String.format("Loaded %-26s %8.1f ms%n", timing.getKey(), timing.getValue() / 1_000_000.0));
+        }
+        report.append(String.format("Loaded all data in %.1f ms", totalNanos / 1_000_000.0));
+        System.out.println(UIFormatter.formatInfo(report.toString()));
+    }
+
+    /**
+     * Returns the load time of every data file, or of the snapshot if it was used.
+     *
+     * @return Map from file name to load time in nanoseconds, in load order
+     */
+    public Map<String, Long> getTimings() {
+        return timings;
+    }
+
+    /**
+     * Returns the wall-clock time of the whole load.
+     *
+     * @return The total load time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Gets the loaded applications, with journaled changes applied.
+     *
+     * @return The applications
+     */
+    public List<Application> getApplications() {
+        return applications;
+    }
+
+    /**
+     * Gets the loaded enquiries, with journaled changes applied.
+     *
+     * @return The enquiries
+     */
+    public List<Enquiry> getEnquiries() {
+        return enquiries;
+    }
+
+    /**
+     * Gets all loaded users: applicants, then officers, then managers.
+     *
+     * @return The users
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the loaded projects.
+     *
+     * @return The projects
+     */
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    /**
+     * Gets the loaded officer registrations.
+     *
+     * @return The officer registrations
+     */
+    public List<OfficerRegistration> getOfficerRegistrations() {
+        return officerRegistrations;
+    }
+
+    /**
+     * Gets the loaded withdrawal requests, with journaled changes applied.
+     *
+     * @return The withdrawal requests
+     */
+    public List<WithdrawalRequest> getWithdrawals() {
+        return withdrawals;
+    }
+
+    /**
+     * Result of a load task together with the time it took.
+     *
+     * @param <T> The type of data loaded
+     */
+    private static class Timed<T> {
+        /** The loaded data */
+        private final T value;
+
+        /** The time taken to load the data in nanoseconds */
+        private final long nanos;
+
+        /**
+         * Constructs a timed result.
+         *
+         * @param value The loaded data
+         * @param nanos The time taken to load the data in nanoseconds
+         */
+        Timed(T value, long nanos) {
+            this.value = value;
+            this.nanos = nanos;
+        }
+    }
+}
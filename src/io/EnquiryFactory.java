@@ -1,10 +1,9 @@
 package io;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import models.Enquiry;
-import utils.FileUtils;
-import static utils.Constants.DATE_TIME_FORMAT;
+import utils.CsvRecord;
+import utils.DateUtils;
 
 /**
  * Factory class responsible for creating Enquiry objects from CSV data.
@@ -12,9 +11,6 @@ import static utils.Constants.DATE_TIME_FORMAT;
  * handling both required and optional fields safely.
  */
 public class EnquiryFactory {
-    /** Date formatter used for parsing timestamp and response date fields in the standard system format */
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
-
     /**
      * Creates an Enquiry object from a string array of CSV data.
      * Handles required fields and optional fields like response information.
@@ -24,28 +20,35 @@ public class EnquiryFactory {
      * @throws IllegalArgumentException if any required field is missing or empty
      */
     public static Enquiry createEnquiry(String[] tokens) {
+        return createEnquiry(CsvRecord.of(tokens));
+    }
+    
+    /**
+     * Creates an Enquiry object directly from a parsed CSV record.
+     * The parser has already decoded quoted fields, so the enquiry and response text are used as-is.
+     * 
+     * @param record The record holding the enquiry fields in file column order
+     * @return A new Enquiry object with data from the record
+     * @throws IllegalArgumentException if any required field is missing or empty
+     */
+    public static Enquiry createEnquiry(CsvRecord record) {
         // Format: Enquiry ID,NRIC,Project Name,Enquiry,Response,Timestamp,Respondent NRIC,Response Date
         
-        // Ensure we have the minimum required tokens
-        if (tokens.length < 4) {
-            throw new IllegalArgumentException("Missing required fields for Enquiry");
-        }
-        
-        // Ensure the first 4 required fields are not empty
-        if (tokens[0].isEmpty() || tokens[1].isEmpty() || tokens[2].isEmpty() || tokens[3].isEmpty()) {
+        // Ensure we have the minimum required fields and that none of them is empty
+        if (record.fieldCount() < 4 || record.isEmpty(0) || record.isEmpty(1) || record.isEmpty(2) || record.isEmpty(3)) {
             throw new IllegalArgumentException("Missing required fields for Enquiry");
         }
 
-        String enquiryId = tokens[0];
-        String nric = tokens[1];
-        String projectName = tokens[2];
-        String enquiryText = FileUtils.unescapeCsvField(tokens[3]);
+        String enquiryId = record.field(0);
+        String nric = record.pooledField(1);
+        String projectName = record.pooledField(2);
+        String enquiryText = record.field(3);
         
         // Handle optional fields safely
-        String responseText = (tokens.length > 4 && !tokens[4].isEmpty()) ? FileUtils.unescapeCsvField(tokens[4]) : null;
-        LocalDateTime timestamp = (tokens.length > 5 && !tokens[5].isEmpty()) ? LocalDateTime.parse(tokens[5], DATE_FORMATTER) : LocalDateTime.now();
-        String respondentNric = (tokens.length > 6 && !tokens[6].isEmpty()) ? tokens[6] : null;
-        LocalDateTime responseDate = (tokens.length > 7 && !tokens[7].isEmpty()) ? LocalDateTime.parse(tokens[7], DATE_FORMATTER) : null;
+        String responseText = record.isEmpty(4) ? null : record.field(4);
+        LocalDateTime timestamp = record.isEmpty(5) ? LocalDateTime.now() : DateUtils.requireDateTime(record.field(5));
+        String respondentNric = record.isEmpty(6) ? null : record.pooledField(6);
+        LocalDateTime responseDate = record.isEmpty(7) ? null : DateUtils.requireDateTime(record.field(7));
 
         return new Enquiry(enquiryId, nric, projectName, enquiryText, responseText, timestamp, respondentNric, responseDate);
     }
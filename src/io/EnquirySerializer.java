@@ -1,11 +1,7 @@
 package io;
 
 import models.Enquiry;
-import java.time.format.DateTimeFormatter;
-import utils.FileUtils;
-
-import static utils.Constants.DELIMITER;
-import static utils.Constants.DATE_TIME_FORMAT;
+import utils.CsvWriter;
 
 /**
  * Provides serialization functionality for Enquiry objects.
@@ -14,9 +10,6 @@ import static utils.Constants.DATE_TIME_FORMAT;
  * message content, and ensures special characters are properly escaped.
  */
 public class EnquirySerializer {
-    /** Date formatter used for formatting submission and response timestamps in the standard system format */
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
-    
     /**
      * Serializes an Enquiry object into a string.
      * Format: Enquiry ID||NRIC||Project Name||Enquiry||Response||Timestamp||Respondent NRIC||Response Date
@@ -25,18 +18,26 @@ public class EnquirySerializer {
      * @return A string representation of the Enquiry.
      */
     public static String serialize(Enquiry enquiry) {
-        StringBuilder sb = new StringBuilder();
-        
-        // Assuming getters exist in Enquiry for these properties:
-        sb.append(enquiry.getEnquiryId()).append(DELIMITER) // Enquiry ID
-          .append(enquiry.getApplicantNric()).append(DELIMITER) // Applicant NRIC
-          .append(enquiry.getProjectName()).append(DELIMITER)   // Project Name
-          .append(FileUtils.escapeCsvField(enquiry.getMessage())).append(DELIMITER)       // Enquiry text with escaping
-          .append(FileUtils.escapeCsvField(enquiry.getReply() != null ? enquiry.getReply() : "")).append(DELIMITER) // Response text with escaping
-          .append(enquiry.getSubmittedAt() != null ? DATE_FORMATTER.format(enquiry.getSubmittedAt()) : "").append(DELIMITER) // Timestamp
-          .append(enquiry.getRespondentNric() != null ? enquiry.getRespondentNric() : "").append(DELIMITER) // Respondent NRIC
-          .append(enquiry.getRepliedAt() != null ? DATE_FORMATTER.format(enquiry.getRepliedAt()) : ""); // Response Date
+        CsvWriter line = new CsvWriter();
+        write(enquiry, line);
+        return line.toString();
+    }
 
-        return sb.toString();
+    /**
+     * Writes the fields of an Enquiry as the current record of a CSV writer,
+     * in the same format as {@link #serialize(Enquiry)}.
+     *
+     * @param enquiry The Enquiry object to write.
+     * @param out The writer to write the fields to.
+     */
+    public static void write(Enquiry enquiry, CsvWriter out) {
+        out.field(enquiry.getEnquiryId())          // Enquiry ID
+           .field(enquiry.getApplicantNric())      // Applicant NRIC
+           .field(enquiry.getProjectName())        // Project Name
+           .field(enquiry.getMessage())            // Enquiry text
+           .field(enquiry.getReply())              // Response text
+           .field(enquiry.getSubmittedAt())        // Timestamp
+           .field(enquiry.getRespondentNric())     // Respondent NRIC
+           .field(enquiry.getRepliedAt());         // Response Date
     }
 }
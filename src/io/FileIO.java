@@ -1,5 +1,8 @@
 package io;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
+import metrics.Metrics;
 import utils.*;
 import users.*;
 import models.*;
@@ -10,6 +13,21 @@ import models.*;
  * projects, enquiries, and other system data.
  */
 public class FileIO {
+    /** Write-ahead journal for application mutations */
+    private static final Journal APPLICATION_JOURNAL = new Journal(Constants.APPLICATION_FILE);
+    
+    /** Write-ahead journal for enquiry mutations */
+    private static final Journal ENQUIRY_JOURNAL = new Journal(Constants.ENQUIRY_FILE);
+    
+    /** Write-ahead journal for withdrawal request mutations */
+    private static final Journal WITHDRAWAL_JOURNAL = new Journal(Constants.WITHDRAWAL_FILE);
+    
+    /** Every CSV file held by the snapshot; the snapshot is stale once any of them is newer */
+    private static final String[] SNAPSHOT_SOURCES = {
+        Constants.APPLICANT_FILE, Constants.OFFICER_FILE, Constants.MANAGER_FILE, Constants.PROJECT_FILE,
+        Constants.APPLICATION_FILE, Constants.ENQUIRY_FILE, Constants.WITHDRAWAL_FILE, Constants.OFFICER_REGISTRATION_FILE
+    };
+    
     /**
      * Loads all users from their respective CSV files.
      * Combines applicants, officers, and managers into a unified user list.
@@ -17,18 +35,23 @@ public class FileIO {
      * @return A list containing all users in the system
      */
     public static List<User> loadUsers() {
-        List<User> allUsers = new ArrayList<>();
+        long start = Metrics.start();
+        try {
+            List<User> allUsers = new ArrayList<>();
         
-        // Load applicants
-        allUsers.addAll(loadApplicants());
+            // Load applicants
+            allUsers.addAll(loadApplicants());
         
-        // Load officers
-        allUsers.addAll(loadOfficers());
+            // Load officers
+            allUsers.addAll(loadOfficers());
         
-        // Load managers
-        allUsers.addAll(loadManagers());
+            // Load managers
+            allUsers.addAll(loadManagers());
         
-        return allUsers;
+            return allUsers;
+        } finally {
+            Metrics.record("FileIO.loadUsers", start);
+        }
     }
     
     /**
@@ -37,15 +60,18 @@ public class FileIO {
      * @return A list of Applicant objects
      */
     public static List<Applicant> loadApplicants() {
-        List<String[]> rows = FileUtils.readFile(Constants.APPLICANT_FILE);
-        List<Applicant> applicants = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) { // skip header
-            String[] tokens = rows.get(i);
-            if (tokens.length >= 5) { // Name, NRIC, Age, Marital Status, Password
-                applicants.add((Applicant)UserFactory.createApplicant(tokens));
-            }
+        long start = Metrics.start();
+        try {
+            List<Applicant> applicants = new ArrayList<>();
+            FileUtils.readRecords(Constants.APPLICANT_FILE, true, record -> {
+                if (record.fieldCount() >= 5) { // Name, NRIC, Age, Marital Status, Password
+                    applicants.add((Applicant)UserFactory.createApplicant(record));
+                }
+            });
+            return applicants;
+        } finally {
+            Metrics.record("FileIO.loadApplicants", start);
         }
-        return applicants;
     }
     
     /**
@@ -54,15 +80,18 @@ public class FileIO {
      * @return A list of HDBOfficer objects
      */
     public static List<HDBOfficer> loadOfficers() {
-        List<String[]> rows = FileUtils.readFile(Constants.OFFICER_FILE);
-        List<HDBOfficer> officers = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) { // skip header
-            String[] tokens = rows.get(i);
-            if (tokens.length >= 5) { // Name, NRIC, Age, Marital Status, Password
-                officers.add((HDBOfficer)UserFactory.createOfficer(tokens));
-            }
+        long start = Metrics.start();
+        try {
+            List<HDBOfficer> officers = new ArrayList<>();
+            FileUtils.readRecords(Constants.OFFICER_FILE, true, record -> {
+                if (record.fieldCount() >= 5) { // Name, NRIC, Age, Marital Status, Password
+                    officers.add((HDBOfficer)UserFactory.createOfficer(record));
+                }
+            });
+            return officers;
+        } finally {
+            Metrics.record("FileIO.loadOfficers", start);
         }
-        return officers;
     }
     
     /**
@@ -71,15 +100,18 @@ public class FileIO {
      * @return A list of ProjectManager objects
      */
     public static List<ProjectManager> loadManagers() {
-        List<String[]> rows = FileUtils.readFile(Constants.MANAGER_FILE);
-        List<ProjectManager> managers = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) { // skip header
-            String[] tokens = rows.get(i);
-            if (tokens.length >= 5) { // Name, NRIC, Age, Marital Status, Password
-                managers.add((ProjectManager)UserFactory.createManager(tokens));
-            }
+        long start = Metrics.start();
+        try {
+            List<ProjectManager> managers = new ArrayList<>();
+            FileUtils.readRecords(Constants.MANAGER_FILE, true, record -> {
+                if (record.fieldCount() >= 5) { // Name, NRIC, Age, Marital Status, Password
+                    managers.add((ProjectManager)UserFactory.createManager(record));
+                }
+            });
+            return managers;
+        } finally {
+            Metrics.record("FileIO.loadManagers", start);
         }
-        return managers;
     }
 
     /**
@@ -89,8 +121,13 @@ public class FileIO {
      * @return A list of string arrays representing rows of data from the file
      */
     public static List<String[]> loadRaw(String fileName) {
-        List<String[]> data = FileUtils.readFile(fileName);
-        return data.size() > 1 ? data.subList(1, data.size()) : new ArrayList<>();
+        long start = Metrics.start();
+        try {
+            List<String[]> data = FileUtils.readFile(fileName);
+            return data.size() > 1 ? data.subList(1, data.size()) : new ArrayList<>();
+        } finally {
+            Metrics.record("FileIO.loadRaw", start);
+        }
     }
 
     /**
@@ -98,9 +135,15 @@ public class FileIO {
      *
      * @param fileName The name of the CSV file to save to
      * @param data     The data to save
+     * @return true if the file was written successfully, false otherwise
      */
-    public static void saveRaw(String fileName, List<String[]> data) {
-        FileUtils.writeFile(fileName, data);
+    public static boolean saveRaw(String fileName, List<String[]> data) {
+        long start = Metrics.start();
+        try {
+            return FileUtils.writeFile(fileName, data);
+        } finally {
+            Metrics.record("FileIO.saveRaw", start);
+        }
     }
 
     /**
@@ -109,57 +152,72 @@ public class FileIO {
      * @return A list of Project objects
      */
     public static List<Project> loadProjects() {
-        List<String[]> rows = FileUtils.readFile(Constants.PROJECT_FILE);
-        List<Project> projects = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) {
-            String[] tokens = rows.get(i);
-            if (tokens.length == 16) {  // Changed from 15 to 16 to match expected column count
-                projects.add(ProjectFactory.createProject(tokens));
-            }
+        long start = Metrics.start();
+        try {
+            List<Project> projects = new ArrayList<>();
+            FileUtils.readRecords(Constants.PROJECT_FILE, true, record -> {
+                if (record.fieldCount() == 16) {  // Changed from 15 to 16 to match expected column count
+                    projects.add(ProjectFactory.createProject(record));
+                }
+            });
+            return projects;
+        } finally {
+            Metrics.record("FileIO.loadProjects", start);
         }
-        return projects;
     }
 
     /**
      * Loads all applications from the application CSV file.
+     * Mutations recorded in the application journal since the last full save are replayed on top.
      *
      * @return A list of Application objects
      */
     public static List<Application> loadApplications() {
-        List<String[]> rows = FileUtils.readFile(Constants.APPLICATION_FILE);
-        List<Application> apps = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) {
-            apps.add(ApplicationFactory.createApplication(rows.get(i)));
+        long start = Metrics.start();
+        try {
+            List<Application> apps = new ArrayList<>();
+            FileUtils.readRecords(Constants.APPLICATION_FILE, true, record -> apps.add(ApplicationFactory.createApplication(record)));
+            APPLICATION_JOURNAL.replay(apps, ApplicationFactory::createApplication, Application::getApplicationId);
+            return apps;
+        } finally {
+            Metrics.record("FileIO.loadApplications", start);
         }
-        return apps;
     }
 
     /**
      * Loads all enquiries from the enquiry CSV file.
+     * Mutations recorded in the enquiry journal since the last full save are replayed on top.
      *
      * @return A list of Enquiry objects
      */
     public static List<Enquiry> loadEnquiries() {
-        List<String[]> rows = FileUtils.readFile(Constants.ENQUIRY_FILE);
-        List<Enquiry> enquiries = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) {
-            enquiries.add(EnquiryFactory.createEnquiry(rows.get(i)));
+        long start = Metrics.start();
+        try {
+            List<Enquiry> enquiries = new ArrayList<>();
+            FileUtils.readRecords(Constants.ENQUIRY_FILE, true, record -> enquiries.add(EnquiryFactory.createEnquiry(record)));
+            ENQUIRY_JOURNAL.replay(enquiries, EnquiryFactory::createEnquiry, Enquiry::getEnquiryId);
+            return enquiries;
+        } finally {
+            Metrics.record("FileIO.loadEnquiries", start);
         }
-        return enquiries;
     }
 
     /**
      * Loads all withdrawal requests from the withdrawal CSV file.
+     * Mutations recorded in the withdrawal journal since the last full save are replayed on top.
      *
      * @return A list of WithdrawalRequest objects
      */
     public static List<WithdrawalRequest> loadWithdrawals() {
-        List<String[]> rows = FileUtils.readFile(Constants.WITHDRAWAL_FILE);
-        List<WithdrawalRequest> requests = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) {
-            requests.add(WithdrawalFactory.createRequest(rows.get(i)));
+        long start = Metrics.start();
+        try {
+            List<WithdrawalRequest> requests = new ArrayList<>();
+            FileUtils.readRecords(Constants.WITHDRAWAL_FILE, true, record -> requests.add(WithdrawalFactory.createRequest(record)));
+            WITHDRAWAL_JOURNAL.replay(requests, WithdrawalFactory::createRequest, WithdrawalRequest::getRequestId);
+            return requests;
+        } finally {
+            Metrics.record("FileIO.loadWithdrawals", start);
         }
-        return requests;
     }
 
     /**
@@ -168,12 +226,14 @@ public class FileIO {
      * @return A list of OfficerRegistration objects
      */
     public static List<OfficerRegistration> loadOfficerRegistrations() {
-        List<String[]> rows = FileUtils.readFile(Constants.OFFICER_REGISTRATION_FILE);
-        List<OfficerRegistration> registrations = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) {
-            registrations.add(OfficerRegistrationFactory.createRegistration(rows.get(i)));
+        long start = Metrics.start();
+        try {
+            List<OfficerRegistration> registrations = new ArrayList<>();
+            FileUtils.readRecords(Constants.OFFICER_REGISTRATION_FILE, true, record -> registrations.add(OfficerRegistrationFactory.createRegistration(record)));
+            return registrations;
+        } finally {
+            Metrics.record("FileIO.loadOfficerRegistrations", start);
         }
-        return registrations;
     }
 
     // ------------------ Save functions --------------------
@@ -184,44 +244,45 @@ public class FileIO {
      * @param users The list of User objects to save
      */
     public static void saveUsers(List<User> users) {
-        List<Applicant> applicants = new ArrayList<>();
-        List<HDBOfficer> officers = new ArrayList<>();
-        List<ProjectManager> managers = new ArrayList<>();
+        long start = Metrics.start();
+        try {
+            List<Applicant> applicants = new ArrayList<>();
+            List<HDBOfficer> officers = new ArrayList<>();
+            List<ProjectManager> managers = new ArrayList<>();
         
-        // Sort users by type
-        for (User user : users) {
-            if (user instanceof Applicant) {
-                applicants.add((Applicant) user);
-            } else if (user instanceof HDBOfficer) {
-                officers.add((HDBOfficer) user);
-            } else if (user instanceof ProjectManager) {
-                managers.add((ProjectManager) user);
+            // Sort users by type
+            for (User user : users) {
+                if (user instanceof Applicant) {
+                    applicants.add((Applicant) user);
+                } else if (user instanceof HDBOfficer) {
+                    officers.add((HDBOfficer) user);
+                } else if (user instanceof ProjectManager) {
+                    managers.add((ProjectManager) user);
+                }
             }
-        }
         
-        // Save each type to its respective file
-        saveApplicants(applicants);
-        saveOfficers(officers);
-        saveManagers(managers);
+            // Save each type to its respective file
+            saveApplicants(applicants);
+            saveOfficers(officers);
+            saveManagers(managers);
+        } finally {
+            Metrics.record("FileIO.saveUsers", start);
+        }
     }
     
     /**
      * Saves a list of Applicant objects to the applicant CSV file.
      *
      * @param applicants The list of Applicant objects to save
+     * @return true if the file was written successfully, false otherwise
      */
-    public static void saveApplicants(List<Applicant> applicants) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Applicant file
-        data.add(new String[]{"Name", "NRIC", "Age", "Marital Status", "Password"});
-        
-        for (Applicant user : applicants) {
-            String serialized = UserSerializer.serializeApplicant(user);
-            // Use parseCsvLine instead of split to properly handle quoted fields with commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+    public static boolean saveApplicants(List<Applicant> applicants) {
+        long start = Metrics.start();
+        try {
+            return saveUserFile(Constants.APPLICANT_FILE, applicants);
+        } finally {
+            Metrics.record("FileIO.saveApplicants", start);
         }
-        saveRaw(Constants.APPLICANT_FILE, data);
     }
     
     /**
@@ -230,17 +291,12 @@ public class FileIO {
      * @param officers The list of HDBOfficer objects to save
      */
     public static void saveOfficers(List<HDBOfficer> officers) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Officer file
-        data.add(new String[]{"Name", "NRIC", "Age", "Marital Status", "Password"});
-        
-        for (HDBOfficer user : officers) {
-            String serialized = UserSerializer.serializeOfficer(user);
-            // Use parseCsvLine instead of split to properly handle quoted fields with commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+        long start = Metrics.start();
+        try {
+            saveUserFile(Constants.OFFICER_FILE, officers);
+        } finally {
+            Metrics.record("FileIO.saveOfficers", start);
         }
-        saveRaw(Constants.OFFICER_FILE, data);
     }
     
     /**
@@ -249,17 +305,31 @@ public class FileIO {
      * @param managers The list of ProjectManager objects to save
      */
     public static void saveManagers(List<ProjectManager> managers) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Manager file
-        data.add(new String[]{"Name", "NRIC", "Age", "Marital Status", "Password"});
-        
-        for (ProjectManager user : managers) {
-            String serialized = UserSerializer.serializeManager(user);
-            // Use parseCsvLine instead of split to properly handle quoted fields with commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+        long start = Metrics.start();
+        try {
+            saveUserFile(Constants.MANAGER_FILE, managers);
+        } finally {
+            Metrics.record("FileIO.saveManagers", start);
         }
-        saveRaw(Constants.MANAGER_FILE, data);
+    }
+
+    /**
+     * Writes users of one type to their CSV file.
+     * All user files share the same columns.
+     *
+     * @param fileName Name of the user file to write
+     * @param users The users to save
+     * @return true if the file was written successfully, false otherwise
+     */
+    private static boolean saveUserFile(String fileName, List<? extends User> users) {
+        return FileUtils.writeCsv(fileName, out -> {
+            // Header shared by the Applicant, Officer and Manager files
+            out.record("Name", "NRIC", "Age", "Marital Status", "Password");
+            for (User user : users) {
+                UserSerializer.write(user, out);
+                out.endRecord();
+            }
+        });
     }
     
     /**
@@ -268,76 +338,94 @@ public class FileIO {
      * @param projects The list of Project objects to save
      */
     public static void saveProjects(List<Project> projects) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Project file
-        data.add(new String[]{"Project Name", "Neighborhood", "Type 1", "Total Units for Type 1", "Available Units for Type 1", "Selling price for Type 1", "Type 2", "Total Units for Type 2", "Available Units for Type 2", "Selling price for Type 2", "Application opening date", "Application closing date", "Manager", "Officer Slot", "Officer(s)", "Visibility"});
-        
-        for (Project project : projects) {
-            String serialized = ProjectSerializer.serialize(project);
-            // Use parseCsvLine instead of split to properly handle quoted fields with commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+        long start = Metrics.start();
+        try {
+            FileUtils.writeCsv(Constants.PROJECT_FILE, out -> {
+                // Header for Project file
+                out.record("Project Name", "Neighborhood", "Type 1", "Total Units for Type 1", "Available Units for Type 1", "Selling price for Type 1", "Type 2", "Total Units for Type 2", "Available Units for Type 2", "Selling price for Type 2", "Application opening date", "Application closing date", "Manager", "Officer Slot", "Officer(s)", "Visibility");
+                for (Project project : projects) {
+                    ProjectSerializer.write(project, out);
+                    out.endRecord();
+                }
+            });
+        } finally {
+            Metrics.record("FileIO.saveProjects", start);
         }
-        saveRaw(Constants.PROJECT_FILE, data);
     }
     
     /**
      * Saves a list of Application objects to the application CSV file.
+     * A successful full save compacts the corresponding journal, which is then cleared.
      *
      * @param applications The list of Application objects to save
      */
     public static void saveApplications(List<Application> applications) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Application file
-        data.add(new String[]{"Application ID", "Applicant NRIC", "Project Name", "Unit Type", "Status", "Assigned Unit", "Assigned Officer", "Application Date", "Last Updated", "Remarks"});
-        
-        for (Application app : applications) {
-            String serialized = ApplicationSerializer.serialize(app);
-            // Use parseCsvLine instead of simple splitting to handle quoted fields with commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+        long start = Metrics.start();
+        try {
+            boolean saved = FileUtils.writeCsv(Constants.APPLICATION_FILE, out -> {
+                // Header for Application file
+                out.record("Application ID", "Applicant NRIC", "Project Name", "Unit Type", "Status", "Assigned Unit", "Assigned Officer", "Application Date", "Last Updated", "Remarks");
+                for (Application app : applications) {
+                    ApplicationSerializer.write(app, out);
+                    out.endRecord();
+                }
+            });
+            if (saved) {
+                APPLICATION_JOURNAL.clear();
+            }
+        } finally {
+            Metrics.record("FileIO.saveApplications", start);
         }
-        saveRaw(Constants.APPLICATION_FILE, data);
     }
     
     /**
      * Saves a list of Enquiry objects to the enquiry CSV file.
+     * A successful full save compacts the corresponding journal, which is then cleared.
      *
      * @param enquiries The list of Enquiry objects to save
      */
     public static void saveEnquiries(List<Enquiry> enquiries) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Enquiry file
-        data.add(new String[]{"Enquiry ID", "NRIC", "Project Name", "Enquiry", "Response", "Timestamp", "Respondent NRIC", "Response Date"});
-        
-        for (Enquiry enquiry : enquiries) {
-            String serialized = EnquirySerializer.serialize(enquiry);
-            
-            // Use the parseCsvLine method from FileUtils to correctly parse the CSV line
-            // respecting quotes around fields that contain commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+        long start = Metrics.start();
+        try {
+            boolean saved = FileUtils.writeCsv(Constants.ENQUIRY_FILE, out -> {
+                // Header for Enquiry file
+                out.record("Enquiry ID", "NRIC", "Project Name", "Enquiry", "Response", "Timestamp", "Respondent NRIC", "Response Date");
+                for (Enquiry enquiry : enquiries) {
+                    EnquirySerializer.write(enquiry, out);
+                    out.endRecord();
+                }
+            });
+            if (saved) {
+                ENQUIRY_JOURNAL.clear();
+            }
+        } finally {
+            Metrics.record("FileIO.saveEnquiries", start);
         }
-        saveRaw(Constants.ENQUIRY_FILE, data);
     }
     
     /**
      * Saves a list of WithdrawalRequest objects to the withdrawal CSV file.
+     * A successful full save compacts the corresponding journal, which is then cleared.
      *
      * @param withdrawals The list of WithdrawalRequest objects to save
      */
     public static void saveWithdrawals(List<WithdrawalRequest> withdrawals) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Withdrawal file
-        data.add(new String[]{"Request ID", "Application ID", "Applicant NRIC", "Project Name", "Status", "Request Date", "Process Date", "Remarks"});
-        
-        for (WithdrawalRequest request : withdrawals) {
-            String serialized = WithdrawalRequestSerializer.serialize(request);
-            // Use parseCsvLine instead of split to properly handle quotes and commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+        long start = Metrics.start();
+        try {
+            boolean saved = FileUtils.writeCsv(Constants.WITHDRAWAL_FILE, out -> {
+                // Header for Withdrawal file
+                out.record("Request ID", "Application ID", "Applicant NRIC", "Project Name", "Status", "Request Date", "Process Date", "Remarks");
+                for (WithdrawalRequest request : withdrawals) {
+                    WithdrawalRequestSerializer.write(request, out);
+                    out.endRecord();
+                }
+            });
+            if (saved) {
+                WITHDRAWAL_JOURNAL.clear();
+            }
+        } finally {
+            Metrics.record("FileIO.saveWithdrawals", start);
         }
-        saveRaw(Constants.WITHDRAWAL_FILE, data);
     }
     
     /**
@@ -346,16 +434,180 @@ public class FileIO {
      * @param registrations The list of OfficerRegistration objects to save
      */
     public static void saveOfficerRegistrations(List<OfficerRegistration> registrations) {
-        List<String[]> data = new ArrayList<>();
-        // Header for Officer Registration file
-        data.add(new String[]{"Registration ID", "Officer NRIC", "Project Name", "Status", "Registration Date"});
-        
-        for (OfficerRegistration reg : registrations) {
-            String serialized = OfficerRegistrationSerializer.serialize(reg);
-            // Use parseCsvLine instead of split to properly handle quotes and commas
-            String[] tokens = FileUtils.parseCsvLine(serialized);
-            data.add(tokens);
+        long start = Metrics.start();
+        try {
+            FileUtils.writeCsv(Constants.OFFICER_REGISTRATION_FILE, out -> {
+                // Header for Officer Registration file
+                out.record("Registration ID", "Officer NRIC", "Project Name", "Status", "Registration Date");
+                for (OfficerRegistration reg : registrations) {
+                    OfficerRegistrationSerializer.write(reg, out);
+                    out.endRecord();
+                }
+            });
+        } finally {
+            Metrics.record("FileIO.saveOfficerRegistrations", start);
+        }
+    }
+    
+    // ------------------ Journal functions --------------------
+    
+    /**
+     * Records a new or changed application in the application journal.
+     *
+     * @param application The application to record
+     */
+    public static void journalApplication(Application application) {
+        long start = Metrics.start();
+        try {
+            APPLICATION_JOURNAL.appendUpsert(ApplicationSerializer.serialize(application));
+        } finally {
+            Metrics.record("FileIO.journalApplication", start);
+        }
+    }
+    
+    /**
+     * Records a batch of new or changed applications in the application journal,
+     * written together and made durable by a single fsync.
+     *
+     * @param applications The applications to record
+     */
+    public static void journalApplications(List<Application> applications) {
+        long start = Metrics.start();
+        try {
+            List<String> rows = new ArrayList<>(applications.size());
+            for (Application application : applications) {
+                rows.add(ApplicationSerializer.serialize(application));
+            }
+            APPLICATION_JOURNAL.appendUpserts(rows);
+        } finally {
+            Metrics.record("FileIO.journalApplications", start);
+        }
+    }
+    
+    /**
+     * Records a new or changed enquiry in the enquiry journal.
+     *
+     * @param enquiry The enquiry to record
+     */
+    public static void journalEnquiry(Enquiry enquiry) {
+        long start = Metrics.start();
+        try {
+            ENQUIRY_JOURNAL.appendUpsert(EnquirySerializer.serialize(enquiry));
+        } finally {
+            Metrics.record("FileIO.journalEnquiry", start);
+        }
+    }
+    
+    /**
+     * Records the deletion of an enquiry in the enquiry journal.
+     *
+     * @param enquiryId The ID of the deleted enquiry
+     */
+    public static void journalEnquiryDeletion(String enquiryId) {
+        long start = Metrics.start();
+        try {
+            ENQUIRY_JOURNAL.appendDelete(enquiryId);
+        } finally {
+            Metrics.record("FileIO.journalEnquiryDeletion", start);
+        }
+    }
+    
+    /**
+     * Records a new or changed withdrawal request in the withdrawal journal.
+     *
+     * @param request The withdrawal request to record
+     */
+    public static void journalWithdrawal(WithdrawalRequest request) {
+        long start = Metrics.start();
+        try {
+            WITHDRAWAL_JOURNAL.appendUpsert(WithdrawalRequestSerializer.serialize(request));
+        } finally {
+            Metrics.record("FileIO.journalWithdrawal", start);
+        }
+    }
+    
+    /**
+     * Returns the number of uncompacted records in the application journal.
+     *
+     * @return The application journal size
+     */
+    public static int applicationJournalSize() {
+        return APPLICATION_JOURNAL.size();
+    }
+    
+    /**
+     * Returns the number of uncompacted records in the enquiry journal.
+     *
+     * @return The enquiry journal size
+     */
+    public static int enquiryJournalSize() {
+        return ENQUIRY_JOURNAL.size();
+    }
+    
+    /**
+     * Returns the number of uncompacted records in the withdrawal journal.
+     *
+     * @return The withdrawal journal size
+     */
+    public static int withdrawalJournalSize() {
+        return WITHDRAWAL_JOURNAL.size();
+    }
+    
+    // ------------------ Snapshot functions --------------------
+    
+    /**
+     * Writes a binary snapshot of all data, to be loaded instead of the CSV files on the next start.
+     * Must be called after every CSV file has been saved, since the snapshot is only used while
+     * it is newer than all of them.
+     *
+     * @param snapshot The data to write
+     * @return true if the snapshot was written, false otherwise
+     */
+    public static boolean saveSnapshot(Snapshot snapshot) {
+        long start = Metrics.start();
+        try {
+            Snapshot.Encoder encoded = snapshot.encode();
+            return FileUtils.writeBytes(Constants.SNAPSHOT_FILE, encoded.buffer(), encoded.length());
+        } finally {
+            Metrics.record("FileIO.saveSnapshot", start);
+        }
+    }
+    
+    /**
+     * Loads the binary snapshot if it can stand in for the CSV files.
+     * The snapshot is used only if it is newer than every CSV file and no journal holds
+     * uncompacted changes, which is the state a clean shutdown leaves behind.
+     *
+     * @return The snapshot, or null if it is missing, stale, of another version or unreadable
+     */
+    public static Snapshot loadSnapshot() {
+        long start = Metrics.start();
+        try {
+            long snapshotTime = FileUtils.lastModified(Constants.SNAPSHOT_FILE);
+            if (snapshotTime < 0) {
+                return null;
+            }
+            for (String source : SNAPSHOT_SOURCES) {
+                if (FileUtils.lastModified(source) >= snapshotTime
+                        || FileUtils.size(source + Journal.JOURNAL_SUFFIX) > 0) {
+                    return null;
+                }
+            }
+            ByteBuffer data = null;
+            try {
+                data = FileUtils.map(Constants.SNAPSHOT_FILE);
+                return Snapshot.decode(data);
+            } catch (IOException e) {
+                System.err.println("Warning: Ignoring snapshot, loading CSV files instead: " + e.getMessage());
+                return null;
+            } finally {
+                // Decoded values are copied out, so the file can be replaced on the next clean exit
+                if (data != null) {
+                    FileUtils.unmap(data);
+                }
+            }
+        } finally {
+            Metrics.record("FileIO.loadSnapshot", start);
         }
-        saveRaw(Constants.OFFICER_REGISTRATION_FILE, data);
     }
-}
\ No newline at end of file
+}
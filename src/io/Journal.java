@@ -0,0 +1,238 @@
+package io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import metrics.Metrics;
+import utils.Constants;
+import utils.FileUtils;
+import utils.GroupCommit;
+import static utils.Constants.DELIMITER;
+
+/**
+ * Append-only write-ahead journal for one entity CSV file.
+ * Each mutation is recorded as a single line instead of rewriting the whole CSV,
+ * so a save costs the same regardless of how many rows the file holds.
+ * On load the journal is replayed over the rows read from the CSV, and once the
+ * CSV has been rewritten in full (compaction) the journal is cleared.
+ * Appends are made durable through a group commit shared by all journals, so saves
+ * from several handlers within a short window cost a single fsync.
+ *
+ * Record format (one per line):
+ * U,[serialized CSV row]   - insert or replace the row whose first column matches
+ * D,[id]                   - remove the row whose first column matches
+ */
+public class Journal {
+    /** Suffix appended to the entity file name to form the journal file name */
+    public static final String JOURNAL_SUFFIX = ".journal";
+
+    /** Marker for a record that inserts or replaces a row */
+    private static final String UPSERT = "U";
+
+    /** Marker for a record that removes a row */
+    private static final String DELETE = "D";
+
+    /** Coordinator shared by all journals so concurrent appends share one fsync */
+    private static final GroupCommit GROUP_COMMIT = new GroupCommit(Constants.GROUP_COMMIT_WINDOW_MILLIS);
+
+    /** Name of the journal file (relative to the dataset directory) */
+    private final String journalFileName;
+
+    /** Open append channel to the journal file, or null until the first append */
+    private FileChannel channel;
+
+    /** Number of records appended since the journal was last cleared, or -1 if not yet counted */
+    private int recordCount = -1;
+
+    /**
+     * Constructs a journal for the given entity CSV file.
+     *
+     * @param entityFileName Name of the CSV file the journal belongs to
+     */
+    public Journal(String entityFileName) {
+        this.journalFileName = entityFileName + JOURNAL_SUFFIX;
+    }
+
+    /**
+     * Records that a row was inserted or replaced.
+     *
+     * @param serializedRow The full serialized CSV row; its first column is the row ID
+     * @return true if the record was written, false otherwise
+     */
+    public boolean appendUpsert(String serializedRow) {
+        return append(Collections.singletonList(UPSERT + DELIMITER + serializedRow));
+    }
+
+    /**
+     * Records that several rows were inserted or replaced, as one write and one fsync.
+     *
+     * @param serializedRows The full serialized CSV rows; the first column of each is its row ID
+     * @return true if the records were written, false otherwise
+     */
+    public boolean appendUpserts(List<String> serializedRows) {
+        if (serializedRows.isEmpty()) {
+            return true;
+        }
+        List<String> lines = new ArrayList<>(serializedRows.size());
+        for (String row : serializedRows) {
+            lines.add(UPSERT + DELIMITER + row);
+        }
+        return append(lines);
+    }
+
+    /**
+     * Records that a row was removed.
+     *
+     * @param id The ID (first column) of the removed row
+     * @return true if the record was written, false otherwise
+     */
+    public boolean appendDelete(String id) {
+        return append(Collections.singletonList(DELETE + DELIMITER + FileUtils.escapeCsvField(id)));
+    }
+
+    /**
+     * Returns the number of records currently held in the journal.
+     *
+     * @return The journal record count
+     */
+    public synchronized int size() {
+        if (recordCount < 0) {
+            recordCount = FileUtils.exists(journalFileName) ? FileUtils.readFile(journalFileName).size() : 0;
+        }
+        return recordCount;
+    }
+
+    /**
+     * Discards all journal records. Called after the CSV has been rewritten in full,
+     * at which point every journaled mutation is already contained in the CSV.
+     */
+    public synchronized void clear() {
+        try {
+            if (channel != null) {
+                channel.truncate(0);
+                channel.force(true);
+            } else {
+                FileUtils.deleteFile(journalFileName);
+            }
+        } catch (IOException e) {
+            System.err.println("Error clearing journal: " + e.getMessage());
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * Replays the journal over a list of entities loaded from the CSV.
+     * Upserts replace the entity with the same ID or append a new one; deletes remove it.
+     * Replaying is idempotent, so a crash between a compaction and the journal being
+     * cleared does not corrupt the data.
+     *
+     * @param <T> The entity type
+     * @param entities The entities loaded from the CSV; updated in place
+     * @param factory Creates an entity from the tokens of a serialized row
+     * @param idOf Extracts the ID of an entity
+     */
+    public synchronized <T> void replay(List<T> entities, Function<String[], T> factory, Function<T, String> idOf) {
+        if (!FileUtils.exists(journalFileName)) {
+            recordCount = 0;
+            return;
+        }
+        List<String[]> records = FileUtils.readFile(journalFileName);
+        recordCount = records.size();
+        if (records.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            positions.put(idOf.apply(entities.get(i)), i);
+        }
+
+        List<T> replayed = new ArrayList<>(entities);
+        for (String[] record : records) {
+            if (record.length < 2) {
+                continue;
+            }
+            try {
+                if (UPSERT.equals(record[0])) {
+                    T entity = factory.apply(Arrays.copyOfRange(record, 1, record.length));
+                    Integer position = positions.get(idOf.apply(entity));
+                    if (position != null) {
+                        replayed.set(position, entity);
+                    } else {
+                        positions.put(idOf.apply(entity), replayed.size());
+                        replayed.add(entity);
+                    }
+                } else if (DELETE.equals(record[0])) {
+                    Integer position = positions.remove(record[1]);
+                    if (position != null) {
+                        replayed.set(position, null);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println("Warning: Skipping unreadable journal record in " + journalFileName + ": " + e.getMessage());
+            }
+        }
+
+        entities.clear();
+        for (T entity : replayed) {
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+    }
+
+    /**
+     * Appends record lines to the journal file in one write and waits until they are durable.
+     * The write itself is serialized per journal; the fsync is left to the group commit
+     * so that it can be shared with appends made to other journals in the same window.
+     * If the calling thread has deferred durability, the wait is left to the end of its
+     * deferral, so a handler can release its locks before waiting for the disk.
+     *
+     * @param lines The records to append
+     * @return true if the records were written and forced to disk or deferred, false otherwise
+     */
+    private boolean append(List<String> lines) {
+        long ticket = write(lines);
+        if (ticket < 0) {
+            return false;
+        }
+        if (GROUP_COMMIT.defer(ticket)) {
+            return true;
+        }
+        try {
+            GROUP_COMMIT.awaitDurable(ticket);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error syncing journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes record lines to the journal file and registers them with the group commit.
+     *
+     * @param lines The records to append
+     * @return The group commit ticket of the write, or -1 if it failed
+     */
+    private synchronized long write(List<String> lines) {
+        try {
+            int count = size();
+            if (channel == null) {
+                channel = FileUtils.openForAppend(journalFileName);
+            }
+            FileUtils.writeLine(channel, String.join(System.lineSeparator(), lines));
+            recordCount = count + lines.size();
+            Metrics.count("Journal.records", lines.size());
+            return GROUP_COMMIT.enqueue(channel);
+        } catch (IOException e) {
+            System.err.println("Error appending to journal: " + e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -1,19 +1,16 @@
 package io;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import models.OfficerRegistration;
 import models.enums.OfficerRegistrationStatus;
-import static utils.Constants.DATE_TIME_FORMAT;
+import utils.CsvRecord;
+import utils.DateUtils;
 
 /**
  * Factory class responsible for creating OfficerRegistration objects from CSV data.
  * Converts string arrays from CSV files into properly typed OfficerRegistration objects.
  */
 public class OfficerRegistrationFactory {
-    /** Date formatter used for parsing registration dates in the standard system format */
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
-
     /**
      * Creates an OfficerRegistration object from a string array of CSV data.
      * 
@@ -22,16 +19,27 @@ public class OfficerRegistrationFactory {
      * @throws IllegalArgumentException if any required field is missing or empty
      */
     public static OfficerRegistration createRegistration(String[] tokens) {
+        return createRegistration(CsvRecord.of(tokens));
+    }
+    
+    /**
+     * Creates an OfficerRegistration object directly from a parsed CSV record.
+     * 
+     * @param record The record holding the officer registration fields in file column order
+     * @return A new OfficerRegistration object with data from the record
+     * @throws IllegalArgumentException if any required field is missing or empty
+     */
+    public static OfficerRegistration createRegistration(CsvRecord record) {
         // Format: Registration ID,Officer NRIC,Project Name,Status,Registration Date
-        if (tokens.length < 5 || tokens[0].isEmpty() || tokens[1].isEmpty() || tokens[2].isEmpty() || tokens[3].isEmpty()) {
+        if (record.fieldCount() < 5 || record.isEmpty(0) || record.isEmpty(1) || record.isEmpty(2) || record.isEmpty(3)) {
             throw new IllegalArgumentException("Missing required fields for Officer Registration");
         }
 
-        String registrationId = tokens[0];
-        String officerNric = tokens[1];
-        String projectName = tokens[2];
-        OfficerRegistrationStatus status = OfficerRegistrationStatus.valueOf(tokens[3].toUpperCase());
-        LocalDateTime registrationDate = tokens[4].isEmpty() ? null : LocalDateTime.parse(tokens[4], DATE_FORMATTER);
+        String registrationId = record.field(0);
+        String officerNric = record.pooledField(1);
+        String projectName = record.pooledField(2);
+        OfficerRegistrationStatus status = OfficerRegistrationStatus.valueOf(record.field(3).toUpperCase());
+        LocalDateTime registrationDate = record.isEmpty(4) ? null : DateUtils.requireDateTime(record.field(4));
 
         return new OfficerRegistration(registrationId, officerNric, projectName, status, registrationDate);
     }
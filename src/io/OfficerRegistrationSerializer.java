@@ -1,11 +1,7 @@
 package io;
 
-import java.time.format.DateTimeFormatter;
-
 import models.OfficerRegistration;
-import utils.FileUtils;
-import static utils.Constants.DELIMITER;
-import static utils.Constants.DATE_TIME_FORMAT;
+import utils.CsvWriter;
 
 /**
  * Provides serialization functionality for OfficerRegistration objects.
@@ -13,8 +9,6 @@ import static utils.Constants.DATE_TIME_FORMAT;
  * in CSV files, handling date formatting and proper field escaping.
  */
 public class OfficerRegistrationSerializer {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
-
     /**
      * Serializes an OfficerRegistration object into a delimited string.
      * Format: Registration ID||Officer NRIC||Project Name||Status||Registration Date
@@ -23,12 +17,23 @@ public class OfficerRegistrationSerializer {
      * @return A string representation of the OfficerRegistration.
      */
     public static String serialize(OfficerRegistration registration) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(registration.getRegistrationId()).append(DELIMITER)
-          .append(registration.getOfficerNric()).append(DELIMITER)
-          .append(FileUtils.escapeCsvField(registration.getProjectName())).append(DELIMITER)
-          .append(registration.getStatus()).append(DELIMITER)
-          .append(registration.getRegistrationDate() != null ? DATE_FORMATTER.format(registration.getRegistrationDate()) : "");
-        return sb.toString();
+        CsvWriter line = new CsvWriter();
+        write(registration, line);
+        return line.toString();
+    }
+
+    /**
+     * Writes the fields of an OfficerRegistration as the current record of a CSV writer,
+     * in the same format as {@link #serialize(OfficerRegistration)}.
+     *
+     * @param registration The OfficerRegistration to write.
+     * @param out The writer to write the fields to.
+     */
+    public static void write(OfficerRegistration registration, CsvWriter out) {
+        out.field(registration.getRegistrationId())
+           .field(registration.getOfficerNric())
+           .field(registration.getProjectName())
+           .field(registration.getStatus())
+           .field(registration.getRegistrationDate());
     }
 }
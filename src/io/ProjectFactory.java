@@ -1,11 +1,11 @@
 package io;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 
 import models.Project;
-import utils.Constants;
+import utils.CsvRecord;
+import utils.DateUtils;
+import utils.StringPool;
 
 /**
  * Factory class responsible for creating Project objects from CSV data.
@@ -25,49 +25,60 @@ public class ProjectFactory {
      * @throws IllegalArgumentException if the data format is incorrect or values cannot be parsed
      */
     public static Project createProject(String[] tokens) {
+        return createProject(CsvRecord.of(tokens));
+    }
+    
+    /**
+     * Creates a Project object directly from a parsed CSV record.
+     * 
+     * @param record The record holding the project fields in file column order
+     * @return A new Project object with data from the record
+     * @throws IllegalArgumentException if the data format is incorrect or values cannot be parsed
+     */
+    public static Project createProject(CsvRecord record) {
         // Format: Project Name, Neighborhood, Type 1, Number of Units for Type 1, Available Units for Type 1, Selling price for Type 1, 
         //         Type 2, Number of Units for Type 2, Available Units for Type 2, Selling price for Type 2,
         //         Application opening date, Application closing date, Manager, Officer Slot, Officer(s), Visibility
-        if (tokens.length != 16) {
-            throw new IllegalArgumentException("Project data must have 16 fields but has " + tokens.length);
+        if (record.fieldCount() != 16) {
+            throw new IllegalArgumentException("Project data must have 16 fields but has " + record.fieldCount());
         }
 
-        String name = tokens[0];
-        String neighborhood = tokens[1];
+        String name = record.pooledField(0);
+        String neighborhood = record.field(1);
         
         // Create the project first
-        LocalDate openDate = parseDate(tokens[10]);
-        LocalDate closeDate = parseDate(tokens[11]);
-        String managerNric = tokens[12]; // Manager
-        int officerSlot = parseIntSafely(tokens[13], 0); // Officer Slot (default to 0 if empty)
-        List<String> officers = tokens[14].isEmpty() ? new ArrayList<>() : Arrays.asList(tokens[14].split(";"));
-        boolean visible = Boolean.parseBoolean(tokens[15]); // Visibility
+        LocalDate openDate = parseDate(record.field(10));
+        LocalDate closeDate = parseDate(record.field(11));
+        String managerNric = record.pooledField(12); // Manager
+        int officerSlot = parseIntSafely(record.field(13), 0); // Officer Slot (default to 0 if empty)
+        List<String> officers = record.isEmpty(14) ? new ArrayList<>() : Arrays.asList(record.field(14).split(";"));
+        boolean visible = Boolean.parseBoolean(record.field(15)); // Visibility
 
         Project project = new Project(name, neighborhood, openDate, closeDate, managerNric, officerSlot);
         
         // Type 1 info - handle empty values safely
-        String type1 = tokens[2];
+        String type1 = record.pooledField(2);
         if (!type1.isEmpty()) {
-            int num1 = parseIntSafely(tokens[3], 0);
-            int avail1 = parseIntSafely(tokens[4], 0);
-            double price1 = parseDoubleSafely(tokens[5], 0.0);
+            int num1 = parseIntSafely(record.field(3), 0);
+            int avail1 = parseIntSafely(record.field(4), 0);
+            double price1 = parseDoubleSafely(record.field(5), 0.0);
             project.addUnitType(type1, num1, price1);
             project.setAvailableUnits(type1, avail1);
         }
         
         // Type 2 info - handle empty values safely
-        String type2 = tokens[6];
+        String type2 = record.pooledField(6);
         if (!type2.isEmpty()) {
-            int num2 = parseIntSafely(tokens[7], 0);
-            int avail2 = parseIntSafely(tokens[8], 0);
-            double price2 = parseDoubleSafely(tokens[9], 0.0);
+            int num2 = parseIntSafely(record.field(7), 0);
+            int avail2 = parseIntSafely(record.field(8), 0);
+            double price2 = parseDoubleSafely(record.field(9), 0.0);
             project.addUnitType(type2, num2, price2);
             project.setAvailableUnits(type2, avail2);
         }
 
         for (String officer : officers) {
             if (!officer.isEmpty()) {
-                project.addOfficer(officer);
+                project.addOfficer(StringPool.intern(officer));
             }
         }
 
@@ -113,30 +124,17 @@ public class ProjectFactory {
     
     /**
      * Helper method to parse dates with various formats.
-     * Attempts to parse using multiple format patterns for maximum compatibility.
+     * Accepts the full date-time format, the date-only format and ISO dates for maximum compatibility.
      * 
      * @param dateStr The date string to parse
      * @return LocalDate object representing the parsed date
      * @throws IllegalArgumentException if the date cannot be parsed with any available format
      */
     private static LocalDate parseDate(String dateStr) {
-        // Try first with the full date-time format
-        try {
-            DateTimeFormatter fullFormatter = DateTimeFormatter.ofPattern(Constants.DATE_TIME_FORMAT);
-            return LocalDate.parse(dateStr, fullFormatter);
-        } catch (DateTimeParseException e) {
-            // If that fails, try with just the date format (no time)
-            try {
-                DateTimeFormatter dateOnlyFormatter = DateTimeFormatter.ofPattern("M/d/yyyy");
-                return LocalDate.parse(dateStr, dateOnlyFormatter);
-            } catch (DateTimeParseException e2) {
-                // As a last resort, try standard ISO format
-                try {
-                    return LocalDate.parse(dateStr);
-                } catch (DateTimeParseException e3) {
-                    throw new IllegalArgumentException("Cannot parse date: " + dateStr, e3);
-                }
-            }
+        LocalDate date = DateUtils.parseAnyDate(dateStr);
+        if (date == null) {
+            throw new IllegalArgumentException("Cannot parse date: " + dateStr);
         }
+        return date;
     }
 }
@@ -1,11 +1,9 @@
 package io;
 
-import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import models.Project;
 import models.UnitInfo;
-import utils.Constants;
-import utils.FileUtils;
+import utils.CsvWriter;
 
 /**
  * Provides serialization functionality for Project objects.
@@ -14,9 +12,6 @@ import utils.FileUtils;
  * and other project attributes.
  */
 public class ProjectSerializer {  
-    // Create a separate formatter for LocalDate objects without time components
-    private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
-    
     /**
      * Serializes a Project object into a string.
      * Expected format:
@@ -28,50 +23,56 @@ public class ProjectSerializer {
      * @return A string representation of the Project.
      */
     public static String serialize(Project project) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(FileUtils.escapeCsvField(project.getProjectName())).append(Constants.DELIMITER)
-          .append(FileUtils.escapeCsvField(project.getNeighborhood())).append(Constants.DELIMITER);
+        CsvWriter line = new CsvWriter();
+        write(project, line);
+        return line.toString();
+    }
+
+    /**
+     * Writes the fields of a Project as the current record of a CSV writer,
+     * in the same format as {@link #serialize(Project)}.
+     *
+     * @param project The Project object to write.
+     * @param out The writer to write the fields to.
+     */
+    public static void write(Project project, CsvWriter out) {
+        out.field(project.getProjectName())
+           .field(project.getNeighborhood());
         
         // Process unit info from the map.
         Map<String, UnitInfo> units = project.getUnits();
+        writeUnit("2-Room", units.get("2-Room"), out);
+        writeUnit("3-Room", units.get("3-Room"), out);
         
-        // Process the "2-Room" details.
-        if (units.containsKey("2-Room")) {
-            UnitInfo type1 = units.get("2-Room");
-            sb.append("2-Room").append(Constants.DELIMITER)
-              .append(type1.getTotalUnits()).append(Constants.DELIMITER)
-              .append(type1.getAvailableUnits()).append(Constants.DELIMITER)
-              .append(type1.getSellingPrice()).append(Constants.DELIMITER);
-        } else {
-            sb.append("N/A").append(Constants.DELIMITER)
-              .append("0").append(Constants.DELIMITER)
-              .append("0").append(Constants.DELIMITER)
-              .append("0.0").append(Constants.DELIMITER);
-        }
-        
-        // Process the "3-Room" details.
-        if (units.containsKey("3-Room")) {
-            UnitInfo type2 = units.get("3-Room");
-            sb.append("3-Room").append(Constants.DELIMITER)
-              .append(type2.getTotalUnits()).append(Constants.DELIMITER)
-              .append(type2.getAvailableUnits()).append(Constants.DELIMITER)
-              .append(type2.getSellingPrice()).append(Constants.DELIMITER);
+        // Project dates are LocalDate objects and are written without a time component
+        out.field(project.getApplicationOpeningDate())
+           .field(project.getApplicationClosingDate())
+           .field(project.getManager())
+           .field(project.getOfficerSlot())
+           // Convert the list of officers to a semicolon-separated string.
+           .field(String.join(";", project.getOfficers()))
+           .field(project.isVisible());
+    }
+
+    /**
+     * Writes the four fields describing one unit type of a project.
+     * A unit type the project does not offer is written as N/A with no units.
+     *
+     * @param type The unit type, e.g. "2-Room".
+     * @param unit The unit details, or null if the project does not offer the type.
+     * @param out The writer to write the fields to.
+     */
+    private static void writeUnit(String type, UnitInfo unit, CsvWriter out) {
+        if (unit != null) {
+            out.field(type)
+               .field(unit.getTotalUnits())
+               .field(unit.getUnbookedUnits())
+               .field(unit.getSellingPrice());
         } else {
-            sb.append("N/A").append(Constants.DELIMITER)
-              .append("0").append(Constants.DELIMITER)
-              .append("0").append(Constants.DELIMITER)
-              .append("0.0").append(Constants.DELIMITER);
+            out.field("N/A")
+               .field(0)
+               .field(0)
+               .field(0.0);
         }
-        
-        // Use DATE_ONLY_FORMATTER for LocalDate objects which do not have time components
-        sb.append(DATE_ONLY_FORMATTER.format(project.getApplicationOpeningDate())).append(Constants.DELIMITER)
-          .append(DATE_ONLY_FORMATTER.format(project.getApplicationClosingDate())).append(Constants.DELIMITER)
-          .append(project.getManager()).append(Constants.DELIMITER)
-          .append(project.getOfficerSlot()).append(Constants.DELIMITER)
-          // Convert the list of officers to a semicolon-separated string.
-          .append(String.join(";", project.getOfficers())).append(Constants.DELIMITER)
-          .append(project.isVisible());
-          
-        return sb.toString();
     }
 }
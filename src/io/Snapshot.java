@@ -0,0 +1,652 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import models.*;
+import models.enums.ApplicationStatus;
+import models.enums.OfficerRegistrationStatus;
+import models.enums.WithdrawalStatus;
+import users.*;
+import users.enums.MaritalStatus;
+import users.enums.UserType;
+
+/**
+ * Binary snapshot of every dataset, used to skip CSV parsing at startup.
+ * The snapshot is written on a clean shutdown, after all CSV files have been saved,
+ * and is only trusted while it is newer than every CSV file; the CSV files remain the
+ * interchange format and editing any of them makes the snapshot stale.
+ *
+ * Layout:
+ * magic, version        - 4-byte magic followed by the format version as a varint
+ * dictionary            - count, then every distinct string as a UTF-8 byte length and bytes
+ * sections              - users, projects, applications, enquiries, withdrawals and
+ *                         officer registrations, each a row count followed by the rows
+ *
+ * Integers are varints (zigzag encoded where they may be negative), strings are
+ * indexes into the dictionary, timestamps are epoch seconds and dates epoch days.
+ * Optional values are stored with 0 meaning null, and enums by ordinal, so reordering
+ * an enum or changing a row layout requires bumping {@link #VERSION}.
+ * The snapshot stores exactly the fields the CSV files hold.
+ */
+public class Snapshot {
+    /** Marks the start of a snapshot file ("BTOS") */
+    private static final int MAGIC = 0x42544F53;
+
+    /** Version of the snapshot layout; snapshots of any other version are ignored */
+    public static final int VERSION = 1;
+
+    /** Loaded users: applicants, then officers, then managers */
+    private final List<User> users;
+
+    /** Loaded projects */
+    private final List<Project> projects;
+
+    /** Loaded applications */
+    private final List<Application> applications;
+
+    /** Loaded enquiries */
+    private final List<Enquiry> enquiries;
+
+    /** Loaded withdrawal requests */
+    private final List<WithdrawalRequest> withdrawals;
+
+    /** Loaded officer registrations */
+    private final List<OfficerRegistration> officerRegistrations;
+
+    /**
+     * Constructs a snapshot over the given data.
+     *
+     * @param users All users: applicants, then officers, then managers
+     * @param projects The projects
+     * @param applications The applications
+     * @param enquiries The enquiries
+     * @param withdrawals The withdrawal requests
+     * @param officerRegistrations The officer registrations
+     */
+    public Snapshot(List<User> users, List<Project> projects, List<Application> applications,
+                    List<Enquiry> enquiries, List<WithdrawalRequest> withdrawals,
+                    List<OfficerRegistration> officerRegistrations) {
+        this.users = users;
+        this.projects = projects;
+        this.applications = applications;
+        this.enquiries = enquiries;
+        this.withdrawals = withdrawals;
+        this.officerRegistrations = officerRegistrations;
+    }
+
+    /**
+     * Gets the users, in the same order as FileIO.loadUsers.
+     *
+     * @return The users
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the projects.
+     *
+     * @return The projects
+     */
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    /**
+     * Gets the applications.
+     *
+     * @return The applications
+     */
+    public List<Application> getApplications() {
+        return applications;
+    }
+
+    /**
+     * Gets the enquiries.
+     *
+     * @return The enquiries
+     */
+    public List<Enquiry> getEnquiries() {
+        return enquiries;
+    }
+
+    /**
+     * Gets the withdrawal requests.
+     *
+     * @return The withdrawal requests
+     */
+    public List<WithdrawalRequest> getWithdrawals() {
+        return withdrawals;
+    }
+
+    /**
+     * Gets the officer registrations.
+     *
+     * @return The officer registrations
+     */
+    public List<OfficerRegistration> getOfficerRegistrations() {
+        return officerRegistrations;
+    }
+
+    // ------------------ Encoding --------------------
+
+    /**
+     * Encodes the snapshot.
+     * Rows are encoded first so the dictionary is complete when the header is written.
+     *
+     * @return The encoded snapshot; only the first {@link Encoder#length()} bytes are used
+     */
+    Encoder encode() {
+        Encoder rows = new Encoder();
+        rows.varint(users.size());
+        for (User user : users) {
+            rows.varint(user.getUserType().ordinal());
+            rows.string(user.getName());
+            rows.string(user.getNric());
+            rows.varint(user.getAge());
+            rows.varint(user.getMaritalStatus().ordinal());
+            rows.string(user.getPassword());
+        }
+        rows.varint(projects.size());
+        for (Project project : projects) {
+            rows.string(project.getProjectName());
+            rows.string(project.getNeighborhood());
+            rows.date(project.getApplicationOpeningDate());
+            rows.date(project.getApplicationClosingDate());
+            rows.string(project.getManager());
+            rows.signed(project.getOfficerSlot());
+            rows.varint(project.getOfficers().size());
+            for (String officer : project.getOfficers()) {
+                rows.string(officer);
+            }
+            rows.varint(project.isVisible() ? 1 : 0);
+            rows.varint(project.getUnits().size());
+            for (Map.Entry<String, UnitInfo> unit : project.getUnits().entrySet()) {
+                rows.string(unit.getKey());
+                rows.signed(unit.getValue().getTotalUnits());
+                // Reservations are not persisted, so reserved units count as available
+                rows.signed(unit.getValue().getUnbookedUnits());
+                rows.fixed64(Double.doubleToLongBits(unit.getValue().getSellingPrice()));
+            }
+        }
+        rows.varint(applications.size());
+        for (Application app : applications) {
+            rows.string(app.getApplicationId());
+            rows.string(app.getApplicantNric());
+            rows.string(app.getProjectName());
+            rows.string(app.getUnitType());
+            rows.varint(app.getStatus().ordinal());
+            rows.string(app.getAssignedUnit());
+            rows.string(app.getAssignedOfficer());
+            rows.dateTime(app.getApplicationDate());
+            rows.dateTime(app.getLastUpdated());
+            rows.string(app.getRemarks());
+        }
+        rows.varint(enquiries.size());
+        for (Enquiry enquiry : enquiries) {
+            rows.string(enquiry.getEnquiryId());
+            rows.string(enquiry.getApplicantNric());
+            rows.string(enquiry.getProjectName());
+            rows.string(enquiry.getMessage());
+            rows.string(enquiry.getReply());
+            rows.dateTime(enquiry.getSubmittedAt());
+            rows.string(enquiry.getRespondentNric());
+            rows.dateTime(enquiry.getRepliedAt());
+        }
+        rows.varint(withdrawals.size());
+        for (WithdrawalRequest request : withdrawals) {
+            rows.string(request.getRequestId());
+            rows.string(request.getApplicationId());
+            rows.string(request.getApplicantNric());
+            rows.string(request.getProjectName());
+            rows.varint(request.getStatus().ordinal());
+            rows.dateTime(request.getRequestDate());
+            rows.dateTime(request.getProcessDate());
+            rows.string(request.getRemarks());
+        }
+        rows.varint(officerRegistrations.size());
+        for (OfficerRegistration registration : officerRegistrations) {
+            rows.string(registration.getRegistrationId());
+            rows.string(registration.getOfficerNric());
+            rows.string(registration.getProjectName());
+            rows.varint(registration.getStatus().ordinal());
+            rows.dateTime(registration.getRegistrationDate());
+        }
+
+        Encoder out = new Encoder();
+        out.fixed32(MAGIC);
+        out.varint(VERSION);
+        out.varint(rows.dictionary.size());
+        for (String value : rows.dictionary) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.varint(bytes.length);
+            out.bytes(bytes, 0, bytes.length);
+        }
+        out.bytes(rows.buffer, 0, rows.length);
+        return out;
+    }
+
+    // ------------------ Decoding --------------------
+
+    /**
+     * Decodes a snapshot.
+     *
+     * @param data The encoded snapshot, from its position to its limit
+     * @return The decoded snapshot
+     * @throws IOException if the data is not a snapshot of the current version, is truncated or is corrupt
+     */
+    static Snapshot decode(ByteBuffer data) throws IOException {
+        Decoder in = new Decoder(data);
+        try {
+            if (in.fixed32() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            int version = in.varint();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            in.readDictionary();
+            UserType[] userTypes = UserType.values();
+            MaritalStatus[] maritalStatuses = MaritalStatus.values();
+            ApplicationStatus[] applicationStatuses = ApplicationStatus.values();
+            WithdrawalStatus[] withdrawalStatuses = WithdrawalStatus.values();
+            OfficerRegistrationStatus[] registrationStatuses = OfficerRegistrationStatus.values();
+
+            int count = in.count();
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UserType type = userTypes[in.varint()];
+                String name = in.string();
+                String nric = in.string();
+                int age = in.varint();
+                MaritalStatus maritalStatus = maritalStatuses[in.varint()];
+                String password = in.string();
+                switch (type) {
+                    case APPLICANT:
+                        users.add(new Applicant(name, nric, age, maritalStatus, password));
+                        break;
+                    case OFFICER:
+                        users.add(new HDBOfficer(name, nric, age, maritalStatus, password));
+                        break;
+                    default:
+                        users.add(new ProjectManager(name, nric, age, maritalStatus, password));
+                }
+            }
+
+            count = in.count();
+            List<Project> projects = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Project project = new Project(in.string(), in.string(), in.date(), in.date(), in.string(), in.signed());
+                int officerCount = in.count();
+                for (int j = 0; j < officerCount; j++) {
+                    project.addOfficer(in.string());
+                }
+                project.setVisible(in.varint() != 0);
+                int unitCount = in.count();
+                for (int j = 0; j < unitCount; j++) {
+                    String type = in.string();
+                    int total = in.signed();
+                    int available = in.signed();
+                    project.addUnitType(type, total, Double.longBitsToDouble(in.fixed64()));
+                    project.setAvailableUnits(type, available);
+                }
+                projects.add(project);
+            }
+
+            count = in.count();
+            List<Application> applications = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                applications.add(new Application(in.string(), in.string(), in.string(), in.string(),
+                        applicationStatuses[in.varint()], in.string(), in.string(),
+                        in.dateTime(), in.dateTime(), in.string()));
+            }
+
+            count = in.count();
+            List<Enquiry> enquiries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String enquiryId = in.string();
+                String nric = in.string();
+                String projectName = in.string();
+                String enquiryText = in.string();
+                String responseText = in.string();
+                LocalDateTime submittedAt = in.dateTime();
+                String respondentNric = in.string();
+                LocalDateTime repliedAt = in.dateTime();
+                // Same default as EnquiryFactory for a missing timestamp
+                enquiries.add(new Enquiry(enquiryId, nric, projectName, enquiryText, responseText,
+                        submittedAt != null ? submittedAt : LocalDateTime.now(), respondentNric, repliedAt));
+            }
+
+            count = in.count();
+            List<WithdrawalRequest> withdrawals = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                withdrawals.add(new WithdrawalRequest(in.string(), in.string(), in.string(), in.string(),
+                        withdrawalStatuses[in.varint()], in.dateTime(), in.dateTime(), in.string()));
+            }
+
+            count = in.count();
+            List<OfficerRegistration> registrations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                registrations.add(new OfficerRegistration(in.string(), in.string(), in.string(),
+                        registrationStatuses[in.varint()], in.dateTime()));
+            }
+            if (data.hasRemaining()) {
+                throw new IOException("Unexpected data after the last snapshot section");
+            }
+            return new Snapshot(users, projects, applications, enquiries, withdrawals, registrations);
+        } catch (RuntimeException e) {
+            // Truncated data, out-of-range indexes and dates, or counts too large to allocate
+            throw new IOException("Corrupt snapshot", e);
+        }
+    }
+
+    /**
+     * Growable byte buffer that writes varints and dictionary-encoded strings.
+     */
+    static class Encoder {
+        /** The encoded bytes */
+        private byte[] buffer = new byte[1 << 16];
+
+        /** Number of bytes written */
+        private int length;
+
+        /** Distinct strings in order of first use */
+        private final List<String> dictionary = new ArrayList<>();
+
+        /** Index of each distinct string in the dictionary */
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        /**
+         * Gets the encoded bytes; only the first {@link #length()} are valid.
+         *
+         * @return The buffer
+         */
+        byte[] buffer() {
+            return buffer;
+        }
+
+        /**
+         * Gets the number of bytes written.
+         *
+         * @return The encoded length
+         */
+        int length() {
+            return length;
+        }
+
+        /**
+         * Writes an unsigned varint.
+         *
+         * @param value The value, treated as unsigned
+         */
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        /**
+         * Writes a signed value as a zigzag varint.
+         *
+         * @param value The value
+         */
+        void signed(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Writes a string as its dictionary index plus one, or 0 for null.
+         *
+         * @param value The string, or null
+         */
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = dictionary.size();
+                indexes.put(value, index);
+                dictionary.add(value);
+            }
+            varint(index + 1L);
+        }
+
+        /**
+         * Writes a timestamp as epoch seconds, or 0 for null.
+         *
+         * @param value The timestamp, or null
+         */
+        void dateTime(LocalDateTime value) {
+            if (value == null) {
+                varint(0);
+            } else {
+                long seconds = value.toEpochSecond(ZoneOffset.UTC);
+                varint(((seconds << 1) ^ (seconds >> 63)) + 1);
+            }
+        }
+
+        /**
+         * Writes a date as epoch days, or 0 for null.
+         *
+         * @param value The date, or null
+         */
+        void date(LocalDate value) {
+            if (value == null) {
+                varint(0);
+            } else {
+                long days = value.toEpochDay();
+                varint(((days << 1) ^ (days >> 63)) + 1);
+            }
+        }
+
+        /**
+         * Writes four bytes, big-endian.
+         *
+         * @param value The value
+         */
+        void fixed32(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        /**
+         * Writes eight bytes, big-endian.
+         *
+         * @param value The value
+         */
+        void fixed64(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        /**
+         * Writes raw bytes.
+         *
+         * @param bytes The source buffer
+         * @param offset The index of the first byte to write
+         * @param count The number of bytes to write
+         */
+        void bytes(byte[] bytes, int offset, int count) {
+            ensure(count);
+            System.arraycopy(bytes, offset, buffer, length, count);
+            length += count;
+        }
+
+        /**
+         * Grows the buffer so that at least the given number of bytes fit.
+         *
+         * @param needed The number of bytes about to be written
+         */
+        private void ensure(int needed) {
+            if (buffer.length - length < needed) {
+                long capacity = Math.max((long) buffer.length * 2, (long) length + needed);
+                if (capacity > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Snapshot exceeds the maximum file size");
+                }
+                buffer = Arrays.copyOf(buffer, (int) capacity);
+            }
+        }
+    }
+
+    /**
+     * Reads varints and dictionary-encoded strings from an encoded snapshot.
+     */
+    private static class Decoder {
+        /** The encoded bytes, positioned at the next byte to read */
+        private final ByteBuffer data;
+
+        /** The decoded dictionary, shared by every row that uses a string */
+        private String[] dictionary;
+
+        /**
+         * Constructs a decoder reading from the current position of the data.
+         *
+         * @param data The encoded bytes
+         */
+        Decoder(ByteBuffer data) {
+            this.data = data;
+        }
+
+        /**
+         * Reads the string dictionary.
+         *
+         * @throws IOException if a count or length is out of range
+         */
+        void readDictionary() throws IOException {
+            dictionary = new String[count()];
+            byte[] bytes = new byte[64];
+            for (int i = 0; i < dictionary.length; i++) {
+                int length = count();
+                if (length > bytes.length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                }
+                data.get(bytes, 0, length);
+                dictionary[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+
+        /**
+         * Reads the number of items or bytes that follow, before anything is allocated for them.
+         * Every item takes at least one byte, so a count larger than the bytes left is corrupt.
+         *
+         * @return The count
+         * @throws IOException if the count is negative or larger than the bytes left
+         */
+        int count() throws IOException {
+            long count = varlong();
+            if (count < 0 || count > data.remaining()) {
+                throw new IOException("Corrupt snapshot");
+            }
+            return (int) count;
+        }
+
+        /**
+         * Reads an unsigned varint that fits in an int.
+         *
+         * @return The value
+         */
+        int varint() {
+            return (int) varlong();
+        }
+
+        /**
+         * Reads an unsigned varint.
+         *
+         * @return The value
+         */
+        long varlong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        /**
+         * Reads a zigzag-encoded signed int.
+         *
+         * @return The value
+         */
+        int signed() {
+            long value = varlong();
+            return (int) ((value >>> 1) ^ -(value & 1));
+        }
+
+        /**
+         * Reads a dictionary-encoded string.
+         *
+         * @return The string, or null
+         */
+        String string() {
+            int index = varint();
+            return index == 0 ? null : dictionary[index - 1];
+        }
+
+        /**
+         * Reads a timestamp stored as epoch seconds.
+         *
+         * @return The timestamp, or null
+         */
+        LocalDateTime dateTime() {
+            long value = varlong();
+            if (value == 0) {
+                return null;
+            }
+            value--;
+            return LocalDateTime.ofEpochSecond((value >>> 1) ^ -(value & 1), 0, ZoneOffset.UTC);
+        }
+
+        /**
+         * Reads a date stored as epoch days.
+         *
+         * @return The date, or null
+         */
+        LocalDate date() {
+            long value = varlong();
+            if (value == 0) {
+                return null;
+            }
+            value--;
+            return LocalDate.ofEpochDay((value >>> 1) ^ -(value & 1));
+        }
+
+        /**
+         * Reads four bytes, big-endian.
+         *
+         * @return The value
+         */
+        int fixed32() {
+            return data.getInt();
+        }
+
+        /**
+         * Reads eight bytes, big-endian.
+         *
+         * @return The value
+         */
+        long fixed64() {
+            return data.getLong();
+        }
+    }
+}
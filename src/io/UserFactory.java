@@ -3,6 +3,7 @@ package io;
 import users.*;
 import users.enums.MaritalStatus;
 import users.enums.UserType;
+import utils.CsvRecord;
 
 /**
  * Factory class responsible for creating User objects from CSV data.
@@ -59,6 +60,25 @@ public class UserFactory {
         return new Applicant(name, nric, age, maritalStatus, password);
     }
     
+    /**
+     * Creates an Applicant user directly from a parsed CSV record.
+     *
+     * @param record The record holding the user fields: Name, NRIC, Age, Marital Status, Password
+     * @return An Applicant object with the provided user data
+     * @throws NumberFormatException if age cannot be parsed as integer
+     * @throws IllegalArgumentException if marital status is invalid
+     */
+    public static User createApplicant(CsvRecord record) {
+        // Format: Name,NRIC,Age,Marital Status,Password
+        String name = record.field(0);
+        String nric = record.field(1);
+        int age = Integer.parseInt(record.field(2));
+        MaritalStatus maritalStatus = MaritalStatus.valueOf(record.field(3).toUpperCase());
+        String password = record.field(4);
+        
+        return new Applicant(name, nric, age, maritalStatus, password);
+    }
+    
     /**
      * Creates an HDBOfficer user from CSV data.
      *
@@ -78,6 +98,25 @@ public class UserFactory {
         return new HDBOfficer(name, nric, age, maritalStatus, password);
     }
     
+    /**
+     * Creates an HDBOfficer user directly from a parsed CSV record.
+     *
+     * @param record The record holding the user fields: Name, NRIC, Age, Marital Status, Password
+     * @return An HDBOfficer object with the provided user data
+     * @throws NumberFormatException if age cannot be parsed as integer
+     * @throws IllegalArgumentException if marital status is invalid
+     */
+    public static User createOfficer(CsvRecord record) {
+        // Format: Name,NRIC,Age,Marital Status,Password
+        String name = record.field(0);
+        String nric = record.field(1);
+        int age = Integer.parseInt(record.field(2));
+        MaritalStatus maritalStatus = MaritalStatus.valueOf(record.field(3).toUpperCase());
+        String password = record.field(4);
+        
+        return new HDBOfficer(name, nric, age, maritalStatus, password);
+    }
+    
     /**
      * Creates a ProjectManager user from CSV data.
      *
@@ -96,4 +135,23 @@ public class UserFactory {
         
         return new ProjectManager(name, nric, age, maritalStatus, password);
     }
+    
+    /**
+     * Creates a ProjectManager user directly from a parsed CSV record.
+     *
+     * @param record The record holding the user fields: Name, NRIC, Age, Marital Status, Password
+     * @return A ProjectManager object with the provided user data
+     * @throws NumberFormatException if age cannot be parsed as integer
+     * @throws IllegalArgumentException if marital status is invalid
+     */
+    public static User createManager(CsvRecord record) {
+        // Format: Name,NRIC,Age,Marital Status,Password
+        String name = record.field(0);
+        String nric = record.field(1);
+        int age = Integer.parseInt(record.field(2));
+        MaritalStatus maritalStatus = MaritalStatus.valueOf(record.field(3).toUpperCase());
+        String password = record.field(4);
+        
+        return new ProjectManager(name, nric, age, maritalStatus, password);
+    }
 }
@@ -1,8 +1,7 @@
 package io;
 
 import users.*;
-import utils.FileUtils;
-import static utils.Constants.DELIMITER;
+import utils.CsvWriter;
 
 /**
  * Provides serialization functionality for User objects and their subclasses.
@@ -19,14 +18,10 @@ public class UserSerializer {
      * @return A string representation of the User.
      */
     public static String serialize(User user) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(FileUtils.escapeCsvField(user.getName())).append(DELIMITER)
-          .append(user.getNric()).append(DELIMITER)
-          .append(user.getAge()).append(DELIMITER)
-          .append(user.getMaritalStatus().toString()).append(DELIMITER)
-          .append(user.getPassword()).append(DELIMITER)
-          .append(user.getUserType().toString());
-        return sb.toString();
+        CsvWriter line = new CsvWriter();
+        write(user, line);
+        line.field(user.getUserType());
+        return line.toString();
     }
     
     /**
@@ -37,13 +32,9 @@ public class UserSerializer {
      * @return A string representation of the Applicant.
      */
     public static String serializeApplicant(Applicant applicant) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(FileUtils.escapeCsvField(applicant.getName())).append(DELIMITER)
-          .append(applicant.getNric()).append(DELIMITER)
-          .append(applicant.getAge()).append(DELIMITER)
-          .append(applicant.getMaritalStatus().toString()).append(DELIMITER)
-          .append(applicant.getPassword());
-        return sb.toString();
+        CsvWriter line = new CsvWriter();
+        write(applicant, line);
+        return line.toString();
     }
     
     /**
@@ -54,13 +45,9 @@ public class UserSerializer {
      * @return A string representation of the HDBOfficer.
      */
     public static String serializeOfficer(HDBOfficer officer) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(FileUtils.escapeCsvField(officer.getName())).append(DELIMITER)
-          .append(officer.getNric()).append(DELIMITER)
-          .append(officer.getAge()).append(DELIMITER)
-          .append(officer.getMaritalStatus().toString()).append(DELIMITER)
-          .append(officer.getPassword());
-        return sb.toString();
+        CsvWriter line = new CsvWriter();
+        write(officer, line);
+        return line.toString();
     }
     
     /**
@@ -71,12 +58,23 @@ public class UserSerializer {
      * @return A string representation of the ProjectManager.
      */
     public static String serializeManager(ProjectManager manager) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(FileUtils.escapeCsvField(manager.getName())).append(DELIMITER)
-          .append(manager.getNric()).append(DELIMITER)
-          .append(manager.getAge()).append(DELIMITER)
-          .append(manager.getMaritalStatus().toString()).append(DELIMITER)
-          .append(manager.getPassword());
-        return sb.toString();
+        CsvWriter line = new CsvWriter();
+        write(manager, line);
+        return line.toString();
+    }
+
+    /**
+     * Writes the fields shared by all user files as the current record of a CSV writer.
+     * Format: Name||NRIC||Age||Marital Status||Password
+     *
+     * @param user The User to write.
+     * @param out The writer to write the fields to.
+     */
+    public static void write(User user, CsvWriter out) {
+        out.field(user.getName())
+           .field(user.getNric())
+           .field(user.getAge())
+           .field(user.getMaritalStatus())
+           .field(user.getPassword());
     }
 }
@@ -1,18 +1,16 @@
 package io;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import models.WithdrawalRequest;
 import models.enums.WithdrawalStatus;
-import static utils.Constants.DATE_TIME_FORMAT;
+import utils.CsvRecord;
+import utils.DateUtils;
 
 /**
  * Factory class responsible for creating WithdrawalRequest objects from CSV data.
  * Parses string arrays into properly typed withdrawal request objects for the system.
  */
 public class WithdrawalFactory {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
-    
     /**
      * Creates a WithdrawalRequest object from a string array of CSV data.
      * 
@@ -21,19 +19,30 @@ public class WithdrawalFactory {
      * @throws IllegalArgumentException if any required field is missing or empty
      */
     public static WithdrawalRequest createRequest(String[] tokens) {
+        return createRequest(CsvRecord.of(tokens));
+    }
+    
+    /**
+     * Creates a WithdrawalRequest object directly from a parsed CSV record.
+     * 
+     * @param record The record holding the withdrawal request fields in file column order
+     * @return A new WithdrawalRequest object with data from the record
+     * @throws IllegalArgumentException if any required field is missing or empty
+     */
+    public static WithdrawalRequest createRequest(CsvRecord record) {
         // Format: Request ID,Application ID,Applicant NRIC,Project Name,Status,Request Date,Process Date,Remarks
-        if (tokens.length < 8 || tokens[0].isEmpty() || tokens[1].isEmpty() || tokens[2].isEmpty() || tokens[3].isEmpty() || tokens[4].isEmpty()) {
+        if (record.fieldCount() < 8 || record.isEmpty(0) || record.isEmpty(1) || record.isEmpty(2) || record.isEmpty(3) || record.isEmpty(4)) {
             throw new IllegalArgumentException("Missing required fields for Withdrawal Request");
         }
 
-        String requestId = tokens[0];
-        String applicationId = tokens[1];
-        String applicantNric = tokens[2];
-        String projectName = tokens[3];
-        WithdrawalStatus status = WithdrawalStatus.valueOf(tokens[4].toUpperCase());
-        LocalDateTime requestDate = tokens[5].isEmpty() ? null : LocalDateTime.parse(tokens[5], DATE_FORMATTER);
-        LocalDateTime processDate = tokens[6].isEmpty() ? null : LocalDateTime.parse(tokens[6], DATE_FORMATTER);
-        String remarks = tokens[7].isEmpty() ? null : tokens[7];
+        String requestId = record.field(0);
+        String applicationId = record.field(1);
+        String applicantNric = record.pooledField(2);
+        String projectName = record.pooledField(3);
+        WithdrawalStatus status = WithdrawalStatus.valueOf(record.field(4).toUpperCase());
+        LocalDateTime requestDate = record.isEmpty(5) ? null : DateUtils.requireDateTime(record.field(5));
+        LocalDateTime processDate = record.isEmpty(6) ? null : DateUtils.requireDateTime(record.field(6));
+        String remarks = record.isEmpty(7) ? null : record.pooledField(7);
 
         return new WithdrawalRequest(requestId, applicationId, applicantNric, projectName, status, requestDate, processDate, remarks);
     }
@@ -1,10 +1,7 @@
 package io;
 
-import java.time.format.DateTimeFormatter;
 import models.WithdrawalRequest;
-import utils.FileUtils;
-import static utils.Constants.DATE_TIME_FORMAT;
-import static utils.Constants.DELIMITER;
+import utils.CsvWriter;
 
 /**
  * Provides serialization functionality for WithdrawalRequest objects.
@@ -13,8 +10,6 @@ import static utils.Constants.DELIMITER;
  * ensures special characters in text fields are properly escaped.
  */
 public class WithdrawalRequestSerializer {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
-
     /**
      * Serializes a WithdrawalRequest object into a delimited string.
      * Format: Request ID||Application ID||Applicant NRIC||Project Name||Status||Request Date||Process Date||Remarks
@@ -23,15 +18,26 @@ public class WithdrawalRequestSerializer {
      * @return A string representation of the WithdrawalRequest.
      */
     public static String serialize(WithdrawalRequest request) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(request.getRequestId()).append(DELIMITER)
-          .append(request.getApplicationId()).append(DELIMITER)
-          .append(request.getApplicantNric()).append(DELIMITER)
-          .append(FileUtils.escapeCsvField(request.getProjectName())).append(DELIMITER)
-          .append(request.getStatus()).append(DELIMITER)
-          .append(request.getRequestDate() != null ? DATE_FORMATTER.format(request.getRequestDate()) : "").append(DELIMITER)
-          .append(request.getProcessDate() != null ? DATE_FORMATTER.format(request.getProcessDate()) : "").append(DELIMITER)
-          .append(request.getRemarks() != null ? FileUtils.escapeCsvField(request.getRemarks()) : "");
-        return sb.toString();
+        CsvWriter line = new CsvWriter();
+        write(request, line);
+        return line.toString();
+    }
+
+    /**
+     * Writes the fields of a WithdrawalRequest as the current record of a CSV writer,
+     * in the same format as {@link #serialize(WithdrawalRequest)}.
+     *
+     * @param request The WithdrawalRequest to write.
+     * @param out The writer to write the fields to.
+     */
+    public static void write(WithdrawalRequest request, CsvWriter out) {
+        out.field(request.getRequestId())
+           .field(request.getApplicationId())
+           .field(request.getApplicantNric())
+           .field(request.getProjectName())
+           .field(request.getStatus())
+           .field(request.getRequestDate())
+           .field(request.getProcessDate())
+           .field(request.getRemarks());
     }
 }
@@ -717,11 +717,10 @@ public class ApplicantMenu {
         }
         
         Application application = new Application(applicant.getNric(), selectedProject.getProjectName(), allowedUnitType);
-        appFacade.submitApplication(application);
-        
-        // Save changes immediately to ensure the application is stored in the CSV file
-        if (appFacade instanceof access.application.ApplicationHandler) {
-            ((access.application.ApplicationHandler) appFacade).saveChanges();
+        // Checked again as it is submitted, in case another session applied meanwhile
+        if (!appFacade.submitIfNone(application)) {
+            printError("You have already applied for a project. You cannot submit multiple applications.");
+            return;
         }
         
         printSuccess("Application submitted successfully!");
@@ -885,11 +884,6 @@ public class ApplicantMenu {
         // Submit the enquiry
         enquiryFacade.submitEnquiry(enquiry);
         
-        // Save changes immediately to ensure the enquiry is stored in the CSV file
-        if (enquiryFacade instanceof access.enquiry.EnquiryHandler) {
-            ((access.enquiry.EnquiryHandler) enquiryFacade).saveChanges();
-        }
-        
         printSuccess("Enquiry submitted successfully.");
     }
 
@@ -1079,11 +1073,6 @@ public class ApplicantMenu {
         try {
             enquiryFacade.editEnquiry(selectedEnq.getEnquiryId(), newMessage);
             
-            // Save changes immediately to ensure the edit is stored in the CSV file
-            if (enquiryFacade instanceof access.enquiry.EnquiryHandler) {
-                ((access.enquiry.EnquiryHandler) enquiryFacade).saveChanges();
-            }
-            
             printSuccess("Enquiry updated successfully.");
         } catch (Exception e) {
             printError("Error updating enquiry: " + e.getMessage());
@@ -1179,11 +1168,6 @@ public class ApplicantMenu {
         try {
             enquiryFacade.deleteEnquiry(selectedEnq.getEnquiryId());
             
-            // Save changes immediately to ensure the deletion is reflected in the CSV file
-            if (enquiryFacade instanceof access.enquiry.EnquiryHandler) {
-                ((access.enquiry.EnquiryHandler) enquiryFacade).saveChanges();
-            }
-            
             printSuccess("Enquiry deleted successfully.");
         } catch (Exception e) {
             printError("Error deleting enquiry: " + e.getMessage());
@@ -1340,11 +1324,6 @@ public class ApplicantMenu {
         
         withdrawalFacade.requestWithdrawal(request);
         
-        // Save changes immediately to ensure the withdrawal request is stored in the CSV file
-        if (withdrawalFacade instanceof access.withdrawal.WithdrawalHandler) {
-            ((access.withdrawal.WithdrawalHandler) withdrawalFacade).saveChanges();
-        }
-        
         printSuccess("Withdrawal request submitted successfully. Your request will be processed by a manager.");
         System.out.println("\nPress Enter to continue...");
         scanner.nextLine();
@@ -2,13 +2,18 @@ package menu;
 
 import auth.AuthenticationSystem;
 import auth.RegistrationSystem;
+import auth.UserDirectory;
+import io.DataLoader;
 import io.FileIO;
+import io.Snapshot;
+import metrics.MenuAction;
 import utils.FileUtils;
 import utils.UIFormatter;
 import java.util.List;
 import java.util.Scanner;
 
 import access.application.ApplicationHandler;
+import access.application.ColumnarApplicationHandler;
 import access.enquiry.EnquiryHandler;
 import access.officerregistration.OfficerRegistrationHandler;
 import access.project.ProjectHandler;
@@ -38,15 +43,15 @@ public class MainMenu {
     /** Registration system for handling new user registrations */
     private RegistrationSystem regSystem;
     
+    /** Directory of the stored users, shared by login, registration and reports */
+    private UserDirectory userDirectory;
+    
     /** In-memory list of all BTO applications in the system */
     private List<Application> applicationList;
     
     /** In-memory list of all enquiries in the system */
     private List<Enquiry> enquiryList;
     
-    /** In-memory list of all users registered in the system */
-    private List<User> userList;
-    
     /** In-memory list of all BTO projects in the system */
     private List<Project> projectList;
     
@@ -74,19 +79,30 @@ public class MainMenu {
     /**
      * Constructor for MainMenu.
      * Initializes all required systems, handlers, and loads data from storage.
+     * The data files are loaded concurrently and the time taken per file is reported.
+     * Running with -Dbto.columnar=true keeps the applications in a column store instead of
+     * one object per application, which needs much less memory for large datasets.
      */
     public MainMenu() {
         this.scanner = new Scanner(System.in);
-        this.authSystem = new AuthenticationSystem();
-        this.regSystem = new RegistrationSystem();
-        this.applicationList = FileIO.loadApplications();
-        this.enquiryList = FileIO.loadEnquiries();
-        this.userList = FileIO.loadUsers();
-        this.projectList = FileIO.loadProjects();
-        this.officerRegistrationList = FileIO.loadOfficerRegistrations();
-        this.withdrawalRequestsList = FileIO.loadWithdrawals();
+        this.userDirectory = new UserDirectory();
+        this.authSystem = new AuthenticationSystem(userDirectory);
+        this.regSystem = new RegistrationSystem(userDirectory);
+        DataLoader loader = DataLoader.loadAll();
+        loader.printTimings();
+        this.applicationList = loader.getApplications();
+        this.enquiryList = loader.getEnquiries();
+        this.projectList = loader.getProjects();
+        this.officerRegistrationList = loader.getOfficerRegistrations();
+        this.withdrawalRequestsList = loader.getWithdrawals();
         this.projectHandler = new ProjectHandler(projectList);
-        this.applicationHandler = new ApplicationHandler(applicationList);
+        if (Boolean.getBoolean("bto.columnar")) {
+            // Keep the applications only in the column store, so the loaded objects can be collected
+            this.applicationHandler = new ColumnarApplicationHandler(applicationList);
+            this.applicationList = applicationHandler.getAllApplications();
+        } else {
+            this.applicationHandler = new ApplicationHandler(applicationList);
+        }
         this.enquiryHandler = new EnquiryHandler(enquiryList);
         this.registrationHandler = new OfficerRegistrationHandler(officerRegistrationList);
         this.withdrawalHandler = new WithdrawalHandler(withdrawalRequestsList);
@@ -116,9 +132,10 @@ public class MainMenu {
                     loginFlow();
                     break;
                 case 2:
-                    registerFlow();
+                    MenuAction.run("Main", "Register as Applicant", this::registerFlow);
                     break;
                 case 3:
+                    MenuAction.run("Main", "Exit", this::compactJournals);
                     System.out.println(UIFormatter.formatSuccess("Thank you for using BTO Management System. Exiting..."));
                     System.exit(0);
                     break;
@@ -128,6 +145,21 @@ public class MainMenu {
         }
     }
 
+    /**
+     * Compacts the write-ahead journals into their CSV files on a clean shutdown and then
+     * writes the binary snapshot the next start loads instead of parsing the CSV files.
+     * Journals left behind by an unclean exit are replayed on the next start instead.
+     */
+    private void compactJournals() {
+        applicationHandler.saveChanges();
+        enquiryHandler.saveChanges();
+        withdrawalHandler.saveChanges();
+        // Users are taken from their files, which password changes and registrations update directly
+        FileIO.saveSnapshot(new Snapshot(FileIO.loadUsers(), projectHandler.getAllProjects(),
+                applicationHandler.getAllApplications(), enquiryHandler.getAllEnquiries(),
+                withdrawalHandler.getAllWithdrawalRequests(), registrationHandler.getAllOfficerRegistrations()));
+    }
+
     /**
      * Handles the login process for different user types.
      * Directs users to appropriate menus based on their role.
@@ -143,7 +175,7 @@ public class MainMenu {
         int choice = readChoice("Enter your choice: ", 1, 4);
         if (choice == 4) return;
         
-        User user = authSystem.login(userList, scanner, choice);
+        User user = MenuAction.call("Main", "Login", () -> authSystem.login(scanner, choice));
         if (user == null) {
             System.out.println(UIFormatter.formatError("Login failed. Returning to main menu."));
             return;
@@ -172,7 +204,7 @@ public class MainMenu {
                 keepSessionActive = false; // Regular applicants don't have mode switching
             } else if (user.getUserType() == UserType.MANAGER) {
                 // Manager - just display the menu and then logout
-                new ManagerMenu((ProjectManager) user, projectHandler, applicationHandler, enquiryHandler, registrationHandler, withdrawalHandler).display();
+                new ManagerMenu((ProjectManager) user, projectHandler, applicationHandler, enquiryHandler, registrationHandler, withdrawalHandler, userDirectory).display();
                 keepSessionActive = false; // Managers don't have mode switching
             } else if (user.getUserType() == UserType.OFFICER) {
                 HDBOfficer officer = (HDBOfficer) user;
@@ -253,14 +285,13 @@ public class MainMenu {
 
     /**
      * Handles the applicant registration process.
-     * Adds newly registered users to the userList if registration is successful.
+     * Newly registered users are added to the shared user directory, so they can log in at once.
      */
     private void registerFlow() {
         System.out.println(UIFormatter.formatHeader("REGISTER AS APPLICANT"));
         
-        User newUser = regSystem.registerUserFromInput(scanner, userList);
+        User newUser = regSystem.registerUserFromInput(scanner);
         if (newUser != null) {
-            userList.add(newUser);
             System.out.println(UIFormatter.formatSuccess("Registration successful! You can now login."));
         } else {
             System.out.println(UIFormatter.formatError("Registration failed. Please try again."));
@@ -5,14 +5,20 @@ import access.enquiry.ManagerEnquiryFeatures;
 import access.officerregistration.ManagerOfficerRegistrationFeatures;
 import access.project.ManagerProjectFeatures;
 import access.withdrawal.ManagerWithdrawalFeatures;
+import access.withdrawal.Withdrawal;
+import auth.UserDirectory;
 import io.FileIO;
+import metrics.FileWriteEvent;
+import metrics.MenuAction;
+import metrics.Metrics;
+import metrics.ReportEvent;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import models.Application;
+import models.ApplicationSummary;
 import models.Enquiry;
 import models.Project;
 import models.OfficerRegistration;
@@ -20,10 +26,14 @@ import models.WithdrawalRequest;
 import models.enums.ApplicationStatus;
 import models.enums.WithdrawalStatus;
 import models.UnitInfo;
+import report.ReportContent;
+import report.ReportEngine;
+import report.ReportRow;
+import report.ReportWriter;
 import users.ProjectManager;
 import users.User;
+import users.enums.MaritalStatus;
 import utils.Constants;
-import utils.FileUtils;
 import utils.UIFormatter;
 import utils.TablePrinter;
 
@@ -43,11 +53,30 @@ public class ManagerMenu {
     private ManagerEnquiryFeatures enquiryFacade;
     private ManagerOfficerRegistrationFeatures officerRegFacade;
     private ManagerWithdrawalFeatures withdrawalFacade;
+    private Withdrawal withdrawalProcess;
+    
+    // Shared directory of the users in the user files, for reports and applicant lookups.
+    private UserDirectory userDirectory;
     
     // Date formatter using constant pattern.
     private static final DateTimeFormatter DATE_FORMATTER = 
             DateTimeFormatter.ofPattern(Constants.DATE_FORMAT);
     
+    // Names of the menu choices, by number, for the flight recorder events they trigger.
+    private static final String[] MENU_ACTIONS = {
+        null, "Create New Project", "Edit Project", "Delete Project", "View All Projects",
+        "View My Projects", "Toggle Project Visibility", "View Officer Registrations",
+        "Process BTO Applications", "Process Withdrawal Requests", "Generate Reports",
+        "View All Project Enquiries", "View and Reply My Project Enquiries", "Change Password",
+        "View Performance Metrics", "Logout"
+    };
+    
+    // Names of the report menu choices, by number.
+    private static final String[] REPORT_ACTIONS = {
+        null, "All Applicants Report", "Married Applicants Report", "Single Applicants Report",
+        "Project-specific Report", "Back to Manager Menu"
+    };
+    
     /**
      * Constructs a new Manager Menu with the specified ProjectManager and feature interfaces.
      *
@@ -57,13 +86,15 @@ public class ManagerMenu {
      * @param enquiryFacade Interface for enquiry-related operations
      * @param officerRegFacade Interface for officer registration-related operations
      * @param withdrawalFacade Interface for withdrawal request-related operations
+     * @param userDirectory Directory of all stored users, shared with the login system
      */
     public ManagerMenu(ProjectManager projectManager,
                        ManagerProjectFeatures projectFacade,
                        ManagerApplicationFeatures appFacade,
                        ManagerEnquiryFeatures enquiryFacade,
                        ManagerOfficerRegistrationFeatures officerRegFacade,
-                       ManagerWithdrawalFeatures withdrawalFacade) {
+                       ManagerWithdrawalFeatures withdrawalFacade,
+                       UserDirectory userDirectory) {
         this.scanner = new Scanner(System.in);
         // Construct a ProjectManager based on the logged-in user's details.
         this.projectManager = projectManager;
@@ -72,6 +103,8 @@ public class ManagerMenu {
         this.enquiryFacade = enquiryFacade;
         this.officerRegFacade = officerRegFacade;
         this.withdrawalFacade = withdrawalFacade;
+        this.withdrawalProcess = new Withdrawal(withdrawalFacade, appFacade, projectFacade);
+        this.userDirectory = userDirectory;
         
         // Initialize color support based on terminal capabilities
         UIFormatter.setColorEnabled(UIFormatter.supportsColors());
@@ -109,30 +142,37 @@ public class ManagerMenu {
             
             System.out.println(UIFormatter.formatSectionHeader("System"));
             System.out.println("13. Change Password");
-            System.out.println("14. Logout");
+            System.out.println("14. View Performance Metrics");
+            System.out.println("15. Logout");
             printDivider();
             
-            int choice = readChoice("Enter your choice: ", 1, 14);
-            
-            switch (choice) {
-                case 1: createProject(); break;
-                case 2: editProject(); break;
-                case 3: deleteProject(); break;
-                case 4: viewAllProjects(); break;
-                case 5: viewMyProjects(); break;
-                case 6: toggleProjectVisibility(); break;
-                case 7: viewOfficerRegistrations(); break;
-                case 8: processBTOApplications(); break;
-                case 9: processWithdrawalRequests(); break;
-                case 10: generateReports(); break;
-                case 11: viewAllEnquiries(); break;
-                case 12: replyToEnquiries(); break;
-                case 13: changePassword(); break;
-                case 14:
-                    printMessage(UIFormatter.formatWarning("Logging out..."));
-                    return;
-                default:
-                    printError("Invalid choice. Please try again.");
+            int choice = readChoice("Enter your choice: ", 1, 15);
+            
+            MenuAction.run("Manager", MENU_ACTIONS[choice], () -> {
+                switch (choice) {
+                    case 1: createProject(); break;
+                    case 2: editProject(); break;
+                    case 3: deleteProject(); break;
+                    case 4: viewAllProjects(); break;
+                    case 5: viewMyProjects(); break;
+                    case 6: toggleProjectVisibility(); break;
+                    case 7: viewOfficerRegistrations(); break;
+                    case 8: processBTOApplications(); break;
+                    case 9: processWithdrawalRequests(); break;
+                    case 10: generateReports(); break;
+                    case 11: viewAllEnquiries(); break;
+                    case 12: replyToEnquiries(); break;
+                    case 13: changePassword(); break;
+                    case 14: viewMetrics(); break;
+                    case 15:
+                        printMessage(UIFormatter.formatWarning("Logging out..."));
+                        break;
+                    default:
+                        printError("Invalid choice. Please try again.");
+                }
+            });
+            if (choice == 15) {
+                return;
             }
         }
     }
@@ -1165,7 +1205,6 @@ public class ManagerMenu {
             // Save the application changes
             if (appFacade instanceof access.application.ApplicationHandler) {
                 ((access.application.ApplicationHandler) appFacade).updateApplication(application);
-                ((access.application.ApplicationHandler) appFacade).saveChanges();
             }
             
             printSuccess("Application marked as successful. Unit will be assigned by an officer.");
@@ -1180,7 +1219,6 @@ public class ManagerMenu {
             // Save the application changes
             if (appFacade instanceof access.application.ApplicationHandler) {
                 ((access.application.ApplicationHandler) appFacade).updateApplication(application);
-                ((access.application.ApplicationHandler) appFacade).saveChanges();
             }
             
             printSuccess("Application marked as unsuccessful.");
@@ -1251,15 +1289,8 @@ public class ManagerMenu {
             WithdrawalRequest selectedWithdrawal = pendingWithdrawals.get(choice - 1);
             String applicationId = selectedWithdrawal.getApplicationId();
             
-            // Get the related application - need to find it within all applications
-            Application application = null;
-            List<Application> allApplications = appFacade.getAllApplications();
-            for (Application app : allApplications) {
-                if (app.getApplicationId().equals(applicationId)) {
-                    application = app;
-                    break;
-                }
-            }
+            // Get the related application through the handler's ID index
+            Application application = appFacade.getApplication(applicationId);
             
             if (application == null) {
                 printError("Error: Related application not found.");
@@ -1274,47 +1305,12 @@ public class ManagerMenu {
             
             // Prompt for approval/rejection
             if (readYesNo("Approve this withdrawal request? (Y/N): ")) {
-                // Approve withdrawal
-                selectedWithdrawal.setStatus(WithdrawalStatus.APPROVED);
-                selectedWithdrawal.setProcessDate(LocalDateTime.now());
-                
-                // Update the application status based on its current state
-                boolean wasSuccessful = application.getStatus() == ApplicationStatus.SUCCESSFUL || 
-                                        application.getStatus() == ApplicationStatus.BOOKED;
-                
-                // Mark as WITHDRAWN in system and "Unsuccessful" in the remarks
-                application.setStatus(ApplicationStatus.WITHDRAWN);
-                application.setRemarks("Application unsuccessful - Withdrawal approved by manager: " + projectManager.getName());
-                
-                // If the application was previously successful/booked, return the unit to available pool
-                if (wasSuccessful) {
-                    String unitType = application.getUnitType();
-                    project.incrementAvailableUnits(unitType);
-                    projectFacade.updateProject(project);
-                    saveProjectChanges(); // Save project changes
-                }
-                
-                // Save withdrawal changes
-                withdrawalFacade.approveWithdrawal(selectedWithdrawal.getRequestId());
-                
-                // Save the application status change properly
-                if (appFacade instanceof access.application.ApplicationHandler) {
-                    ((access.application.ApplicationHandler) appFacade).updateApplication(application);
-                    ((access.application.ApplicationHandler) appFacade).saveChanges();
-                }
-                
+                // Withdraw the application and return its unit if one was booked
+                withdrawalProcess.approve(selectedWithdrawal.getRequestId(), projectManager, null);
                 printSuccess("Withdrawal request approved successfully.");
             } else {
-                // Reject withdrawal
                 String reason = readString("Enter rejection reason: ");
-                
-                selectedWithdrawal.setStatus(WithdrawalStatus.REJECTED);
-                selectedWithdrawal.setProcessDate(LocalDateTime.now());
-                selectedWithdrawal.setRemarks(reason);
-                
-                // Save changes
-                withdrawalFacade.rejectWithdrawal(selectedWithdrawal.getRequestId());
-                
+                withdrawalProcess.reject(selectedWithdrawal.getRequestId(), reason);
                 printSuccess("Withdrawal request rejected successfully.");
             }
         } catch (NumberFormatException e) {
@@ -1335,13 +1331,18 @@ public class ManagerMenu {
             System.out.println("5. Back to Manager Menu");
             try {
                 int choice = readChoice("Enter your choice: ", 1, 5);
-                switch (choice) {
-                    case 1: generateAllApplicantsReport(); break;
-                    case 2: generateMarriedApplicantsReport(); break;
-                    case 3: generateSingleApplicantsReport(); break;
-                    case 4: generateProjectReport(); break;
-                    case 5: return;
-                    default: printError("Invalid selection.");
+                MenuAction.run("Manager", REPORT_ACTIONS[choice], () -> {
+                    switch (choice) {
+                        case 1: generateAllApplicantsReport(); break;
+                        case 2: generateMarriedApplicantsReport(); break;
+                        case 3: generateSingleApplicantsReport(); break;
+                        case 4: generateProjectReport(); break;
+                        case 5: break;
+                        default: printError("Invalid selection.");
+                    }
+                });
+                if (choice == 5) {
+                    return;
                 }
             } catch (NumberFormatException e) {
                 printError("Please enter a valid number.");
@@ -1351,27 +1352,33 @@ public class ManagerMenu {
     
     private void generateAllApplicantsReport() {
         printHeader("All Applicants Report");
+        ReportEvent event = ReportEvent.start("All Applicants");
         List<Application> applications = appFacade.getAllApplications();
         
         if (applications.isEmpty()) {
+            event.finish(0);
             printError("No applications found in the system.");
             return;
         }
         
-        // Use TablePrinter for better formatted report
+        // Rows are printed as they are joined, so the column widths are fixed up front
         TablePrinter applicantsTable = new TablePrinter(new String[] {
             "Applicant", "NRIC", "Project", "Flat Type", "Status", "Age", "Marital Status"
-        });
+        }, new int[] {15, 9, 25, 9, 12, 3, 14});
         
-        // For each application, get the applicant details
-        for (Application app : applications) {
-            String applicantNric = app.getApplicantNric();
-            User applicant = findUserByNric(applicantNric);
+        // Join every application to its applicant through a single user snapshot
+        ReportEngine reportEngine = ReportEngine.fromDirectory(userDirectory);
+        Iterable<ReportRow> rows = reportEngine.join(applications);
+        int count = 0;
+        for (ReportRow row : rows) {
+            count++;
+            Application app = row.getApplication();
+            User applicant = row.getApplicant();
             
             if (applicant != null) {
-                applicantsTable.addRow(
+                applicantsTable.printRow(
                     TablePrinter.formatCell(applicant.getName(), 15),
-                    applicantNric,
+                    app.getApplicantNric(),
                     TablePrinter.formatCell(app.getProjectName(), 25),
                     app.getUnitType(),
                     UIFormatter.formatStatus(app.getStatus().toString()),
@@ -1381,104 +1388,63 @@ public class ManagerMenu {
             }
         }
         
-        applicantsTable.print();
         System.out.println(UIFormatter.highlight("Total Applications: " + applications.size()));
+        event.finish(count);
         
-        // Ask if user wants to save the report to a file
+        // Ask if user wants to save the report to a file; the join runs again as the file is written
         if (readYesNo("\nSave this report to a file? (Y/N): ")) {
-            saveReportToFile("all_applicants_report.txt", generateReportContent(applications, null));
+            saveReportToFile("all_applicants_report.txt", count, out -> reportEngine.writeApplicantsReport(rows, null, out));
         }
     }
     
     private void generateMarriedApplicantsReport() {
-        printHeader("Married Applicants Report");
-        List<Application> applications = appFacade.getAllApplications();
-        List<Application> marriedApplicantsApps = new ArrayList<>();
-        
-        // Filter applications for married applicants
-        for (Application app : applications) {
-            User applicant = findUserByNric(app.getApplicantNric());
-            if (applicant != null && applicant.getMaritalStatus().toString().equalsIgnoreCase("Married")) {
-                marriedApplicantsApps.add(app);
-            }
-        }
-        
-        if (marriedApplicantsApps.isEmpty()) {
-            printError("No applications from married applicants found.");
-            return;
-        }
-        
-        // Use TablePrinter for better formatted report
-        TablePrinter applicantsTable = new TablePrinter(new String[] {
-            "Applicant", "NRIC", "Project", "Flat Type", "Status", "Age"
-        });
-        
-        for (Application app : marriedApplicantsApps) {
-            User applicant = findUserByNric(app.getApplicantNric());
-            if (applicant != null) {
-                applicantsTable.addRow(
-                    TablePrinter.formatCell(applicant.getName(), 15),
-                    applicant.getNric(),
-                    TablePrinter.formatCell(app.getProjectName(), 25),
-                    app.getUnitType(),
-                    UIFormatter.formatStatus(app.getStatus().toString()),
-                    String.valueOf(applicant.getAge())
-                );
-            }
-        }
-        
-        applicantsTable.print();
-        System.out.println(UIFormatter.highlight("Total Applications from Married Applicants: " + marriedApplicantsApps.size()));
-        
-        // Ask if user wants to save the report to a file
-        if (readYesNo("\nSave this report to a file? (Y/N): ")) {
-            saveReportToFile("married_applicants_report.txt", generateReportContent(marriedApplicantsApps, "Married"));
-        }
+        generateMaritalStatusReport(MaritalStatus.MARRIED, "Married");
     }
     
     private void generateSingleApplicantsReport() {
-        printHeader("Single Applicants Report");
+        generateMaritalStatusReport(MaritalStatus.SINGLE, "Single");
+    }
+    
+    // Helper method to report on the applications of applicants with one marital status
+    private void generateMaritalStatusReport(MaritalStatus maritalStatus, String label) {
+        printHeader(label + " Applicants Report");
+        ReportEvent event = ReportEvent.start(label + " Applicants");
         List<Application> applications = appFacade.getAllApplications();
-        List<Application> singleApplicantsApps = new ArrayList<>();
         
-        // Filter applications for single applicants
-        for (Application app : applications) {
-            User applicant = findUserByNric(app.getApplicantNric());
-            if (applicant != null && applicant.getMaritalStatus().toString().equalsIgnoreCase("Single")) {
-                singleApplicantsApps.add(app);
-            }
-        }
-        
-        if (singleApplicantsApps.isEmpty()) {
-            printError("No applications from single applicants found.");
-            return;
-        }
-        
-        // Use TablePrinter for better formatted report
+        // Rows are printed as they are joined, so the column widths are fixed up front
         TablePrinter applicantsTable = new TablePrinter(new String[] {
             "Applicant", "NRIC", "Project", "Flat Type", "Status", "Age"
-        });
+        }, new int[] {15, 9, 25, 9, 12, 3});
+        
+        // Join applications to their applicants and keep those with the marital status
+        ReportEngine reportEngine = ReportEngine.fromDirectory(userDirectory);
+        Iterable<ReportRow> rows = reportEngine.join(applications, maritalStatus);
+        int count = 0;
+        for (ReportRow row : rows) {
+            count++;
+            Application app = row.getApplication();
+            User applicant = row.getApplicant();
+            applicantsTable.printRow(
+                TablePrinter.formatCell(applicant.getName(), 15),
+                applicant.getNric(),
+                TablePrinter.formatCell(app.getProjectName(), 25),
+                app.getUnitType(),
+                UIFormatter.formatStatus(app.getStatus().toString()),
+                String.valueOf(applicant.getAge())
+            );
+        }
+        event.finish(count);
         
-        for (Application app : singleApplicantsApps) {
-            User applicant = findUserByNric(app.getApplicantNric());
-            if (applicant != null) {
-                applicantsTable.addRow(
-                    TablePrinter.formatCell(applicant.getName(), 15),
-                    applicant.getNric(),
-                    TablePrinter.formatCell(app.getProjectName(), 25),
-                    app.getUnitType(),
-                    UIFormatter.formatStatus(app.getStatus().toString()),
-                    String.valueOf(applicant.getAge())
-                );
-            }
+        if (count == 0) {
+            printError("No applications from " + label.toLowerCase() + " applicants found.");
+            return;
         }
         
-        applicantsTable.print();
-        System.out.println(UIFormatter.highlight("Total Applications from Single Applicants: " + singleApplicantsApps.size()));
+        System.out.println(UIFormatter.highlight("Total Applications from " + label + " Applicants: " + count));
         
-        // Ask if user wants to save the report to a file
+        // Ask if user wants to save the report to a file; the join runs again as the file is written
         if (readYesNo("\nSave this report to a file? (Y/N): ")) {
-            saveReportToFile("single_applicants_report.txt", generateReportContent(singleApplicantsApps, "Single"));
+            saveReportToFile(label.toLowerCase() + "_applicants_report.txt", count, out -> reportEngine.writeApplicantsReport(rows, label, out));
         }
     }
     
@@ -1517,9 +1483,11 @@ public class ManagerMenu {
             if (choice == 0) return;
             
             Project selectedProject = myProjects.get(choice - 1);
+            ReportEvent event = ReportEvent.start("Project " + selectedProject.getProjectName());
             List<Application> projectApplications = appFacade.getApplicationsByProject(selectedProject.getProjectName());
             
             if (projectApplications.isEmpty()) {
+                event.finish(0);
                 printError("No applications found for project: " + selectedProject.getProjectName());
                 return;
             }
@@ -1527,28 +1495,7 @@ public class ManagerMenu {
             printHeader("Report for " + selectedProject.getProjectName());
             
             // Summary statistics
-            int totalApplications = projectApplications.size();
-            int twoRoomApplications = 0;
-            int threeRoomApplications = 0;
-            int approvedApplications = 0;
-            int pendingApplications = 0;
-            int rejectedApplications = 0;
-            
-            for (Application app : projectApplications) {
-                if (app.getUnitType().equals("2-Room")) {
-                    twoRoomApplications++;
-                } else if (app.getUnitType().equals("3-Room")) {
-                    threeRoomApplications++;
-                }
-                
-                if (app.getStatus() == ApplicationStatus.SUCCESSFUL || app.getStatus() == ApplicationStatus.BOOKED) {
-                    approvedApplications++;
-                } else if (app.getStatus() == ApplicationStatus.PENDING) {
-                    pendingApplications++;
-                } else if (app.getStatus() == ApplicationStatus.UNSUCCESSFUL) {
-                    rejectedApplications++;
-                }
-            }
+            ApplicationSummary summary = appFacade.summarizeProject(selectedProject.getProjectName());
             
             // Print summary using TablePrinter
             System.out.println(UIFormatter.formatSectionHeader("Summary Statistics"));
@@ -1557,26 +1504,32 @@ public class ManagerMenu {
                 "Statistic", "Count"
             });
             
-            summaryTable.addRow("Total Applications", String.valueOf(totalApplications));
-            summaryTable.addRow("2-Room Applications", String.valueOf(twoRoomApplications));
-            summaryTable.addRow("3-Room Applications", String.valueOf(threeRoomApplications));
-            summaryTable.addRow("Approved/Booked", String.valueOf(approvedApplications));
-            summaryTable.addRow("Pending", String.valueOf(pendingApplications));
-            summaryTable.addRow("Rejected", String.valueOf(rejectedApplications));
+            summaryTable.addRow("Total Applications", String.valueOf(summary.getTotal()));
+            summaryTable.addRow("2-Room Applications", String.valueOf(summary.getTwoRoom()));
+            summaryTable.addRow("3-Room Applications", String.valueOf(summary.getThreeRoom()));
+            summaryTable.addRow("Approved/Booked", String.valueOf(summary.getApproved()));
+            summaryTable.addRow("Pending", String.valueOf(summary.getPending()));
+            summaryTable.addRow("Rejected", String.valueOf(summary.getRejected()));
             
             summaryTable.print();
             
             // Detailed list
             System.out.println(UIFormatter.formatSectionHeader("Detailed Application List"));
             
+            // Rows are printed as they are joined, so the column widths are fixed up front
             TablePrinter detailsTable = new TablePrinter(new String[] {
                 "Applicant", "NRIC", "Flat Type", "Status", "Age", "Marital Status"
-            });
-            
-            for (Application app : projectApplications) {
-                User applicant = findUserByNric(app.getApplicantNric());
+            }, new int[] {15, 9, 9, 12, 3, 14});
+            
+            ReportEngine reportEngine = ReportEngine.fromDirectory(userDirectory);
+            Iterable<ReportRow> rows = reportEngine.join(projectApplications);
+            int count = 0;
+            for (ReportRow row : rows) {
+                count++;
+                Application app = row.getApplication();
+                User applicant = row.getApplicant();
                 if (applicant != null) {
-                    detailsTable.addRow(
+                    detailsTable.printRow(
                         TablePrinter.formatCell(applicant.getName(), 15),
                         app.getApplicantNric(),
                         app.getUnitType(),
@@ -1585,7 +1538,7 @@ public class ManagerMenu {
                         applicant.getMaritalStatus().toString()
                     );
                 } else {
-                    detailsTable.addRow(
+                    detailsTable.printRow(
                         "Unknown",
                         app.getApplicantNric(),
                         app.getUnitType(),
@@ -1596,12 +1549,12 @@ public class ManagerMenu {
                 }
             }
             
-            detailsTable.print();
+            event.finish(count);
             
-            // Ask if user wants to save the report to a file
+            // Ask if user wants to save the report to a file; the join runs again as the file is written
             if (readYesNo("\nSave this report to a file? (Y/N): ")) {
-                saveReportToFile(selectedProject.getProjectName() + "_report.txt", 
-                                generateProjectReportContent(selectedProject, projectApplications));
+                saveReportToFile(selectedProject.getProjectName() + "_report.txt", count,
+                                out -> reportEngine.writeProjectReport(selectedProject, summary, rows, out));
             }
             
         } catch (NumberFormatException e) {
@@ -1611,148 +1564,34 @@ public class ManagerMenu {
     
     // Helper method to find a user by NRIC
     private User findUserByNric(String nric) {
-        List<User> users = FileIO.loadUsers();
-        for (User user : users) {
-            if (user.getNric().equals(nric)) {
-                return user;
-            }
-        }
-        return null;
-    }
-    
-    // Helper method to generate report content for saving to a file
-    private String generateReportContent(List<Application> applications, String maritalStatusFilter) {
-        StringBuilder content = new StringBuilder();
-        
-        // Add header
-        if (maritalStatusFilter == null) {
-            content.append("All Applicants Report\n");
-        } else {
-            content.append(maritalStatusFilter).append(" Applicants Report\n");
-        }
-        content.append("Generated on: ").append(LocalDate.now()).append("\n\n");
-        
-        // Add column headers
-        content.append(String.format("%-15s %-15s %-25s %-10s %-15s %-10s %s%n",
-                "Applicant", "NRIC", "Project", "Flat Type", "Status", "Age", "Marital Status"));
-        content.append(FileUtils.repeatChar('=', 100)).append("\n");
-        
-        // Add data rows
-        for (Application app : applications) {
-            User applicant = findUserByNric(app.getApplicantNric());
-            if (applicant != null) {
-                if (maritalStatusFilter == null || applicant.getMaritalStatus().toString().equalsIgnoreCase(maritalStatusFilter)) {
-                    content.append(String.format("%-15s %-15s %-25s %-10s %-15s %-10d %s%n",
-                            applicant.getName(),
-                            app.getApplicantNric(),
-                            app.getProjectName(),
-                            app.getUnitType(),
-                            app.getStatus(),
-                            applicant.getAge(),
-                            applicant.getMaritalStatus()
-                    ));
-                }
-            }
-        }
-        
-        content.append(FileUtils.repeatChar('=', 100)).append("\n");
-        content.append("Total Applications: ").append(applications.size());
-        
-        return content.toString();
-    }
-    
-    // Helper method to generate project-specific report content
-    private String generateProjectReportContent(Project project, List<Application> applications) {
-        StringBuilder content = new StringBuilder();
-        
-        // Project Info
-        content.append("Project Report: ").append(project.getProjectName()).append("\n");
-        content.append("Neighborhood: ").append(project.getNeighborhood()).append("\n");
-        content.append("Application Period: ").append(project.getApplicationOpeningDate())
-               .append(" to ").append(project.getApplicationClosingDate()).append("\n");
-        content.append("Generated on: ").append(LocalDate.now()).append("\n\n");
-        
-        // Summary
-        int totalApplications = applications.size();
-        int twoRoomApplications = 0;
-        int threeRoomApplications = 0;
-        int approvedApplications = 0;
-        int pendingApplications = 0;
-        int rejectedApplications = 0;
-        
-        for (Application app : applications) {
-            if (app.getUnitType().equals("2-Room")) {
-                twoRoomApplications++;
-            } else if (app.getUnitType().equals("3-Room")) {
-                threeRoomApplications++;
-            }
-            
-            if (app.getStatus() == ApplicationStatus.SUCCESSFUL || app.getStatus() == ApplicationStatus.BOOKED) {
-                approvedApplications++;
-            } else if (app.getStatus() == ApplicationStatus.PENDING) {
-                pendingApplications++;
-            } else if (app.getStatus() == ApplicationStatus.UNSUCCESSFUL) {
-                rejectedApplications++;
-            }
-        }
-        
-        content.append("Summary:\n");
-        content.append("Total Applications: ").append(totalApplications).append("\n");
-        content.append("2-Room Applications: ").append(twoRoomApplications).append("\n");
-        content.append("3-Room Applications: ").append(threeRoomApplications).append("\n");
-        content.append("Approved/Booked: ").append(approvedApplications).append("\n");
-        content.append("Pending: ").append(pendingApplications).append("\n");
-        content.append("Rejected: ").append(rejectedApplications).append("\n\n");
-        
-        // Detailed list with all required information
-        content.append("Detailed Application List:\n");
-        content.append(String.format("%-15s %-15s %-15s %-10s %-15s %-10s %-15s%n",
-                "Applicant", "NRIC", "Project", "Flat Type", "Status", "Age", "Marital Status"));
-        content.append(FileUtils.repeatChar('=', 100)).append("\n");
-        
-        for (Application app : applications) {
-            User applicant = findUserByNric(app.getApplicantNric());
-            if (applicant != null) {
-                content.append(String.format("%-15s %-15s %-15s %-10s %-15s %-10d %-15s%n",
-                        applicant.getName(),
-                        app.getApplicantNric(),
-                        truncate(project.getProjectName(), 15),
-                        app.getUnitType(),
-                        app.getStatus(),
-                        applicant.getAge(),
-                        applicant.getMaritalStatus()
-                ));
-            } else {
-                content.append(String.format("%-15s %-15s %-15s %-10s %-15s %-10s %-15s%n",
-                        "Unknown",
-                        app.getApplicantNric(),
-                        truncate(project.getProjectName(), 15),
-                        app.getUnitType(),
-                        app.getStatus(),
-                        "N/A",
-                        "N/A"
-                ));
-            }
-        }
-        
-        return content.toString();
+        return userDirectory.findAny(nric);
     }
     
-    // Helper method to save a report to a file
-    private void saveReportToFile(String filename, String content) {
+    // Helper method to stream a report to a file
+    private void saveReportToFile(String filename, int rows, ReportContent content) {
+        java.nio.file.Path path = java.nio.file.Paths.get("Reports", filename);
+        FileWriteEvent event = FileWriteEvent.start(path.toString());
+        long bytes = 0;
         try {
             // Create Reports directory if it doesn't exist
-            java.nio.file.Files.createDirectories(java.nio.file.Paths.get("Reports"));
-            
-            String filePath = "Reports/" + filename;
+            java.nio.file.Files.createDirectories(path.getParent());
             
-            // Java 8 compatible way to write string to file
-            java.nio.file.Path path = java.nio.file.Paths.get(filePath);
-            java.nio.file.Files.write(path, content.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            // Rows are written through a buffer as they are produced
+            try (ReportWriter out = ReportWriter.open(path)) {
+                content.writeTo(out);
+            }
+            bytes = java.nio.file.Files.size(path);
             
-            printSuccess("Report saved to " + filePath);
+            printSuccess("Report saved to " + path);
         } catch (Exception e) {
+            // Do not leave a truncated report behind
+            try {
+                java.nio.file.Files.deleteIfExists(path);
+            } catch (java.io.IOException ignored) {
+            }
             printError("Error saving report: " + e.getMessage());
+        } finally {
+            event.finish(bytes > 0 ? rows : 0, bytes);
         }
     }
     
@@ -1994,6 +1833,23 @@ public class ManagerMenu {
         return myProjects;
     }
 
+    /**
+     * Shows the latency of every handler and file operation since the system started,
+     * and optionally saves the figures to a CSV file.
+     */
+    private void viewMetrics() {
+        printHeader("PERFORMANCE METRICS");
+        System.out.println(Metrics.report());
+        String fileName = readString("Enter a file name to save the metrics to, or leave blank to return: ");
+        if (!fileName.isEmpty()) {
+            if (Metrics.dump(fileName)) {
+                printSuccess("Metrics saved to " + fileName);
+            } else {
+                printError("Metrics could not be saved.");
+            }
+        }
+    }
+
     private void changePassword() {
         printHeader("CHANGE PASSWORD");
         
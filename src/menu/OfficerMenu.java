@@ -1,5 +1,6 @@
 package menu;
 
+import access.application.Booking;
 import access.application.OfficerApplicationFeatures;
 import access.enquiry.OfficerEnquiryFeatures;
 import access.officerregistration.OfficerRegistrationApplicantFeatures;
@@ -44,6 +45,9 @@ public class OfficerMenu {
     private OfficerEnquiryFeatures enquiryFacade;
     private OfficerRegistrationApplicantFeatures regFacade;
     
+    /** Books units for successful applications through the project and application features */
+    private Booking booking;
+    
     /**
      * Constructs a new Officer Menu with the specified HDB Officer and feature interfaces.
      *
@@ -64,6 +68,7 @@ public class OfficerMenu {
         this.appFacade = appFacade;
         this.enquiryFacade = enquiryFacade;
         this.regFacade = regFacade;
+        this.booking = new Booking(projectFacade, appFacade);
         
         // Initialize color support based on terminal capabilities
         UIFormatter.setColorEnabled(UIFormatter.supportsColors());
@@ -128,14 +133,14 @@ public class OfficerMenu {
     
     private boolean hasAppliedForProjectAsApplicant(String projectName) {
         try {
-            // Get all applications
-            List<Application> allApplications = new ArrayList<>();
+            // Get the officer's own applications through the applicant index
+            List<Application> ownApplications = new ArrayList<>();
             if (appFacade instanceof access.application.ApplicationHandler) {
-                allApplications = ((access.application.ApplicationHandler) appFacade).getAllApplications();
+                ownApplications = ((access.application.ApplicationHandler) appFacade).getApplicationsForApplicant(officer.getNric());
             }
             
             // Check if the officer has applied for this project as an applicant
-            for (Application app : allApplications) {
+            for (Application app : ownApplications) {
                 if (app.getProjectName().equals(projectName) && 
                     app.getApplicantNric().equals(officer.getNric())) {
                     return true;
@@ -577,73 +582,21 @@ public class OfficerMenu {
                     return;
                 }
                 
-                // Get project to check for available units
-                Project project = getProjectByName(application.getProjectName());
-                if (project == null) {
-                    printError("Could not find project information.");
-                    System.out.println("\nPress Enter to continue...");
-                    scanner.nextLine();
-                    return;
-                }
-                
-                String unitType = application.getUnitType();
-                int availableUnits = project.getAvailableUnits(unitType);
-                
-                if (availableUnits <= 0) {
-                    printError("There are no available units of type " + unitType + " for this project.");
-                    if (!readYesNo("Continue with assignment anyway? (Y/N): ")) {
-                        return;
-                    }
-                }
-                
-                // Generate a unit number
-                String unitNumber = generateUnitNumber(unitType, project.getProjectName());
-                
-                // Confirm the assignment
-                System.out.println("\nAssigning unit: " + unitNumber);
-                System.out.println("Unit Type: " + unitType);
-                
-                if (!readYesNo("Confirm unit assignment? (Y/N): ")) {
-                    printMessage("Unit assignment cancelled.");
-                    return;
-                }
-                
                 try {
-                    // Preserve the approval date or set it to today if it's null
-                    LocalDate approvalDate = application.getApprovalDate();
-                    if (approvalDate == null) {
-                        approvalDate = LocalDate.now();
-                    }
-                    
-                    // Update application status
-                    application.setStatus(ApplicationStatus.BOOKED);
-                    application.setAssignedUnit(unitNumber);
-                    application.setAssignedOfficer(officer.getNric());
-                    application.setRemarks("BOOKED: Unit assigned by " + officer.getName());
-                    
-                    // Ensure approval date is set
-                    application.setApprovalDate(approvalDate);
-                    
-                    // Decrease available units count in project
-                    project.decrementAvailableUnits(unitType);
-                    
-                    // Save project changes
-                    if (projectFacade instanceof ProjectHandler) {
-                        ((ProjectHandler) projectFacade).updateProject(project);
-                        ((ProjectHandler) projectFacade).saveChanges();
-                    }
-                    
-                    // Update application
-                    appFacade.updateApplication(application);
-                    
-                    // Save changes to CSV file
-                    if (appFacade instanceof access.application.ApplicationHandler) {
-                        ((access.application.ApplicationHandler) appFacade).saveChanges();
+                    // Reserve a unit, allocate its number and book it, undoing every step if one fails
+                    Application booked = booking.book(application.getApplicationId(), officer, unitNumber -> {
+                        System.out.println("\nAssigning unit: " + unitNumber);
+                        System.out.println("Unit Type: " + application.getUnitType());
+                        return readYesNo("Confirm unit assignment? (Y/N): ");
+                    });
+                    if (booked == null) {
+                        printMessage("Unit assignment cancelled.");
+                        return;
                     }
-                    
                     printSuccess("Unit successfully assigned! Application status updated to BOOKED.");
                     printMessage("You can now generate a booking receipt for this application.");
-                    
+                } catch (IllegalArgumentException e) {
+                    printError(e.getMessage());
                 } catch (Exception e) {
                     printError("Error assigning unit: " + e.getMessage());
                 }
@@ -698,48 +651,6 @@ public class OfficerMenu {
         return null;
     }
     
-    /**
-     * Generates a unique unit number for a new assignment
-     * @param unitType The type of unit (2-Room or 3-Room)
-     * @param projectName The project name
-     * @return A generated unit number
-     */
-    private String generateUnitNumber(String unitType, String projectName) {
-        // Generate a unique identifier based on project name
-        String projectCode = projectName.substring(0, Math.min(3, projectName.length())).toUpperCase();
-        
-        // Get the unit type prefix
-        String typePrefix = unitType.startsWith("2") ? "2R" : "3R";
-        
-        // Load all applications for this project to check for existing unit numbers
-        List<Application> projectApplications = new ArrayList<>();
-        if (appFacade instanceof access.application.ApplicationHandler) {
-            projectApplications = appFacade.getApplicationsForProject(projectName);
-        }
-        
-        // Keep generating until we find an unused unit number
-        String unitNumber;
-        boolean isUnique;
-        do {
-            // Generate a random number between 100 and 999
-            int random = 100 + (int)(Math.random() * 900);
-            
-            // Combine to form a unit number
-            unitNumber = projectCode + "-" + typePrefix + "-" + random;
-            
-            // Check if this unit number already exists in any application
-            isUnique = true;
-            for (Application app : projectApplications) {
-                if (unitNumber.equals(app.getAssignedUnit())) {
-                    isUnique = false;
-                    break;
-                }
-            }
-        } while (!isUnique);
-        
-        return unitNumber;
-    }
-    
     private void generateBookingReceipt() {
         printHeader("GENERATE BOOKING RECEIPT");
         
@@ -1161,13 +1072,7 @@ public class OfficerMenu {
             // Use the replyEnquiry method instead of updateEnquiry
             enquiryFacade.replyEnquiry(selectedEnquiry.getEnquiryId(), reply);
             
-            // Save changes to CSV file
-            if (enquiryFacade instanceof access.enquiry.EnquiryHandler) {
-                ((access.enquiry.EnquiryHandler) enquiryFacade).saveChanges();
-                printSuccess("Reply sent successfully and saved to database!");
-            } else {
-                printSuccess("Reply sent successfully!");
-            }
+            printSuccess("Reply sent successfully and saved to database!");
         } catch (Exception e) {
             printError("Error replying to enquiry: " + e.getMessage());
         }
@@ -1228,13 +1133,7 @@ public class OfficerMenu {
         // Use the replyEnquiry method from the interface instead of updateEnquiry
         enquiryFacade.replyEnquiry(selectedEnquiry.getEnquiryId(), reply);
         
-        // Save changes to CSV file
-        if (enquiryFacade instanceof access.enquiry.EnquiryHandler) {
-            ((access.enquiry.EnquiryHandler) enquiryFacade).saveChanges();
-            printSuccess("Reply sent successfully and saved to database!");
-        } else {
-            printSuccess("Reply sent successfully!");
-        }
+        printSuccess("Reply sent successfully and saved to database!");
     }
 
     private void respondToEnquiry(Enquiry enquiry) {
@@ -1263,13 +1162,7 @@ public class OfficerMenu {
             // Use the officer's NRIC for the response
             enquiryFacade.replyEnquiry(enquiry.getEnquiryId(), response);
             
-            // Save changes to CSV file
-            if (enquiryFacade instanceof access.enquiry.EnquiryHandler) {
-                ((access.enquiry.EnquiryHandler) enquiryFacade).saveChanges();
-                printSuccess("Response submitted successfully and saved to database!");
-            } else {
-                printSuccess("Response submitted successfully.");
-            }
+            printSuccess("Response submitted successfully and saved to database!");
         } catch (Exception e) {
             printError("Error replying to enquiry: " + e.getMessage());
         }
@@ -0,0 +1,76 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for reading and parsing one CSV data file.
+ * <pre>
+ * FileReadEvent event = FileReadEvent.start(fileName);
+ * ...
+ * event.finish(rows, bytes);
+ * </pre>
+ */
+@Name("bto.FileRead")
+@Label("CSV File Read")
+@Category({"BTO", "Persistence"})
+@Description("Reading and parsing a CSV data file")
+public class FileReadEvent extends Event {
+    /** Name of the file read */
+    @Label("File")
+    private final String fileName;
+
+    /** Number of records read, including any header row */
+    @Label("Rows")
+    private long rows;
+
+    /** Size of the file */
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /** Menu action the file was read for */
+    @Label("Menu Action")
+    private String action;
+
+    /**
+     * Constructs the event of a file read.
+     *
+     * @param fileName Name of the file read
+     */
+    private FileReadEvent(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Starts timing a file read.
+     *
+     * @param fileName Name of the file read
+     * @return The started event
+     */
+    public static FileReadEvent start(String fileName) {
+        FileReadEvent event = new FileReadEvent(fileName);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the read and records the event if the recorder is taking it.
+     *
+     * @param rows Number of records read
+     * @param bytes Size of the file
+     */
+    public void finish(long rows, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.action = MenuAction.current();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for writing one data file, until it is durably in place.
+ * <pre>
+ * FileWriteEvent event = FileWriteEvent.start(fileName);
+ * ...
+ * event.finish(rows, bytes);
+ * </pre>
+ */
+@Name("bto.FileWrite")
+@Label("Data File Write")
+@Category({"BTO", "Persistence"})
+@Description("Writing a data file and forcing it to disk")
+public class FileWriteEvent extends Event {
+    /** Name of the file written */
+    @Label("File")
+    private final String fileName;
+
+    /** Number of records or report rows written; 0 for a binary file */
+    @Label("Rows")
+    private long rows;
+
+    /** Size of the file */
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /** Menu action the file was written for */
+    @Label("Menu Action")
+    private String action;
+
+    /**
+     * Constructs the event of a file write.
+     *
+     * @param fileName Name of the file written
+     */
+    private FileWriteEvent(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Starts timing a file write.
+     *
+     * @param fileName Name of the file written
+     * @return The started event
+     */
+    public static FileWriteEvent start(String fileName) {
+        FileWriteEvent event = new FileWriteEvent(fileName);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the write and records the event if the recorder is taking it.
+     *
+     * @param rows Number of records written
+     * @param bytes Size of the file
+     */
+    public void finish(long rows, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.action = MenuAction.current();
+            commit();
+        }
+    }
+}
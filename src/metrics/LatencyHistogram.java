@@ -0,0 +1,187 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, with buckets laid out like an HDR
+ * histogram: every power of two is split into {@value #SUB_BUCKETS} equal sub-buckets, so
+ * any recorded value is known to within 1/{@value #SUB_BUCKETS} of itself across the whole
+ * range from nanoseconds to hours, in a fixed array of counts.
+ *
+ * Recording is a few arithmetic operations and one atomic increment, and never blocks.
+ * Reading while values are being recorded gives counts that may be slightly out of step
+ * with each other, which is acceptable for monitoring.
+ */
+public class LatencyHistogram {
+    /** log2 of the number of sub-buckets per power of two */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** Number of sub-buckets per power of two */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Number of buckets needed to cover every non-negative long */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Number of values recorded in each bucket */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /** Sum of all recorded values, for the mean */
+    private final LongAdder total = new LongAdder();
+
+    /** Largest value recorded */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one value.
+     *
+     * @param nanos The latency in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the histogram for reporting.
+     *
+     * @param name The name of the operation measured
+     * @return The snapshot
+     */
+    public Snapshot snapshot(String name) {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(name, copy, count, total.sum(), max.get());
+    }
+
+    /**
+     * Finds the bucket of a value.
+     *
+     * @param value The non-negative value
+     * @return The bucket index
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest value that falls in a bucket.
+     *
+     * @param bucket The bucket index
+     * @return The upper bound of the bucket
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Point-in-time copy of a histogram, from which percentiles are read.
+     */
+    public static class Snapshot {
+        /** Name of the operation measured */
+        private final String name;
+
+        /** Number of values in each bucket */
+        private final long[] counts;
+
+        /** Number of values recorded */
+        private final long count;
+
+        /** Sum of the values recorded */
+        private final long total;
+
+        /** Largest value recorded */
+        private final long max;
+
+        /**
+         * Constructs a snapshot.
+         *
+         * @param name Name of the operation measured
+         * @param counts Number of values in each bucket
+         * @param count Number of values recorded
+         * @param total Sum of the values recorded
+         * @param max Largest value recorded
+         */
+        Snapshot(String name, long[] counts, long count, long total, long max) {
+            this.name = name;
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * Gets the name of the operation measured.
+         *
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of values recorded.
+         *
+         * @return The count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean of the values recorded.
+         *
+         * @return The mean in nanoseconds, or 0 if none were recorded
+         */
+        public double getMean() {
+            return count > 0 ? (double) total / count : 0;
+        }
+
+        /**
+         * Gets the largest value recorded.
+         *
+         * @return The maximum in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets a percentile of the values recorded, as the upper bound of the bucket it falls in.
+         *
+         * @param fraction The percentile as a fraction, e.g. 0.99
+         * @return The percentile in nanoseconds, or 0 if none were recorded
+         */
+        public long getPercentile(double fraction) {
+            long rank = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, rank)) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a login, timed over looking the user up and checking the
+ * password but not over the prompts in between.
+ * <pre>
+ * LoginEvent event = LoginEvent.start(nric, "MANAGER");
+ * ...look the user up...
+ * event.lookedUp();
+ * ...prompt for the password...
+ * event.finish("SUCCESS");
+ * </pre>
+ */
+@Name("bto.Login")
+@Label("Login")
+@Category({"BTO", "Authentication"})
+@Description("Looking up the user logging in and checking their password")
+public class LoginEvent extends Event {
+    /** NRIC entered */
+    @Label("NRIC")
+    private final String nric;
+
+    /** User type logged in as, or ANY */
+    @Label("User Type")
+    private final String userType;
+
+    /** How the login ended: SUCCESS, NOT_FOUND or WRONG_PASSWORD */
+    @Label("Result")
+    private String result;
+
+    /** Menu action the login was made in */
+    @Label("Menu Action")
+    private String action;
+
+    /**
+     * Constructs the event of a login.
+     *
+     * @param nric NRIC entered
+     * @param userType User type logged in as
+     */
+    private LoginEvent(String nric, String userType) {
+        this.nric = nric;
+        this.userType = userType;
+    }
+
+    /**
+     * Starts timing a login, before the user is looked up.
+     *
+     * @param nric NRIC entered
+     * @param userType User type logged in as, or ANY
+     * @return The started event
+     */
+    public static LoginEvent start(String nric, String userType) {
+        LoginEvent event = new LoginEvent(nric, userType);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing once the user has been looked up, so prompting for the password is not timed.
+     */
+    public void lookedUp() {
+        end();
+    }
+
+    /**
+     * Records the event if the recorder is taking it. A login that ends before
+     * {@link #lookedUp()} is timed up to this call.
+     *
+     * @param result How the login ended: SUCCESS, NOT_FOUND or WRONG_PASSWORD
+     */
+    public void finish(String result) {
+        if (shouldCommit()) {
+            this.result = result;
+            this.action = MenuAction.current();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * The menu action the current thread is carrying out, such as "Manager > Generate Reports".
+ * A menu begins an action around each choice it dispatches, and the flight recorder events
+ * of the file reads, saves, logins and reports done meanwhile name the action, so a
+ * recording shows which screen a slow operation came from. Actions begun inside another
+ * action, like a submenu choice, are named after both. Every action is also recorded as a
+ * {@link MenuActionEvent}; since an action spans the prompts shown to the user, its duration
+ * includes the time spent waiting for input, while the events inside it do not.
+ * <pre>
+ * MenuAction.run("Manager", "Generate Reports", this::generateReports);
+ * </pre>
+ */
+public class MenuAction implements AutoCloseable {
+    /** Name of the action the current thread is carrying out, or null outside any action */
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /** Name of the action this one was begun in, restored when it ends */
+    private final String previous;
+
+    /** The event recording this action */
+    private final MenuActionEvent event;
+
+    /**
+     * Constructs an action and makes it the current thread's action.
+     *
+     * @param name The full name of the action
+     */
+    private MenuAction(String name) {
+        this.previous = CURRENT.get();
+        this.event = new MenuActionEvent(name);
+        CURRENT.set(name);
+        event.begin();
+    }
+
+    /**
+     * Begins an action on the current thread.
+     *
+     * @param menu The menu or interface the action is chosen from, e.g. Manager
+     * @param action The action chosen, e.g. Generate Reports
+     * @return The action, to be closed when it is done
+     */
+    public static MenuAction begin(String menu, String action) {
+        String previous = CURRENT.get();
+        return new MenuAction(previous != null ? previous + " > " + action : menu + " > " + action);
+    }
+
+    /**
+     * Carries out an action on the current thread.
+     *
+     * @param menu The menu or interface the action is chosen from, e.g. Manager
+     * @param action The action chosen, e.g. Generate Reports
+     * @param body The work of the action
+     */
+    public static void run(String menu, String action, Runnable body) {
+        MenuAction current = begin(menu, action);
+        try {
+            body.run();
+        } finally {
+            current.close();
+        }
+    }
+
+    /**
+     * Carries out an action that produces a result on the current thread.
+     *
+     * @param <T> The type of the result
+     * @param menu The menu or interface the action is chosen from, e.g. Manager
+     * @param action The action chosen, e.g. Login
+     * @param body The work of the action
+     * @return The result of the work
+     */
+    public static <T> T call(String menu, String action, Supplier<T> body) {
+        MenuAction current = begin(menu, action);
+        try {
+            return body.get();
+        } finally {
+            current.close();
+        }
+    }
+
+    /**
+     * Gets the action the current thread is carrying out.
+     *
+     * @return The name of the action, or null outside any action
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Ends the action, records its event and restores the action it was begun in.
+     */
+    @Override
+    public void close() {
+        event.commit();
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning one menu action or API request, from the choice to the
+ * return to the menu. Begun and ended through {@link MenuAction}.
+ */
+@Name("bto.MenuAction")
+@Label("Menu Action")
+@Category({"BTO", "Menu"})
+@Description("A menu action or API request, including any time spent waiting for input")
+public class MenuActionEvent extends Event {
+    /** Full name of the action */
+    @Label("Menu Action")
+    private final String action;
+
+    /**
+     * Constructs the event of an action.
+     *
+     * @param action Full name of the action
+     */
+    MenuActionEvent(String action) {
+        this.action = action;
+    }
+}
@@ -0,0 +1,242 @@
+package metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import utils.TablePrinter;
+
+/**
+ * Process-wide registry of latency histograms and counters, keyed by operation name such
+ * as ApplicationHandler.approveApplication. Handlers time the entry points of their feature
+ * interfaces, and only those, so a call made through a menu or the API records one sample
+ * however many helpers it goes through:
+ * <pre>
+ * return Metrics.call("ProjectHandler.getProject", () -> getProjectByName(projectName));
+ * </pre>
+ * File operations, which may be called in a loop, time themselves with
+ * <pre>
+ * long start = Metrics.start();
+ * try {
+ *     ...
+ * } finally {
+ *     Metrics.record("FileIO.saveProjects", start);
+ * }
+ * </pre>
+ * Histograms and counters are created on first use and never removed. Recording takes two
+ * clock reads, a map lookup and a lock-free histogram update, so it is left on by default;
+ * running with -Dbto.metrics=false turns it off, and -Dbto.metrics.file=[path] writes the
+ * metrics to a CSV file when the application exits.
+ */
+public class Metrics {
+    /** Whether metrics are recorded */
+    private static final boolean ENABLED = !"false".equals(System.getProperty("bto.metrics"));
+
+    /** File the metrics are written to on exit, or null to not write them */
+    private static final String DUMP_FILE = System.getProperty("bto.metrics.file");
+
+    /** Latency histograms by operation name */
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    /** Counters by name */
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor, since all members are static.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return The start time to pass to {@link #record}, or 0 if metrics are off
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the latency of an operation that started at the given time.
+     *
+     * @param name The operation name
+     * @param start The time returned by {@link #start()}
+     */
+    public static void record(String name, long start) {
+        if (ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            histogram(name).record(elapsed);
+        }
+    }
+
+    /**
+     * Runs an operation and records its latency.
+     *
+     * @param <T> The type of the result
+     * @param name The operation name
+     * @param operation The operation
+     * @return The result of the operation
+     */
+    public static <T> T call(String name, Supplier<T> operation) {
+        long start = start();
+        try {
+            return operation.get();
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Runs an operation without a result and records its latency.
+     *
+     * @param name The operation name
+     * @param operation The operation
+     */
+    public static void run(String name, Runnable operation) {
+        long start = start();
+        try {
+            operation.run();
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param name The counter name
+     * @param amount The amount to add
+     */
+    public static void count(String name, long amount) {
+        if (ENABLED) {
+            LongAdder counter = COUNTERS.get(name);
+            if (counter == null) {
+                counter = COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+            }
+            counter.add(amount);
+        }
+    }
+
+    /**
+     * Takes snapshots of every histogram that has recorded a value.
+     *
+     * @return The snapshots, ordered by operation name
+     */
+    public static List<LatencyHistogram.Snapshot> histograms() {
+        List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot(entry.getKey());
+            if (snapshot.getCount() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Reads every counter.
+     *
+     * @return The counter values, ordered by name
+     */
+    public static Map<String, Long> counters() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : COUNTERS.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().sum());
+        }
+        return values;
+    }
+
+    /**
+     * Formats the histograms and counters as tables, with latencies in microseconds.
+     *
+     * @return The formatted metrics
+     */
+    public static String report() {
+        if (!ENABLED) {
+            return "Metrics are turned off (-Dbto.metrics=false).\n";
+        }
+        TablePrinter latencies = new TablePrinter(new String[] {
+            "Operation", "Count", "Mean us", "p50 us", "p90 us", "p99 us", "p99.9 us", "Max us"});
+        for (LatencyHistogram.Snapshot snapshot : histograms()) {
+            latencies.addRow(snapshot.getName(), String.valueOf(snapshot.getCount()),
+                    micros(snapshot.getMean()), micros(snapshot.getPercentile(0.50)),
+                    micros(snapshot.getPercentile(0.90)), micros(snapshot.getPercentile(0.99)),
+                    micros(snapshot.getPercentile(0.999)), micros(snapshot.getMax()));
+        }
+        TablePrinter counters = new TablePrinter(new String[] {"Counter", "Value"});
+        for (Map.Entry<String, Long> entry : counters().entrySet()) {
+            counters.addRow(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        return latencies + "\n" + counters;
+    }
+
+    /**
+     * Writes the histograms and counters to a CSV file, one row per operation or counter,
+     * with latencies in nanoseconds.
+     *
+     * @param fileName Path of the file to write
+     * @return true if the file was written, false otherwise
+     */
+    public static boolean dump(String fileName) {
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(
+                Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8)))) {
+            out.println("Name,Count,Mean ns,p50 ns,p90 ns,p99 ns,p99.9 ns,Max ns");
+            for (LatencyHistogram.Snapshot snapshot : histograms()) {
+                out.printf(Locale.ROOT, "%s,%d,%.0f,%d,%d,%d,%d,%d%n", snapshot.getName(), snapshot.getCount(),
+                        snapshot.getMean(), snapshot.getPercentile(0.50), snapshot.getPercentile(0.90),
+                        snapshot.getPercentile(0.99), snapshot.getPercentile(0.999), snapshot.getMax());
+            }
+            for (Map.Entry<String, Long> entry : counters().entrySet()) {
+                out.println(entry.getKey() + "," + entry.getValue() + ",,,,,,");
+            }
+            return !out.checkError();
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes the metrics to the file named by -Dbto.metrics.file when the JVM exits,
+     * if the property is set.
+     */
+    public static void dumpOnExit() {
+        if (ENABLED && DUMP_FILE != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(DUMP_FILE), "bto-metrics-dump"));
+        }
+    }
+
+    /**
+     * Gets the histogram of an operation, creating it on first use.
+     *
+     * @param name The operation name
+     * @return The histogram
+     */
+    private static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = HISTOGRAMS.get(name);
+        if (histogram == null) {
+            histogram = HISTOGRAMS.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * Formats nanoseconds as microseconds with one decimal.
+     *
+     * @param nanos The duration in nanoseconds
+     * @return The formatted duration
+     */
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000);
+    }
+}
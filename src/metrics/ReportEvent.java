@@ -0,0 +1,65 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for generating a report: joining its applications to their
+ * applicants and laying out its rows, up to the prompt to save it. Saving the report is
+ * recorded as a separate {@link FileWriteEvent}.
+ */
+@Name("bto.Report")
+@Label("Report Generation")
+@Category({"BTO", "Reports"})
+@Description("Joining and laying out a report, excluding prompts and saving")
+public class ReportEvent extends Event {
+    /** Name of the report, e.g. Married Applicants */
+    @Label("Report")
+    private final String report;
+
+    /** Number of rows in the report */
+    @Label("Rows")
+    private long rows;
+
+    /** Menu action the report was generated for */
+    @Label("Menu Action")
+    private String action;
+
+    /**
+     * Constructs the event of a report.
+     *
+     * @param report Name of the report
+     */
+    private ReportEvent(String report) {
+        this.report = report;
+    }
+
+    /**
+     * Starts timing a report.
+     *
+     * @param report Name of the report, e.g. Married Applicants
+     * @return The started event
+     */
+    public static ReportEvent start(String report) {
+        ReportEvent event = new ReportEvent(report);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the report and records the event if the recorder is taking it.
+     *
+     * @param rows Number of rows in the report
+     */
+    public void finish(long rows) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.action = MenuAction.current();
+            commit();
+        }
+    }
+}
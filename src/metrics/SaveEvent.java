@@ -0,0 +1,64 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a handler saving all of its records, rewriting its data file.
+ * The write of the file itself is recorded as a nested {@link FileWriteEvent}.
+ */
+@Name("bto.Save")
+@Label("Handler Save")
+@Category({"BTO", "Persistence"})
+@Description("A handler rewriting its data file with all of its records")
+public class SaveEvent extends Event {
+    /** Name of the handler saving, e.g. ApplicationHandler */
+    @Label("Handler")
+    private final String handler;
+
+    /** Number of records saved */
+    @Label("Rows")
+    private long rows;
+
+    /** Menu action the save was made for */
+    @Label("Menu Action")
+    private String action;
+
+    /**
+     * Constructs the event of a save.
+     *
+     * @param handler Name of the handler saving
+     */
+    private SaveEvent(String handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Starts timing a save.
+     *
+     * @param handler Name of the handler saving, e.g. ApplicationHandler
+     * @return The started event
+     */
+    public static SaveEvent start(String handler) {
+        SaveEvent event = new SaveEvent(handler);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the save and records the event if the recorder is taking it.
+     *
+     * @param rows Number of records saved
+     */
+    public void finish(long rows) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.action = MenuAction.current();
+            commit();
+        }
+    }
+}
@@ -110,6 +110,19 @@ public class Application {
         this.lastUpdated = LocalDateTime.now();
     }
 
+    /**
+     * Copy constructor, creating an application with the same attributes as another.
+     * Later changes to either application do not affect the other.
+     *
+     * @param other The application to copy
+     */
+    public Application(Application other) {
+        this(other.getApplicationId(), other.getApplicantNric(), other.getProjectName(), other.getUnitType(),
+                other.getStatus(), other.getAssignedUnit(), other.getAssignedOfficer(),
+                other.getApplicationDate(), other.getLastUpdated(), other.getRemarks());
+        this.approvalDate = other.getApprovalDate();
+    }
+
     // Getters
     /**
      * Gets the unique identifier of this application.
@@ -278,30 +291,30 @@ public class Application {
     public String generateReceipt() {
         StringBuilder receipt = new StringBuilder();
         receipt.append("=== BTO Application Receipt ===\n")
-               .append("Application ID: ").append(applicationId).append("\n")
-               .append("Applicant NRIC: ").append(applicantNric).append("\n")
-               .append("Project: ").append(projectName).append("\n")
-               .append("Unit Type: ").append(unitType).append("\n")
-               .append("Status: ").append(status).append("\n")
-               .append("Application Date: ").append(applicationDate).append("\n");
+               .append("Application ID: ").append(getApplicationId()).append("\n")
+               .append("Applicant NRIC: ").append(getApplicantNric()).append("\n")
+               .append("Project: ").append(getProjectName()).append("\n")
+               .append("Unit Type: ").append(getUnitType()).append("\n")
+               .append("Status: ").append(getStatus()).append("\n")
+               .append("Application Date: ").append(getApplicationDate()).append("\n");
         
-        if (assignedUnit != null) {
-            receipt.append("Assigned Unit: ").append(assignedUnit).append("\n");
+        if (getAssignedUnit() != null) {
+            receipt.append("Assigned Unit: ").append(getAssignedUnit()).append("\n");
         }
         
-        if (assignedOfficer != null) {
-            receipt.append("Assigned Officer: ").append(assignedOfficer).append("\n");
+        if (getAssignedOfficer() != null) {
+            receipt.append("Assigned Officer: ").append(getAssignedOfficer()).append("\n");
         }
         
-        if (approvalDate != null) {
-            receipt.append("Approval Date: ").append(approvalDate).append("\n");
+        if (getApprovalDate() != null) {
+            receipt.append("Approval Date: ").append(getApprovalDate()).append("\n");
         }
         
-        if (remarks != null && !remarks.trim().isEmpty()) {
-            receipt.append("Remarks: ").append(remarks).append("\n");
+        if (getRemarks() != null && !getRemarks().trim().isEmpty()) {
+            receipt.append("Remarks: ").append(getRemarks()).append("\n");
         }
         
-        receipt.append("Last Updated: ").append(lastUpdated);
+        receipt.append("Last Updated: ").append(getLastUpdated());
         return receipt.toString();
     }
 
@@ -313,6 +326,6 @@ public class Application {
     @Override
     public String toString() {
         return String.format("Application %s: %s - %s (%s)",
-                applicationId, projectName, unitType, status);
+                getApplicationId(), getProjectName(), getUnitType(), getStatus());
     }
 }
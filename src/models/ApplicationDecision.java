@@ -0,0 +1,103 @@
+package models;
+
+import models.enums.ApplicationStatus;
+
+/**
+ * A manager's decision on one pending application, to be applied as part of a batch.
+ * Approving marks the application successful and leaves the unit to be assigned by an
+ * officer; rejecting marks it unsuccessful with the reason in its remarks.
+ */
+public class ApplicationDecision {
+    /** Remarks recorded on an approved application, as in the interactive approval */
+    public static final String APPROVED_REMARKS = "SUCCESSFUL: Pending unit assignment by officer";
+
+    /** ID of the application decided on */
+    private final String applicationId;
+
+    /** Status the application is given, SUCCESSFUL or UNSUCCESSFUL */
+    private final ApplicationStatus status;
+
+    /** Remarks recorded on the application */
+    private final String remarks;
+
+    /**
+     * Constructs a decision.
+     *
+     * @param applicationId ID of the application decided on
+     * @param status Status the application is given
+     * @param remarks Remarks recorded on the application
+     */
+    private ApplicationDecision(String applicationId, ApplicationStatus status, String remarks) {
+        this.applicationId = applicationId;
+        this.status = status;
+        this.remarks = remarks;
+    }
+
+    /**
+     * Creates a decision to approve an application.
+     *
+     * @param applicationId ID of the application
+     * @return The decision
+     */
+    public static ApplicationDecision approve(String applicationId) {
+        return new ApplicationDecision(applicationId, ApplicationStatus.SUCCESSFUL, APPROVED_REMARKS);
+    }
+
+    /**
+     * Creates a decision to reject an application.
+     *
+     * @param applicationId ID of the application
+     * @param reason Why the application is rejected
+     * @return The decision
+     */
+    public static ApplicationDecision reject(String applicationId, String reason) {
+        return new ApplicationDecision(applicationId, ApplicationStatus.UNSUCCESSFUL, "UNSUCCESSFUL: " + reason);
+    }
+
+    /**
+     * Creates the same decision for another application, sharing the remarks, so that
+     * deciding many applications alike does not build the remarks once per application.
+     *
+     * @param applicationId ID of the other application
+     * @return The decision for that application
+     */
+    public ApplicationDecision forApplication(String applicationId) {
+        return new ApplicationDecision(applicationId, status, remarks);
+    }
+
+    /**
+     * Gets the ID of the application decided on.
+     *
+     * @return The application ID
+     */
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    /**
+     * Gets the status the application is given.
+     *
+     * @return SUCCESSFUL or UNSUCCESSFUL
+     */
+    public ApplicationStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks whether the decision approves the application.
+     *
+     * @return true if the application is approved
+     */
+    public boolean isApproval() {
+        return status == ApplicationStatus.SUCCESSFUL;
+    }
+
+    /**
+     * Gets the remarks recorded on the application.
+     *
+     * @return The remarks
+     */
+    public String getRemarks() {
+        return remarks;
+    }
+}
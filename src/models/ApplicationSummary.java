@@ -0,0 +1,131 @@
+package models;
+
+import java.util.Collection;
+import models.enums.ApplicationStatus;
+
+/**
+ * Summary statistics over a group of applications, such as all applications for one project.
+ * Used by the project reports, which show these counts above the detailed application list.
+ */
+public class ApplicationSummary {
+    /** Number of applications in the group */
+    private final int total;
+
+    /** Number of applications for a 2-Room unit */
+    private final int twoRoom;
+
+    /** Number of applications for a 3-Room unit */
+    private final int threeRoom;
+
+    /** Number of applications that are successful or booked */
+    private final int approved;
+
+    /** Number of applications that are pending */
+    private final int pending;
+
+    /** Number of applications that are unsuccessful */
+    private final int rejected;
+
+    /**
+     * Constructs a summary from precomputed counts.
+     *
+     * @param total Number of applications in the group
+     * @param twoRoom Number of applications for a 2-Room unit
+     * @param threeRoom Number of applications for a 3-Room unit
+     * @param approved Number of applications that are successful or booked
+     * @param pending Number of applications that are pending
+     * @param rejected Number of applications that are unsuccessful
+     */
+    public ApplicationSummary(int total, int twoRoom, int threeRoom, int approved, int pending, int rejected) {
+        this.total = total;
+        this.twoRoom = twoRoom;
+        this.threeRoom = threeRoom;
+        this.approved = approved;
+        this.pending = pending;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Counts the applications in a group.
+     *
+     * @param applications The applications to summarize
+     * @return The summary of the applications
+     */
+    public static ApplicationSummary of(Collection<Application> applications) {
+        int twoRoom = 0;
+        int threeRoom = 0;
+        int approved = 0;
+        int pending = 0;
+        int rejected = 0;
+        for (Application app : applications) {
+            if ("2-Room".equals(app.getUnitType())) {
+                twoRoom++;
+            } else if ("3-Room".equals(app.getUnitType())) {
+                threeRoom++;
+            }
+
+            if (app.getStatus() == ApplicationStatus.SUCCESSFUL || app.getStatus() == ApplicationStatus.BOOKED) {
+                approved++;
+            } else if (app.getStatus() == ApplicationStatus.PENDING) {
+                pending++;
+            } else if (app.getStatus() == ApplicationStatus.UNSUCCESSFUL) {
+                rejected++;
+            }
+        }
+        return new ApplicationSummary(applications.size(), twoRoom, threeRoom, approved, pending, rejected);
+    }
+
+    /**
+     * Gets the number of applications in the group.
+     *
+     * @return The total number of applications
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the number of applications for a 2-Room unit.
+     *
+     * @return The number of 2-Room applications
+     */
+    public int getTwoRoom() {
+        return twoRoom;
+    }
+
+    /**
+     * Gets the number of applications for a 3-Room unit.
+     *
+     * @return The number of 3-Room applications
+     */
+    public int getThreeRoom() {
+        return threeRoom;
+    }
+
+    /**
+     * Gets the number of applications that are successful or booked.
+     *
+     * @return The number of approved applications
+     */
+    public int getApproved() {
+        return approved;
+    }
+
+    /**
+     * Gets the number of applications that are pending.
+     *
+     * @return The number of pending applications
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Gets the number of applications that are unsuccessful.
+     *
+     * @return The number of rejected applications
+     */
+    public int getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,83 @@
+package models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of applying a batch of application decisions: how many applications were
+ * approved and rejected, which decisions were skipped and why, and how long it took.
+ */
+public class DecisionBatchResult {
+    /** Number of applications approved */
+    private final int approved;
+
+    /** Number of applications rejected */
+    private final int rejected;
+
+    /** One message per skipped decision, naming the application and the reason */
+    private final List<String> skipped;
+
+    /** Time taken to apply and persist the batch, in nanoseconds */
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a batch result.
+     *
+     * @param approved Number of applications approved
+     * @param rejected Number of applications rejected
+     * @param skipped One message per skipped decision
+     * @param elapsedNanos Time taken to apply and persist the batch, in nanoseconds
+     */
+    public DecisionBatchResult(int approved, int rejected, List<String> skipped, long elapsedNanos) {
+        this.approved = approved;
+        this.rejected = rejected;
+        this.skipped = Collections.unmodifiableList(skipped);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of applications approved.
+     *
+     * @return The approved count
+     */
+    public int getApproved() {
+        return approved;
+    }
+
+    /**
+     * Gets the number of applications rejected.
+     *
+     * @return The rejected count
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the decisions that were skipped, because the application does not exist or
+     * is no longer pending.
+     *
+     * @return One message per skipped decision
+     */
+    public List<String> getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Gets the time taken to apply and persist the batch.
+     *
+     * @return The elapsed time in milliseconds
+     */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1e6;
+    }
+
+    /**
+     * Gets the number of decisions applied per second, including the time to persist them.
+     *
+     * @return The throughput in decisions per second
+     */
+    public double getDecisionsPerSecond() {
+        return elapsedNanos > 0 ? (approved + rejected) * 1e9 / elapsedNanos : 0;
+    }
+}
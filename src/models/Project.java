@@ -43,6 +43,21 @@ public class Project {
         this.units = new HashMap<>();
     }
 
+    /**
+     * Copy constructor, creating a project with the same details, officers and unit types
+     * as another. The unit info of each type is shared with the original, as its counts are
+     * only changed atomically; every other change to either project does not affect the other.
+     *
+     * @param other The project to copy
+     */
+    public Project(Project other) {
+        this(other.projectName, other.neighborhood, other.applicationOpeningDate,
+                other.applicationClosingDate, other.manager, other.officerSlot);
+        this.officers.addAll(other.officers);
+        this.visible = other.visible;
+        this.units.putAll(other.units);
+    }
+
     // Getter methods
     /**
      * Gets the name of the project.
@@ -217,11 +232,7 @@ public class Project {
      */
     public boolean decrementAvailableUnits(String type) {
         if (this.units.containsKey(type)) {
-            UnitInfo info = this.units.get(type);
-            if (info.getAvailableUnits() > 0) {
-                info.setAvailableUnits(info.getAvailableUnits() - 1);
-                return true;
-            }
+            return this.units.get(type).tryTake(1);
         }
         return false;
     }
@@ -235,11 +246,7 @@ public class Project {
      */
     public boolean incrementAvailableUnits(String type) {
         if (this.units.containsKey(type)) {
-            UnitInfo info = this.units.get(type);
-            if (info.getAvailableUnits() < info.getTotalUnits()) {
-                info.setAvailableUnits(info.getAvailableUnits() + 1);
-                return true;
-            }
+            return this.units.get(type).tryReturn(1);
         }
         return false;
     }
@@ -1,12 +1,20 @@
 package models;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Represents information about a specific unit type within a BTO project.
  * Contains details about unit quantity and pricing.
+ *
+ * The unit inventory is updated with compare-and-set loops rather than locks. A booking
+ * first reserves a unit, which removes it from the available count so no other booking
+ * can take it, and then either commits the reservation or releases the unit back.
+ * The available and reserved counts are packed into one word and always changed together,
+ * so a reader never sees a unit that has left one count but not yet reached the other.
  */
 public class UnitInfo {
     private int totalUnits;
-    private int availableUnits;
+    private final AtomicLong units; // Available units in the high 32 bits, reserved units in the low 32 bits
     private double sellingPrice;
     
     /**
@@ -18,7 +26,7 @@ public class UnitInfo {
      */
     public UnitInfo(int totalUnits, int availableUnits, double sellingPrice) {
         this.totalUnits = totalUnits;
-        this.availableUnits = availableUnits;
+        this.units = new AtomicLong(pack(availableUnits, 0));
         this.sellingPrice = sellingPrice;
     }
     
@@ -33,11 +41,21 @@ public class UnitInfo {
     
     /**
      * Gets the number of units still available for application.
+     * Units reserved by a booking in progress are not available.
      * 
      * @return The number of available units
      */
     public int getAvailableUnits() {
-        return availableUnits;
+        return available(units.get());
+    }
+    
+    /**
+     * Gets the number of units reserved by bookings that have not yet been committed or released.
+     * 
+     * @return The number of reserved units
+     */
+    public int getReservedUnits() {
+        return reserved(units.get());
     }
     
     /**
@@ -55,6 +73,153 @@ public class UnitInfo {
      * @param availableUnits The new number of available units
      */
     public void setAvailableUnits(int availableUnits) {
-        this.availableUnits = availableUnits;
+        while (true) {
+            long current = units.get();
+            if (units.compareAndSet(current, pack(availableUnits, reserved(current)))) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Atomically reserves units for a booking in progress.
+     * The reserved units stop being available immediately, so two bookings can never
+     * both take the last unit. A reservation must later be committed or released.
+     * 
+     * @param count The number of units to reserve
+     * @return true if the units were reserved, false if not enough units are available
+     */
+    public boolean tryReserve(int count) {
+        while (true) {
+            long current = units.get();
+            int available = available(current);
+            if (available < count) {
+                return false;
+            }
+            if (units.compareAndSet(current, pack(available - count, reserved(current) + count))) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Commits reserved units, making their removal from the available count permanent.
+     * 
+     * @param count The number of reserved units to commit
+     * @throws IllegalStateException if fewer units are reserved
+     */
+    public void commitReservation(int count) {
+        takeReserved(count, 0);
+    }
+    
+    /**
+     * Releases reserved units back to the available count, e.g. when a booking is cancelled.
+     * 
+     * @param count The number of reserved units to release
+     * @throws IllegalStateException if fewer units are reserved
+     */
+    public void releaseReservation(int count) {
+        takeReserved(count, count);
+    }
+    
+    /**
+     * Atomically takes available units without a separate reservation step.
+     * 
+     * @param count The number of units to take
+     * @return true if the units were taken, false if not enough units are available
+     */
+    public boolean tryTake(int count) {
+        while (true) {
+            long current = units.get();
+            int available = available(current);
+            if (available < count) {
+                return false;
+            }
+            if (units.compareAndSet(current, pack(available - count, reserved(current)))) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Atomically returns previously taken units, never exceeding the total number of units.
+     * 
+     * @param count The number of units to return
+     * @return true if the units were returned, false if that would exceed the total
+     */
+    public boolean tryReturn(int count) {
+        while (true) {
+            long current = units.get();
+            int available = available(current);
+            if (available + reserved(current) + count > totalUnits) {
+                return false;
+            }
+            if (units.compareAndSet(current, pack(available + count, reserved(current)))) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of units to record as available in persistent storage.
+     * Reservations are not persisted, so units reserved by a booking in progress are
+     * stored as available and become free again if the system stops before the commit.
+     * 
+     * @return The available units plus the reserved units
+     */
+    public int getUnbookedUnits() {
+        long current = units.get();
+        return available(current) + reserved(current);
+    }
+    
+    /**
+     * Atomically removes units from the reserved count, moving some of them back to the available count.
+     * 
+     * @param count The number of units to remove
+     * @param released The number of those units to make available again
+     * @throws IllegalStateException if fewer units are reserved
+     */
+    private void takeReserved(int count, int released) {
+        while (true) {
+            long current = units.get();
+            int reserved = reserved(current);
+            if (reserved < count) {
+                throw new IllegalStateException("Cannot settle " + count + " units, only " + reserved + " reserved");
+            }
+            if (units.compareAndSet(current, pack(available(current) + released, reserved - count))) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Packs the available and reserved counts into one word.
+     * 
+     * @param available The number of available units
+     * @param reserved The number of reserved units
+     * @return The packed counts
+     */
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Unpacks the number of available units.
+     * 
+     * @param units The packed counts
+     * @return The number of available units
+     */
+    private static int available(long units) {
+        return (int) (units >> 32);
+    }
+    
+    /**
+     * Unpacks the number of reserved units.
+     * 
+     * @param units The packed counts
+     * @return The number of reserved units
+     */
+    private static int reserved(long units) {
+        return (int) units;
     }
 }
@@ -0,0 +1,16 @@
+package report;
+
+import java.io.IOException;
+
+/**
+ * Produces the text of a report by writing it to a report writer.
+ */
+public interface ReportContent {
+    /**
+     * Writes the report.
+     *
+     * @param out The writer to write the report to
+     * @throws IOException if writing fails
+     */
+    void writeTo(ReportWriter out) throws IOException;
+}
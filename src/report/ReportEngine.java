@@ -0,0 +1,244 @@
+package report;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import auth.UserDirectory;
+import models.Application;
+import models.ApplicationSummary;
+import models.Project;
+import users.User;
+import users.enums.MaritalStatus;
+
+/**
+ * Builds applicant reports by joining applications to the users who submitted them.
+ * The users are read once into a snapshot hashed by NRIC when the engine is created,
+ * so each application is matched with a single lookup instead of a scan over all users,
+ * and generating a report does no file reads beyond building the snapshot.
+ */
+public class ReportEngine {
+    /** Snapshot of all users keyed by NRIC */
+    private final Map<String, User> usersByNric;
+
+    /**
+     * Constructs a report engine over a snapshot of the given users.
+     * If several users share an NRIC, the first one in the list is used.
+     *
+     * @param users The users to join applications against
+     */
+    public ReportEngine(List<User> users) {
+        this.usersByNric = new HashMap<>(Math.max(16, users.size() * 4 / 3 + 1));
+        for (User user : users) {
+            usersByNric.putIfAbsent(user.getNric(), user);
+        }
+    }
+
+    /**
+     * Creates a report engine over a snapshot of the users in a user directory.
+     * The directory only reads the user files that changed since it last read them.
+     *
+     * @param userDirectory The directory of all stored users
+     * @return A report engine joining against all stored users
+     */
+    public static ReportEngine fromDirectory(UserDirectory userDirectory) {
+        return new ReportEngine(userDirectory.getAllUsers());
+    }
+
+    /**
+     * Finds a user in the snapshot by NRIC.
+     *
+     * @param nric The NRIC of the user
+     * @return The matching user, or null if no user has the NRIC
+     */
+    public User findUser(String nric) {
+        return usersByNric.get(nric);
+    }
+
+    /**
+     * Joins every application to its applicant.
+     * Applications whose applicant is unknown are kept with a null applicant.
+     *
+     * @param applications The applications to report on
+     * @return The rows, one per application in the same order, joined as they are iterated
+     */
+    public Iterable<ReportRow> join(List<Application> applications) {
+        return join(applications, null);
+    }
+
+    /**
+     * Joins the applications submitted by applicants with the given marital status.
+     * Applications whose applicant is unknown are left out, unless all applicants are kept.
+     *
+     * The rows are not collected: each iteration walks the applications again and joins
+     * one row at a time, so a report over any number of applications holds one row at once,
+     * and a report can be written twice, to the screen and to a file, by iterating twice.
+     *
+     * @param applications The applications to report on
+     * @param maritalStatus The marital status to keep, or null to keep all applications
+     * @return The rows of the matching applications, in the same order, joined as they are iterated
+     */
+    public Iterable<ReportRow> join(List<Application> applications, MaritalStatus maritalStatus) {
+        return () -> new JoinIterator(applications.iterator(), maritalStatus);
+    }
+
+    /**
+     * Writes an applicant report, streaming each row to the writer as it is joined.
+     * Rows with an unknown applicant are left out of the listing but counted in the total.
+     *
+     * @param rows The joined rows to list
+     * @param maritalStatusFilter Label of the marital status the rows were filtered by, or null for all applicants
+     * @param out The writer to write the report to
+     * @throws IOException if writing fails
+     */
+    public void writeApplicantsReport(Iterable<ReportRow> rows, String maritalStatusFilter, ReportWriter out) throws IOException {
+        // Add header
+        if (maritalStatusFilter == null) {
+            out.text("All Applicants Report\n");
+        } else {
+            out.text(maritalStatusFilter).text(" Applicants Report\n");
+        }
+        out.text("Generated on: ").text(LocalDate.now().toString()).text("\n\n");
+
+        // Add column headers
+        out.column("Applicant", 15).column("NRIC", 15).column("Project", 25).column("Flat Type", 10)
+           .column("Status", 15).column("Age", 10).text("Marital Status").endRow();
+        out.repeat('=', 100).text("\n");
+
+        // Add data rows
+        int total = 0;
+        for (ReportRow row : rows) {
+            total++;
+            if (row.hasApplicant()) {
+                Application app = row.getApplication();
+                User applicant = row.getApplicant();
+                out.column(applicant.getName(), 15)
+                   .column(app.getApplicantNric(), 15)
+                   .column(app.getProjectName(), 25)
+                   .column(app.getUnitType(), 10)
+                   .column(app.getStatus(), 15)
+                   .column(applicant.getAge(), 10)
+                   .text(String.valueOf(applicant.getMaritalStatus()))
+                   .endRow();
+            }
+        }
+
+        out.repeat('=', 100).text("\n");
+        out.text("Total Applications: ").text(total);
+    }
+
+    /**
+     * Writes a project report with summary statistics and the detailed application list,
+     * streaming each row to the writer as it is joined.
+     *
+     * @param project The project reported on
+     * @param summary The summary statistics of the project's applications
+     * @param rows The joined rows of the project's applications
+     * @param out The writer to write the report to
+     * @throws IOException if writing fails
+     */
+    public void writeProjectReport(Project project, ApplicationSummary summary, Iterable<ReportRow> rows, ReportWriter out) throws IOException {
+        // Project Info
+        out.text("Project Report: ").text(project.getProjectName()).text("\n");
+        out.text("Neighborhood: ").text(project.getNeighborhood()).text("\n");
+        out.text("Application Period: ").text(String.valueOf(project.getApplicationOpeningDate()))
+           .text(" to ").text(String.valueOf(project.getApplicationClosingDate())).text("\n");
+        out.text("Generated on: ").text(LocalDate.now().toString()).text("\n\n");
+
+        // Summary
+        out.text("Summary:\n");
+        out.text("Total Applications: ").text(summary.getTotal()).text("\n");
+        out.text("2-Room Applications: ").text(summary.getTwoRoom()).text("\n");
+        out.text("3-Room Applications: ").text(summary.getThreeRoom()).text("\n");
+        out.text("Approved/Booked: ").text(summary.getApproved()).text("\n");
+        out.text("Pending: ").text(summary.getPending()).text("\n");
+        out.text("Rejected: ").text(summary.getRejected()).text("\n\n");
+
+        // Detailed list with all required information
+        out.text("Detailed Application List:\n");
+        out.column("Applicant", 15).column("NRIC", 15).column("Project", 15).column("Flat Type", 10)
+           .column("Status", 15).column("Age", 10).cell("Marital Status", 15).endRow();
+        out.repeat('=', 100).text("\n");
+
+        String projectName = truncate(project.getProjectName(), 15);
+        for (ReportRow row : rows) {
+            Application app = row.getApplication();
+            User applicant = row.getApplicant();
+            out.column(applicant != null ? applicant.getName() : "Unknown", 15)
+               .column(app.getApplicantNric(), 15)
+               .column(projectName, 15)
+               .column(app.getUnitType(), 10)
+               .column(app.getStatus(), 15);
+            if (applicant != null) {
+                out.column(applicant.getAge(), 10).cell(applicant.getMaritalStatus(), 15);
+            } else {
+                out.column("N/A", 10).cell("N/A", 15);
+            }
+            out.endRow();
+        }
+    }
+
+    /**
+     * Walks a list of applications, joining each to its applicant and skipping those
+     * that do not match the marital status.
+     */
+    private class JoinIterator implements Iterator<ReportRow> {
+        /** The applications not yet joined */
+        private final Iterator<Application> applications;
+
+        /** The marital status to keep, or null to keep all applications */
+        private final MaritalStatus maritalStatus;
+
+        /** The next matching row, or null if it has not been found yet */
+        private ReportRow next;
+
+        /**
+         * Constructs an iterator over the joined rows.
+         *
+         * @param applications The applications to join
+         * @param maritalStatus The marital status to keep, or null to keep all applications
+         */
+        JoinIterator(Iterator<Application> applications, MaritalStatus maritalStatus) {
+            this.applications = applications;
+            this.maritalStatus = maritalStatus;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && applications.hasNext()) {
+                Application application = applications.next();
+                User applicant = usersByNric.get(application.getApplicantNric());
+                if (maritalStatus == null || (applicant != null && applicant.getMaritalStatus() == maritalStatus)) {
+                    next = new ReportRow(application, applicant);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ReportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ReportRow row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    /**
+     * Shortens a string to a maximum length, marking the cut with an ellipsis.
+     *
+     * @param str The string to shorten
+     * @param length The maximum length
+     * @return The string, shortened if it was longer than the maximum length
+     */
+    private static String truncate(String str, int length) {
+        if (str == null) return "";
+        if (str.length() <= length) return str;
+        return str.substring(0, length - 3) + "...";
+    }
+}
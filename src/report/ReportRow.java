@@ -0,0 +1,53 @@
+package report;
+
+import models.Application;
+import users.User;
+
+/**
+ * One row of an applicant report: an application joined to the user who submitted it.
+ */
+public class ReportRow {
+    /** The application reported on */
+    private final Application application;
+
+    /** The applicant who submitted the application, or null if no user has the applicant NRIC */
+    private final User applicant;
+
+    /**
+     * Constructs a report row.
+     *
+     * @param application The application reported on
+     * @param applicant The applicant who submitted the application, or null if unknown
+     */
+    public ReportRow(Application application, User applicant) {
+        this.application = application;
+        this.applicant = applicant;
+    }
+
+    /**
+     * Gets the application reported on.
+     *
+     * @return The application
+     */
+    public Application getApplication() {
+        return application;
+    }
+
+    /**
+     * Gets the applicant who submitted the application.
+     *
+     * @return The applicant, or null if no user has the applicant NRIC
+     */
+    public User getApplicant() {
+        return applicant;
+    }
+
+    /**
+     * Checks whether the applicant of the application is known.
+     *
+     * @return true if a user with the applicant NRIC exists, false otherwise
+     */
+    public boolean hasApplicant() {
+        return applicant != null;
+    }
+}
@@ -0,0 +1,161 @@
+package report;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Writes report text to a buffered output as it is produced.
+ * Fixed-width columns are padded by writing runs of spaces from a shared buffer instead
+ * of formatting each row with String.format, so writing a row allocates nothing beyond
+ * the cell values themselves and memory use does not grow with the number of rows.
+ */
+public class ReportWriter implements Closeable {
+    /** Size of the output buffer in characters */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Spaces copied out when padding a column */
+    private static final char[] SPACES = new char[128];
+
+    /** Line separator written at the end of each row */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    static {
+        Arrays.fill(SPACES, ' ');
+    }
+
+    /** The output the report is written to */
+    private final Writer out;
+
+    /**
+     * Constructs a report writer over an output.
+     *
+     * @param out The output to write the report to
+     */
+    public ReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Opens a report writer that writes UTF-8 text to a file, replacing any existing content.
+     *
+     * @param path The file to write the report to
+     * @return A report writer for the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static ReportWriter open(Path path) throws IOException {
+        return new ReportWriter(new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes text as is.
+     *
+     * @param text The text to write
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public ReportWriter text(String text) throws IOException {
+        out.write(String.valueOf(text));
+        return this;
+    }
+
+    /**
+     * Writes a number as text.
+     *
+     * @param value The number to write
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public ReportWriter text(long value) throws IOException {
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a value left-aligned and padded with spaces to the column width.
+     * Values longer than the width are written in full, as with a %-Ns format.
+     *
+     * @param value The value to write
+     * @param width The column width
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public ReportWriter cell(Object value, int width) throws IOException {
+        String text = String.valueOf(value);
+        out.write(text);
+        pad(width - text.length());
+        return this;
+    }
+
+    /**
+     * Writes a value left-aligned and padded to the column width, followed by the space
+     * that separates it from the next column.
+     *
+     * @param value The value to write
+     * @param width The column width
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public ReportWriter column(Object value, int width) throws IOException {
+        cell(value, width);
+        out.write(' ');
+        return this;
+    }
+
+    /**
+     * Writes a character repeated a number of times.
+     *
+     * @param c The character to repeat
+     * @param count The number of times to write it
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public ReportWriter repeat(char c, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.write(c);
+        }
+        return this;
+    }
+
+    /**
+     * Ends the current row with the platform line separator.
+     *
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public ReportWriter endRow() throws IOException {
+        out.write(LINE_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Flushes any buffered text and closes the output.
+     *
+     * @throws IOException if flushing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Writes a number of spaces.
+     *
+     * @param count The number of spaces, ignored if not positive
+     * @throws IOException if writing fails
+     */
+    private void pad(int count) throws IOException {
+        while (count > 0) {
+            int chunk = Math.min(count, SPACES.length);
+            out.write(SPACES, 0, chunk);
+            count -= chunk;
+        }
+    }
+}
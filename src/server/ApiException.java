@@ -0,0 +1,62 @@
+package server;
+
+/**
+ * Signals that an API request cannot be served, with the HTTP status to answer it with.
+ * Invalid input is reported by the handlers as an IllegalArgumentException instead,
+ * which the server answers with 400 Bad Request.
+ */
+public class ApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /** HTTP status code of the response */
+    private final int status;
+
+    /**
+     * Constructs an API exception.
+     *
+     * @param status HTTP status code of the response
+     * @param message Message returned to the client
+     */
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Creates the exception for a request whose credentials are missing or wrong.
+     *
+     * @return An exception answered with 401 Unauthorized
+     */
+    public static ApiException unauthorized() {
+        return new ApiException(401, "Valid NRIC and password required");
+    }
+
+    /**
+     * Creates the exception for a user acting on data they may not access.
+     *
+     * @param message Message returned to the client
+     * @return An exception answered with 403 Forbidden
+     */
+    public static ApiException forbidden(String message) {
+        return new ApiException(403, message);
+    }
+
+    /**
+     * Creates the exception for a record that does not exist.
+     *
+     * @param message Message returned to the client
+     * @return An exception answered with 404 Not Found
+     */
+    public static ApiException notFound(String message) {
+        return new ApiException(404, message);
+    }
+
+    /**
+     * Gets the HTTP status code of the response.
+     *
+     * @return The status code
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,258 @@
+package server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import com.sun.net.httpserver.HttpExchange;
+import users.User;
+
+/**
+ * A request to one API endpoint, as seen by the endpoint.
+ * Gives access to the authenticated user, the values of the path parameters, the query
+ * parameters and the members of the JSON body. The body is read and parsed on first use.
+ */
+public class ApiRequest {
+    /** Largest request body accepted, in bytes */
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    /** The underlying HTTP exchange */
+    private final HttpExchange exchange;
+
+    /** The authenticated user making the request */
+    private final User user;
+
+    /** Values of the {name} segments of the route, by name */
+    private final Map<String, String> pathParams;
+
+    /** Query parameters, parsed on first use */
+    private Map<String, String> query;
+
+    /** Members of the JSON body, parsed on first use */
+    private Map<String, String> body;
+
+    /**
+     * Constructs a request.
+     *
+     * @param exchange The underlying HTTP exchange
+     * @param user The authenticated user making the request
+     * @param pathParams Values of the path parameters of the route
+     */
+    ApiRequest(HttpExchange exchange, User user, Map<String, String> pathParams) {
+        this.exchange = exchange;
+        this.user = user;
+        this.pathParams = pathParams;
+    }
+
+    /**
+     * Gets the authenticated user making the request.
+     *
+     * @return The user
+     */
+    public User user() {
+        return user;
+    }
+
+    /**
+     * Gets the value of a path parameter, e.g. the id in /api/applications/{id}.
+     *
+     * @param name The parameter name
+     * @return The decoded value
+     */
+    public String path(String name) {
+        return pathParams.get(name);
+    }
+
+    /**
+     * Gets the value of a query parameter.
+     *
+     * @param name The parameter name
+     * @return The decoded value, or null if the parameter is absent
+     */
+    public String query(String name) {
+        if (query == null) {
+            query = parseQuery(exchange.getRequestURI().getRawQuery());
+        }
+        return query.get(name);
+    }
+
+    /**
+     * Gets a member of the JSON body that must be present and not blank.
+     *
+     * @param name The member name
+     * @return The trimmed value
+     * @throws IllegalArgumentException if the member is missing or blank
+     */
+    public String required(String name) {
+        String value = optional(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        return value.trim();
+    }
+
+    /**
+     * Gets a member of the JSON body that may be absent.
+     *
+     * @param name The member name
+     * @return The value, or null if the member is absent or null
+     */
+    public String optional(String name) {
+        if (body == null) {
+            body = Json.parseObject(readBody());
+        }
+        return body.get(name);
+    }
+
+    /**
+     * Gets a whole number member of the JSON body that must be present.
+     *
+     * @param name The member name
+     * @return The value
+     * @throws IllegalArgumentException if the member is missing or not a whole number
+     */
+    public int requiredInt(String name) {
+        String value = required(name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Field " + name + " must be a whole number");
+        }
+    }
+
+    /**
+     * Gets a decimal number member of the JSON body that must be present.
+     *
+     * @param name The member name
+     * @return The value
+     * @throws IllegalArgumentException if the member is missing or not a number
+     */
+    public double requiredDouble(String name) {
+        String value = required(name);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Field " + name + " must be a number");
+        }
+    }
+
+    /**
+     * Gets a boolean member of the JSON body that must be present.
+     *
+     * @param name The member name
+     * @return The value
+     * @throws IllegalArgumentException if the member is missing or not true or false
+     */
+    public boolean requiredBoolean(String name) {
+        String value = required(name);
+        if (!"true".equals(value) && !"false".equals(value)) {
+            throw new IllegalArgumentException("Field " + name + " must be true or false");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Gets an ISO-8601 date member of the JSON body that must be present, e.g. 2025-04-01.
+     *
+     * @param name The member name
+     * @return The value
+     * @throws IllegalArgumentException if the member is missing or not a date
+     */
+    public LocalDate requiredDate(String name) {
+        String value = required(name);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Field " + name + " must be a date in the form yyyy-MM-dd");
+        }
+    }
+
+    /**
+     * Reads the request body as UTF-8 text.
+     * Bodies larger than {@link #MAX_BODY_BYTES} are refused, whether the client declares
+     * the length up front or not, so a client cannot make the server buffer an unbounded body.
+     *
+     * @return The body text
+     * @throws ApiException if the body is too large
+     * @throws IllegalArgumentException if the body cannot be read
+     */
+    private String readBody() {
+        String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (declared != null) {
+            try {
+                if (Long.parseLong(declared.trim()) > MAX_BODY_BYTES) {
+                    throw tooLarge();
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid Content-Length: " + declared);
+            }
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (bytes.size() + read > MAX_BODY_BYTES) {
+                    throw tooLarge();
+                }
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read request body: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the exception for a body larger than {@link #MAX_BODY_BYTES}.
+     *
+     * @return An exception answered with 413 Payload Too Large
+     */
+    private static ApiException tooLarge() {
+        return new ApiException(413, "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+    }
+
+    /**
+     * Parses a raw query string into its decoded parameters.
+     *
+     * @param rawQuery The raw query string; may be null
+     * @return The parameters by name
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            params.put(decode(name, false), decode(value, false));
+        }
+        return params;
+    }
+
+    /**
+     * Decodes a URL-encoded path segment or query component.
+     * A plus sign stands for a space only in the query.
+     *
+     * @param text The encoded text
+     * @param pathSegment Whether the text is a path segment
+     * @return The decoded text
+     * @throws IllegalArgumentException if the text is not validly encoded
+     */
+    static String decode(String text, boolean pathSegment) {
+        try {
+            return URLDecoder.decode(pathSegment ? text.replace("+", "%2B") : text, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
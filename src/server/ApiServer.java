@@ -0,0 +1,360 @@
+package server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import auth.UserDirectory;
+import metrics.MenuAction;
+import users.User;
+import users.enums.UserType;
+
+/**
+ * Embedded HTTP server that routes JSON requests to endpoints.
+ * Built on the JDK's com.sun.net.httpserver, so it needs no libraries. Every request is
+ * authenticated with HTTP Basic credentials, the NRIC and password of a user, which are
+ * checked against the shared {@link UserDirectory}. Routes declare which user types may
+ * call them; the server answers 401 or 403 before the endpoint runs otherwise.
+ *
+ * Each request runs on its own thread: a virtual thread when the JVM supports them,
+ * otherwise a thread from a cached pool. Requests that wait for a journal write to become
+ * durable therefore do not hold up others, and their writes share a group commit.
+ */
+public class ApiServer {
+    /** Prefix of every API path */
+    public static final String API_PREFIX = "/api";
+
+    /** Number of connections queued before the server refuses new ones */
+    private static final int BACKLOG = 1024;
+
+    /**
+     * Handles a request to one route.
+     */
+    public interface Endpoint {
+        /**
+         * Serves a request.
+         *
+         * @param request The request
+         * @return The JSON response body, or null for a response without a body
+         * @throws IllegalArgumentException if the request is invalid
+         * @throws ApiException if the request cannot be served for another reason
+         */
+        Json handle(ApiRequest request);
+    }
+
+    /** The underlying HTTP server */
+    private final HttpServer server;
+
+    /** Runs the requests */
+    private final ExecutorService executor;
+
+    /** Looks up the users that authenticate */
+    private final UserDirectory userDirectory;
+
+    /** Registered routes, tried in order */
+    private final List<Route> routes = new ArrayList<>();
+
+    /**
+     * Creates a server bound to a port. Routes are added with {@link #route} before it is started.
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @param userDirectory The directory users are authenticated against
+     * @throws IOException if the port cannot be bound
+     */
+    public ApiServer(int port, UserDirectory userDirectory) throws IOException {
+        // Small JSON responses otherwise wait on Nagle's algorithm for the client's delayed
+        // ACK, which puts a floor of about 40 ms under every keep-alive request
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.executor = requestExecutor();
+        this.userDirectory = userDirectory;
+        server.setExecutor(executor);
+        server.createContext(API_PREFIX + "/", this::dispatch);
+    }
+
+    /**
+     * Adds a route.
+     *
+     * @param method The HTTP method, e.g. GET
+     * @param path The path below {@link #API_PREFIX}, where {name} segments match any value
+     * @param status The status of a successful response, e.g. 200 or 201
+     * @param roles The user types allowed to call the route
+     * @param endpoint Serves the requests
+     */
+    public void route(String method, String path, int status, Set<UserType> roles, Endpoint endpoint) {
+        routes.add(new Route(method, path, status, roles, endpoint));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits for running requests to finish.
+     *
+     * @param delaySeconds Maximum time to wait for running requests, in seconds
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Routes one exchange and writes its response.
+     *
+     * @param exchange The HTTP exchange
+     */
+    private void dispatch(HttpExchange exchange) {
+        try {
+            int status;
+            Json body;
+            try {
+                Route route = null;
+                Map<String, String> pathParams = null;
+                boolean pathMatched = false;
+                String[] segments = segments(exchange.getRequestURI().getRawPath());
+                for (Route candidate : routes) {
+                    Map<String, String> params = candidate.match(segments);
+                    if (params != null) {
+                        pathMatched = true;
+                        if (candidate.method.equals(exchange.getRequestMethod())) {
+                            route = candidate;
+                            pathParams = params;
+                            break;
+                        }
+                    }
+                }
+                if (route == null) {
+                    throw pathMatched ? new ApiException(405, "Method not allowed")
+                            : ApiException.notFound("No such endpoint");
+                }
+                User user = authenticate(exchange);
+                if (!route.roles.contains(user.getUserType())) {
+                    throw ApiException.forbidden("Not available to " + user.getUserType());
+                }
+                Endpoint endpoint = route.endpoint;
+                ApiRequest request = new ApiRequest(exchange, user, pathParams);
+                body = MenuAction.call("API", route.name, () -> endpoint.handle(request));
+                status = route.status;
+            } catch (ApiException e) {
+                status = e.getStatus();
+                body = error(e.getMessage());
+                if (status == 401) {
+                    exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"bto\"");
+                }
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                System.err.println("Error serving " + exchange.getRequestURI() + ": " + e);
+                status = 500;
+                body = error("Internal error");
+            }
+            respond(exchange, status, body);
+        } catch (IOException e) {
+            // The client went away; there is no one left to answer
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Authenticates the user from the Basic credentials of a request.
+     *
+     * @param exchange The HTTP exchange
+     * @return The authenticated user
+     * @throws ApiException if the credentials are missing or do not match a user
+     */
+    private User authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6)) {
+            throw ApiException.unauthorized();
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw ApiException.unauthorized();
+        }
+        int colon = credentials.indexOf(':');
+        if (colon < 0) {
+            throw ApiException.unauthorized();
+        }
+        User user = userDirectory.findAny(credentials.substring(0, colon));
+        if (user == null || !user.getPassword().equals(credentials.substring(colon + 1))) {
+            throw ApiException.unauthorized();
+        }
+        return user;
+    }
+
+    /**
+     * Writes a response.
+     *
+     * @param exchange The HTTP exchange
+     * @param status The status code
+     * @param body The JSON body, or null for none
+     * @throws IOException if the response cannot be written
+     */
+    private static void respond(HttpExchange exchange, int status, Json body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status == 200 ? 204 : status, -1);
+            return;
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Builds the body of an error response.
+     *
+     * @param message The error message
+     * @return The JSON body
+     */
+    private static Json error(String message) {
+        return new Json().beginObject().field("error", message).endObject();
+    }
+
+    /**
+     * Splits a raw path below the API prefix into its decoded segments.
+     *
+     * @param rawPath The raw request path
+     * @return The segments after the prefix
+     */
+    private static String[] segments(String rawPath) {
+        String rest = rawPath.substring(Math.min(rawPath.length(), API_PREFIX.length()));
+        List<String> segments = new ArrayList<>();
+        for (String segment : rest.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(ApiRequest.decode(segment, true));
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * Creates the executor requests run on: one virtual thread per request when the JVM
+     * provides them, otherwise a cached pool of daemon threads. The virtual thread executor
+     * is looked up reflectively so the code still compiles and runs on older JDKs.
+     *
+     * @return The request executor
+     */
+    private static ExecutorService requestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            ThreadFactory threads = task -> {
+                Thread thread = new Thread(task, "bto-api-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(threads);
+        }
+    }
+
+    /**
+     * A method and path pattern mapped to an endpoint.
+     */
+    private static class Route {
+        /** The HTTP method */
+        final String method;
+
+        /** The method and path pattern, e.g. GET /projects/{name}, naming the route's menu action */
+        final String name;
+
+        /** The path segments; {name} segments match any value */
+        final String[] pattern;
+
+        /** The status of a successful response */
+        final int status;
+
+        /** The user types allowed to call the route */
+        final Set<UserType> roles;
+
+        /** Serves the requests */
+        final Endpoint endpoint;
+
+        /**
+         * Constructs a route.
+         *
+         * @param method The HTTP method
+         * @param path The path pattern below the API prefix
+         * @param status The status of a successful response
+         * @param roles The user types allowed to call the route
+         * @param endpoint Serves the requests
+         */
+        Route(String method, String path, int status, Set<UserType> roles, Endpoint endpoint) {
+            this.method = method;
+            this.name = method + " /" + path.replaceAll("^/+", "");
+            this.pattern = path.replaceAll("^/+", "").split("/");
+            this.status = status;
+            this.roles = roles.isEmpty() ? Collections.<UserType>emptySet() : EnumSet.copyOf(roles);
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * Matches the segments of a request path against the pattern.
+         *
+         * @param segments The decoded path segments
+         * @return The values of the {name} segments, or null if the path does not match
+         */
+        Map<String, String> match(String[] segments) {
+            if (segments.length != pattern.length) {
+                return null;
+            }
+            Map<String, String> params = null;
+            for (int i = 0; i < pattern.length; i++) {
+                String part = pattern[i];
+                if (part.startsWith("{") && part.endsWith("}")) {
+                    if (params == null) {
+                        params = new HashMap<>();
+                    }
+                    params.put(part.substring(1, part.length() - 1), segments[i]);
+                } else if (!part.equals(segments[i])) {
+                    return null;
+                }
+            }
+            return params != null ? params : Collections.<String, String>emptyMap();
+        }
+    }
+}
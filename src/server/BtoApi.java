@@ -0,0 +1,962 @@
+package server;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import access.application.ApplicationHandler;
+import access.application.Booking;
+import access.application.ConcurrentApplicationHandler;
+import access.application.DecisionRule;
+import access.enquiry.ConcurrentEnquiryHandler;
+import access.enquiry.EnquiryHandler;
+import access.officerregistration.ConcurrentOfficerRegistrationHandler;
+import access.officerregistration.OfficerRegistrationHandler;
+import access.project.ConcurrentProjectHandler;
+import access.project.ProjectHandler;
+import access.withdrawal.ConcurrentWithdrawalHandler;
+import access.withdrawal.Withdrawal;
+import access.withdrawal.WithdrawalHandler;
+import auth.UserDirectory;
+import io.DataLoader;
+import io.FileIO;
+import io.Snapshot;
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import models.Application;
+import models.ApplicationDecision;
+import models.DecisionBatchResult;
+import models.Enquiry;
+import models.Project;
+import models.UnitInfo;
+import models.WithdrawalRequest;
+import models.enums.ApplicationStatus;
+import models.enums.WithdrawalStatus;
+import users.User;
+import users.enums.MaritalStatus;
+import users.enums.UserType;
+
+/**
+ * JSON endpoints of the headless server mode, one per operation of the applicant,
+ * officer and manager features. Endpoints only translate between JSON and the handlers
+ * and check that a user acts on their own records; the handlers do the work. They are
+ * given the thread-safe handler variants, since requests are served concurrently.
+ *
+ * Paths are relative to /api:
+ * <pre>
+ * GET    /me                                   the authenticated user
+ * GET    /projects                             projects open to the applicant
+ * GET    /applications                         own applications
+ * POST   /applications                         apply: projectName, unitType
+ * GET    /enquiries                            own enquiries
+ * POST   /enquiries                            ask: projectName, message
+ * PUT    /enquiries/{id}                       edit own enquiry: message
+ * DELETE /enquiries/{id}                       delete own enquiry
+ * GET    /withdrawals                          own withdrawal requests
+ * POST   /withdrawals                          request withdrawal: applicationId, remarks
+ * GET    /projects/{name}/enquiries            enquiries about a project (officers, managers)
+ * POST   /enquiries/{id}/replies               reply: reply (officers, managers)
+ * GET    /officer/projects/{name}/applications applications for a handled project
+ * GET    /officer/applications/{id}            one application
+ * PUT    /officer/applications/{id}            update remarks: remarks
+ * POST   /officer/applications/{id}/process    book a unit for a successful application
+ * GET    /officer/applications/{id}/receipt    booking receipt
+ * GET    /manager/projects                     all projects, or own with ?mine=true
+ * POST   /manager/projects                     create a project
+ * GET    /manager/projects/{name}              one project
+ * PUT    /manager/projects/{name}              change dates or officer slots
+ * DELETE /manager/projects/{name}              delete own project
+ * PUT    /manager/projects/{name}/visibility   show or hide: visible
+ * POST   /manager/projects/{name}/officers     assign an officer: officerNric
+ * GET    /manager/projects/{name}/applications applications, optionally ?status=PENDING
+ * POST   /manager/applications/{id}/approve    approve an application
+ * POST   /manager/applications/{id}/reject     reject an application
+ * POST   /manager/projects/{name}/decisions    decide all pending applications: rule
+ * GET    /manager/withdrawals                  all withdrawal requests, or ?project=
+ * POST   /manager/withdrawals/{id}/approve     approve a withdrawal
+ * POST   /manager/withdrawals/{id}/reject      reject a withdrawal
+ * GET    /manager/enquiries                    all enquiries, or ?project=
+ * GET    /manager/metrics                      latency of every handler and file operation
+ * </pre>
+ */
+public class BtoApi {
+    /** Users who can apply for flats */
+    private static final Set<UserType> APPLICANTS = EnumSet.of(UserType.APPLICANT, UserType.OFFICER);
+
+    /** HDB officers */
+    private static final Set<UserType> OFFICERS = EnumSet.of(UserType.OFFICER);
+
+    /** Project managers */
+    private static final Set<UserType> MANAGERS = EnumSet.of(UserType.MANAGER);
+
+    /** Officers and managers */
+    private static final Set<UserType> STAFF = EnumSet.of(UserType.OFFICER, UserType.MANAGER);
+
+    /** Every user */
+    private static final Set<UserType> ANYONE = EnumSet.allOf(UserType.class);
+
+    /** Handler for projects */
+    private final ProjectHandler projects;
+
+    /** Handler for applications */
+    private final ApplicationHandler applications;
+
+    /** Handler for enquiries */
+    private final EnquiryHandler enquiries;
+
+    /** Handler for withdrawal requests */
+    private final WithdrawalHandler withdrawals;
+
+    /** Books units for successful applications */
+    private final Booking booking;
+
+    /** Approves and rejects withdrawal requests */
+    private final Withdrawal withdrawalProcess;
+
+    /**
+     * Constructs the endpoints over a set of thread-safe handlers.
+     *
+     * @param projects Handler for projects
+     * @param applications Handler for applications
+     * @param enquiries Handler for enquiries
+     * @param withdrawals Handler for withdrawal requests
+     */
+    public BtoApi(ProjectHandler projects, ApplicationHandler applications,
+                  EnquiryHandler enquiries, WithdrawalHandler withdrawals) {
+        this.projects = projects;
+        this.applications = applications;
+        this.enquiries = enquiries;
+        this.withdrawals = withdrawals;
+        this.booking = new Booking(projects, applications);
+        this.withdrawalProcess = new Withdrawal(withdrawals, applications, projects);
+    }
+
+    /**
+     * Loads all data, starts a server with every endpoint and returns it.
+     * When the JVM shuts down, the journals are compacted into the CSV files and the
+     * binary snapshot is written, as on a clean exit from the menus.
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @return The running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static ApiServer launch(int port) throws IOException {
+        DataLoader loader = DataLoader.loadAll();
+        loader.printTimings();
+        ProjectHandler projects = new ConcurrentProjectHandler(loader.getProjects());
+        ApplicationHandler applications = new ConcurrentApplicationHandler(loader.getApplications());
+        EnquiryHandler enquiries = new ConcurrentEnquiryHandler(loader.getEnquiries());
+        WithdrawalHandler withdrawals = new ConcurrentWithdrawalHandler(loader.getWithdrawals());
+        OfficerRegistrationHandler registrations = new ConcurrentOfficerRegistrationHandler(loader.getOfficerRegistrations());
+
+        ApiServer server = new ApiServer(port, new UserDirectory());
+        new BtoApi(projects, applications, enquiries, withdrawals).register(server);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            applications.saveChanges();
+            enquiries.saveChanges();
+            withdrawals.saveChanges();
+            // Users are taken from their files, which password changes and registrations update directly
+            FileIO.saveSnapshot(new Snapshot(FileIO.loadUsers(), projects.getAllProjects(),
+                    applications.getAllApplications(), enquiries.getAllEnquiries(),
+                    withdrawals.getAllWithdrawalRequests(), registrations.getAllOfficerRegistrations()));
+        }, "bto-api-shutdown"));
+        server.start();
+        return server;
+    }
+
+    /**
+     * Registers every endpoint with a server.
+     *
+     * @param server The server to register the endpoints with
+     */
+    public void register(ApiServer server) {
+        server.route("GET", "/me", 200, ANYONE, this::me);
+
+        // Applicant features
+        server.route("GET", "/projects", 200, APPLICANTS, this::listOpenProjects);
+        server.route("GET", "/applications", 200, APPLICANTS,
+                request -> applicationList(applications.getApplicationsForApplicant(request.user().getNric())));
+        server.route("POST", "/applications", 201, APPLICANTS, this::submitApplication);
+        server.route("GET", "/enquiries", 200, APPLICANTS,
+                request -> enquiryList(enquiries.getEnquiriesForApplicant(request.user().getNric())));
+        server.route("POST", "/enquiries", 201, APPLICANTS, this::submitEnquiry);
+        server.route("PUT", "/enquiries/{id}", 200, APPLICANTS, this::editEnquiry);
+        server.route("DELETE", "/enquiries/{id}", 200, APPLICANTS, this::deleteEnquiry);
+        server.route("GET", "/withdrawals", 200, APPLICANTS,
+                request -> withdrawalList(withdrawals.getWithdrawalRequestsForApplicant(request.user().getNric())));
+        server.route("POST", "/withdrawals", 201, APPLICANTS, this::requestWithdrawal);
+
+        // Enquiry features shared by officers and managers
+        server.route("GET", "/projects/{name}/enquiries", 200, STAFF,
+                request -> enquiryList(enquiries.getEnquiriesForProject(request.path("name"))));
+        server.route("POST", "/enquiries/{id}/replies", 200, STAFF, this::replyEnquiry);
+
+        // Officer features
+        server.route("GET", "/officer/projects/{name}/applications", 200, OFFICERS, this::listHandledApplications);
+        server.route("GET", "/officer/applications/{id}", 200, OFFICERS,
+                request -> writeApplication(new Json(), handledApplication(request)));
+        server.route("PUT", "/officer/applications/{id}", 200, OFFICERS, this::updateRemarks);
+        server.route("POST", "/officer/applications/{id}/process", 200, OFFICERS, this::processApplication);
+        server.route("GET", "/officer/applications/{id}/receipt", 200, OFFICERS, this::receipt);
+
+        // Manager features
+        server.route("GET", "/manager/projects", 200, MANAGERS, this::listProjects);
+        server.route("POST", "/manager/projects", 201, MANAGERS, this::createProject);
+        server.route("GET", "/manager/projects/{name}", 200, MANAGERS,
+                request -> writeProject(new Json(), project(request.path("name"))));
+        server.route("PUT", "/manager/projects/{name}", 200, MANAGERS, this::updateProject);
+        server.route("DELETE", "/manager/projects/{name}", 200, MANAGERS, this::deleteProject);
+        server.route("PUT", "/manager/projects/{name}/visibility", 200, MANAGERS, this::setVisibility);
+        server.route("POST", "/manager/projects/{name}/officers", 200, MANAGERS, this::assignOfficer);
+        server.route("GET", "/manager/projects/{name}/applications", 200, MANAGERS, this::listProjectApplications);
+        server.route("POST", "/manager/applications/{id}/approve", 200, MANAGERS,
+                request -> decideApplication(request, true));
+        server.route("POST", "/manager/applications/{id}/reject", 200, MANAGERS,
+                request -> decideApplication(request, false));
+        server.route("POST", "/manager/projects/{name}/decisions", 200, MANAGERS, this::decideProject);
+        server.route("GET", "/manager/withdrawals", 200, MANAGERS, request -> {
+            String project = request.query("project");
+            return withdrawalList(project != null ? withdrawals.getWithdrawalRequestsByProject(project)
+                    : withdrawals.getAllWithdrawalRequests());
+        });
+        server.route("POST", "/manager/withdrawals/{id}/approve", 200, MANAGERS,
+                request -> processWithdrawal(request, true));
+        server.route("POST", "/manager/withdrawals/{id}/reject", 200, MANAGERS,
+                request -> processWithdrawal(request, false));
+        server.route("GET", "/manager/metrics", 200, MANAGERS, request -> metrics());
+        server.route("GET", "/manager/enquiries", 200, MANAGERS, request -> {
+            String project = request.query("project");
+            return enquiryList(project != null ? enquiries.getEnquiriesByProject(project) : enquiries.getAllEnquiries());
+        });
+    }
+
+    // ------------------ Applicant endpoints --------------------
+
+    /**
+     * Describes the authenticated user.
+     *
+     * @param request The request
+     * @return The user, without the password
+     */
+    private Json me(ApiRequest request) {
+        User user = request.user();
+        return new Json().beginObject()
+                .field("name", user.getName())
+                .field("nric", user.getNric())
+                .name("age").value(user.getAge())
+                .name("maritalStatus").value(user.getMaritalStatus())
+                .name("userType").value(user.getUserType())
+                .endObject();
+    }
+
+    /**
+     * Lists the visible projects, including ones the applicant applied for.
+     *
+     * @param request The request
+     * @return The projects
+     */
+    private Json listOpenProjects(ApiRequest request) {
+        String nric = request.user().getNric();
+        List<String> applied = new ArrayList<>();
+        for (Application app : applications.getApplicationsForApplicant(nric)) {
+            applied.add(app.getProjectName());
+        }
+        return projectList(projects.getVisibleProjects(nric, applied));
+    }
+
+    /**
+     * Submits an application, enforcing the same rules as the applicant menu: one
+     * application per applicant, singles from 35 for 2-Room flats only, married applicants
+     * from 21, and no applying for a project the officer handles.
+     *
+     * @param request The request, with projectName and unitType
+     * @return The submitted application
+     */
+    private Json submitApplication(ApiRequest request) {
+        User user = request.user();
+        String unitType = request.required("unitType");
+        Project project = project(request.required("projectName"));
+        if (!project.isVisible()) {
+            throw ApiException.notFound("Project not found: " + project.getProjectName());
+        }
+        if (containsIgnoreCase(project.getOfficers(), user.getNric())) {
+            throw new IllegalArgumentException("You cannot apply for a project you are handling as an officer.");
+        }
+        if (user.getMaritalStatus() == MaritalStatus.SINGLE) {
+            if (user.getAge() < 35) {
+                throw new IllegalArgumentException("As a Single applicant, you must be at least 35 years old to apply.");
+            }
+            if (!"2-Room".equalsIgnoreCase(unitType)) {
+                throw new IllegalArgumentException("Single applicants are eligible for 2-Room flats only.");
+            }
+        } else if (user.getAge() < 21) {
+            throw new IllegalArgumentException("As a Married applicant, you must be at least 21 years old to apply.");
+        }
+        String offeredType = null;
+        for (String type : project.getUnits().keySet()) {
+            if (type.equalsIgnoreCase(unitType)) {
+                offeredType = type;
+            }
+        }
+        if (offeredType == null) {
+            throw new IllegalArgumentException("Project " + project.getProjectName() + " has no " + unitType + " units.");
+        }
+        Application application = new Application(user.getNric(), project.getProjectName(), offeredType);
+        if (!applications.submitIfNone(application)) {
+            throw new IllegalArgumentException("You have already applied for a project. You cannot submit multiple applications.");
+        }
+        return writeApplication(new Json(), application);
+    }
+
+    /**
+     * Submits an enquiry about a project.
+     *
+     * @param request The request, with projectName and message
+     * @return The submitted enquiry
+     */
+    private Json submitEnquiry(ApiRequest request) {
+        Project project = project(request.required("projectName"));
+        Enquiry enquiry = new Enquiry(request.user().getNric(), project.getProjectName(), request.required("message"));
+        enquiries.submitEnquiry(enquiry);
+        return writeEnquiry(new Json(), enquiry);
+    }
+
+    /**
+     * Edits the message of one of the user's enquiries.
+     *
+     * @param request The request, with message
+     * @return The edited enquiry
+     */
+    private Json editEnquiry(ApiRequest request) {
+        Enquiry enquiry = ownEnquiry(request);
+        enquiries.editEnquiry(enquiry.getEnquiryId(), request.required("message"));
+        return writeEnquiry(new Json(), enquiry);
+    }
+
+    /**
+     * Deletes one of the user's enquiries.
+     *
+     * @param request The request
+     * @return No body
+     */
+    private Json deleteEnquiry(ApiRequest request) {
+        enquiries.deleteEnquiry(ownEnquiry(request).getEnquiryId());
+        return null;
+    }
+
+    /**
+     * Requests withdrawal of one of the user's applications.
+     *
+     * @param request The request, with applicationId and optional remarks
+     * @return The withdrawal request
+     */
+    private Json requestWithdrawal(ApiRequest request) {
+        Application application = application(request.required("applicationId"));
+        if (!application.getApplicantNric().equalsIgnoreCase(request.user().getNric())) {
+            throw ApiException.notFound("Application not found: " + request.required("applicationId"));
+        }
+        WithdrawalRequest withdrawal = new WithdrawalRequest("", application.getApplicationId(),
+                application.getApplicantNric(), application.getProjectName(), WithdrawalStatus.PENDING,
+                LocalDateTime.now(), null, request.optional("remarks"));
+        withdrawals.requestWithdrawal(withdrawal);
+        return writeWithdrawal(new Json(), withdrawal);
+    }
+
+    // ------------------ Officer endpoints --------------------
+
+    /**
+     * Adds a reply to an enquiry on behalf of the officer or manager.
+     *
+     * @param request The request, with reply
+     * @return The enquiry with its replies
+     */
+    private Json replyEnquiry(ApiRequest request) {
+        String enquiryId = request.path("id");
+        enquiries.addReply(enquiryId, request.required("reply"), request.user().getNric());
+        for (Enquiry enquiry : enquiries.getAllEnquiries()) {
+            if (enquiry.getEnquiryId().equalsIgnoreCase(enquiryId)) {
+                return writeEnquiry(new Json(), enquiry);
+            }
+        }
+        throw ApiException.notFound("Enquiry not found: " + enquiryId);
+    }
+
+    /**
+     * Lists the applications for a project the officer handles.
+     *
+     * @param request The request
+     * @return The applications
+     */
+    private Json listHandledApplications(ApiRequest request) {
+        Project project = handledProject(request, request.path("name"));
+        return applicationList(applications.getApplicationsForProject(project.getProjectName()));
+    }
+
+    /**
+     * Replaces the remarks of an application for a project the officer handles.
+     *
+     * @param request The request, with remarks
+     * @return The updated application
+     */
+    private Json updateRemarks(ApiRequest request) {
+        Application application = handledApplication(request);
+        applications.updateRemarks(application.getApplicationId(), request.optional("remarks"));
+        return writeApplication(new Json(), application(application.getApplicationId()));
+    }
+
+    /**
+     * Books a unit for a successful application for a project the officer handles,
+     * as the officer menu does: a unit of the application's flat type is taken and a unit
+     * number assigned before the application is marked as booked.
+     *
+     * @param request The request
+     * @return The booked application, with its unit number
+     */
+    private Json processApplication(ApiRequest request) {
+        Application application = handledApplication(request);
+        Application booked = booking.book(application.getApplicationId(), request.user(), unitNumber -> true);
+        return writeApplication(new Json(), booked);
+    }
+
+    /**
+     * Generates the booking receipt of an application for a project the officer handles.
+     *
+     * @param request The request
+     * @return The receipt text
+     */
+    private Json receipt(ApiRequest request) {
+        Application application = handledApplication(request);
+        return new Json().beginObject()
+                .field("applicationId", application.getApplicationId())
+                .field("receipt", applications.generateReceipt(application.getApplicationId()))
+                .endObject();
+    }
+
+    // ------------------ Manager endpoints --------------------
+
+    /**
+     * Lists all projects, or only the manager's own with ?mine=true.
+     *
+     * @param request The request
+     * @return The projects
+     */
+    private Json listProjects(ApiRequest request) {
+        return projectList("true".equalsIgnoreCase(request.query("mine"))
+                ? projects.getProjectsByManager(request.user().getNric())
+                : projects.getAllProjects());
+    }
+
+    /**
+     * Creates a project managed by the manager. Unit types are added for the room counts given.
+     *
+     * @param request The request, with projectName, neighborhood, openingDate, closingDate,
+     *        officerSlot and optionally twoRoomUnits, twoRoomPrice, threeRoomUnits and threeRoomPrice
+     * @return The created project
+     */
+    private Json createProject(ApiRequest request) {
+        String name = request.required("projectName");
+        if (projects.getProject(name) != null) {
+            throw new IllegalArgumentException("A project with this name already exists: " + name);
+        }
+        LocalDate opening = request.requiredDate("openingDate");
+        LocalDate closing = request.requiredDate("closingDate");
+        if (closing.isBefore(opening)) {
+            throw new IllegalArgumentException("Closing date must not be before the opening date.");
+        }
+        int officerSlot = request.requiredInt("officerSlot");
+        if (officerSlot < 1 || officerSlot > 10) {
+            throw new IllegalArgumentException("Officer slots must be between 1 and 10.");
+        }
+        Project project = new Project(name, request.required("neighborhood"), opening, closing,
+                request.user().getNric(), officerSlot);
+        if (request.optional("twoRoomUnits") != null) {
+            project.addUnitType("2-Room", request.requiredInt("twoRoomUnits"), request.requiredDouble("twoRoomPrice"));
+        }
+        if (request.optional("threeRoomUnits") != null) {
+            project.addUnitType("3-Room", request.requiredInt("threeRoomUnits"), request.requiredDouble("threeRoomPrice"));
+        }
+        projects.addProject(project);
+        projects.saveChanges();
+        return writeProject(new Json(), project);
+    }
+
+    /**
+     * Changes the application dates or officer slots of one of the manager's projects.
+     * Fields that are absent are left unchanged.
+     *
+     * @param request The request, with optional openingDate, closingDate and officerSlot
+     * @return The updated project
+     */
+    private Json updateProject(ApiRequest request) {
+        Project project = ownProject(request);
+        LocalDate opening = request.optional("openingDate") != null ? request.requiredDate("openingDate") : null;
+        LocalDate closing = request.optional("closingDate") != null ? request.requiredDate("closingDate") : null;
+        Integer officerSlot = null;
+        if (request.optional("officerSlot") != null) {
+            officerSlot = request.requiredInt("officerSlot");
+            if (officerSlot > 10) {
+                throw new IllegalArgumentException("Officer slots must cover the assigned officers and be at most 10.");
+            }
+        }
+        projects.updateProjectDetails(project.getProjectName(), opening, closing, officerSlot);
+        projects.saveChanges();
+        return writeProject(new Json(), project(project.getProjectName()));
+    }
+
+    /**
+     * Deletes one of the manager's projects.
+     *
+     * @param request The request
+     * @return No body
+     */
+    private Json deleteProject(ApiRequest request) {
+        projects.deleteProject(ownProject(request).getProjectName());
+        projects.saveChanges();
+        return null;
+    }
+
+    /**
+     * Shows or hides one of the manager's projects.
+     *
+     * @param request The request, with visible
+     * @return The updated project
+     */
+    private Json setVisibility(ApiRequest request) {
+        Project project = ownProject(request);
+        projects.toggleVisibility(project.getProjectName(), request.requiredBoolean("visible"));
+        projects.saveChanges();
+        return writeProject(new Json(), project);
+    }
+
+    /**
+     * Assigns an officer to one of the manager's projects.
+     *
+     * @param request The request, with officerNric
+     * @return The updated project
+     */
+    private Json assignOfficer(ApiRequest request) {
+        Project project = ownProject(request);
+        projects.assignOfficer(project.getProjectName(), request.required("officerNric"));
+        projects.saveChanges();
+        return writeProject(new Json(), project(project.getProjectName()));
+    }
+
+    /**
+     * Lists the applications for a project, optionally only those with a given status.
+     *
+     * @param request The request, with optional ?status=
+     * @return The applications
+     */
+    private Json listProjectApplications(ApiRequest request) {
+        Project project = project(request.path("name"));
+        String status = request.query("status");
+        if (status == null) {
+            return applicationList(applications.getApplicationsByProject(project.getProjectName()));
+        }
+        if ("PENDING".equalsIgnoreCase(status)) {
+            return applicationList(applications.getPendingApplicationsByProject(project.getProjectName()));
+        }
+        ApplicationStatus wanted = parseStatus(status);
+        List<Application> matching = new ArrayList<>();
+        for (Application app : applications.getApplicationsByProject(project.getProjectName())) {
+            if (app.getStatus() == wanted) {
+                matching.add(app);
+            }
+        }
+        return applicationList(matching);
+    }
+
+    /**
+     * Approves or rejects a pending application for one of the manager's projects.
+     * The decision is applied as a batch of one, which checks the application is still
+     * pending in the same step and records the approval date.
+     *
+     * @param request The request
+     * @param approve Whether to approve rather than reject the application
+     * @return The decided application
+     */
+    private Json decideApplication(ApiRequest request, boolean approve) {
+        Application application = application(request.path("id"));
+        managedProject(request, application.getProjectName());
+        ApplicationDecision decision = approve
+                ? ApplicationDecision.approve(application.getApplicationId())
+                : ApplicationDecision.reject(application.getApplicationId(), "Rejected by manager: " + request.user().getName());
+        DecisionBatchResult result = applications.decideApplications(Collections.singletonList(decision));
+        if (!result.getSkipped().isEmpty()) {
+            throw new ApiException(409, "Application " + result.getSkipped().get(0));
+        }
+        return writeApplication(new Json(), application(application.getApplicationId()));
+    }
+
+    /**
+     * Decides every pending application of an own project with a decision rule,
+     * persisted as a single batch.
+     *
+     * @param request The request, with the rule: approve-all, reject-all or by-supply
+     * @return The number of applications approved, rejected and skipped and the time taken
+     */
+    private Json decideProject(ApiRequest request) {
+        Project project = ownProject(request);
+        DecisionRule rule = DecisionRule.fromName(request.required("rule"));
+        DecisionBatchResult result = applications.decideApplications(
+                rule.decide(project, applications.getApplicationsByProject(project.getProjectName())));
+        return new Json().beginObject()
+                .field("rule", rule.toString())
+                .name("approved").value(result.getApproved())
+                .name("rejected").value(result.getRejected())
+                .name("skipped").value(result.getSkipped().size())
+                .name("elapsedMillis").value(result.getElapsedMillis())
+                .endObject();
+    }
+
+    /**
+     * Lists the latency histograms and counters recorded since the server started.
+     *
+     * @return The operations with their counts and latencies in nanoseconds, and the counters
+     */
+    private Json metrics() {
+        Json json = new Json().beginObject().name("operations").beginArray();
+        for (LatencyHistogram.Snapshot snapshot : Metrics.histograms()) {
+            json.beginObject()
+                    .field("name", snapshot.getName())
+                    .name("count").value(snapshot.getCount())
+                    .name("meanNanos").value(snapshot.getMean())
+                    .name("p50Nanos").value(snapshot.getPercentile(0.50))
+                    .name("p99Nanos").value(snapshot.getPercentile(0.99))
+                    .name("maxNanos").value(snapshot.getMax())
+                    .endObject();
+        }
+        json.endArray().name("counters").beginObject();
+        for (Map.Entry<String, Long> counter : Metrics.counters().entrySet()) {
+            json.name(counter.getKey()).value(counter.getValue().longValue());
+        }
+        return json.endObject().endObject();
+    }
+
+    /**
+     * Approves or rejects a pending withdrawal request for one of the manager's projects, as
+     * the manager menu does: approving it withdraws the application and returns its unit if
+     * one was booked.
+     *
+     * @param request The request, with optional remarks
+     * @param approve Whether to approve rather than reject the withdrawal
+     * @return The processed withdrawal request
+     */
+    private Json processWithdrawal(ApiRequest request, boolean approve) {
+        String requestId = request.path("id");
+        WithdrawalRequest withdrawal = withdrawals.getWithdrawalRequest(requestId);
+        if (withdrawal == null) {
+            throw ApiException.notFound("Withdrawal request not found: " + requestId);
+        }
+        managedProject(request, withdrawal.getProjectName());
+        if (withdrawal.getStatus() != WithdrawalStatus.PENDING) {
+            throw new ApiException(409, "Withdrawal request " + withdrawal.getRequestId() + " has already been processed.");
+        }
+        String remarks = request.optional("remarks");
+        WithdrawalRequest processed = approve
+                ? withdrawalProcess.approve(withdrawal.getRequestId(), request.user(), remarks)
+                : withdrawalProcess.reject(withdrawal.getRequestId(), remarks);
+        return writeWithdrawal(new Json(), processed);
+    }
+
+    // ------------------ Lookups --------------------
+
+    /**
+     * Finds a project by name.
+     *
+     * @param name The project name
+     * @return The project
+     * @throws ApiException if there is no such project
+     */
+    private Project project(String name) {
+        Project project = projects.getProject(name);
+        if (project == null) {
+            throw ApiException.notFound("Project not found: " + name);
+        }
+        return project;
+    }
+
+    /**
+     * Finds the project of a request that the manager making it manages.
+     *
+     * @param request The request, with a {name} path parameter
+     * @return The project
+     * @throws ApiException if there is no such project or another manager manages it
+     */
+    private Project ownProject(ApiRequest request) {
+        return managedProject(request, request.path("name"));
+    }
+
+    /**
+     * Finds a project that the manager making a request manages.
+     *
+     * @param request The request
+     * @param name The project name
+     * @return The project
+     * @throws ApiException if there is no such project or another manager manages it
+     */
+    private Project managedProject(ApiRequest request, String name) {
+        Project project = project(name);
+        if (!project.getManager().equalsIgnoreCase(request.user().getNric())) {
+            throw ApiException.forbidden("You can only change projects you manage.");
+        }
+        return project;
+    }
+
+    /**
+     * Finds a project that the officer making a request handles.
+     *
+     * @param request The request
+     * @param name The project name
+     * @return The project
+     * @throws ApiException if there is no such project or the officer does not handle it
+     */
+    private Project handledProject(ApiRequest request, String name) {
+        Project project = project(name);
+        if (!containsIgnoreCase(project.getOfficers(), request.user().getNric())) {
+            throw ApiException.forbidden("You are not an officer of project " + project.getProjectName());
+        }
+        return project;
+    }
+
+    /**
+     * Finds an application by ID.
+     *
+     * @param applicationId The application ID
+     * @return The application
+     * @throws ApiException if there is no such application
+     */
+    private Application application(String applicationId) {
+        Application application = applications.getApplication(applicationId);
+        if (application == null) {
+            throw ApiException.notFound("Application not found: " + applicationId);
+        }
+        return application;
+    }
+
+    /**
+     * Finds the application of a request, which must be for a project the officer handles.
+     *
+     * @param request The request, with an {id} path parameter
+     * @return The application
+     */
+    private Application handledApplication(ApiRequest request) {
+        Application application = application(request.path("id"));
+        handledProject(request, application.getProjectName());
+        return application;
+    }
+
+    /**
+     * Finds the enquiry of a request, which must belong to the user making it.
+     * Enquiries of other users are reported as not found.
+     *
+     * @param request The request, with an {id} path parameter
+     * @return The enquiry
+     * @throws ApiException if the user has no such enquiry
+     */
+    private Enquiry ownEnquiry(ApiRequest request) {
+        String enquiryId = request.path("id");
+        for (Enquiry enquiry : enquiries.getEnquiriesForApplicant(request.user().getNric())) {
+            if (enquiry.getEnquiryId().equalsIgnoreCase(enquiryId)) {
+                return enquiry;
+            }
+        }
+        throw ApiException.notFound("Enquiry not found: " + enquiryId);
+    }
+
+    /**
+     * Parses an application status name.
+     *
+     * @param status The status name, in any case
+     * @return The status
+     * @throws IllegalArgumentException if there is no such status
+     */
+    private static ApplicationStatus parseStatus(String status) {
+        try {
+            return ApplicationStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown application status: " + status);
+        }
+    }
+
+    /**
+     * Checks whether a list contains a value, ignoring case.
+     *
+     * @param values The list
+     * @param value The value to look for
+     * @return true if the list contains the value
+     */
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        for (String candidate : values) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ------------------ JSON mapping --------------------
+
+    /**
+     * Writes a list of applications as a JSON array.
+     *
+     * @param list The applications
+     * @return The JSON array
+     */
+    private static Json applicationList(List<Application> list) {
+        Json json = new Json().beginArray();
+        for (Application application : list) {
+            writeApplication(json, application);
+        }
+        return json.endArray();
+    }
+
+    /**
+     * Writes an application as a JSON object.
+     *
+     * @param json The builder to write to
+     * @param application The application
+     * @return The builder
+     */
+    private static Json writeApplication(Json json, Application application) {
+        return json.beginObject()
+                .field("applicationId", application.getApplicationId())
+                .field("applicantNric", application.getApplicantNric())
+                .field("projectName", application.getProjectName())
+                .field("unitType", application.getUnitType())
+                .name("status").value(application.getStatus())
+                .field("assignedUnit", application.getAssignedUnit())
+                .field("assignedOfficer", application.getAssignedOfficer())
+                .name("applicationDate").value(application.getApplicationDate())
+                .name("lastUpdated").value(application.getLastUpdated())
+                .field("remarks", application.getRemarks())
+                .endObject();
+    }
+
+    /**
+     * Writes a list of projects as a JSON array.
+     *
+     * @param list The projects
+     * @return The JSON array
+     */
+    private static Json projectList(List<Project> list) {
+        Json json = new Json().beginArray();
+        for (Project project : list) {
+            writeProject(json, project);
+        }
+        return json.endArray();
+    }
+
+    /**
+     * Writes a project, with its unit types and officers, as a JSON object.
+     *
+     * @param json The builder to write to
+     * @param project The project
+     * @return The builder
+     */
+    private static Json writeProject(Json json, Project project) {
+        json.beginObject()
+                .field("projectName", project.getProjectName())
+                .field("neighborhood", project.getNeighborhood())
+                .name("openingDate").value(project.getApplicationOpeningDate())
+                .name("closingDate").value(project.getApplicationClosingDate())
+                .field("manager", project.getManager())
+                .name("officerSlot").value(project.getOfficerSlot())
+                .name("visible").value(project.isVisible())
+                .name("officers").beginArray();
+        for (String officer : project.getOfficers()) {
+            json.value(officer);
+        }
+        json.endArray().name("units").beginArray();
+        for (Map.Entry<String, UnitInfo> unit : project.getUnits().entrySet()) {
+            json.beginObject()
+                    .field("type", unit.getKey())
+                    .name("totalUnits").value(unit.getValue().getTotalUnits())
+                    .name("availableUnits").value(unit.getValue().getAvailableUnits())
+                    .name("sellingPrice").value(unit.getValue().getSellingPrice())
+                    .endObject();
+        }
+        return json.endArray().endObject();
+    }
+
+    /**
+     * Writes a list of enquiries as a JSON array.
+     *
+     * @param list The enquiries
+     * @return The JSON array
+     */
+    private static Json enquiryList(List<Enquiry> list) {
+        Json json = new Json().beginArray();
+        for (Enquiry enquiry : list) {
+            writeEnquiry(json, enquiry);
+        }
+        return json.endArray();
+    }
+
+    /**
+     * Writes an enquiry, with its replies, as a JSON object.
+     *
+     * @param json The builder to write to
+     * @param enquiry The enquiry
+     * @return The builder
+     */
+    private static Json writeEnquiry(Json json, Enquiry enquiry) {
+        json.beginObject()
+                .field("enquiryId", enquiry.getEnquiryId())
+                .field("applicantNric", enquiry.getApplicantNric())
+                .field("projectName", enquiry.getProjectName())
+                .field("message", enquiry.getMessage())
+                .name("status").value(enquiry.getStatus())
+                .name("submittedAt").value(enquiry.getSubmittedAt())
+                .name("replies").beginArray();
+        for (Enquiry.Reply reply : enquiry.getReplies()) {
+            json.beginObject()
+                    .field("text", reply.getText())
+                    .field("respondentNric", reply.getRespondentNric())
+                    .name("timestamp").value(reply.getTimestamp())
+                    .endObject();
+        }
+        return json.endArray().endObject();
+    }
+
+    /**
+     * Writes a list of withdrawal requests as a JSON array.
+     *
+     * @param list The withdrawal requests
+     * @return The JSON array
+     */
+    private static Json withdrawalList(List<WithdrawalRequest> list) {
+        Json json = new Json().beginArray();
+        for (WithdrawalRequest withdrawal : list) {
+            writeWithdrawal(json, withdrawal);
+        }
+        return json.endArray();
+    }
+
+    /**
+     * Writes a withdrawal request as a JSON object.
+     *
+     * @param json The builder to write to
+     * @param withdrawal The withdrawal request
+     * @return The builder
+     */
+    private static Json writeWithdrawal(Json json, WithdrawalRequest withdrawal) {
+        return json.beginObject()
+                .field("requestId", withdrawal.getRequestId())
+                .field("applicationId", withdrawal.getApplicationId())
+                .field("applicantNric", withdrawal.getApplicantNric())
+                .field("projectName", withdrawal.getProjectName())
+                .name("status").value(withdrawal.getStatus())
+                .name("requestDate").value(withdrawal.getRequestDate())
+                .name("processDate").value(withdrawal.getProcessDate())
+                .field("remarks", withdrawal.getRemarks())
+                .endObject();
+    }
+}
@@ -0,0 +1,383 @@
+package server;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP API.
+ * Responses are written with a streaming builder that inserts the commas between members
+ * itself, so endpoints only describe the structure. Request bodies are flat objects whose
+ * values are strings, numbers, booleans or null, which {@link #parseObject(String)} reads
+ * into a map of their text.
+ *
+ * Dates are written as ISO-8601 strings, e.g. 2025-04-01 and 2025-04-01T09:30:00.
+ */
+public class Json {
+    /** The JSON text written so far */
+    private final StringBuilder sb = new StringBuilder(256);
+
+    /** Whether the next value needs a comma before it */
+    private boolean needsComma;
+
+    /**
+     * Starts an object, as a value or at the top level.
+     *
+     * @return This builder
+     */
+    public Json beginObject() {
+        separate();
+        sb.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return This builder
+     */
+    public Json endObject() {
+        sb.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Starts an array, as a value or at the top level.
+     *
+     * @return This builder
+     */
+    public Json beginArray() {
+        separate();
+        sb.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return This builder
+     */
+    public Json endArray() {
+        sb.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name The member name
+     * @return This builder
+     */
+    public Json name(String name) {
+        separate();
+        appendString(name);
+        sb.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Writes a string value.
+     *
+     * @param value The value; null is written as null
+     * @return This builder
+     */
+    public Json value(String value) {
+        separate();
+        if (value == null) {
+            sb.append("null");
+        } else {
+            appendString(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a value as the string form of an object, such as an enum constant.
+     *
+     * @param value The value; null is written as null
+     * @return This builder
+     */
+    public Json value(Object value) {
+        return value(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Writes a whole number value.
+     *
+     * @param value The value
+     * @return This builder
+     */
+    public Json value(long value) {
+        separate();
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a decimal number value.
+     *
+     * @param value The value
+     * @return This builder
+     */
+    public Json value(double value) {
+        separate();
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value The value
+     * @return This builder
+     */
+    public Json value(boolean value) {
+        separate();
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a date as an ISO-8601 string.
+     *
+     * @param value The value; null is written as null
+     * @return This builder
+     */
+    public Json value(LocalDate value) {
+        return value(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Writes a timestamp as an ISO-8601 string.
+     *
+     * @param value The value; null is written as null
+     * @return This builder
+     */
+    public Json value(LocalDateTime value) {
+        return value(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Writes a named string member.
+     *
+     * @param name The member name
+     * @param value The value; may be null
+     * @return This builder
+     */
+    public Json field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    /**
+     * Returns the JSON text written so far.
+     *
+     * @return The JSON text
+     */
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+
+    /**
+     * Parses a flat JSON object into its member values.
+     * String values are unescaped, other values are kept as their literal text and null
+     * values are mapped to null. An empty body is read as an empty object.
+     *
+     * @param text The JSON text
+     * @return The member values by name, in the order they appear
+     * @throws IllegalArgumentException if the text is not a flat JSON object
+     */
+    public static Map<String, String> parseObject(String text) {
+        Map<String, String> members = new LinkedHashMap<>();
+        Parser parser = new Parser(text);
+        if (!parser.skipWhitespace()) {
+            return members;
+        }
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.readString();
+                parser.expect(':');
+                members.put(name, parser.readScalar());
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        if (parser.skipWhitespace()) {
+            throw new IllegalArgumentException("Unexpected content after JSON object");
+        }
+        return members;
+    }
+
+    /**
+     * Writes the comma before a value that follows another one.
+     */
+    private void separate() {
+        if (needsComma) {
+            sb.append(',');
+        }
+    }
+
+    /**
+     * Writes a quoted string, escaping quotes, backslashes and control characters.
+     *
+     * @param value The string to write
+     */
+    private void appendString(String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Cursor over the text of a request body.
+     */
+    private static class Parser {
+        /** The text being parsed */
+        private final String text;
+
+        /** Index of the next character to read */
+        private int pos;
+
+        /**
+         * Constructs a parser at the start of a text.
+         *
+         * @param text The text to parse; null is read as empty
+         */
+        Parser(String text) {
+            this.text = text != null ? text : "";
+        }
+
+        /**
+         * Skips whitespace.
+         *
+         * @return true if any text remains, false at the end of the text
+         */
+        boolean skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            return pos < text.length();
+        }
+
+        /**
+         * Consumes a character if it is next, after any whitespace.
+         *
+         * @param c The character to consume
+         * @return true if the character was consumed
+         */
+        boolean consume(char c) {
+            if (skipWhitespace() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Consumes a character that must be next, after any whitespace.
+         *
+         * @param c The expected character
+         * @throws IllegalArgumentException if another character or the end of the text is next
+         */
+        void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at position " + pos + " of the JSON body");
+            }
+        }
+
+        /**
+         * Reads a quoted string.
+         *
+         * @return The unescaped string
+         * @throws IllegalArgumentException if no well-formed string is next
+         */
+        String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("Invalid escape in JSON string");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid escape in JSON string");
+                        }
+                        pos += 4;
+                        break;
+                    default: value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string in JSON body");
+        }
+
+        /**
+         * Reads a string, number, boolean or null value.
+         *
+         * @return The string value, the literal text of a number or boolean, or null
+         * @throws IllegalArgumentException if an object, array or malformed value is next
+         */
+        String readScalar() {
+            if (!skipWhitespace()) {
+                throw new IllegalArgumentException("Missing value in JSON body");
+            }
+            if (text.charAt(pos) == '"') {
+                return readString();
+            }
+            int start = pos;
+            while (pos < text.length()
+                    && (Character.isLetterOrDigit(text.charAt(pos)) || "-+.".indexOf(text.charAt(pos)) >= 0)) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Only flat JSON objects are accepted");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+    }
+}
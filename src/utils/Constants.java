@@ -37,6 +37,15 @@ public class Constants {
     
     /** Filename for manager user data */
     public static final String MANAGER_FILE = "ManagerList.csv";
+
+    /** Filename for the binary snapshot of all data, written on clean shutdown */
+    public static final String SNAPSHOT_FILE = "Data.snapshot";
+
+    /** Number of journal records after which a handler compacts its journal into the CSV file */
+    public static final int JOURNAL_COMPACTION_THRESHOLD = 5000;
+    
+    /** Window in milliseconds during which journal appends are coalesced into a single fsync */
+    public static final long GROUP_COMMIT_WINDOW_MILLIS = 2;
     
     /** Date format pattern used for displaying and parsing dates */
     public static final String DATE_FORMAT = "dd-MM-yyyy";
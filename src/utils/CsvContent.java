@@ -0,0 +1,16 @@
+package utils;
+
+import java.io.IOException;
+
+/**
+ * Produces the records of a CSV file by writing them to a CSV writer.
+ */
+public interface CsvContent {
+    /**
+     * Writes the records.
+     *
+     * @param out The writer to write the records to
+     * @throws IOException if writing fails
+     */
+    void writeTo(CsvWriter out) throws IOException;
+}
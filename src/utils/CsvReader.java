@@ -0,0 +1,276 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 CSV tokenizer.
+ * Reads through a fixed char buffer and decodes each record into a reusable record
+ * buffer, keeping only the start and end offset of every field. Field values are only
+ * turned into Strings when a caller asks for them, so the parser allocates nothing per
+ * row beyond the values the factories actually keep.
+ *
+ * Quoted fields may contain delimiters, line breaks and doubled quotes ("").
+ * For compatibility with existing data files, whitespace around unquoted fields and
+ * around the quotes of quoted fields is ignored, and blank lines are skipped.
+ */
+public class CsvReader implements CsvSource {
+    /** Default size of the input buffer in chars */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Marker returned by {@link #read()} at the end of the input */
+    private static final int EOF = -1;
+
+    /** The source of the CSV text */
+    private final Reader reader;
+
+    /** Buffer of undecoded input */
+    private final char[] input;
+
+    /** Position of the next unread char in the input buffer */
+    private int inputPos;
+
+    /** Number of valid chars in the input buffer */
+    private int inputLimit;
+
+    /** Decoded field values of the current record, back to back */
+    private char[] record = new char[256];
+
+    /** Number of chars used in the record buffer */
+    private int recordLength;
+
+    /** Start offset of each field in the record buffer */
+    private int[] fieldStarts = new int[16];
+
+    /** End offset (exclusive) of each field in the record buffer */
+    private int[] fieldEnds = new int[16];
+
+    /** Number of fields in the current record */
+    private int fieldCount;
+
+    /**
+     * Constructs a reader over the given character stream.
+     *
+     * @param reader The character stream to parse
+     */
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a reader over the given character stream with a specific input buffer size.
+     * Small buffers suit short in-memory inputs such as a single line.
+     *
+     * @param reader The character stream to parse
+     * @param bufferSize Size of the input buffer in chars
+     */
+    public CsvReader(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.input = new char[bufferSize];
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the underlying stream cannot be read
+     */
+    @Override
+    public boolean next() throws IOException {
+        int c;
+        // Skip blank lines between records
+        do {
+            c = read();
+        } while (c == '\n' || c == '\r');
+        if (c == EOF) {
+            fieldCount = 0;
+            return false;
+        }
+
+        fieldCount = 0;
+        recordLength = 0;
+        while (true) {
+            while (c == ' ' || c == '\t') {
+                c = read();
+            }
+            int start = recordLength;
+            int end;
+            if (c == '"') {
+                c = readQuoted();
+                end = recordLength;
+                // Anything between the closing quote and the delimiter is kept verbatim
+                while (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+                    if (c != ' ' && c != '\t') {
+                        append((char) c);
+                        end = recordLength;
+                    }
+                    c = read();
+                }
+            } else {
+                end = start;
+                while (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+                    append((char) c);
+                    if (c != ' ' && c != '\t') {
+                        end = recordLength;
+                    }
+                    c = read();
+                }
+            }
+            addField(start, end);
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of fields in the current record.
+     *
+     * @return The field count
+     */
+    @Override
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the value of a field in the current record.
+     *
+     * @param index The 0-based field index
+     * @return The field value, or an empty string if the record has no such field
+     */
+    @Override
+    public String field(int index) {
+        if (index >= fieldCount) {
+            return "";
+        }
+        int length = fieldEnds[index] - fieldStarts[index];
+        return length == 0 ? "" : new String(record, fieldStarts[index], length);
+    }
+
+    /**
+     * Checks whether a field of the current record is empty or missing.
+     *
+     * @param index The 0-based field index
+     * @return true if the field is empty or the record has no such field
+     */
+    @Override
+    public boolean isEmpty(int index) {
+        return index >= fieldCount || fieldEnds[index] == fieldStarts[index];
+    }
+
+    /**
+     * Closes the underlying character stream.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Decodes the body of a quoted field into the record buffer.
+     * Called after the opening quote has been consumed.
+     *
+     * @return The first char after the closing quote
+     * @throws IOException if the underlying stream cannot be read
+     */
+    private int readQuoted() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                return EOF;
+            }
+            if (c == '"') {
+                int next = read();
+                if (next != '"') {
+                    return next;
+                }
+            }
+            append((char) c);
+        }
+    }
+
+    /**
+     * Records a field spanning the given range of the record buffer.
+     *
+     * @param start Start offset of the field
+     * @param end End offset (exclusive) of the field
+     */
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * Appends a decoded char to the record buffer, growing it if needed.
+     *
+     * @param c The char to append
+     */
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = c;
+    }
+
+    /**
+     * Reads the next char of input.
+     *
+     * @return The next char, or {@link #EOF} at the end of the input
+     * @throws IOException if the underlying stream cannot be read
+     */
+    private int read() throws IOException {
+        if (inputPos == inputLimit && !fill()) {
+            return EOF;
+        }
+        return input[inputPos++];
+    }
+
+    /**
+     * Returns the next char of input without consuming it.
+     *
+     * @return The next char, or {@link #EOF} at the end of the input
+     * @throws IOException if the underlying stream cannot be read
+     */
+    private int peek() throws IOException {
+        if (inputPos == inputLimit && !fill()) {
+            return EOF;
+        }
+        return input[inputPos];
+    }
+
+    /**
+     * Refills the input buffer from the underlying stream.
+     *
+     * @return true if at least one char was read, false at the end of the input
+     * @throws IOException if the underlying stream cannot be read
+     */
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(input, 0, input.length);
+        } while (read == 0);
+        if (read < 0) {
+            inputPos = 0;
+            inputLimit = 0;
+            return false;
+        }
+        inputPos = 0;
+        inputLimit = read;
+        return true;
+    }
+}
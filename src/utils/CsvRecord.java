@@ -0,0 +1,87 @@
+package utils;
+
+/**
+ * Read-only view of one parsed CSV record.
+ * Lets the factories pull individual fields straight out of a parser's buffers
+ * instead of going through an intermediate String array per row.
+ */
+public interface CsvRecord {
+    /**
+     * Returns the number of fields in the current record.
+     *
+     * @return The field count
+     */
+    int fieldCount();
+
+    /**
+     * Returns the value of a field.
+     * Fields past the end of the record are treated as empty, which matches how the
+     * factories pad short rows.
+     *
+     * @param index The 0-based field index
+     * @return The field value, or an empty string if the record has no such field
+     */
+    String field(int index);
+
+    /**
+     * Checks whether a field is empty or missing without materializing its value.
+     *
+     * @param index The 0-based field index
+     * @return true if the field is empty or the record has no such field
+     */
+    boolean isEmpty(int index);
+
+    /**
+     * Returns the value of a field that repeats across many records, as the shared
+     * instance from the {@link StringPool}.
+     *
+     * @param index The 0-based field index
+     * @return The canonical field value, or an empty string if the record has no such field
+     */
+    default String pooledField(int index) {
+        return StringPool.intern(field(index));
+    }
+
+    /**
+     * Copies all fields of the current record into a new array.
+     *
+     * @return The fields of the record
+     */
+    default String[] toArray() {
+        String[] tokens = new String[fieldCount()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = field(i);
+        }
+        return tokens;
+    }
+
+    /**
+     * Wraps an already tokenized row as a record.
+     *
+     * @param tokens The fields of the row
+     * @return A record backed by the given array
+     */
+    static CsvRecord of(String[] tokens) {
+        return new CsvRecord() {
+            @Override
+            public int fieldCount() {
+                return tokens.length;
+            }
+
+            @Override
+            public String field(int index) {
+                return index < tokens.length && tokens[index] != null ? tokens[index] : "";
+            }
+
+            @Override
+            public boolean isEmpty(int index) {
+                return field(index).isEmpty();
+            }
+
+            @Override
+            public String[] toArray() {
+                return tokens;
+            }
+        };
+    }
+}
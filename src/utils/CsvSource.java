@@ -0,0 +1,19 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Cursor over the records of a CSV input.
+ * The record accessors of {@link CsvRecord} refer to the current record, which is
+ * replaced by every call to {@link #next()}.
+ */
+public interface CsvSource extends CsvRecord, Closeable {
+    /**
+     * Advances to the next record.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    boolean next() throws IOException;
+}
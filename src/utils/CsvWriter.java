@@ -0,0 +1,261 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Writes CSV records field by field, following the rules {@link CsvReader} reads back.
+ * Each field is escaped in the same pass that copies it: values containing a delimiter,
+ * quote or line break are quoted with inner quotes doubled, everything else is written
+ * as is. Null values are written as empty fields.
+ *
+ * The fields of the current record are collected in a reusable line buffer and handed to
+ * the output in one write when the record ends. A writer created without an output only
+ * collects a single record, which {@link #toString()} then returns as a line.
+ */
+public class CsvWriter implements Closeable, Flushable {
+    /** Line separator written at the end of each record */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** The output records are written to, or null if only one line is collected */
+    private final Writer out;
+
+    /** Fields of the current record */
+    private final StringBuilder line = new StringBuilder(256);
+
+    /** Buffer the current record is copied into before it is written; allocated on first use */
+    private char[] chars;
+
+    /** Whether no field has been written to the current record yet */
+    private boolean atRecordStart = true;
+
+    /** Number of records written to the output */
+    private long recordCount;
+
+    /**
+     * Constructs a writer that writes records to an output.
+     * The output should be buffered, since it receives one write per record.
+     *
+     * @param out The output to write to
+     */
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Constructs a writer that collects a single record, for example a journal line.
+     */
+    public CsvWriter() {
+        this(null);
+    }
+
+    /**
+     * Writes a text field, quoting it if it contains a delimiter, quote or line break.
+     *
+     * @param value The value to write; may be null
+     * @return This writer
+     */
+    public CsvWriter field(String value) {
+        separate();
+        if (value == null) {
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                appendQuoted(value, i);
+                return this;
+            }
+        }
+        line.append(value);
+        return this;
+    }
+
+    /**
+     * Writes a field from the text of an object, such as an enum constant.
+     *
+     * @param value The value to write; may be null
+     * @return This writer
+     */
+    public CsvWriter field(Object value) {
+        return field(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Writes a whole number field.
+     *
+     * @param value The value to write
+     * @return This writer
+     */
+    public CsvWriter field(long value) {
+        separate();
+        line.append(value);
+        return this;
+    }
+
+    /**
+     * Writes a decimal number field, in the form Double.toString produces.
+     *
+     * @param value The value to write
+     * @return This writer
+     */
+    public CsvWriter field(double value) {
+        separate();
+        line.append(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean field as true or false.
+     *
+     * @param value The value to write
+     * @return This writer
+     */
+    public CsvWriter field(boolean value) {
+        separate();
+        line.append(value);
+        return this;
+    }
+
+    /**
+     * Writes a timestamp field in the M/d/yyyy HH:mm:ss format of the data files.
+     *
+     * @param value The value to write; may be null
+     * @return This writer
+     */
+    public CsvWriter field(LocalDateTime value) {
+        separate();
+        if (value != null) {
+            DateUtils.appendDateTime(line, value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a date field in the M/d/yyyy format of the data files.
+     *
+     * @param value The value to write; may be null
+     * @return This writer
+     */
+    public CsvWriter field(LocalDate value) {
+        separate();
+        if (value != null) {
+            DateUtils.appendDate(line, value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a whole record of text fields, such as a header row.
+     *
+     * @param values The fields of the record
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter record(String... values) throws IOException {
+        for (String value : values) {
+            field(value);
+        }
+        return endRecord();
+    }
+
+    /**
+     * Ends the current record and writes it, followed by the platform line separator.
+     *
+     * @return This writer
+     * @throws IOException if writing fails
+     * @throws IllegalStateException if the writer has no output
+     */
+    public CsvWriter endRecord() throws IOException {
+        if (out == null) {
+            throw new IllegalStateException("Writer only collects a single line");
+        }
+        line.append(LINE_SEPARATOR);
+        int length = line.length();
+        if (chars == null || chars.length < length) {
+            chars = new char[Math.max(length, chars == null ? line.capacity() : chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        line.setLength(0);
+        atRecordStart = true;
+        recordCount++;
+        return this;
+    }
+
+    /**
+     * Gets the number of records written to the output so far.
+     *
+     * @return The record count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the fields written to the current record, without a line separator.
+     *
+     * @return The current record as a CSV line
+     */
+    @Override
+    public String toString() {
+        return line.toString();
+    }
+
+    /**
+     * Flushes the records written so far to the output.
+     *
+     * @throws IOException if the output cannot be flushed
+     */
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Flushes and closes the output. Fields of an unfinished record are discarded.
+     *
+     * @throws IOException if the output cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the delimiter before every field but the first of a record.
+     */
+    private void separate() {
+        if (atRecordStart) {
+            atRecordStart = false;
+        } else {
+            line.append(Constants.DELIMITER);
+        }
+    }
+
+    /**
+     * Writes a value in quotes, doubling any quotes inside it.
+     *
+     * @param value The value to write
+     * @param firstSpecial Index of the first character that needs quoting; the characters before it are copied in bulk
+     */
+    private void appendQuoted(String value, int firstSpecial) {
+        line.append('"').append(value, 0, firstSpecial);
+        for (int i = firstSpecial; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -1,16 +1,30 @@
 package utils;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * Utility class providing date formatting and validation operations.
  * Centralizes date-related operations to maintain consistent date handling across the application.
+ *
+ * The data files store timestamps as M/d/yyyy HH:mm:ss and project dates as M/d/yyyy.
+ * These are parsed and formatted by hand, which allocates nothing beyond the result and
+ * never throws. Values outside what the hand-written code covers, such as years that
+ * are not four digits long, fall back to the equivalent DateTimeFormatter, so the results
+ * are always the same as the formatter's.
  */
 public class DateUtils {
     /** The standard date formatter used throughout the application for consistent date formatting */
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(Constants.DATE_TIME_FORMAT);
 
+    /** Formatter for dates without a time, as stored in the project file */
+    private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+
+    /** Marker returned by the field parsers when the text does not match */
+    private static final int NO_MATCH = -1;
+
     /**
      * Parses a date string into a LocalDate object using the system's standard format.
      * 
@@ -32,6 +46,136 @@ public class DateUtils {
         return date.format(formatter);
     }
 
+    /**
+     * Parses a timestamp in the M/d/yyyy HH:mm:ss format of the data files.
+     *
+     * @param text The text to parse; may be null
+     * @return The timestamp, or null if the text is not a valid timestamp in that format
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        if (text == null) {
+            return null;
+        }
+        long date = parseDatePrefix(text);
+        if (date != NO_MATCH) {
+            int pos = end(date);
+            int hour = twoDigits(text, pos + 1);
+            int minute = twoDigits(text, pos + 4);
+            int second = twoDigits(text, pos + 7);
+            if (text.length() == pos + 9 && text.charAt(pos) == ' ' && text.charAt(pos + 3) == ':' && text.charAt(pos + 6) == ':'
+                    && hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+                return LocalDateTime.of(year(date), month(date), day(date), hour, minute, second);
+            }
+        }
+        try {
+            return LocalDateTime.parse(text, formatter);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a timestamp in the M/d/yyyy HH:mm:ss format of the data files, rejecting invalid text.
+     *
+     * @param text The text to parse
+     * @return The timestamp
+     * @throws IllegalArgumentException if the text is not a valid timestamp in that format
+     */
+    public static LocalDateTime requireDateTime(String text) {
+        LocalDateTime dateTime = parseDateTime(text);
+        if (dateTime == null) {
+            throw new IllegalArgumentException("Invalid date: " + text);
+        }
+        return dateTime;
+    }
+
+    /**
+     * Parses a date in any of the formats found in the data files: M/d/yyyy HH:mm:ss
+     * (keeping only the date), M/d/yyyy or ISO yyyy-MM-dd.
+     *
+     * @param text The text to parse; may be null
+     * @return The date, or null if the text is not a valid date in any of these formats
+     */
+    public static LocalDate parseAnyDate(String text) {
+        if (text == null) {
+            return null;
+        }
+        long date = parseDatePrefix(text);
+        if (date != NO_MATCH && end(date) == text.length()) {
+            return LocalDate.of(year(date), month(date), day(date));
+        }
+        if (text.length() == 10 && digitRun(text, 0) == 4 && text.charAt(4) == '-' && text.charAt(7) == '-'
+                && digitRun(text, 5) == 2 && digitRun(text, 8) == 2) {
+            int year = number(text, 0, 4);
+            int month = number(text, 5, 2);
+            int day = number(text, 8, 2);
+            if (isValidDate(year, month, day)) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        LocalDateTime dateTime = date != NO_MATCH ? parseDateTime(text) : null;
+        if (dateTime != null) {
+            return dateTime.toLocalDate();
+        }
+        // Anything else goes through the formatters, in the order the formats are tried
+        for (DateTimeFormatter candidate : new DateTimeFormatter[] {formatter, DATE_ONLY_FORMATTER, DateTimeFormatter.ISO_LOCAL_DATE}) {
+            try {
+                return LocalDate.parse(text, candidate);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Formats a timestamp in the M/d/yyyy HH:mm:ss format of the data files.
+     *
+     * @param dateTime The timestamp to format
+     * @return The formatted timestamp
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        return appendDateTime(new StringBuilder(19), dateTime).toString();
+    }
+
+    /**
+     * Appends a timestamp in the M/d/yyyy HH:mm:ss format of the data files.
+     *
+     * @param sb The builder to append to
+     * @param dateTime The timestamp to format
+     * @return The builder
+     */
+    public static StringBuilder appendDateTime(StringBuilder sb, LocalDateTime dateTime) {
+        if (dateTime.getYear() < 1 || dateTime.getYear() > 9999) {
+            formatter.formatTo(dateTime, sb);
+            return sb;
+        }
+        appendDigits(sb, dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getYear());
+        sb.append(' ');
+        appendTwoDigits(sb, dateTime.getHour());
+        sb.append(':');
+        appendTwoDigits(sb, dateTime.getMinute());
+        sb.append(':');
+        appendTwoDigits(sb, dateTime.getSecond());
+        return sb;
+    }
+
+    /**
+     * Appends a date in the M/d/yyyy format of the project file.
+     *
+     * @param sb The builder to append to
+     * @param date The date to format
+     * @return The builder
+     */
+    public static StringBuilder appendDate(StringBuilder sb, LocalDate date) {
+        if (date.getYear() < 1 || date.getYear() > 9999) {
+            DATE_ONLY_FORMATTER.formatTo(date, sb);
+            return sb;
+        }
+        appendDigits(sb, date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+        return sb;
+    }
+
     /**
      * Checks if a date falls within a specified period (inclusive of start and end dates).
      * 
@@ -44,4 +188,170 @@ public class DateUtils {
         return (checkDate.isEqual(start) || checkDate.isAfter(start)) &&
                (checkDate.isEqual(end) || checkDate.isBefore(end));
     }
+
+    /**
+     * Appends the M/d/yyyy part of a date.
+     *
+     * @param sb The builder to append to
+     * @param month The month, from 1 to 12
+     * @param day The day of the month, from 1 to 31
+     * @param year The year, from 1 to 9999
+     */
+    private static void appendDigits(StringBuilder sb, int month, int day, int year) {
+        sb.append(month).append('/').append(day).append('/');
+        appendTwoDigits(sb, year / 100);
+        appendTwoDigits(sb, year % 100);
+    }
+
+    /**
+     * Appends a number from 0 to 99 as two digits.
+     *
+     * @param sb The builder to append to
+     * @param value The number to append
+     */
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Parses a valid M/d/yyyy date at the start of a text, with one or two digits for the
+     * month and day and four for the year.
+     *
+     * @param text The text to parse
+     * @return The end index of the date in bits 32 and up, the year in bits 9 to 22, the month in bits 5 to 8 and the day in bits 0 to 4, or {@link #NO_MATCH}
+     */
+    private static long parseDatePrefix(String text) {
+        int monthDigits = digitRun(text, 0);
+        int dayStart = monthDigits + 1;
+        int dayDigits = digitRun(text, dayStart);
+        int yearStart = dayStart + dayDigits + 1;
+        if (monthDigits < 1 || monthDigits > 2 || dayDigits < 1 || dayDigits > 2 || digitRun(text, yearStart) != 4
+                || text.charAt(monthDigits) != '/' || text.charAt(yearStart - 1) != '/') {
+            return NO_MATCH;
+        }
+        int month = number(text, 0, monthDigits);
+        int day = number(text, dayStart, dayDigits);
+        int year = number(text, yearStart, 4);
+        // The formats use the year of era, which has no year 0
+        if (year == 0 || !isValidDate(year, month, day)) {
+            return NO_MATCH;
+        }
+        return ((long) (yearStart + 4) << 32) | (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * Returns the end index of a date parsed by {@link #parseDatePrefix(String)}.
+     *
+     * @param date The parsed date
+     * @return The index just after the date
+     */
+    private static int end(long date) {
+        return (int) (date >>> 32);
+    }
+
+    /**
+     * Returns the year of a date parsed by {@link #parseDatePrefix(String)}.
+     *
+     * @param date The parsed date
+     * @return The year
+     */
+    private static int year(long date) {
+        return (int) (date >>> 9) & 0x3FFF;
+    }
+
+    /**
+     * Returns the month of a date parsed by {@link #parseDatePrefix(String)}.
+     *
+     * @param date The parsed date
+     * @return The month
+     */
+    private static int month(long date) {
+        return (int) (date >>> 5) & 0xF;
+    }
+
+    /**
+     * Returns the day of the month of a date parsed by {@link #parseDatePrefix(String)}.
+     *
+     * @param date The parsed date
+     * @return The day of the month
+     */
+    private static int day(long date) {
+        return (int) date & 0x1F;
+    }
+
+    /**
+     * Checks whether a year, month and day form a valid date.
+     * Days past the end of the month are rejected, so they reach the formatter, which decides
+     * how to resolve them.
+     *
+     * @param year The year, from 0 to 9999
+     * @param month The month
+     * @param day The day of the month
+     * @return true if the date exists
+     */
+    private static boolean isValidDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return day <= (leap ? 29 : 28);
+        }
+        return day <= (month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31);
+    }
+
+    /**
+     * Counts the digits in a row starting at an index.
+     *
+     * @param text The text to scan
+     * @param pos The index to start at
+     * @return The number of consecutive digits, which is 0 past the end of the text
+     */
+    private static int digitRun(String text, int pos) {
+        int end = pos;
+        while (end < text.length() && isDigit(text.charAt(end))) {
+            end++;
+        }
+        return end - pos;
+    }
+
+    /**
+     * Reads a run of digits as a number.
+     *
+     * @param text The text to read
+     * @param pos The index of the first digit
+     * @param count The number of digits, all of which must be present
+     * @return The number
+     */
+    private static int number(String text, int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    /**
+     * Parses exactly two digits.
+     *
+     * @param text The text to parse
+     * @param pos The index of the first digit
+     * @return The number, or {@link #NO_MATCH} if the two characters are not both digits
+     */
+    private static int twoDigits(String text, int pos) {
+        if (pos < 0 || pos + 1 >= text.length() || !isDigit(text.charAt(pos)) || !isDigit(text.charAt(pos + 1))) {
+            return NO_MATCH;
+        }
+        return (text.charAt(pos) - '0') * 10 + text.charAt(pos + 1) - '0';
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit.
+     *
+     * @param c The character to check
+     * @return true for 0 to 9
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 }
@@ -1,9 +1,24 @@
 package utils;
 
 import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import static utils.Constants.DELIMITER;
+import java.util.function.Consumer;
+import metrics.FileReadEvent;
+import metrics.FileWriteEvent;
 import static utils.Constants.QUOTE;
 
 /**
@@ -13,120 +28,434 @@ import static utils.Constants.QUOTE;
  * to ensure consistent data handling across the application.
  */
 public class FileUtils {
-    /** The base directory path where all data files are stored */
-    private static final String DATASET_PATH = "Datasets/";
+    /** The base directory path where all data files are stored, overridable with -Dbto.datasets=DIR */
+    private static final String DATASET_PATH = System.getProperty("bto.datasets", "Datasets/");
+    
+    /** Suffix of the sibling temp file a CSV is written to before it replaces the original */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** Size of the output buffer used when writing a CSV file, in characters */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    
+    /** Releases memory mappings explicitly, or null if this runtime offers no way to */
+    private static final Unmapper UNMAPPER = findUnmapper();
+    
+    /**
+     * Resolves a data file name to its path inside the dataset directory.
+     * 
+     * @param fileName Name of the file (relative to the DATASET_PATH)
+     * @return The path of the file
+     */
+    public static Path resolve(String fileName) {
+        return Paths.get(DATASET_PATH, fileName);
+    }
 
     /**
      * Reads a CSV file and returns its contents as a list of string arrays.
-     * Each array represents one row in the CSV file.
+     * Each array represents one record in the CSV file.
      * 
      * @param fileName Name of the file to read (relative to the DATASET_PATH)
-     * @return List of string arrays, each array containing one row of the CSV file
+     * @return List of string arrays, each array containing one record of the CSV file
      */
     public static List<String[]> readFile(String fileName) {
         List<String[]> data = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(DATASET_PATH + fileName))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // Split by comma but respect quoted values
-                data.add(parseCsvLine(line));
+        readRecords(fileName, false, record -> data.add(record.toArray()));
+        return data;
+    }
+    
+    /**
+     * Streams the records of a CSV file to a consumer without materializing the file.
+     * The record passed to the consumer is only valid for the duration of the call,
+     * since the parser reuses its buffers for the next record.
+     * 
+     * @param fileName Name of the file to read (relative to the DATASET_PATH)
+     * @param skipHeader Whether the first record is a header row that should not be passed on
+     * @param consumer Receives each record in file order
+     */
+    public static void readRecords(String fileName, boolean skipHeader, Consumer<CsvRecord> consumer) {
+        FileReadEvent event = FileReadEvent.start(fileName);
+        long rows = 0;
+        try (CsvSource reader = openCsv(fileName)) {
+            if (skipHeader && !reader.next()) {
+                return;
+            }
+            rows = skipHeader ? 1 : 0;
+            while (reader.next()) {
+                consumer.accept(reader);
+                rows++;
             }
         } catch (IOException e) {
             System.err.println("Error reading file: " + e.getMessage());
+        } finally {
+            event.finish(rows, event.isEnabled() ? size(fileName) : 0);
         }
-        
-        return data;
     }
-
+    
     /**
-     * Parses a CSV line respecting quoted values that may contain commas.
-     * Handles complex CSV formatting requirements like quoted fields and escaped quotes.
+     * Opens a CSV reader over a data file, decoded as UTF-8.
+     * Files that fit in a single mapping are memory-mapped and scanned as bytes; larger
+     * files, and all files on runtimes that cannot release a mapping when the reader is
+     * closed, are streamed through a char reader. The caller is responsible for closing the reader.
      * 
-     * @param line The CSV line to parse
-     * @return Array of string tokens from the CSV line
+     * @param fileName Name of the file to read (relative to the DATASET_PATH)
+     * @return A reader positioned before the first record
+     * @throws IOException if the file cannot be opened
      */
-    public static String[] parseCsvLine(String line) {
-        List<String> tokens = new ArrayList<>();
-        StringBuilder currentToken = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                tokens.add(cleanToken(currentToken.toString()));
-                currentToken.setLength(0);
-            } else {
-                currentToken.append(c);
-            }
+    public static CsvSource openCsv(String fileName) throws IOException {
+        Path path = resolve(fileName);
+        if (UNMAPPER != null && Files.size(path) <= MappedCsvReader.MAX_FILE_SIZE) {
+            return MappedCsvReader.open(path);
         }
-        
-        // Add the last token
-        tokens.add(cleanToken(currentToken.toString()));
-        
-        return tokens.toArray(new String[0]);
+        return new CsvReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8));
     }
 
     /**
-     * Cleans a token by removing surrounding quotes and trimming whitespace.
-     * Helper method used by parseCsvLine to format individual CSV fields.
+     * Parses a single CSV line using the same rules as file reading.
+     * Quoted values may contain commas and doubled quotes; surrounding whitespace is trimmed.
      * 
-     * @param token The token to clean
-     * @return The cleaned token
+     * @param line The CSV line to parse
+     * @return Array of string tokens from the CSV line
      */
-    private static String cleanToken(String token) {
-        token = token.trim();
-        if (token.startsWith("\"") && token.endsWith("\"")) {
-            token = token.substring(1, token.length() - 1);
+    public static String[] parseCsvLine(String line) {
+        try (CsvReader reader = new CsvReader(new StringReader(line), Math.max(line.length(), 1))) {
+            return reader.next() ? reader.toArray() : new String[]{""};
+        } catch (IOException e) {
+            // A StringReader never fails
+            throw new UncheckedIOException(e);
         }
-        return token;
     }
 
     /**
      * Writes data to a CSV file.
      * Each string array in the list represents one row in the CSV file.
+     * The file is replaced atomically, as described for {@link #writeCsv}.
      * 
      * @param fileName Name of the file to write (relative to the DATASET_PATH)
      * @param data List of string arrays to write to the file
      * @return true if the write operation was successful, false otherwise
      */
     public static boolean writeFile(String fileName, List<String[]> data) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(DATASET_PATH + fileName))) {
+        return writeCsv(fileName, out -> {
             for (String[] row : data) {
-                writer.write(toCsvLine(row));
-                writer.newLine();
+                out.record(row);
+            }
+        });
+    }
+
+    /**
+     * Writes a CSV file whose records are streamed straight from the given content.
+     * The records are written to a sibling temp file which is forced to disk and then
+     * atomically moved over the original, so a crash mid-write leaves the previous
+     * file intact and readers never observe a partially written file.
+     * 
+     * @param fileName Name of the file to write (relative to the DATASET_PATH)
+     * @param content Writes the records of the file, including any header row
+     * @return true if the write operation was successful, false otherwise
+     */
+    public static boolean writeCsv(String fileName, CsvContent content) {
+        FileWriteEvent event = FileWriteEvent.start(fileName);
+        long rows = 0;
+        long bytes = 0;
+        Path target = resolve(fileName);
+        Path temp = resolve(fileName + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 CsvWriter writer = new CsvWriter(new BufferedWriter(new OutputStreamWriter(
+                    Channels.newOutputStream(channel), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE))) {
+                content.writeTo(writer);
+                writer.flush();
+                channel.force(true);
+                rows = writer.getRecordCount();
+                bytes = channel.size();
             }
+            moveAtomically(temp, target);
             return true;
         } catch (IOException e) {
             System.err.println("Error writing to file: " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // The stale temp file is overwritten by the next write
+            }
             return false;
+        } finally {
+            event.finish(rows, bytes);
         }
     }
-
+    
+    /**
+     * Replaces a file with another in a single atomic rename where the file system supports it,
+     * then forces the directory entry so the rename itself survives a crash.
+     * 
+     * @param source The fully written file to move into place
+     * @param target The file to replace
+     * @throws IOException if the file cannot be moved
+     */
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Path directory = target.toAbsolutePath().getParent();
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Not every platform allows opening a directory; the rename is still atomic there
+        }
+    }
+    
+    /**
+     * Opens a file for appending through a channel, creating it if it does not exist.
+     * The caller owns the returned channel and is responsible for forcing and closing it.
+     * 
+     * @param fileName Name of the file to open (relative to the DATASET_PATH)
+     * @return An open channel positioned at the end of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static FileChannel openForAppend(String fileName) throws IOException {
+        return FileChannel.open(resolve(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+    
+    /**
+     * Writes a single line to an append channel, encoded as UTF-8.
+     * 
+     * @param channel The channel to write to
+     * @param line The line to write, without a trailing line separator
+     * @throws IOException if the line cannot be written
+     */
+    public static void writeLine(FileChannel channel, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    /**
+     * Appends a single line to a file, creating the file if it does not exist.
+     * Used for append-only changes, where rewriting the whole file is not needed.
+     * If the file does not end with a line break, one is written first.
+     * 
+     * @param fileName Name of the file to append to (relative to the DATASET_PATH)
+     * @param line The line to append, without a trailing line separator
+     * @return true if the append operation was successful, false otherwise
+     */
+    public static boolean appendLine(String fileName, String line) {
+        Path path = resolve(fileName);
+        try {
+            boolean needsSeparator = !endsWithLineBreak(path);
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (needsSeparator) {
+                    writer.newLine();
+                }
+                writer.write(line);
+                writer.newLine();
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error appending to file: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
-     * Converts an array of strings to a CSV line, properly escaping values that contain commas.
-     * Ensures CSV data is correctly formatted according to RFC 4180 standards.
+     * Checks whether a file is empty, missing or ends with a line break, so that an appended
+     * line starts on its own row.
      * 
-     * @param tokens Array of string values to convert to a CSV line
-     * @return A properly formatted CSV line
+     * @param path The file to check
+     * @return true if a line can be appended without a leading line separator
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean endsWithLineBreak(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            return last.get(0) == '\n';
+        }
+    }
+    
+    /**
+     * Writes binary data to a file with the same crash safety as {@link #writeFile}:
+     * the bytes go to a sibling temp file that is forced to disk and then atomically
+     * moved over the original.
+     *
+     * @param fileName Name of the file to write (relative to the DATASET_PATH)
+     * @param data Buffer holding the bytes to write
+     * @param length Number of bytes of the buffer to write, starting at index 0
+     * @return true if the write operation was successful, false otherwise
      */
-    private static String toCsvLine(String[] tokens) {
-        StringBuilder line = new StringBuilder();
-        for (int i = 0; i < tokens.length; i++) {
-            String token = tokens[i];
-            // Quote values that contain commas or quotes
-            if (token.contains(",") || token.contains("\"")) {
-                token = QUOTE + token.replace("\"", "\"\"") + QUOTE;
+    public static boolean writeBytes(String fileName, byte[] data, int length) {
+        FileWriteEvent event = FileWriteEvent.start(fileName);
+        Path target = resolve(fileName);
+        Path temp = resolve(fileName + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
             }
-            line.append(token);
-            if (i < tokens.length - 1) {
-                line.append(DELIMITER);
+            moveAtomically(temp, target);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing to file: " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // The stale temp file is overwritten by the next write
             }
+            return false;
+        } finally {
+            event.finish(0, length);
+        }
+    }
+
+    /**
+     * Maps a file in the dataset directory into memory for reading.
+     * The mapping stays valid until it is released with {@link #unmap(ByteBuffer)}.
+     * On runtimes that cannot release a mapping explicitly, the file is read into a heap
+     * buffer instead, so that it is never left mapped until the buffer is garbage collected.
+     *
+     * @param fileName Name of the file to map (relative to the DATASET_PATH)
+     * @return A read-only buffer over the whole file
+     * @throws IOException if the file cannot be opened or is too large to map
+     */
+    public static ByteBuffer map(String fileName) throws IOException {
+        if (UNMAPPER == null) {
+            return ByteBuffer.wrap(Files.readAllBytes(resolve(fileName))).asReadOnlyBuffer();
+        }
+        try (FileChannel channel = FileChannel.open(resolve(fileName), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Releases a memory mapping without waiting for the buffer to be garbage collected.
+     * Some platforms refuse to replace or delete a file while it is mapped, so readers
+     * unmap files as soon as they are done. The buffer must not be used afterwards.
+     * Buffers that are not mappings are left alone.
+     * 
+     * @param buffer The mapping to release
+     */
+    public static void unmap(ByteBuffer buffer) {
+        if (UNMAPPER == null || !(buffer instanceof MappedByteBuffer)) {
+            return;
+        }
+        try {
+            UNMAPPER.unmap(buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Released once the buffer is garbage collected
+        }
+    }
+
+    /**
+     * Finds the way this runtime releases a mapping: Unsafe.invokeCleaner from Java 9,
+     * or the buffer's own cleaner on Java 8.
+     *
+     * @return The unmapper, or null if mappings can only be released by the garbage collector
+     */
+    private static Unmapper findUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Before Java 9, mappings are released through their own cleaner
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object bufferCleaner = cleaner.invoke(buffer);
+                if (bufferCleaner != null) {
+                    clean.invoke(bufferCleaner);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Releases a mapping through one of the runtime's internal APIs.
+     */
+    private interface Unmapper {
+        /**
+         * Releases a mapping.
+         *
+         * @param buffer The mapping to release
+         * @throws ReflectiveOperationException if the internal API refuses the call
+         */
+        void unmap(ByteBuffer buffer) throws ReflectiveOperationException;
+    }
+
+    /**
+     * Gets the last modification time of a file in the dataset directory.
+     *
+     * @param fileName Name of the file to check (relative to the DATASET_PATH)
+     * @return The modification time in milliseconds since the epoch, or -1 if the file does not exist
+     */
+    public static long lastModified(String fileName) {
+        try {
+            return Files.getLastModifiedTime(resolve(fileName)).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the size of a file in the dataset directory.
+     *
+     * @param fileName Name of the file to check (relative to the DATASET_PATH)
+     * @return The size in bytes, or 0 if the file does not exist
+     */
+    public static long size(String fileName) {
+        try {
+            return Files.size(resolve(fileName));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Checks whether a file exists in the dataset directory.
+     * 
+     * @param fileName Name of the file to check (relative to the DATASET_PATH)
+     * @return true if the file exists, false otherwise
+     */
+    public static boolean exists(String fileName) {
+        return Files.exists(resolve(fileName));
+    }
+    
+    /**
+     * Deletes a file from the dataset directory if it exists.
+     * 
+     * @param fileName Name of the file to delete (relative to the DATASET_PATH)
+     * @return true if the file no longer exists, false if it could not be deleted
+     */
+    public static boolean deleteFile(String fileName) {
+        try {
+            Files.deleteIfExists(resolve(fileName));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error deleting file: " + e.getMessage());
+            return false;
         }
-        return line.toString();
     }
 
     /**
@@ -170,7 +499,7 @@ public class FileUtils {
     }
     
     /**
-     * Escapes a field value for CSV by wrapping it in quotes if it contains commas or quotes.
+     * Escapes a field value for CSV by wrapping it in quotes if it contains commas, quotes or line breaks.
      * Use this method in all serializers to properly handle user input.
      * 
      * @param field The field value to escape
@@ -181,8 +510,8 @@ public class FileUtils {
             return "";
         }
         
-        // If the field contains a comma or quote, escape it
-        if (field.contains(DELIMITER) || field.contains(QUOTE)) {
+        // If the field contains a comma, quote or line break, escape it
+        if (needsQuoting(field)) {
             // Replace any quotes with double quotes (CSV standard for escaping quotes)
             String escapedField = field.replace(QUOTE, QUOTE + QUOTE);
             // Wrap the field in quotes
@@ -192,6 +521,22 @@ public class FileUtils {
         return field;
     }
     
+    /**
+     * Checks whether a field value has to be quoted to survive a round trip through the CSV parser.
+     * 
+     * @param field The field value to check
+     * @return true if the value contains a delimiter, quote or line break
+     */
+    private static boolean needsQuoting(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Unescapes a field value from CSV by removing surrounding quotes and converting double quotes back to single quotes.
      * Use this method in all factories to properly handle fields that might contain commas.
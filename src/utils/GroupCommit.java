@@ -0,0 +1,191 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import metrics.Metrics;
+
+/**
+ * Coalesces fsync calls for append-only files such as journals.
+ * Writers append their data, enqueue the channel they wrote to and then wait until
+ * their write is durable. The first waiter becomes the leader: it waits a short window
+ * so that concurrent writers can join, then forces every dirty channel once and wakes
+ * all writers covered by that batch. Durability therefore costs one disk flush per
+ * window instead of one per save. A leader with no other writer to wait for forces
+ * its write straight away.
+ *
+ * A thread can also defer waiting: between {@link #beginDeferral()} and
+ * {@link #endDeferral()} writes are only registered, and the thread waits for all of
+ * them at the end. Handlers use this to append under their locks but wait for the
+ * disk only after releasing them.
+ */
+public class GroupCommit {
+    /** Writes the current thread has deferred waiting for */
+    private static final ThreadLocal<Deferral> DEFERRAL = ThreadLocal.withInitial(Deferral::new);
+
+    /** Time the leader waits for other writers to join a batch, in milliseconds */
+    private final long windowMillis;
+
+    /** Channels written to since the last batch was forced */
+    private final Set<FileChannel> dirtyChannels = new LinkedHashSet<>();
+
+    /** Ticket handed to the most recent writer */
+    private long lastTicket;
+
+    /** Highest ticket known to be durable */
+    private long durableTicket;
+
+    /** Whether a leader is currently forcing a batch */
+    private boolean leaderActive;
+
+    /** Number of threads waiting for a batch led by another thread */
+    private int waiters;
+
+    /**
+     * Constructs a group commit coordinator.
+     *
+     * @param windowMillis Time the leader waits for other writers to join a batch, in milliseconds
+     */
+    public GroupCommit(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Registers a completed write to a channel and returns a ticket for it.
+     * Must be called after the bytes have been written to the channel.
+     *
+     * @param channel The channel that was written to
+     * @return The ticket to pass to {@link #awaitDurable(long)}
+     */
+    public synchronized long enqueue(FileChannel channel) {
+        dirtyChannels.add(channel);
+        return ++lastTicket;
+    }
+
+    /**
+     * Defers waiting for the current thread's writes until the matching
+     * {@link #endDeferral()}. Calls may be nested; only the outermost end waits.
+     */
+    public static void beginDeferral() {
+        DEFERRAL.get().depth++;
+    }
+
+    /**
+     * Ends a deferral begun by {@link #beginDeferral()}. At the end of the outermost one,
+     * blocks until every write deferred since then is durable.
+     *
+     * @throws IOException if forcing a batch containing one of the writes fails
+     */
+    public static void endDeferral() throws IOException {
+        Deferral deferral = DEFERRAL.get();
+        if (--deferral.depth > 0 || deferral.tickets.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<GroupCommit, Long>> pending = new ArrayList<>(deferral.tickets.entrySet());
+        deferral.tickets.clear();
+        for (Map.Entry<GroupCommit, Long> entry : pending) {
+            entry.getKey().awaitDurable(entry.getValue());
+        }
+    }
+
+    /**
+     * Leaves a write to be waited for at the end of the current thread's deferral, if any.
+     *
+     * @param ticket The ticket returned by {@link #enqueue(FileChannel)}
+     * @return true if the write was deferred, false if the caller must wait for it now
+     */
+    public boolean defer(long ticket) {
+        Deferral deferral = DEFERRAL.get();
+        if (deferral.depth == 0) {
+            return false;
+        }
+        // Tickets are handed out in order, so waiting for the latest covers the earlier ones
+        deferral.tickets.merge(this, ticket, Math::max);
+        return true;
+    }
+
+    /**
+     * Blocks until the write identified by the ticket has been forced to disk,
+     * either by this thread acting as leader or by a batch led by another thread.
+     *
+     * @param ticket The ticket returned by {@link #enqueue(FileChannel)}
+     * @throws IOException if forcing the batch containing this write fails
+     */
+    public void awaitDurable(long ticket) throws IOException {
+        boolean alone;
+        synchronized (this) {
+            waiters++;
+            try {
+                while (durableTicket < ticket && leaderActive) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for group commit", e);
+                    }
+                }
+            } finally {
+                waiters--;
+            }
+            if (durableTicket >= ticket) {
+                return;
+            }
+            leaderActive = true;
+            // No write after this one and nobody else waiting: there is no batch to gather
+            alone = lastTicket == ticket && waiters == 0;
+        }
+
+        boolean forced = false;
+        long batchTicket = 0;
+        List<FileChannel> batch = new ArrayList<>();
+        try {
+            if (windowMillis > 0 && !alone) {
+                try {
+                    Thread.sleep(windowMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this) {
+                batch.addAll(dirtyChannels);
+                dirtyChannels.clear();
+                batchTicket = lastTicket;
+            }
+            long start = Metrics.start();
+            for (FileChannel channel : batch) {
+                if (channel.isOpen()) {
+                    channel.force(false);
+                }
+            }
+            Metrics.record("GroupCommit.force", start);
+            forced = true;
+        } finally {
+            synchronized (this) {
+                leaderActive = false;
+                if (forced) {
+                    durableTicket = Math.max(durableTicket, batchTicket);
+                } else {
+                    // Leave the batch for the next leader to retry
+                    dirtyChannels.addAll(batch);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * The writes one thread has deferred waiting for.
+     */
+    private static class Deferral {
+        /** Number of nested deferrals the thread is in */
+        int depth;
+
+        /** Latest deferred ticket of each coordinator written to */
+        final Map<GroupCommit, Long> tickets = new IdentityHashMap<>();
+    }
+}
@@ -0,0 +1,236 @@
+package utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Two-level read-write lock guarding the in-memory data of a handler.
+ * A structure lock protects the shape of the collection: it is held for reading by every
+ * operation, and for writing only while records are added, removed or replaced, or while
+ * the collection is saved. Changes to existing records instead lock the stripe of the
+ * project they belong to, so sessions working on different projects proceed in parallel.
+ *
+ * Locks are always taken structure first and then at most one stripe, so no two operations
+ * can deadlock. A save requested while a stripe is held cannot upgrade to the structure
+ * write lock; it is deferred and run as soon as the requesting operation releases its locks.
+ */
+public class HandlerLock {
+    /** Default number of project stripes */
+    public static final int DEFAULT_STRIPES = 64;
+
+    /** Lock over the shape of the handler's collection */
+    private final ReentrantReadWriteLock structure = new ReentrantReadWriteLock();
+
+    /** Per-project locks, selected by the hash of the normalized project name */
+    private final ReentrantReadWriteLock[] stripes;
+
+    /** Saves the handler's collection to persistent storage */
+    private final Runnable save;
+
+    /** Whether a save was requested while it could not run */
+    private final AtomicBoolean savePending = new AtomicBoolean();
+
+    /**
+     * Constructs a handler lock with the default number of stripes.
+     *
+     * @param save Saves the handler's collection to persistent storage
+     */
+    public HandlerLock(Runnable save) {
+        this(save, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a handler lock.
+     *
+     * @param save Saves the handler's collection to persistent storage
+     * @param stripeCount Number of project stripes, rounded up to a power of two
+     */
+    public HandlerLock(Runnable save, int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+        this.save = save;
+    }
+
+    /**
+     * Runs a read-only action over the whole collection.
+     *
+     * @param action The action to run
+     * @return The result of the action
+     */
+    public <T> T read(Supplier<T> action) {
+        T result;
+        structure.readLock().lock();
+        try {
+            result = action.get();
+        } finally {
+            structure.readLock().unlock();
+        }
+        runPendingSave();
+        return result;
+    }
+
+    /**
+     * Runs an action that adds, removes or replaces records, excluding every other operation.
+     *
+     * @param action The action to run
+     */
+    public void write(Runnable action) {
+        GroupCommit.beginDeferral();
+        try {
+            structure.writeLock().lock();
+            try {
+                action.run();
+            } finally {
+                structure.writeLock().unlock();
+            }
+            runPendingSave();
+        } finally {
+            endDeferral();
+        }
+    }
+
+    /**
+     * Runs a read-only action over the records of one project.
+     * Changes to records of the same project wait until the action completes.
+     *
+     * @param projectName The project the action reads
+     * @param action The action to run
+     * @return The result of the action
+     */
+    public <T> T readProject(String projectName, Supplier<T> action) {
+        ReentrantReadWriteLock stripe = stripeFor(projectName);
+        T result;
+        structure.readLock().lock();
+        stripe.readLock().lock();
+        try {
+            result = action.get();
+        } finally {
+            stripe.readLock().unlock();
+            structure.readLock().unlock();
+        }
+        runPendingSave();
+        return result;
+    }
+
+    /**
+     * Runs an action that changes existing records of one project.
+     * Actions on other projects run concurrently.
+     *
+     * @param projectName The project whose records the action changes
+     * @param action The action to run
+     */
+    public void writeProject(String projectName, Runnable action) {
+        ReentrantReadWriteLock stripe = stripeFor(projectName);
+        GroupCommit.beginDeferral();
+        try {
+            structure.readLock().lock();
+            stripe.writeLock().lock();
+            try {
+                action.run();
+            } finally {
+                stripe.writeLock().unlock();
+                structure.readLock().unlock();
+            }
+            runPendingSave();
+        } finally {
+            endDeferral();
+        }
+    }
+
+    /**
+     * Saves the collection while no other operation is running.
+     * If the calling thread is inside a read or project operation, the save is deferred
+     * until that operation releases its locks.
+     */
+    public void save() {
+        if (structure.isWriteLockedByCurrentThread()) {
+            save.run();
+        } else if (structure.getReadHoldCount() > 0) {
+            savePending.set(true);
+        } else {
+            structure.writeLock().lock();
+            try {
+                save.run();
+            } finally {
+                structure.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Copies a collection into an immutable snapshot.
+     * Must be called while holding a lock that covers the collection.
+     * The list is copied but the records are not, so the snapshot shares them with the
+     * handler; they must only be changed through the handler's methods.
+     *
+     * @param records The records to copy
+     * @return An unmodifiable copy of the records
+     */
+    public static <T> List<T> snapshot(Collection<T> records) {
+        return Collections.unmodifiableList(new ArrayList<>(records));
+    }
+
+    /**
+     * Copies a collection and each of its records into an immutable snapshot.
+     * Must be called while holding a lock that covers the collection.
+     * Changes made to the records of the snapshot do not affect the handler.
+     *
+     * @param records The records to copy
+     * @param copy Copies a single record
+     * @return An unmodifiable list of copies of the records
+     */
+    public static <T> List<T> snapshot(Collection<T> records, UnaryOperator<T> copy) {
+        List<T> copies = new ArrayList<>(records.size());
+        for (T record : records) {
+            copies.add(copy.apply(record));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Runs a save that was deferred, once the calling thread holds no locks.
+     */
+    private void runPendingSave() {
+        if (structure.getReadHoldCount() == 0 && !structure.isWriteLockedByCurrentThread()
+                && savePending.compareAndSet(true, false)) {
+            save();
+        }
+    }
+
+    /**
+     * Waits for the journal appends of a write operation to become durable, once its locks are released.
+     */
+    private static void endDeferral() {
+        try {
+            GroupCommit.endDeferral();
+        } catch (IOException e) {
+            System.err.println("Error syncing journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Selects the stripe of a project.
+     *
+     * @param projectName The name of the project, matched case-insensitively
+     * @return The lock for the project's stripe
+     */
+    private ReentrantReadWriteLock stripeFor(String projectName) {
+        if (projectName == null) {
+            return stripes[0];
+        }
+        int hash = projectName.toLowerCase(Locale.ROOT).hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,64 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates record IDs in the format [prefix]-[number], unique within one handler.
+ * The numbers follow the clock in milliseconds, as IDs always have, but each one is
+ * also past the previous number and past every number among the IDs already in use,
+ * so records created in the same millisecond, or after the clock has moved back, or
+ * after a restart on older data, never share an ID.
+ */
+public class IdGenerator {
+    /** The largest number handed out or seen in an existing ID */
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * Records an ID that is already in use, so that no generated ID repeats it.
+     * IDs that do not end in a hyphen and a number are ignored.
+     *
+     * @param id The ID in use, may be null
+     */
+    public void observe(String id) {
+        long number = numberOf(id);
+        if (number > 0) {
+            last.accumulateAndGet(number, Math::max);
+        }
+    }
+
+    /**
+     * Generates a new ID.
+     *
+     * @param prefix The prefix of the ID (e.g., "APP")
+     * @return An ID that has not been generated or observed before
+     */
+    public String next(String prefix) {
+        long number = last.accumulateAndGet(System.currentTimeMillis(), (previous, now) -> Math.max(previous + 1, now));
+        return prefix + "-" + number;
+    }
+
+    /**
+     * Reads the number at the end of an ID.
+     *
+     * @param id The ID
+     * @return The number after the last hyphen, or -1 if there is none
+     */
+    private static long numberOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int start = id.lastIndexOf('-') + 1;
+        if (start == 0 || start == id.length() || id.length() - start > 18) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = start; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+}
@@ -0,0 +1,306 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * CSV tokenizer that scans a memory-mapped UTF-8 file byte by byte.
+ * Follows exactly the same rules as {@link CsvReader}, but never decodes the input
+ * into chars: delimiters, quotes and line breaks are all ASCII and cannot occur inside
+ * a multi-byte UTF-8 sequence, so records are split on the raw bytes and unquoted
+ * fields are copied into the record buffer in bulk. Field values are decoded only when
+ * a caller asks for them, through a plain byte copy if the record is pure ASCII and
+ * through the UTF-8 decoder otherwise.
+ *
+ * The mapping is released when the reader is closed, so the file can be replaced
+ * right after it has been read.
+ */
+public class MappedCsvReader implements CsvSource {
+    /** Largest file that can be mapped into a single buffer */
+    public static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+    /** Marker returned by {@link #read()} at the end of the input */
+    private static final int EOF = -1;
+
+    /** The mapped file, or null once the reader is closed */
+    private MappedByteBuffer data;
+
+    /** Index of the next unread byte of the file */
+    private int position;
+
+    /** Size of the file in bytes */
+    private final int limit;
+
+    /** Field values of the current record, back to back */
+    private byte[] record = new byte[256];
+
+    /** Number of bytes used in the record buffer */
+    private int recordLength;
+
+    /** Start offset of each field in the record buffer */
+    private int[] fieldStarts = new int[16];
+
+    /** End offset (exclusive) of each field in the record buffer */
+    private int[] fieldEnds = new int[16];
+
+    /** Number of fields in the current record */
+    private int fieldCount;
+
+    /** Whether the current record contains a byte outside the ASCII range */
+    private boolean nonAscii;
+
+    /**
+     * Constructs a reader over a mapped file.
+     *
+     * @param data The mapped file
+     */
+    private MappedCsvReader(MappedByteBuffer data) {
+        this.data = data;
+        this.limit = data.limit();
+    }
+
+    /**
+     * Maps a file and opens a reader over it.
+     *
+     * @param path The file to read
+     * @return A reader positioned before the first record
+     * @throws IOException if the file cannot be opened or is larger than {@link #MAX_FILE_SIZE}
+     */
+    public static MappedCsvReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_FILE_SIZE) {
+                throw new IOException("File too large to map: " + path);
+            }
+            return new MappedCsvReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the reader has been closed
+     */
+    @Override
+    public boolean next() throws IOException {
+        if (data == null) {
+            throw new IOException("Reader is closed");
+        }
+        int c;
+        // Skip blank lines between records
+        do {
+            c = read();
+        } while (c == '\n' || c == '\r');
+        if (c == EOF) {
+            fieldCount = 0;
+            return false;
+        }
+
+        fieldCount = 0;
+        recordLength = 0;
+        nonAscii = false;
+        while (true) {
+            while (c == ' ' || c == '\t') {
+                c = read();
+            }
+            int start = recordLength;
+            int end;
+            if (c == '"') {
+                c = readQuoted();
+                end = recordLength;
+                // Anything between the closing quote and the delimiter is kept verbatim
+                while (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+                    if (c != ' ' && c != '\t') {
+                        append(c);
+                        end = recordLength;
+                    }
+                    c = read();
+                }
+            } else if (c == ',' || c == '\n' || c == '\r' || c == EOF) {
+                end = start;
+            } else {
+                // The first byte has already been consumed; scan the rest in place
+                int fieldStart = position - 1;
+                int contentEnd = position;
+                int i = position;
+                nonAscii |= c >= 0x80;
+                c = EOF;
+                while (i < limit) {
+                    byte b = data.get(i);
+                    if (b == ',' || b == '\n' || b == '\r') {
+                        c = b;
+                        break;
+                    }
+                    i++;
+                    if (b != ' ' && b != '\t') {
+                        contentEnd = i;
+                    }
+                    nonAscii |= b < 0;
+                }
+                position = i < limit ? i + 1 : limit;
+                copy(fieldStart, i - fieldStart);
+                end = start + (contentEnd - fieldStart);
+            }
+            addField(start, end);
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r' && peek() == '\n') {
+                position++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of fields in the current record.
+     *
+     * @return The field count
+     */
+    @Override
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the value of a field in the current record.
+     *
+     * @param index The 0-based field index
+     * @return The field value, or an empty string if the record has no such field
+     */
+    @Override
+    public String field(int index) {
+        if (index >= fieldCount) {
+            return "";
+        }
+        int length = fieldEnds[index] - fieldStarts[index];
+        if (length == 0) {
+            return "";
+        }
+        // ASCII is a subset of both charsets, and the Latin-1 decoder is a plain copy
+        return new String(record, fieldStarts[index], length,
+                nonAscii ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Checks whether a field of the current record is empty or missing.
+     *
+     * @param index The 0-based field index
+     * @return true if the field is empty or the record has no such field
+     */
+    @Override
+    public boolean isEmpty(int index) {
+        return index >= fieldCount || fieldEnds[index] == fieldStarts[index];
+    }
+
+    /**
+     * Releases the mapping. The reader cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (data != null) {
+            MappedByteBuffer mapped = data;
+            data = null;
+            FileUtils.unmap(mapped);
+        }
+    }
+
+    /**
+     * Copies the body of a quoted field into the record buffer.
+     * Called after the opening quote has been consumed.
+     *
+     * @return The first byte after the closing quote
+     */
+    private int readQuoted() {
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                return EOF;
+            }
+            if (c == '"') {
+                int next = read();
+                if (next != '"') {
+                    return next;
+                }
+            }
+            append(c);
+        }
+    }
+
+    /**
+     * Records a field spanning the given range of the record buffer.
+     *
+     * @param start Start offset of the field
+     * @param end End offset (exclusive) of the field
+     */
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * Appends a byte to the record buffer, growing it if needed.
+     *
+     * @param b The byte to append, as returned by {@link #read()}
+     */
+    private void append(int b) {
+        ensureCapacity(1);
+        record[recordLength++] = (byte) b;
+        nonAscii |= b >= 0x80;
+    }
+
+    /**
+     * Appends a range of the file to the record buffer in one bulk copy.
+     *
+     * @param offset Index of the first byte in the file
+     * @param length Number of bytes to copy
+     */
+    private void copy(int offset, int length) {
+        ensureCapacity(length);
+        data.position(offset);
+        data.get(record, recordLength, length);
+        recordLength += length;
+    }
+
+    /**
+     * Grows the record buffer so that the given number of bytes fit after its end.
+     *
+     * @param needed Number of bytes about to be appended
+     */
+    private void ensureCapacity(int needed) {
+        if (record.length - recordLength < needed) {
+            record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + needed));
+        }
+    }
+
+    /**
+     * Reads the next byte of the file.
+     *
+     * @return The next byte as a value from 0 to 255, or {@link #EOF} at the end of the file
+     */
+    private int read() {
+        return position < limit ? data.get(position++) & 0xFF : EOF;
+    }
+
+    /**
+     * Returns the next byte of the file without consuming it.
+     *
+     * @return The next byte as a value from 0 to 255, or {@link #EOF} at the end of the file
+     */
+    private int peek() {
+        return position < limit ? data.get(position) & 0xFF : EOF;
+    }
+}
@@ -0,0 +1,75 @@
+package utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared pool of canonical String instances for values that repeat across many records,
+ * such as project names, unit types, officer NRICs and standard remarks.
+ * The factories pass these fields through the pool while loading, so a million
+ * applications for the same project all reference one project name instead of a million
+ * equal copies. The pool is shared by every entity type, so for example an applicant
+ * NRIC read from an enquiry is the same instance as the one held by their application.
+ *
+ * The pool itself is only needed while data is being loaded. It is cleared once startup
+ * loading has finished, after which the deduplicated values are kept alive by the records
+ * that use them. To bound its size if it is used outside a load, the pool also starts over
+ * once it holds {@link #MAX_ENTRIES} values.
+ */
+public class StringPool {
+    /** Number of distinct values after which the pool is emptied */
+    public static final int MAX_ENTRIES = 1 << 22;
+
+    /** Canonical instance of every pooled value, keyed by itself */
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    /** Whether values are pooled; can be switched off to measure the saving */
+    private static volatile boolean enabled = true;
+
+    /**
+     * Returns the canonical instance of a value, adding it to the pool if it is new.
+     *
+     * @param value The value to look up; may be null
+     * @return An instance equal to the value that is shared with every other caller, or the value itself if it is null or empty or pooling is disabled
+     */
+    public static String intern(String value) {
+        if (!enabled || value == null || value.isEmpty()) {
+            return value;
+        }
+        String canonical = POOL.putIfAbsent(value, value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (POOL.size() > MAX_ENTRIES) {
+            POOL.clear();
+        }
+        return value;
+    }
+
+    /**
+     * Empties the pool. Values handed out before remain shared between their holders.
+     */
+    public static void clear() {
+        POOL.clear();
+    }
+
+    /**
+     * Returns the number of distinct values in the pool.
+     *
+     * @return The pool size
+     */
+    public static int size() {
+        return POOL.size();
+    }
+
+    /**
+     * Enables or disables pooling. While disabled, {@link #intern} returns its argument unchanged.
+     *
+     * @param poolingEnabled Whether values should be pooled
+     */
+    public static void setEnabled(boolean poolingEnabled) {
+        enabled = poolingEnabled;
+        if (!poolingEnabled) {
+            POOL.clear();
+        }
+    }
+}
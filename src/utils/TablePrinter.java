@@ -7,6 +7,8 @@ import java.util.ArrayList;
  * Utility class for printing formatted tables in CLI applications.
  * This class handles automatic column width calculation and consistent formatting
  * to improve readability of tabular data throughout the application.
+ * Tables with fixed column widths can also be printed one row at a time, without
+ * keeping the rows, for listings too long to hold in memory.
  */
 public class TablePrinter {
     private final String[] headers;
@@ -14,6 +16,7 @@ public class TablePrinter {
     private final int[] columnWidths;
     private final int numColumns;
     private final int padding = 4; // Padding between columns
+    private boolean headerPrinted; // Whether printRow has printed the headers
     
     /**
      * Constructs a new table with the specified column headers.
@@ -32,6 +35,30 @@ public class TablePrinter {
         }
     }
     
+    /**
+     * Constructs a new table with fixed column widths, for printing row by row with
+     * {@link #printRow(Object...)}. Values longer than their column are not truncated,
+     * so callers should shorten them with {@link #formatCell(String, int)}. Colour codes
+     * in values do not count towards their width.
+     * 
+     * @param headers Array of column headers that define the table structure
+     * @param columnWidths Width of each column, not counting the padding between columns
+     * @throws IllegalArgumentException if there is not one width per header
+     */
+    public TablePrinter(String[] headers, int[] columnWidths) {
+        if (columnWidths.length != headers.length) {
+            throw new IllegalArgumentException("Table must have " + headers.length + " column widths");
+        }
+        this.headers = headers;
+        this.numColumns = headers.length;
+        this.rows = new ArrayList<>();
+        this.columnWidths = new int[numColumns];
+        
+        for (int i = 0; i < numColumns; i++) {
+            this.columnWidths[i] = Math.max(columnWidths[i], headers[i].length());
+        }
+    }
+    
     /**
      * Adds a row of data to the table.
      * The row must have the same number of columns as the table headers.
@@ -105,6 +132,63 @@ public class TablePrinter {
         }
     }
     
+    /**
+     * Prints a row to the console straight away, preceded by the headers and divider
+     * if it is the first row printed. The row is not kept and column widths do not change,
+     * so the memory used does not grow with the number of rows.
+     * 
+     * @param rowData Variable number of objects representing one row of data
+     * @throws IllegalArgumentException if the number of arguments does not match the number of columns
+     */
+    public void printRow(Object... rowData) {
+        if (rowData.length != numColumns) {
+            throw new IllegalArgumentException("Row data must have " + numColumns + " columns");
+        }
+        
+        if (!headerPrinted) {
+            headerPrinted = true;
+            int totalWidth = 0;
+            for (int i = 0; i < numColumns; i++) {
+                System.out.print(padRight(headers[i], columnWidths[i] + padding));
+                totalWidth += columnWidths[i] + padding;
+            }
+            System.out.println();
+            System.out.println(FileUtils.repeatChar('-', totalWidth));
+        }
+        
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < numColumns; i++) {
+            String cell = rowData[i] == null ? "" : rowData[i].toString();
+            line.append(cell);
+            for (int pad = visibleLength(cell); pad < columnWidths[i] + padding; pad++) {
+                line.append(' ');
+            }
+        }
+        System.out.println(line);
+    }
+    
+    /**
+     * Helper method to measure the width of a string on the console,
+     * not counting the ANSI colour codes added by UIFormatter.
+     * 
+     * @param s String to measure
+     * @return Number of characters shown
+     */
+    private static int visibleLength(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '\u001B') {
+                // Skip the escape sequence up to its final letter
+                while (i + 1 < s.length() && !Character.isLetter(s.charAt(i))) {
+                    i++;
+                }
+            } else {
+                length++;
+            }
+        }
+        return length;
+    }
+    
     /**
      * Helper method to pad a string to the right with spaces.
      * Ensures consistent column alignment in the table.